@@ -0,0 +1,82 @@
+package com.uros.timesheet.attendance.analytics;
+
+import com.uros.timesheet.attendance.dto.report.ReportDimension;
+import com.uros.timesheet.attendance.dto.report.ReportMeasure;
+import com.uros.timesheet.attendance.dto.report.ReportRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregation cost of {@link AttendanceColumnStore} alone, over synthetic records spread
+ * across six months, 500 users, three types and three statuses. Needs no database; compare
+ * with {@link ReportQueryBenchmark} for the SQL path on real data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AttendanceColumnStoreBenchmark {
+
+    private static final LocalDate WINDOW_START = LocalDate.of(2024, 1, 1);
+    private static final int DAYS = 182;
+    private static final int USERS = 500;
+    private static final String[] TYPES = {"work", "remote", "sick"};
+    private static final String[] STATUSES = {"APPROVED", "PENDING", "REJECTED"};
+    private static final List<ReportMeasure> MEASURES = List.of(
+            ReportMeasure.HOURS, ReportMeasure.RECORDS, ReportMeasure.DISTINCT_DAYS, ReportMeasure.APPROVAL_RATE);
+
+    @Param({"100000", "2000000"})
+    private int rows;
+
+    // Comma-separated dimensions, "" for a grand total only
+    @Param({"", "USER", "USER,MONTH", "STATUS,DAY"})
+    private String dimensions;
+
+    private AttendanceColumnStore store;
+    private List<ReportDimension> grouping;
+    private UUID[] userIds;
+
+    @Setup(Level.Trial)
+    public void load() {
+        Random random = new Random(42);
+        userIds = new UUID[USERS];
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        store = new AttendanceColumnStore(UUID.randomUUID(), WINDOW_START, rows);
+        for (int i = 0; i < rows; i++) {
+            store.upsert(new UUID(random.nextLong(), i), userIds[random.nextInt(USERS)],
+                    WINDOW_START.plusDays(random.nextInt(DAYS)), 240 + random.nextInt(300),
+                    TYPES[random.nextInt(TYPES.length)], STATUSES[random.nextInt(STATUSES.length)]);
+        }
+        grouping = dimensions.isEmpty()
+                ? List.of()
+                : Arrays.stream(dimensions.split(",")).map(ReportDimension::valueOf).toList();
+    }
+
+    @Benchmark
+    public List<ReportRow> fullWindow() {
+        return store.aggregate(grouping, MEASURES, WINDOW_START, WINDOW_START.plusDays(DAYS - 1),
+                null, Set.of(), Set.of());
+    }
+
+    @Benchmark
+    public List<ReportRow> lastMonthApproved() {
+        return store.aggregate(grouping, MEASURES, WINDOW_START.plusDays(DAYS - 30), WINDOW_START.plusDays(DAYS - 1),
+                null, Set.of("APPROVED"), Set.of());
+    }
+}
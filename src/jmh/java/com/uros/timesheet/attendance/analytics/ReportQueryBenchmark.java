@@ -0,0 +1,118 @@
+package com.uros.timesheet.attendance.analytics;
+
+import com.uros.timesheet.attendance.dto.report.ReportDimension;
+import com.uros.timesheet.attendance.dto.report.ReportMeasure;
+import com.uros.timesheet.attendance.dto.report.ReportQueryRequest;
+import com.uros.timesheet.attendance.dto.report.ReportRow;
+import com.uros.timesheet.attendance.repository.report.CompiledReportQuery;
+import com.uros.timesheet.attendance.repository.report.ReportQueryCompiler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same report query answered by {@link AttendanceAnalyticsCache} and by the SQL
+ * statement {@link ReportQueryCompiler} produces for the repository, over one existing
+ * organization's data.
+ * <p>
+ * Needs a PostgreSQL database with the application schema and attendance data; connection
+ * and organization come from the {@code benchmark.*} system properties set in build.gradle
+ * ({@code -Pjmh.org=<organization id>}). The SQL side runs the statement through JDBC
+ * without the JPA row mapping, which is small next to the query itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportQueryBenchmark {
+
+    private static final int ROW_LIMIT = 10_001;
+    private static final int WINDOW_MONTHS = 6;
+
+    // Comma-separated dimensions, "" for a grand total only
+    @Param({"", "USER", "USER,MONTH", "STATUS,DAY"})
+    private String dimensions;
+
+    private AttendanceAnalyticsCache cache;
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    private ReportQueryRequest request;
+    private UUID organizationId;
+    private CompiledReportQuery compiled;
+    private Map<String, Object> parameters;
+
+    @Setup(Level.Trial)
+    public void connect() {
+        String organization = System.getProperty("benchmark.organization-id", "");
+        if (organization.isBlank()) {
+            throw new IllegalStateException("Set -Pjmh.org=<organization id> to run ReportQueryBenchmark");
+        }
+        organizationId = UUID.fromString(organization);
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("benchmark.db.url"),
+                System.getProperty("benchmark.db.user"),
+                System.getProperty("benchmark.db.password"));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+
+        cache = new AttendanceAnalyticsCache(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "windowMonths", WINDOW_MONTHS);
+        ReflectionTestUtils.setField(cache, "maxRowsPerOrganization", Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(cache, "maxTotalRows", Long.MAX_VALUE);
+        ReflectionTestUtils.setField(cache, "maxAge", Duration.ofDays(1));
+        ReflectionTestUtils.setField(cache, "idleTimeout", Duration.ofDays(1));
+        cache.init();
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        request = new ReportQueryRequest();
+        request.setDimensions(dimensions.isEmpty()
+                ? List.of()
+                : Arrays.stream(dimensions.split(",")).map(ReportDimension::valueOf).toList());
+        request.setMeasures(List.of(ReportMeasure.HOURS, ReportMeasure.RECORDS,
+                ReportMeasure.DISTINCT_DAYS, ReportMeasure.APPROVAL_RATE));
+        request.setFrom(today.minusMonths(WINDOW_MONTHS - 1).withDayOfMonth(1));
+        request.setTo(today);
+        request.setTotals(ReportQueryRequest.Totals.NONE);
+
+        compiled = ReportQueryCompiler.compile(request, organizationId);
+        parameters = new HashMap<>(compiled.parameters());
+        parameters.put("rowLimit", ROW_LIMIT);
+
+        // Loads the store outside the measurement; an organization it cannot hold fails here
+        if (cache.query(request, organizationId).isEmpty()) {
+            throw new IllegalStateException("Organization " + organizationId + " could not be loaded into memory");
+        }
+    }
+
+    @Benchmark
+    public List<ReportRow> columnStore() {
+        return cache.query(request, organizationId).orElseThrow();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> sql() {
+        return namedJdbcTemplate.queryForList(compiled.sql(), parameters);
+    }
+}
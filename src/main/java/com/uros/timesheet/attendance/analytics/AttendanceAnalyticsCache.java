@@ -0,0 +1,351 @@
+package com.uros.timesheet.attendance.analytics;
+
+import com.uros.timesheet.attendance.dto.report.ReportQueryRequest;
+import com.uros.timesheet.attendance.dto.report.ReportRow;
+import com.uros.timesheet.attendance.event.AttendanceRecordStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in ({@code analytics.enabled}) in-memory copy of recent attendance per organization,
+ * answering report queries without touching the database.
+ * <p>
+ * An organization's {@link AttendanceColumnStore} is loaded on its first eligible query,
+ * from the first day of the month {@code analytics.window-months} back onwards, through a
+ * streaming cursor; concurrent first queries share one load. After commit, every
+ * attendance status event re-reads its single record into the loaded store, and an event
+ * arriving mid-load discards that load. Organizations larger than
+ * {@code max-rows-per-organization} are not held; the total is capped by
+ * {@code max-total-rows} with least-recently-used eviction, and stores are dropped once
+ * idle or older than {@code max-age} (which also moves the window forward).
+ * <p>
+ * Queries the store cannot answer (team dimension or filter, subtotals, more than two
+ * dimensions, dates before the window) return empty and run in SQL as before.
+ */
+@Slf4j
+@Component
+public class AttendanceAnalyticsCache {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String COLUMNS = """
+        SELECT ar.id, ar.user_id, ar.date,
+               COALESCE(ar.worked_minutes, 0),
+               ar.type, ar.status, ar.organization_id, ar.deleted_at IS NOT NULL
+        FROM attendance_records ar
+    """;
+    private static final String LOAD_SQL = COLUMNS
+            + "WHERE ar.organization_id = ? AND ar.deleted_at IS NULL AND ar.date >= ?";
+    private static final String RECORD_SQL = COLUMNS + "WHERE ar.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<UUID, Entry> stores = new ConcurrentHashMap<>();
+
+    @Value("${analytics.enabled:false}")
+    private boolean enabled;
+
+    @Value("${analytics.window-months:6}")
+    private int windowMonths;
+
+    @Value("${analytics.max-rows-per-organization:2000000}")
+    private int maxRowsPerOrganization;
+
+    @Value("${analytics.max-total-rows:5000000}")
+    private long maxTotalRows;
+
+    @Value("${analytics.max-age:6h}")
+    private Duration maxAge;
+
+    @Value("${analytics.idle-timeout:1h}")
+    private Duration idleTimeout;
+
+    private Counter hits;
+    private Counter misses;
+    private Counter unsupported;
+
+    public AttendanceAnalyticsCache(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        // Cursor-based fetching in PostgreSQL requires autocommit off, i.e. a transaction
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void init() {
+        hits = meterRegistry.counter("analytics.cache.requests", "result", "hit");
+        misses = meterRegistry.counter("analytics.cache.requests", "result", "miss");
+        unsupported = meterRegistry.counter("analytics.cache.requests", "result", "unsupported");
+        Gauge.builder("analytics.cache.rows", this, AttendanceAnalyticsCache::getTotalRows)
+                .description("Attendance records held in memory")
+                .register(meterRegistry);
+        Gauge.builder("analytics.cache.organizations", stores, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Answers a validated report query from memory.
+     *
+     * @return the report rows, or empty when the query has to run in the database
+     */
+    public Optional<List<ReportRow>> query(ReportQueryRequest request, UUID organizationId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        if (!supports(request)) {
+            unsupported.increment();
+            return Optional.empty();
+        }
+        AttendanceColumnStore store = store(organizationId);
+        if (store == null || request.getFrom().isBefore(store.getWindowStart())) {
+            misses.increment();
+            return Optional.empty();
+        }
+        List<ReportRow> rows = store.aggregate(
+                request.getDimensions() != null ? request.getDimensions() : List.of(),
+                request.getMeasures(),
+                request.getFrom(),
+                request.getTo(),
+                request.getUserId(),
+                request.getStatuses() != null ? new HashSet<>(request.getStatuses()) : Set.of(),
+                request.getTypes() != null ? new HashSet<>(request.getTypes()) : Set.of());
+        if (rows == null) {
+            unsupported.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(rows);
+    }
+
+    /**
+     * Drops an organization's store; the next eligible query reloads it.
+     */
+    public void evict(UUID organizationId) {
+        if (stores.remove(organizationId) != null) {
+            meterRegistry.counter("analytics.cache.evictions", "reason", "manual").increment();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttendanceStatusChanged(AttendanceRecordStatusChangedEvent event) {
+        if (stores.isEmpty()) {
+            return;
+        }
+        try {
+            List<RecordRow> found = jdbcTemplate.query(RECORD_SQL,
+                    (rs, rowNum) -> RecordRow.from(rs), event.getAttendanceRecordId());
+            if (found.isEmpty()) {
+                for (Entry entry : stores.values()) {
+                    AttendanceColumnStore store = entry.loaded();
+                    if (store != null) {
+                        store.remove(event.getAttendanceRecordId());
+                    }
+                }
+                return;
+            }
+            RecordRow row = found.get(0);
+            Entry entry = stores.get(row.organizationId());
+            if (entry == null) {
+                return;
+            }
+            if (!entry.future.isDone()) {
+                // The running load may or may not see this change; let the next query reload
+                stores.remove(row.organizationId(), entry);
+                return;
+            }
+            AttendanceColumnStore store = entry.loaded();
+            if (store == null) {
+                return;
+            }
+            if (row.deleted()) {
+                store.remove(row.recordId());
+            } else {
+                store.upsert(row.recordId(), row.userId(), row.date(), row.minutes(), row.type(), row.status());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("[Analytics] Failed to apply attendance record {}: {}",
+                    event.getAttendanceRecordId(), ex.getMessage());
+            // Better to reload than to answer from a store that missed a change
+            stores.clear();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.sweep-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        stores.forEach((organizationId, entry) -> {
+            String reason = null;
+            if (now - entry.createdAt > maxAge.toNanos()) {
+                reason = "expired";
+            } else if (now - entry.lastAccess > idleTimeout.toNanos()) {
+                reason = "idle";
+            }
+            if (reason != null && entry.future.isDone() && stores.remove(organizationId, entry)) {
+                meterRegistry.counter("analytics.cache.evictions", "reason", reason).increment();
+            }
+        });
+    }
+
+    public long getTotalRows() {
+        long total = 0;
+        for (Entry entry : stores.values()) {
+            AttendanceColumnStore store = entry.loaded();
+            if (store != null) {
+                total += store.size();
+            }
+        }
+        return total;
+    }
+
+    static boolean supports(ReportQueryRequest request) {
+        List<?> dimensions = request.getDimensions() != null ? request.getDimensions() : List.of();
+        return (request.getTotals() == null || request.getTotals() == ReportQueryRequest.Totals.NONE)
+                && request.getTeamId() == null
+                && dimensions.size() <= AttendanceColumnStore.MAX_DIMENSIONS
+                && AttendanceColumnStore.DIMENSIONS.containsAll(dimensions)
+                && (request.getMeasures() == null || AttendanceColumnStore.MEASURES.containsAll(request.getMeasures()));
+    }
+
+    private AttendanceColumnStore store(UUID organizationId) {
+        Entry entry = stores.get(organizationId);
+        if (entry != null && System.nanoTime() - entry.createdAt > maxAge.toNanos() && entry.future.isDone()) {
+            stores.remove(organizationId, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            Entry created = new Entry();
+            entry = stores.putIfAbsent(organizationId, created);
+            if (entry == null) {
+                entry = created;
+                load(organizationId, created);
+            }
+        }
+        entry.lastAccess = System.nanoTime();
+        // Followers wait for the leader's load, which is bounded by the cursor read
+        return entry.future.join();
+    }
+
+    private void load(UUID organizationId, Entry entry) {
+        LocalDate windowStart = LocalDate.now(ZoneOffset.UTC).minusMonths(windowMonths).withDayOfMonth(1);
+        int limit = (int) Math.min(maxRowsPerOrganization, maxTotalRows);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        AttendanceColumnStore store;
+        try {
+            store = readOnlyTransaction.execute(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(LOAD_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setObject(1, organizationId);
+                ps.setDate(2, Date.valueOf(windowStart));
+                return ps;
+            }, rs -> {
+                AttendanceColumnStore loaded = new AttendanceColumnStore(organizationId, windowStart, FETCH_SIZE);
+                while (rs.next()) {
+                    if (loaded.size() >= limit) {
+                        return null;
+                    }
+                    RecordRow row = RecordRow.from(rs);
+                    loaded.upsert(row.recordId(), row.userId(), row.date(), row.minutes(), row.type(), row.status());
+                }
+                return loaded;
+            }));
+        } catch (RuntimeException ex) {
+            log.warn("[Analytics] Failed to load organization {}: {}", organizationId, ex.getMessage());
+            stores.remove(organizationId, entry);
+            entry.future.complete(null);
+            return;
+        } finally {
+            sample.stop(meterRegistry.timer("analytics.cache.load"));
+        }
+        if (store == null) {
+            // Kept as an empty entry until it expires, so oversized organizations are not rescanned per query
+            log.info("[Analytics] Organization {} exceeds {} records, served from the database", organizationId, limit);
+        } else {
+            log.info("[Analytics] Loaded {} attendance records of organization {}", store.size(), organizationId);
+        }
+        entry.future.complete(store);
+        if (store != null) {
+            enforceBudget(organizationId);
+        }
+    }
+
+    private void enforceBudget(UUID keep) {
+        long total = getTotalRows();
+        if (total <= maxTotalRows) {
+            return;
+        }
+        List<Map.Entry<UUID, Entry>> byAccess = stores.entrySet().stream()
+                .filter(e -> !e.getKey().equals(keep) && e.getValue().loaded() != null)
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                .toList();
+        for (Map.Entry<UUID, Entry> candidate : byAccess) {
+            if (total <= maxTotalRows) {
+                break;
+            }
+            int rows = candidate.getValue().loaded().size();
+            if (stores.remove(candidate.getKey(), candidate.getValue())) {
+                total -= rows;
+                meterRegistry.counter("analytics.cache.evictions", "reason", "size").increment();
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        final CompletableFuture<AttendanceColumnStore> future = new CompletableFuture<>();
+        final long createdAt = System.nanoTime();
+        volatile long lastAccess = createdAt;
+
+        AttendanceColumnStore loaded() {
+            return future.isDone() && !future.isCompletedExceptionally() ? future.getNow(null) : null;
+        }
+    }
+
+    private record RecordRow(UUID recordId, UUID userId, LocalDate date, int minutes, String type, String status,
+                             UUID organizationId, boolean deleted) {
+
+        static RecordRow from(ResultSet rs) throws SQLException {
+            return new RecordRow(
+                    rs.getObject(1, UUID.class),
+                    rs.getObject(2, UUID.class),
+                    rs.getObject(3, LocalDate.class),
+                    rs.getInt(4),
+                    rs.getString(5),
+                    rs.getString(6),
+                    rs.getObject(7, UUID.class),
+                    rs.getBoolean(8));
+        }
+    }
+}
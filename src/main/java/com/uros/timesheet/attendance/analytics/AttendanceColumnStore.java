@@ -0,0 +1,584 @@
+package com.uros.timesheet.attendance.analytics;
+
+import com.uros.timesheet.attendance.dto.report.ReportDimension;
+import com.uros.timesheet.attendance.dto.report.ReportMeasure;
+import com.uros.timesheet.attendance.dto.report.ReportRow;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Attendance records of one organization held as parallel primitive arrays: user index,
+ * epoch day, worked minutes, type and status codes, plus the record id for updates.
+ * <p>
+ * Aggregations scan the arrays in tight loops (split across the common pool for large
+ * stores) into dense per-group accumulators, and return rows shaped like the SQL report
+ * path. Writes replace or swap-remove single rows under a write lock; reads share a read
+ * lock. Roughly 36 bytes per record.
+ */
+public class AttendanceColumnStore {
+
+    /** Dimensions this store can group by; team membership is not kept per record. */
+    public static final Set<ReportDimension> DIMENSIONS = EnumSet.of(
+            ReportDimension.ORGANIZATION, ReportDimension.USER, ReportDimension.TYPE, ReportDimension.STATUS,
+            ReportDimension.DAY, ReportDimension.WEEK, ReportDimension.MONTH);
+    public static final int MAX_DIMENSIONS = 2;
+    /** Measures this store can compute; the regular/overtime split is not kept per record. */
+    public static final Set<ReportMeasure> MEASURES = EnumSet.of(
+            ReportMeasure.HOURS, ReportMeasure.RECORDS, ReportMeasure.DISTINCT_DAYS,
+            ReportMeasure.APPROVED_RECORDS, ReportMeasure.APPROVAL_RATE);
+
+    static final int PARALLEL_THRESHOLD = 100_000;
+    private static final int MAX_GROUPS = 1 << 20;
+    private static final long MAX_DAY_BITS_WORDS = 4L << 20;
+    private static final String APPROVED = "APPROVED";
+    private static final BigDecimal MINUTES_PER_HOUR = BigDecimal.valueOf(60);
+    private static final int KEY_CONSTANT = 0;
+    private static final int KEY_USER = 1;
+    private static final int KEY_TYPE = 2;
+    private static final int KEY_STATUS = 3;
+    private static final int KEY_PERIOD = 4;
+
+    private final UUID organizationId;
+    private final LocalDate windowStart;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] recordMsb;
+    private long[] recordLsb;
+    private int[] users;
+    private int[] days;
+    private short[] minutes;
+    private byte[] types;
+    private byte[] statuses;
+    private int size;
+
+    // Open addressing over record ids: slot holds row position + 1, 0 when empty
+    private int[] slots;
+
+    private final Map<UUID, Integer> userIndex = new HashMap<>();
+    private final List<UUID> userIds = new ArrayList<>();
+    private final Dictionary typeCodes = new Dictionary();
+    private final Dictionary statusCodes = new Dictionary();
+
+    public AttendanceColumnStore(UUID organizationId, LocalDate windowStart, int expectedRows) {
+        this.organizationId = organizationId;
+        this.windowStart = windowStart;
+        int capacity = Math.max(expectedRows, 16);
+        recordMsb = new long[capacity];
+        recordLsb = new long[capacity];
+        users = new int[capacity];
+        days = new int[capacity];
+        minutes = new short[capacity];
+        types = new byte[capacity];
+        statuses = new byte[capacity];
+        slots = new int[Integer.highestOneBit(capacity) << 2];
+    }
+
+    public UUID getOrganizationId() {
+        return organizationId;
+    }
+
+    /**
+     * First day held; records before it are neither stored nor answerable.
+     */
+    public LocalDate getWindowStart() {
+        return windowStart;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces a record. Records dated before the window are removed instead.
+     */
+    public void upsert(UUID recordId, UUID userId, LocalDate date, int workedMinutes, String type, String status) {
+        lock.writeLock().lock();
+        try {
+            if (date.isBefore(windowStart)) {
+                removeLocked(recordId);
+                return;
+            }
+            int slot = findSlot(recordId.getMostSignificantBits(), recordId.getLeastSignificantBits());
+            int row;
+            if (slots[slot] != 0) {
+                row = slots[slot] - 1;
+            } else {
+                ensureCapacity(size + 1);
+                row = size++;
+                recordMsb[row] = recordId.getMostSignificantBits();
+                recordLsb[row] = recordId.getLeastSignificantBits();
+                slots[slot] = row + 1;
+                if (size * 2 > slots.length) {
+                    rehash(slots.length * 2);
+                }
+            }
+            users[row] = userIndex.computeIfAbsent(userId, id -> {
+                userIds.add(id);
+                return userIds.size() - 1;
+            });
+            days[row] = (int) date.toEpochDay();
+            minutes[row] = (short) workedMinutes;
+            types[row] = typeCodes.code(type);
+            statuses[row] = statusCodes.code(status);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(UUID recordId) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(recordId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Groups the records in {@code [from, to]} by up to {@link #MAX_DIMENSIONS} dimensions.
+     * Rows come back in the order of the SQL path (dimension values ascending); a grand total
+     * without dimensions is returned even when nothing matches.
+     *
+     * @return the rows, or null when the grouping is too wide to accumulate densely
+     */
+    public List<ReportRow> aggregate(List<ReportDimension> dimensions, List<ReportMeasure> measures,
+                                     LocalDate from, LocalDate to, UUID userId,
+                                     Set<String> statusFilter, Set<String> typeFilter) {
+        if (dimensions.size() > MAX_DIMENSIONS || !DIMENSIONS.containsAll(dimensions)) {
+            throw new IllegalArgumentException("Unsupported dimensions " + dimensions);
+        }
+        if (!MEASURES.containsAll(measures)) {
+            throw new IllegalArgumentException("Unsupported measures " + measures);
+        }
+        lock.readLock().lock();
+        try {
+            Scan scan = new Scan(dimensions, measures, from, to);
+            if ((long) scan.groups > MAX_GROUPS
+                    || (scan.dayWords > 0 && (long) scan.groups * scan.dayWords > MAX_DAY_BITS_WORDS)) {
+                return null;
+            }
+            scan.user = userId == null ? -1 : userIndex.getOrDefault(userId, -2);
+            scan.statusMask = statusCodes.mask(statusFilter);
+            scan.typeMask = typeCodes.mask(typeFilter);
+            scan.approvedCode = statusCodes.find(APPROVED);
+
+            Accumulator total;
+            int parallelism = ForkJoinPool.getCommonPoolParallelism();
+            if (size < PARALLEL_THRESHOLD || parallelism < 2) {
+                total = scan.run(0, size);
+            } else {
+                int chunk = (size + parallelism - 1) / parallelism;
+                int rows = size;
+                // The read lock held here keeps the arrays stable for the workers
+                total = IntStream.range(0, parallelism).parallel()
+                        .mapToObj(i -> scan.run(i * chunk, Math.min(rows, (i + 1) * chunk)))
+                        .reduce(Accumulator::merge)
+                        .orElseThrow();
+            }
+            return scan.rows(total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean removeLocked(UUID recordId) {
+        int slot = findSlot(recordId.getMostSignificantBits(), recordId.getLeastSignificantBits());
+        if (slots[slot] == 0) {
+            return false;
+        }
+        int row = slots[slot] - 1;
+        deleteSlot(slot);
+        int last = --size;
+        if (row != last) {
+            // Move the last row into the gap and repoint its slot
+            recordMsb[row] = recordMsb[last];
+            recordLsb[row] = recordLsb[last];
+            users[row] = users[last];
+            days[row] = days[last];
+            minutes[row] = minutes[last];
+            types[row] = types[last];
+            statuses[row] = statuses[last];
+            slots[findSlot(recordMsb[row], recordLsb[row])] = row + 1;
+        }
+        return true;
+    }
+
+    private int findSlot(long msb, long lsb) {
+        int mask = slots.length - 1;
+        int slot = hash(msb, lsb) & mask;
+        while (slots[slot] != 0) {
+            int row = slots[slot] - 1;
+            if (recordMsb[row] == msb && recordLsb[row] == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Backward-shift deletion keeps linear probe chains intact without tombstones
+    private void deleteSlot(int slot) {
+        int mask = slots.length - 1;
+        int gap = slot;
+        int next = (slot + 1) & mask;
+        while (slots[next] != 0) {
+            int row = slots[next] - 1;
+            int home = hash(recordMsb[row], recordLsb[row]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                slots[gap] = slots[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        slots[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int row = 0; row < size; row++) {
+            int slot = hash(recordMsb[row], recordLsb[row]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = row + 1;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= users.length) {
+            return;
+        }
+        int capacity = Math.max(required, users.length + (users.length >> 1));
+        recordMsb = Arrays.copyOf(recordMsb, capacity);
+        recordLsb = Arrays.copyOf(recordLsb, capacity);
+        users = Arrays.copyOf(users, capacity);
+        days = Arrays.copyOf(days, capacity);
+        minutes = Arrays.copyOf(minutes, capacity);
+        types = Arrays.copyOf(types, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * One aggregation: group key layout, filters and the per-row loop.
+     */
+    private final class Scan {
+
+        final List<ReportDimension> dimensions;
+        final List<ReportMeasure> measures;
+        final int fromDay;
+        final int toDay;
+        final int[] cardinality;
+        // Key source per dimension, resolved once instead of per row
+        final int[] kinds;
+        // Calendar dimensions: period index per day offset, and each period's first day
+        final int[][] periodOfDay;
+        final List<List<LocalDate>> periodStarts = new ArrayList<>();
+        final int groups;
+        final int dayWords;
+        int user;
+        boolean[] statusMask;
+        boolean[] typeMask;
+        int approvedCode;
+
+        Scan(List<ReportDimension> dimensions, List<ReportMeasure> measures, LocalDate from, LocalDate to) {
+            this.dimensions = dimensions;
+            this.measures = measures;
+            this.fromDay = (int) from.toEpochDay();
+            this.toDay = (int) to.toEpochDay();
+            this.cardinality = new int[dimensions.size()];
+            this.kinds = new int[dimensions.size()];
+            this.periodOfDay = new int[dimensions.size()][];
+            long product = 1;
+            for (int d = 0; d < dimensions.size(); d++) {
+                periodStarts.add(null);
+                cardinality[d] = switch (dimensions.get(d)) {
+                    case ORGANIZATION -> 1;
+                    case USER -> userIds.size();
+                    case TYPE -> typeCodes.size();
+                    case STATUS -> statusCodes.size();
+                    case DAY, WEEK, MONTH -> periods(d, from, to);
+                    default -> throw new IllegalArgumentException("Unsupported dimension " + dimensions.get(d));
+                };
+                kinds[d] = switch (dimensions.get(d)) {
+                    case USER -> KEY_USER;
+                    case TYPE -> KEY_TYPE;
+                    case STATUS -> KEY_STATUS;
+                    case DAY, WEEK, MONTH -> KEY_PERIOD;
+                    default -> KEY_CONSTANT;
+                };
+                product *= Math.max(cardinality[d], 1);
+            }
+            this.groups = (int) Math.min(product, Integer.MAX_VALUE);
+            this.dayWords = measures.contains(ReportMeasure.DISTINCT_DAYS) ? (toDay - fromDay + 64) / 64 : 0;
+        }
+
+        private int periods(int d, LocalDate from, LocalDate to) {
+            int[] index = new int[toDay - fromDay + 1];
+            List<LocalDate> starts = new ArrayList<>();
+            LocalDate previous = null;
+            for (int offset = 0; offset < index.length; offset++) {
+                LocalDate day = from.plusDays(offset);
+                LocalDate start = switch (dimensions.get(d)) {
+                    case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                    case MONTH -> day.withDayOfMonth(1);
+                    default -> day;
+                };
+                if (!start.equals(previous)) {
+                    starts.add(start);
+                    previous = start;
+                }
+                index[offset] = starts.size() - 1;
+            }
+            periodOfDay[d] = index;
+            periodStarts.set(d, starts);
+            return starts.size();
+        }
+
+        Accumulator run(int fromRow, int toRow) {
+            Accumulator acc = new Accumulator(groups, dayWords);
+            if (user == -2) {
+                return acc;
+            }
+            int dimensionCount = dimensions.size();
+            for (int i = fromRow; i < toRow; i++) {
+                int day = days[i];
+                if (day < fromDay || day > toDay
+                        || (user >= 0 && users[i] != user)
+                        || (statusMask != null && !statusMask[statuses[i]])
+                        || (typeMask != null && !typeMask[types[i]])) {
+                    continue;
+                }
+                int offset = day - fromDay;
+                int group = 0;
+                for (int d = 0; d < dimensionCount; d++) {
+                    group = group * cardinality[d] + key(d, i, offset);
+                }
+                acc.minutes[group] += minutes[i];
+                acc.records[group]++;
+                if (statuses[i] == approvedCode) {
+                    acc.approved[group]++;
+                }
+                if (acc.dayBits != null) {
+                    acc.dayBits[group * dayWords + (offset >>> 6)] |= 1L << offset;
+                }
+            }
+            return acc;
+        }
+
+        private int key(int d, int row, int offset) {
+            return switch (kinds[d]) {
+                case KEY_USER -> users[row];
+                case KEY_TYPE -> types[row];
+                case KEY_STATUS -> statuses[row];
+                case KEY_PERIOD -> periodOfDay[d][offset];
+                default -> 0;
+            };
+        }
+
+        List<ReportRow> rows(Accumulator acc) {
+            if (dimensions.isEmpty()) {
+                return List.of(row(acc, 0, List.of()));
+            }
+            int[][] ranks = new int[dimensions.size()][];
+            for (int d = 0; d < dimensions.size(); d++) {
+                ranks[d] = ranks(d);
+            }
+            List<int[]> keyed = new ArrayList<>();
+            for (int group = 0; group < groups; group++) {
+                if (acc.records[group] > 0) {
+                    int[] keys = new int[dimensions.size()];
+                    int rest = group;
+                    for (int d = dimensions.size() - 1; d >= 0; d--) {
+                        keys[d] = rest % cardinality[d];
+                        rest /= cardinality[d];
+                    }
+                    keyed.add(new int[]{group, keys[0], keys.length > 1 ? keys[1] : 0});
+                }
+            }
+            Comparator<int[]> order = Comparator.comparingInt(k -> ranks[0][k[1]]);
+            if (dimensions.size() > 1) {
+                order = order.thenComparingInt(k -> ranks[1][k[2]]);
+            }
+            keyed.sort(order);
+
+            List<ReportRow> result = new ArrayList<>(keyed.size());
+            for (int[] k : keyed) {
+                List<String> values = new ArrayList<>(dimensions.size());
+                for (int d = 0; d < dimensions.size(); d++) {
+                    values.add(label(d, k[d + 1]));
+                }
+                result.add(row(acc, k[0], values));
+            }
+            return result;
+        }
+
+        // Sort position of each key, matching PostgreSQL ordering of the underlying values
+        private int[] ranks(int d) {
+            Integer[] keys = new Integer[cardinality[d]];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = i;
+            }
+            Comparator<Integer> order = switch (dimensions.get(d)) {
+                case USER -> Comparator.comparing(userIds::get, AttendanceColumnStore::compareUnsigned);
+                case TYPE -> Comparator.comparing(typeCodes::value);
+                case STATUS -> Comparator.comparing(statusCodes::value);
+                default -> Comparator.naturalOrder();
+            };
+            Arrays.sort(keys, order);
+            int[] ranks = new int[keys.length];
+            for (int rank = 0; rank < keys.length; rank++) {
+                ranks[keys[rank]] = rank;
+            }
+            return ranks;
+        }
+
+        private String label(int d, int key) {
+            return switch (dimensions.get(d)) {
+                case ORGANIZATION -> organizationId.toString();
+                case USER -> userIds.get(key).toString();
+                case TYPE -> typeCodes.value(key);
+                case STATUS -> statusCodes.value(key);
+                default -> periodStarts.get(d).get(key).toString();
+            };
+        }
+
+        private ReportRow row(Accumulator acc, int group, List<String> values) {
+            List<BigDecimal> result = new ArrayList<>(measures.size());
+            for (ReportMeasure measure : measures) {
+                result.add(switch (measure) {
+                    case HOURS -> BigDecimal.valueOf(acc.minutes[group]).divide(MINUTES_PER_HOUR, 2, RoundingMode.HALF_UP);
+                    case RECORDS -> BigDecimal.valueOf(acc.records[group]);
+                    case APPROVED_RECORDS -> BigDecimal.valueOf(acc.approved[group]);
+                    case APPROVAL_RATE -> acc.records[group] == 0 ? null
+                            : BigDecimal.valueOf(acc.approved[group])
+                            .divide(BigDecimal.valueOf(acc.records[group]), 4, RoundingMode.HALF_UP);
+                    case DISTINCT_DAYS -> BigDecimal.valueOf(distinctDays(acc, group));
+                    case REGULAR_HOURS, OVERTIME_HOURS -> throw new IllegalStateException("Unsupported measure " + measure);
+                });
+            }
+            return new ReportRow(values, List.of(), result);
+        }
+
+        private long distinctDays(Accumulator acc, int group) {
+            long count = 0;
+            for (int w = 0; w < dayWords; w++) {
+                count += Long.bitCount(acc.dayBits[group * dayWords + w]);
+            }
+            return count;
+        }
+    }
+
+    private static final class Accumulator {
+
+        final long[] minutes;
+        final long[] records;
+        final long[] approved;
+        final long[] dayBits;
+
+        Accumulator(int groups, int dayWords) {
+            minutes = new long[groups];
+            records = new long[groups];
+            approved = new long[groups];
+            dayBits = dayWords > 0 ? new long[groups * dayWords] : null;
+        }
+
+        Accumulator merge(Accumulator other) {
+            for (int g = 0; g < minutes.length; g++) {
+                minutes[g] += other.minutes[g];
+                records[g] += other.records[g];
+                approved[g] += other.approved[g];
+            }
+            if (dayBits != null) {
+                for (int w = 0; w < dayBits.length; w++) {
+                    dayBits[w] |= other.dayBits[w];
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Byte codes for the few distinct type and status strings.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Byte> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        byte code(String value) {
+            Byte code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (values.size() == Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct values: " + value);
+            }
+            values.add(value);
+            codes.put(value, (byte) (values.size() - 1));
+            return (byte) (values.size() - 1);
+        }
+
+        int find(String value) {
+            Byte code = codes.get(value);
+            return code != null ? code : -1;
+        }
+
+        String value(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        /**
+         * @return codes allowed by the filter, or null when unfiltered
+         */
+        boolean[] mask(Set<String> filter) {
+            if (filter == null || filter.isEmpty()) {
+                return null;
+            }
+            boolean[] mask = new boolean[Byte.MAX_VALUE];
+            for (String value : filter) {
+                int code = find(value);
+                if (code >= 0) {
+                    mask[code] = true;
+                }
+            }
+            return mask;
+        }
+    }
+
+    // PostgreSQL orders uuids bytewise, i.e. as unsigned numbers
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
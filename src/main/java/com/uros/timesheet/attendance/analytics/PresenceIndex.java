@@ -0,0 +1,305 @@
+package com.uros.timesheet.attendance.analytics;
+
+import com.uros.timesheet.attendance.dto.report.DailyHeadcountDto;
+import com.uros.timesheet.attendance.event.AttendanceRecordStatusChangedEvent;
+import com.uros.timesheet.attendance.repository.report.PresenceFact;
+import com.uros.timesheet.attendance.repository.report.PresenceReportRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory presence index per organization: for every day, a {@link PresenceBitmap} of the
+ * users present (a live, non-rejected work or remote record), keyed by a dense per-organization
+ * user ordinal.
+ * <p>
+ * An organization is loaded on its first query, from {@code presence-index.window-months}
+ * back up to a year ahead, through a streaming cursor; concurrent first queries share one
+ * load. After commit, every attendance status event re-reads the presence of its record's
+ * user and day and sets or clears that one bit; an event arriving mid-load discards the load.
+ * Indexes are rebuilt after {@code max-age}, which also moves the window forward.
+ * <p>
+ * Daily headcounts are bitmap cardinalities, and "present on all/any of these days" is an
+ * AND/OR over the days' bitmaps. Days outside the window return empty and run in SQL.
+ */
+@Slf4j
+@Component
+public class PresenceIndex {
+
+    private static final int HORIZON_DAYS = 366;
+
+    private final PresenceReportRepository presenceReportRepository;
+    private final MeterRegistry meterRegistry;
+    private final Map<UUID, Entry> indexes = new ConcurrentHashMap<>();
+
+    @Value("${presence-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${presence-index.window-months:13}")
+    private int windowMonths;
+
+    @Value("${presence-index.max-age:12h}")
+    private Duration maxAge;
+
+    private Counter hits;
+    private Counter misses;
+
+    public PresenceIndex(PresenceReportRepository presenceReportRepository, MeterRegistry meterRegistry) {
+        this.presenceReportRepository = presenceReportRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        hits = meterRegistry.counter("presence.index.requests", "result", "hit");
+        misses = meterRegistry.counter("presence.index.requests", "result", "miss");
+        Gauge.builder("presence.index.organizations", indexes, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Number of users present on each day of {@code [from, to]}, days without anyone included.
+     *
+     * @return the headcounts, or empty when the range has to be counted in the database
+     */
+    public Optional<List<DailyHeadcountDto>> headcounts(UUID organizationId, LocalDate from, LocalDate to) {
+        OrganizationPresence presence = covering(organizationId, from, to);
+        if (presence == null) {
+            return Optional.empty();
+        }
+        List<DailyHeadcountDto> result = new ArrayList<>();
+        presence.lock.readLock().lock();
+        try {
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                PresenceBitmap bitmap = presence.day(day);
+                result.add(new DailyHeadcountDto(day, bitmap != null ? bitmap.cardinality() : 0));
+            }
+        } finally {
+            presence.lock.readLock().unlock();
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Users present on all (or any) of the days, ordered by id.
+     *
+     * @return the users, or empty when the days have to be checked in the database
+     */
+    public Optional<List<UUID>> presentUsers(UUID organizationId, List<LocalDate> days, boolean all) {
+        if (days.isEmpty()) {
+            return Optional.of(List.of());
+        }
+        LocalDate first = days.stream().min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate last = days.stream().max(Comparator.naturalOrder()).orElseThrow();
+        OrganizationPresence presence = covering(organizationId, first, last);
+        if (presence == null) {
+            return Optional.empty();
+        }
+        List<UUID> users = new ArrayList<>();
+        presence.lock.readLock().lock();
+        try {
+            PresenceBitmap combined = null;
+            for (LocalDate day : days) {
+                PresenceBitmap bitmap = presence.day(day);
+                if (bitmap == null) {
+                    bitmap = new PresenceBitmap();
+                }
+                combined = combined == null ? bitmap : all ? combined.and(bitmap) : combined.or(bitmap);
+                if (all && combined.isEmpty()) {
+                    break;
+                }
+            }
+            combined.forEach(ordinal -> users.add(presence.users.get(ordinal)));
+        } finally {
+            presence.lock.readLock().unlock();
+        }
+        // Same order as ORDER BY on a PostgreSQL uuid column
+        users.sort(Comparator.comparing(UUID::toString));
+        return Optional.of(users);
+    }
+
+    /**
+     * Drops an organization's index; the next query reloads it.
+     */
+    public void evict(UUID organizationId) {
+        indexes.remove(organizationId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttendanceStatusChanged(AttendanceRecordStatusChangedEvent event) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        try {
+            Optional<PresenceFact> found = presenceReportRepository.findPresenceByRecordId(event.getAttendanceRecordId());
+            if (found.isEmpty()) {
+                return;
+            }
+            PresenceFact fact = found.get();
+            Entry entry = indexes.get(fact.organizationId());
+            if (entry == null) {
+                return;
+            }
+            if (!entry.future.isDone()) {
+                // The running load may or may not see this change; let the next query reload
+                indexes.remove(fact.organizationId(), entry);
+                return;
+            }
+            OrganizationPresence presence = entry.loaded();
+            if (presence != null) {
+                presence.set(fact.userId(), fact.date(), fact.present());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("[PresenceIndex] Failed to apply attendance record {}: {}",
+                    event.getAttendanceRecordId(), ex.getMessage());
+            indexes.clear();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${presence-index.sweep-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        indexes.forEach((organizationId, entry) -> {
+            if (now - entry.createdAt > maxAge.toNanos() && entry.future.isDone()) {
+                indexes.remove(organizationId, entry);
+            }
+        });
+    }
+
+    private OrganizationPresence covering(UUID organizationId, LocalDate from, LocalDate to) {
+        if (!enabled) {
+            return null;
+        }
+        OrganizationPresence presence = index(organizationId);
+        if (presence == null || from.isBefore(presence.windowStart) || to.isAfter(presence.windowEnd)) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return presence;
+    }
+
+    private OrganizationPresence index(UUID organizationId) {
+        Entry entry = indexes.get(organizationId);
+        if (entry != null && System.nanoTime() - entry.createdAt > maxAge.toNanos() && entry.future.isDone()) {
+            indexes.remove(organizationId, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            Entry created = new Entry();
+            entry = indexes.putIfAbsent(organizationId, created);
+            if (entry == null) {
+                entry = created;
+                load(organizationId, created);
+            }
+        }
+        return entry.future.join();
+    }
+
+    private void load(UUID organizationId, Entry entry) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        OrganizationPresence presence = new OrganizationPresence(
+                today.minusMonths(windowMonths).withDayOfMonth(1), today.plusDays(HORIZON_DAYS));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            presenceReportRepository.streamPresence(organizationId, presence.windowStart, presence.windowEnd,
+                    (userId, date) -> presence.set(userId, date, true));
+        } catch (RuntimeException ex) {
+            log.warn("[PresenceIndex] Failed to load organization {}: {}", organizationId, ex.getMessage());
+            indexes.remove(organizationId, entry);
+            entry.future.complete(null);
+            return;
+        } finally {
+            sample.stop(meterRegistry.timer("presence.index.load"));
+        }
+        log.info("[PresenceIndex] Loaded presence of {} users of organization {}", presence.users.size(), organizationId);
+        entry.future.complete(presence);
+    }
+
+    private static final class Entry {
+
+        final CompletableFuture<OrganizationPresence> future = new CompletableFuture<>();
+        final long createdAt = System.nanoTime();
+
+        OrganizationPresence loaded() {
+            return future.isDone() && !future.isCompletedExceptionally() ? future.getNow(null) : null;
+        }
+    }
+
+    /**
+     * Day bitmaps of one organization, indexed by days since the window start.
+     */
+    static final class OrganizationPresence {
+
+        final LocalDate windowStart;
+        final LocalDate windowEnd;
+        final Map<UUID, Integer> ordinals = new HashMap<>();
+        final List<UUID> users = new ArrayList<>();
+        final PresenceBitmap[] days;
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        OrganizationPresence(LocalDate windowStart, LocalDate windowEnd) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+            this.days = new PresenceBitmap[(int) (windowEnd.toEpochDay() - windowStart.toEpochDay()) + 1];
+        }
+
+        /**
+         * Caller holds the read lock.
+         */
+        PresenceBitmap day(LocalDate date) {
+            return days[(int) (date.toEpochDay() - windowStart.toEpochDay())];
+        }
+
+        void set(UUID userId, LocalDate date, boolean present) {
+            if (date.isBefore(windowStart) || date.isAfter(windowEnd)) {
+                return;
+            }
+            int offset = (int) (date.toEpochDay() - windowStart.toEpochDay());
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinals.get(userId);
+                if (!present) {
+                    if (ordinal != null && days[offset] != null) {
+                        days[offset].remove(ordinal);
+                    }
+                    return;
+                }
+                if (ordinal == null) {
+                    ordinal = users.size();
+                    ordinals.put(userId, ordinal);
+                    users.add(userId);
+                }
+                if (days[offset] == null) {
+                    days[offset] = new PresenceBitmap();
+                }
+                days[offset].add(ordinal);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.uros.timesheet.attendance.columnar;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cursor over a decoded chunk; the counterpart of {@link ByteSink}.
+ */
+final class ByteSource {
+
+    private final byte[] bytes;
+    private final int limit;
+    private int position;
+
+    ByteSource(byte[] bytes, int limit) {
+        this.bytes = bytes;
+        this.limit = limit;
+    }
+
+    int readByte() throws IOException {
+        if (position >= limit) {
+            throw new EOFException("Truncated column chunk");
+        }
+        return bytes[position++] & 0xFF;
+    }
+
+    long readLong() throws IOException {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | readByte();
+        }
+        return value;
+    }
+
+    long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    long readSignedVarint() throws IOException {
+        long raw = readVarint();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    String readString() throws IOException {
+        int length = (int) readVarint();
+        if (length > limit - position) {
+            throw new EOFException("Truncated column chunk");
+        }
+        String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+}
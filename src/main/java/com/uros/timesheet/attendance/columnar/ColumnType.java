@@ -0,0 +1,38 @@
+package com.uros.timesheet.attendance.columnar;
+
+/**
+ * Value types of a columnar export column and how each is encoded in a block.
+ */
+public enum ColumnType {
+    /** 16 bytes per value, most significant half first. */
+    UUID(1),
+    /** Epoch day, delta-encoded. */
+    DATE(2),
+    /** Microseconds of day, delta-encoded. */
+    TIME(3),
+    /** Epoch microseconds (UTC), delta-encoded. */
+    TIMESTAMP(4),
+    /** Low-cardinality text: per-block dictionary plus one index per value. */
+    DICTIONARY(5),
+    /** Free text: length-prefixed UTF-8. */
+    STRING(6);
+
+    private final int code;
+
+    ColumnType(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public static ColumnType fromCode(int code) {
+        for (ColumnType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown column type " + code);
+    }
+}
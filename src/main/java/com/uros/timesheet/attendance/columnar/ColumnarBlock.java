@@ -0,0 +1,120 @@
+package com.uros.timesheet.attendance.columnar;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One decoded block of a columnar export: column-major arrays with typed accessors.
+ * Accessors return null for null values; {@link #getLong} exposes the raw encoded value
+ * (epoch day, microseconds) for callers that want to avoid object creation.
+ */
+public final class ColumnarBlock {
+
+    private final List<Column> columns;
+    private final int rowCount;
+    private final BitSet[] nulls;
+    private final long[][] longs;
+    private final String[][] dictionaries;
+    private final int[][] codes;
+    private final String[][] strings;
+
+    ColumnarBlock(List<Column> columns, int rowCount) {
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.nulls = new BitSet[columns.size()];
+        this.longs = new long[columns.size()][];
+        this.dictionaries = new String[columns.size()][];
+        this.codes = new int[columns.size()][];
+        this.strings = new String[columns.size()][];
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    public boolean isNull(int column, int row) {
+        return nulls[column] != null && nulls[column].get(row);
+    }
+
+    public UUID getUuid(int column, int row) {
+        check(column, ColumnType.UUID);
+        return isNull(column, row) ? null : new UUID(longs[column][row * 2], longs[column][row * 2 + 1]);
+    }
+
+    public LocalDate getDate(int column, int row) {
+        check(column, ColumnType.DATE);
+        return isNull(column, row) ? null : LocalDate.ofEpochDay(longs[column][row]);
+    }
+
+    public LocalTime getTime(int column, int row) {
+        check(column, ColumnType.TIME);
+        return isNull(column, row) ? null : LocalTime.ofNanoOfDay(longs[column][row] * 1000);
+    }
+
+    public Instant getTimestamp(int column, int row) {
+        check(column, ColumnType.TIMESTAMP);
+        if (isNull(column, row)) {
+            return null;
+        }
+        long micros = longs[column][row];
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1000);
+    }
+
+    /**
+     * Encoded value of a DATE, TIME or TIMESTAMP column; undefined for nulls.
+     */
+    public long getLong(int column, int row) {
+        ColumnType type = columns.get(column).type();
+        if (type != ColumnType.DATE && type != ColumnType.TIME && type != ColumnType.TIMESTAMP) {
+            throw new IllegalArgumentException("Column " + columns.get(column).name() + " is " + type);
+        }
+        return longs[column][row];
+    }
+
+    /**
+     * Value of a DICTIONARY or STRING column.
+     */
+    public String getString(int column, int row) {
+        if (isNull(column, row)) {
+            return null;
+        }
+        ColumnType type = columns.get(column).type();
+        if (type == ColumnType.DICTIONARY) {
+            return dictionaries[column][codes[column][row]];
+        }
+        check(column, ColumnType.STRING);
+        return strings[column][row];
+    }
+
+    void setNulls(int column, BitSet columnNulls) {
+        nulls[column] = columnNulls;
+    }
+
+    void setLongs(int column, long[] values) {
+        longs[column] = values;
+    }
+
+    void setDictionary(int column, String[] dictionary, int[] valueCodes) {
+        dictionaries[column] = dictionary;
+        codes[column] = valueCodes;
+    }
+
+    void setStrings(int column, String[] values) {
+        strings[column] = values;
+    }
+
+    private void check(int column, ColumnType expected) {
+        ColumnType type = columns.get(column).type();
+        if (type != expected) {
+            throw new IllegalArgumentException("Column " + columns.get(column).name() + " is " + type + ", not " + expected);
+        }
+    }
+}
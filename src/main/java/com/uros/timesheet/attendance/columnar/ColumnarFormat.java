@@ -0,0 +1,42 @@
+package com.uros.timesheet.attendance.columnar;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout of the columnar export file (".tcf"). Written by {@link ColumnarWriter}, read by
+ * {@link ColumnarReader}; neither depends on anything outside this package, so the package
+ * can be copied into a downstream project as is.
+ * <pre>
+ * file    = magic version schema block* end
+ * magic   = "TCF1"
+ * version = u8 (1)
+ * schema  = varint(columnCount) { varint(nameLength) utf8(name) u8(typeCode) u8(nullable) }
+ * block   = varint(rowCount &gt; 0) chunk[columnCount]
+ * chunk   = u8(codec: 0 raw, 1 deflate) varint(rawLength) varint(storedLength) bytes(storedLength)
+ * end     = varint(0) u64(totalRows) magic
+ * </pre>
+ * A decoded chunk starts with a null bitmap of ceil(rowCount / 8) bytes (least significant
+ * bit first) if the column is nullable, followed by the non-null values only:
+ * <ul>
+ *   <li>UUID: two big-endian u64 each</li>
+ *   <li>DATE, TIME, TIMESTAMP: zigzag varint of the difference to the previous value
+ *       (the first value relative to zero)</li>
+ *   <li>DICTIONARY: varint(entryCount), entries as varint(length) utf8, then one varint
+ *       index per value; dictionaries are local to the block</li>
+ *   <li>STRING: varint(length) utf8 per value</li>
+ * </ul>
+ * All multi-byte integers are big-endian; varints are unsigned LEB128.
+ */
+public final class ColumnarFormat {
+
+    public static final String EXTENSION = "tcf";
+    public static final String CONTENT_TYPE = "application/octet-stream";
+
+    static final byte[] MAGIC = "TCF1".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final int CODEC_RAW = 0;
+    static final int CODEC_DEFLATE = 1;
+
+    private ColumnarFormat() {
+    }
+}
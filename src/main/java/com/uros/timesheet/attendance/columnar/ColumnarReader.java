@@ -0,0 +1,243 @@
+package com.uros.timesheet.attendance.columnar;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a {@link ColumnarFormat} file one block at a time.
+ * <pre>
+ * try (ColumnarReader reader = new ColumnarReader(in)) {
+ *     int date = reader.indexOf("date");
+ *     for (ColumnarBlock block = reader.nextBlock(); block != null; block = reader.nextBlock()) {
+ *         for (int row = 0; row &lt; block.getRowCount(); row++) {
+ *             LocalDate value = block.getDate(date, row);
+ *         }
+ *     }
+ * }
+ * </pre>
+ * Only one block is decoded at a time. A file cut short fails with an {@link IOException}
+ * instead of silently returning fewer rows. Not thread-safe.
+ */
+public class ColumnarReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataInputStream in;
+    private final List<Column> columns;
+    private final Inflater inflater = new Inflater();
+    private byte[] stored = new byte[BUFFER_SIZE];
+    private long rowsRead;
+    private long totalRows = -1;
+
+    public ColumnarReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+        byte[] magic = new byte[ColumnarFormat.MAGIC.length];
+        this.in.readFully(magic);
+        if (!Arrays.equals(magic, ColumnarFormat.MAGIC)) {
+            throw new IOException("Not a columnar export file");
+        }
+        int version = this.in.readUnsignedByte();
+        if (version != ColumnarFormat.VERSION) {
+            throw new IOException("Unsupported columnar format version " + version);
+        }
+        int count = (int) readVarint();
+        List<Column> schema = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[(int) readVarint()];
+            this.in.readFully(name);
+            ColumnType type = ColumnType.fromCode(this.in.readUnsignedByte());
+            boolean nullable = this.in.readUnsignedByte() != 0;
+            schema.add(new Column(new String(name, StandardCharsets.UTF_8), type, nullable));
+        }
+        this.columns = List.copyOf(schema);
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return position of the named column, or -1 if the file has no such column
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).name().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the next block, or null after the last one
+     */
+    public ColumnarBlock nextBlock() throws IOException {
+        if (totalRows >= 0) {
+            return null;
+        }
+        int rowCount = (int) readVarint();
+        if (rowCount == 0) {
+            readTrailer();
+            return null;
+        }
+        ColumnarBlock block = new ColumnarBlock(columns, rowCount);
+        for (int i = 0; i < columns.size(); i++) {
+            decodeChunk(block, i, rowCount);
+        }
+        rowsRead += rowCount;
+        return block;
+    }
+
+    /**
+     * Number of rows recorded in the trailer; available once {@link #nextBlock()} returned null.
+     */
+    public long getTotalRows() {
+        if (totalRows < 0) {
+            throw new IllegalStateException("File not read to the end");
+        }
+        return totalRows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+
+    private void readTrailer() throws IOException {
+        long recorded = in.readLong();
+        byte[] magic = new byte[ColumnarFormat.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, ColumnarFormat.MAGIC) || recorded != rowsRead) {
+            throw new IOException("Corrupt columnar export trailer");
+        }
+        totalRows = recorded;
+    }
+
+    private void decodeChunk(ColumnarBlock block, int index, int rowCount) throws IOException {
+        Column column = columns.get(index);
+        ByteSource source = readChunk();
+
+        BitSet nulls = null;
+        if (column.nullable()) {
+            byte[] bitmap = new byte[(rowCount + 7) / 8];
+            for (int i = 0; i < bitmap.length; i++) {
+                bitmap[i] = (byte) source.readByte();
+            }
+            nulls = BitSet.valueOf(bitmap);
+            block.setNulls(index, nulls);
+        }
+
+        switch (column.type()) {
+            case UUID -> {
+                long[] halves = new long[rowCount * 2];
+                for (int row = 0; row < rowCount; row++) {
+                    if (nulls == null || !nulls.get(row)) {
+                        halves[row * 2] = source.readLong();
+                        halves[row * 2 + 1] = source.readLong();
+                    }
+                }
+                block.setLongs(index, halves);
+            }
+            case DATE, TIME, TIMESTAMP -> {
+                long[] values = new long[rowCount];
+                long previous = 0;
+                for (int row = 0; row < rowCount; row++) {
+                    if (nulls == null || !nulls.get(row)) {
+                        previous += source.readSignedVarint();
+                        values[row] = previous;
+                    }
+                }
+                block.setLongs(index, values);
+            }
+            case DICTIONARY -> {
+                String[] dictionary = new String[(int) source.readVarint()];
+                for (int i = 0; i < dictionary.length; i++) {
+                    dictionary[i] = source.readString();
+                }
+                int[] codes = new int[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    if (nulls == null || !nulls.get(row)) {
+                        int code = (int) source.readVarint();
+                        if (code >= dictionary.length) {
+                            throw new IOException("Dictionary index out of range in column " + column.name());
+                        }
+                        codes[row] = code;
+                    }
+                }
+                block.setDictionary(index, dictionary, codes);
+            }
+            case STRING -> {
+                String[] values = new String[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    if (nulls == null || !nulls.get(row)) {
+                        values[row] = source.readString();
+                    }
+                }
+                block.setStrings(index, values);
+            }
+        }
+    }
+
+    private ByteSource readChunk() throws IOException {
+        int codec = in.readUnsignedByte();
+        int rawLength = (int) readVarint();
+        int storedLength = (int) readVarint();
+        if (stored.length < storedLength) {
+            stored = new byte[storedLength];
+        }
+        in.readFully(stored, 0, storedLength);
+        if (codec == ColumnarFormat.CODEC_RAW) {
+            // Decoded completely before the next chunk overwrites the buffer
+            return new ByteSource(stored, storedLength);
+        }
+        if (codec != ColumnarFormat.CODEC_DEFLATE) {
+            throw new IOException("Unknown chunk codec " + codec);
+        }
+        byte[] raw = new byte[rawLength];
+        inflater.reset();
+        inflater.setInput(stored, 0, storedLength);
+        try {
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, rawLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != rawLength) {
+                throw new IOException("Corrupt column chunk");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt column chunk", e);
+        }
+        return new ByteSource(raw, rawLength);
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated columnar export");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,440 @@
+package com.uros.timesheet.attendance.columnar;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+/**
+ * Writes rows into the {@link ColumnarFormat} block by block.
+ * <p>
+ * Values are set per column and committed with {@link #endRow()}; a column left unset is
+ * null. Every {@code blockRows} rows the buffered columns are encoded, compressed one chunk
+ * at a time and written out, so memory is bounded by one block. Buffers are reused across
+ * blocks. {@link #finish()} must be called to write the trailer; the target stream is never
+ * closed. Not thread-safe.
+ */
+public class ColumnarWriter implements Closeable {
+
+    public static final int DEFAULT_BLOCK_ROWS = 65_536;
+
+    private static final long EPOCH_MICROS_PER_SECOND = 1_000_000L;
+
+    private final OutputStream out;
+    private final List<Column> columns;
+    private final ColumnEncoder[] encoders;
+    private final int blockRows;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final ByteSink chunk = new ByteSink(64 * 1024);
+    private final ByteSink frame = new ByteSink(64 * 1024);
+    private byte[] compressed = new byte[64 * 1024];
+    private int rows;
+    private long totalRows;
+    private boolean finished;
+
+    public ColumnarWriter(OutputStream out, List<Column> columns) throws IOException {
+        this(out, columns, DEFAULT_BLOCK_ROWS);
+    }
+
+    public ColumnarWriter(OutputStream out, List<Column> columns, int blockRows) throws IOException {
+        if (columns.isEmpty() || blockRows < 1) {
+            throw new IllegalArgumentException("At least one column and one row per block are required");
+        }
+        this.out = out;
+        this.columns = List.copyOf(columns);
+        this.blockRows = blockRows;
+        this.encoders = new ColumnEncoder[columns.size()];
+        for (int i = 0; i < encoders.length; i++) {
+            encoders[i] = encoderFor(this.columns.get(i), blockRows);
+        }
+        writeHeader();
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    public long getTotalRows() {
+        return totalRows + rows;
+    }
+
+    public void setUuid(int column, UUID value) {
+        UuidEncoder encoder = encoder(column, ColumnType.UUID, UuidEncoder.class);
+        if (value == null) {
+            encoder.setNull(rows);
+        } else {
+            encoder.add(value);
+        }
+    }
+
+    public void setDate(int column, LocalDate value) {
+        LongEncoder encoder = encoder(column, ColumnType.DATE, LongEncoder.class);
+        if (value == null) {
+            encoder.setNull(rows);
+        } else {
+            encoder.add(value.toEpochDay());
+        }
+    }
+
+    public void setTime(int column, LocalTime value) {
+        LongEncoder encoder = encoder(column, ColumnType.TIME, LongEncoder.class);
+        if (value == null) {
+            encoder.setNull(rows);
+        } else {
+            encoder.add(value.toNanoOfDay() / 1000);
+        }
+    }
+
+    public void setTimestamp(int column, Instant value) {
+        LongEncoder encoder = encoder(column, ColumnType.TIMESTAMP, LongEncoder.class);
+        if (value == null) {
+            encoder.setNull(rows);
+        } else {
+            encoder.add(value.getEpochSecond() * EPOCH_MICROS_PER_SECOND + value.getNano() / 1000);
+        }
+    }
+
+    /**
+     * Sets a DICTIONARY or STRING column.
+     */
+    public void setString(int column, String value) {
+        ColumnEncoder encoder = encoders[column];
+        if (encoder instanceof DictionaryEncoder dictionary) {
+            if (value == null) {
+                dictionary.setNull(rows);
+            } else {
+                dictionary.add(value);
+            }
+        } else if (encoder instanceof StringEncoder string) {
+            if (value == null) {
+                string.setNull(rows);
+            } else {
+                string.add(value);
+            }
+        } else {
+            throw typeMismatch(column, "text");
+        }
+    }
+
+    public void endRow() throws IOException {
+        for (ColumnEncoder encoder : encoders) {
+            if (!encoder.set) {
+                encoder.setNull(rows);
+            }
+            encoder.set = false;
+        }
+        if (++rows == blockRows) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Writes the buffered rows and the trailer and flushes the target stream.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        for (ColumnEncoder encoder : encoders) {
+            if (encoder.set) {
+                throw new IllegalStateException("Row started but not ended");
+            }
+        }
+        flushBlock();
+        frame.reset();
+        frame.writeVarint(0);
+        frame.writeLong(totalRows);
+        frame.writeBytes(ColumnarFormat.MAGIC, 0, ColumnarFormat.MAGIC.length);
+        out.write(frame.array(), 0, frame.size());
+        out.flush();
+        finished = true;
+    }
+
+    /**
+     * Releases the compressor without finishing: a file abandoned half-way has no trailer,
+     * so readers reject it instead of taking it as complete. The target stream stays open.
+     */
+    @Override
+    public void close() {
+        deflater.end();
+    }
+
+    private void writeHeader() throws IOException {
+        frame.reset();
+        frame.writeBytes(ColumnarFormat.MAGIC, 0, ColumnarFormat.MAGIC.length);
+        frame.writeByte(ColumnarFormat.VERSION);
+        frame.writeVarint(columns.size());
+        for (Column column : columns) {
+            byte[] name = column.name().getBytes(StandardCharsets.UTF_8);
+            frame.writeVarint(name.length);
+            frame.writeBytes(name, 0, name.length);
+            frame.writeByte(column.type().getCode());
+            frame.writeByte(column.nullable() ? 1 : 0);
+        }
+        out.write(frame.array(), 0, frame.size());
+    }
+
+    private void flushBlock() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        frame.reset();
+        frame.writeVarint(rows);
+        out.write(frame.array(), 0, frame.size());
+        for (ColumnEncoder encoder : encoders) {
+            chunk.reset();
+            if (encoder.column.nullable()) {
+                writeNullBitmap(encoder.nulls, rows);
+            }
+            encoder.encode(chunk);
+            writeChunk();
+            encoder.reset();
+        }
+        totalRows += rows;
+        rows = 0;
+    }
+
+    private void writeNullBitmap(BitSet nulls, int rowCount) {
+        byte[] bits = nulls.toByteArray();
+        int length = (rowCount + 7) / 8;
+        for (int i = 0; i < length; i++) {
+            chunk.writeByte(i < bits.length ? bits[i] : 0);
+        }
+    }
+
+    private void writeChunk() throws IOException {
+        deflater.reset();
+        deflater.setInput(chunk.array(), 0, chunk.size());
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+
+        // Incompressible chunks (mostly UUIDs) are kept raw
+        boolean deflated = length < chunk.size();
+        frame.reset();
+        frame.writeByte(deflated ? ColumnarFormat.CODEC_DEFLATE : ColumnarFormat.CODEC_RAW);
+        frame.writeVarint(chunk.size());
+        frame.writeVarint(deflated ? length : chunk.size());
+        out.write(frame.array(), 0, frame.size());
+        if (deflated) {
+            out.write(compressed, 0, length);
+        } else {
+            out.write(chunk.array(), 0, chunk.size());
+        }
+    }
+
+    private <T extends ColumnEncoder> T encoder(int column, ColumnType expected, Class<T> encoderType) {
+        ColumnEncoder encoder = encoders[column];
+        if (encoder.column.type() != expected) {
+            throw typeMismatch(column, expected.name());
+        }
+        return encoderType.cast(encoder);
+    }
+
+    private IllegalArgumentException typeMismatch(int column, String expected) {
+        Column target = columns.get(column);
+        return new IllegalArgumentException(
+                "Column " + target.name() + " is " + target.type() + ", not " + expected);
+    }
+
+    private static ColumnEncoder encoderFor(Column column, int blockRows) {
+        int capacity = Math.min(blockRows, 1024);
+        return switch (column.type()) {
+            case UUID -> new UuidEncoder(column, capacity);
+            case DATE, TIME, TIMESTAMP -> new LongEncoder(column, capacity);
+            case DICTIONARY -> new DictionaryEncoder(column, capacity);
+            case STRING -> new StringEncoder(column);
+        };
+    }
+
+    private abstract static class ColumnEncoder {
+
+        final Column column;
+        final BitSet nulls = new BitSet();
+        boolean set;
+
+        ColumnEncoder(Column column) {
+            this.column = column;
+        }
+
+        void setNull(int row) {
+            if (!column.nullable()) {
+                throw new IllegalArgumentException("Column " + column.name() + " is not nullable");
+            }
+            markSet();
+            nulls.set(row);
+        }
+
+        void markSet() {
+            if (set) {
+                throw new IllegalStateException("Column " + column.name() + " set twice in one row");
+            }
+            set = true;
+        }
+
+        abstract void encode(ByteSink target);
+
+        void reset() {
+            nulls.clear();
+        }
+    }
+
+    private static final class LongEncoder extends ColumnEncoder {
+
+        private long[] values;
+        private int count;
+
+        LongEncoder(Column column, int capacity) {
+            super(column);
+            this.values = new long[capacity];
+        }
+
+        void add(long value) {
+            markSet();
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = value;
+        }
+
+        @Override
+        void encode(ByteSink target) {
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                target.writeSignedVarint(values[i] - previous);
+                previous = values[i];
+            }
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            count = 0;
+        }
+    }
+
+    private static final class UuidEncoder extends ColumnEncoder {
+
+        private long[] halves;
+        private int count;
+
+        UuidEncoder(Column column, int capacity) {
+            super(column);
+            this.halves = new long[capacity * 2];
+        }
+
+        void add(UUID value) {
+            markSet();
+            if (count * 2 == halves.length) {
+                halves = Arrays.copyOf(halves, halves.length * 2);
+            }
+            halves[count * 2] = value.getMostSignificantBits();
+            halves[count * 2 + 1] = value.getLeastSignificantBits();
+            count++;
+        }
+
+        @Override
+        void encode(ByteSink target) {
+            for (int i = 0; i < count * 2; i++) {
+                target.writeLong(halves[i]);
+            }
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            count = 0;
+        }
+    }
+
+    private static final class DictionaryEncoder extends ColumnEncoder {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> entries = new ArrayList<>();
+        private int[] codes;
+        private int count;
+
+        DictionaryEncoder(Column column, int capacity) {
+            super(column);
+            this.codes = new int[capacity];
+        }
+
+        void add(String value) {
+            markSet();
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = entries.size();
+                ids.put(value, id);
+                entries.add(value);
+            }
+            if (count == codes.length) {
+                codes = Arrays.copyOf(codes, count * 2);
+            }
+            codes[count++] = id;
+        }
+
+        @Override
+        void encode(ByteSink target) {
+            target.writeVarint(entries.size());
+            for (String entry : entries) {
+                byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+                target.writeVarint(bytes.length);
+                target.writeBytes(bytes, 0, bytes.length);
+            }
+            for (int i = 0; i < count; i++) {
+                target.writeVarint(codes[i]);
+            }
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            ids.clear();
+            entries.clear();
+            count = 0;
+        }
+    }
+
+    private static final class StringEncoder extends ColumnEncoder {
+
+        private final ByteSink data = new ByteSink(16 * 1024);
+
+        StringEncoder(Column column) {
+            super(column);
+        }
+
+        void add(String value) {
+            markSet();
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            data.writeVarint(bytes.length);
+            data.writeBytes(bytes, 0, bytes.length);
+        }
+
+        @Override
+        void encode(ByteSink target) {
+            target.writeBytes(data.array(), 0, data.size());
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            data.reset();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.uros.timesheet.attendance.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (SSE heartbeats, maintenance tasks).
+ * The scheduler pool is sized by spring.task.scheduling.pool.size; tasks that can run
+ * for long, like notification retention, hand their work off to a private thread.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,193 @@
+package com.uros.timesheet.attendance.conflict;
+
+import com.uros.timesheet.attendance.event.AttendanceRecordStatusChangedEvent;
+import com.uros.timesheet.attendance.event.LeaveRequestStatusChangedEvent;
+import com.uros.timesheet.attendance.repository.report.PlanningIntervalFact;
+import com.uros.timesheet.attendance.repository.report.PlanningIntervalRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link OrganizationIntervals} per organization for the planning horizon,
+ * {@code conflict.index.past-days} back to {@code future-days} ahead, so overlap checks on
+ * create and submit do not range-scan the leave and attendance tables.
+ * <p>
+ * An organization is loaded on first use through a streaming cursor; concurrent first
+ * uses share one load. After commit, every attendance or leave status event re-reads its
+ * single row into the loaded intervals, and an event arriving mid-load discards the load.
+ * Indexes are rebuilt after {@code max-age}, which moves the horizon forward and picks up
+ * team membership changes. Ranges outside the horizon return empty and run in SQL.
+ */
+@Slf4j
+@Component
+public class ConflictIndex {
+
+    private final PlanningIntervalRepository planningIntervalRepository;
+    private final MeterRegistry meterRegistry;
+    private final Map<UUID, Entry> indexes = new ConcurrentHashMap<>();
+
+    @Value("${conflict.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${conflict.index.past-days:90}")
+    private int pastDays;
+
+    @Value("${conflict.index.future-days:366}")
+    private int futureDays;
+
+    @Value("${conflict.index.max-age:12h}")
+    private Duration maxAge;
+
+    private Counter hits;
+    private Counter misses;
+
+    public ConflictIndex(PlanningIntervalRepository planningIntervalRepository, MeterRegistry meterRegistry) {
+        this.planningIntervalRepository = planningIntervalRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        hits = meterRegistry.counter("conflict.index.requests", "result", "hit");
+        misses = meterRegistry.counter("conflict.index.requests", "result", "miss");
+        Gauge.builder("conflict.index.organizations", indexes, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The organization's intervals, if they cover {@code [from, to]}.
+     *
+     * @return the intervals, or empty when the range has to be checked in the database
+     */
+    public Optional<OrganizationIntervals> covering(UUID organizationId, LocalDate from, LocalDate to) {
+        if (!enabled || organizationId == null) {
+            return Optional.empty();
+        }
+        OrganizationIntervals intervals = index(organizationId);
+        if (intervals == null || !intervals.covers(from, to)) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(intervals);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttendanceStatusChanged(AttendanceRecordStatusChangedEvent event) {
+        apply(event.getAttendanceRecordId(), PlanningInterval.Kind.WORK);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLeaveStatusChanged(LeaveRequestStatusChangedEvent event) {
+        apply(event.getLeaveRequestId(), PlanningInterval.Kind.LEAVE);
+    }
+
+    @Scheduled(fixedDelayString = "${conflict.index.sweep-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        indexes.forEach((organizationId, entry) -> {
+            if (now - entry.createdAt > maxAge.toNanos() && entry.future.isDone()) {
+                indexes.remove(organizationId, entry);
+            }
+        });
+    }
+
+    private void apply(UUID id, PlanningInterval.Kind kind) {
+        if (indexes.isEmpty() || id == null) {
+            return;
+        }
+        try {
+            Optional<PlanningIntervalFact> found = planningIntervalRepository.findFact(id, kind);
+            if (found.isEmpty()) {
+                return;
+            }
+            PlanningIntervalFact fact = found.get();
+            Entry entry = indexes.get(fact.organizationId());
+            if (entry == null) {
+                return;
+            }
+            if (!entry.future.isDone()) {
+                // The running load may or may not see this change; let the next use reload
+                indexes.remove(fact.organizationId(), entry);
+                return;
+            }
+            OrganizationIntervals intervals = entry.loaded();
+            if (intervals == null) {
+                return;
+            }
+            if (fact.active()) {
+                intervals.put(fact.interval());
+            } else {
+                intervals.remove(id);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("[ConflictIndex] Failed to apply {} {}: {}", kind, id, ex.getMessage());
+            indexes.clear();
+        }
+    }
+
+    private OrganizationIntervals index(UUID organizationId) {
+        Entry entry = indexes.get(organizationId);
+        if (entry != null && System.nanoTime() - entry.createdAt > maxAge.toNanos() && entry.future.isDone()) {
+            indexes.remove(organizationId, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            Entry created = new Entry();
+            entry = indexes.putIfAbsent(organizationId, created);
+            if (entry == null) {
+                entry = created;
+                load(organizationId, created);
+            }
+        }
+        return entry.future.join();
+    }
+
+    private void load(UUID organizationId, Entry entry) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate horizonStart = today.minusDays(pastDays);
+        LocalDate horizonEnd = today.plusDays(futureDays);
+        OrganizationIntervals intervals = new OrganizationIntervals(horizonStart, horizonEnd);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            planningIntervalRepository.streamIntervals(organizationId, null, horizonStart, horizonEnd, intervals::put);
+        } catch (RuntimeException ex) {
+            log.warn("[ConflictIndex] Failed to load organization {}: {}", organizationId, ex.getMessage());
+            indexes.remove(organizationId, entry);
+            entry.future.complete(null);
+            return;
+        } finally {
+            sample.stop(meterRegistry.timer("conflict.index.load"));
+        }
+        log.info("[ConflictIndex] Loaded {} intervals of organization {}", intervals.size(), organizationId);
+        entry.future.complete(intervals);
+    }
+
+    private static final class Entry {
+
+        final CompletableFuture<OrganizationIntervals> future = new CompletableFuture<>();
+        final long createdAt = System.nanoTime();
+
+        OrganizationIntervals loaded() {
+            return future.isDone() && !future.isCompletedExceptionally() ? future.getNow(null) : null;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.uros.timesheet.attendance.conflict;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Interval tree over {@link PlanningInterval}s: an AVL tree ordered by start day and id,
+ * each node augmented with the largest end day in its subtree.
+ * <p>
+ * Insert and remove are O(log n). An overlap query visits only subtrees whose largest
+ * end reaches the query start and whose starts do not pass the query end, so it is
+ * O(log n + k) for k reported intervals; {@link #anyOverlap} stops at the first match.
+ * Not thread-safe.
+ */
+public final class IntervalTree {
+
+    private Node root;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public void insert(PlanningInterval interval) {
+        root = insert(root, new Node(interval));
+    }
+
+    /**
+     * @return true if the interval was in the tree
+     */
+    public boolean remove(PlanningInterval interval) {
+        int before = size;
+        root = remove(root, interval.start().toEpochDay(), interval);
+        return size < before;
+    }
+
+    /**
+     * Calls action for every interval overlapping the closed range of epoch days, in
+     * start order.
+     */
+    public void forEachOverlap(long from, long to, Consumer<PlanningInterval> action) {
+        visit(root, from, to, interval -> {
+            action.accept(interval);
+            return false;
+        });
+    }
+
+    public boolean anyOverlap(long from, long to, Predicate<PlanningInterval> filter) {
+        return visit(root, from, to, filter);
+    }
+
+    private static boolean visit(Node node, long from, long to, Predicate<PlanningInterval> stop) {
+        while (node != null && node.maxEnd >= from) {
+            if (visit(node.left, from, to, stop)) {
+                return true;
+            }
+            if (node.start > to) {
+                // Everything to the right starts later still
+                return false;
+            }
+            if (node.end >= from && stop.test(node.interval)) {
+                return true;
+            }
+            node = node.right;
+        }
+        return false;
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            size++;
+            return added;
+        }
+        int order = compare(added.start, added.interval, node);
+        if (order < 0) {
+            node.left = insert(node.left, added);
+        } else if (order > 0) {
+            node.right = insert(node.right, added);
+        } else {
+            node.interval = added.interval;
+            node.end = added.end;
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, long start, PlanningInterval interval) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(start, interval, node);
+        if (order < 0) {
+            node.left = remove(node.left, start, interval);
+        } else if (order > 0) {
+            node.right = remove(node.right, start, interval);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.right = removeMin(node.right);
+            successor.left = node.left;
+            successor.right = node.right;
+            return balance(successor);
+        }
+        return balance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static int compare(long start, PlanningInterval interval, Node node) {
+        int order = Long.compare(start, node.start);
+        return order != 0 ? order : interval.id().compareTo(node.interval.id());
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node != null ? node.height : 0;
+    }
+
+    private static final class Node {
+
+        PlanningInterval interval;
+        final long start;
+        long end;
+        long maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(PlanningInterval interval) {
+            this.interval = interval;
+            this.start = interval.start().toEpochDay();
+            this.end = interval.end().toEpochDay();
+            this.maxEnd = end;
+        }
+    }
+}
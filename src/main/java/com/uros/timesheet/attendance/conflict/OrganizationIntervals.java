@@ -0,0 +1,169 @@
+package com.uros.timesheet.attendance.conflict;
+
+import com.uros.timesheet.attendance.dto.team.AttendanceOnLeaveDto;
+import com.uros.timesheet.attendance.dto.team.LeaveOverlapDto;
+import com.uros.timesheet.attendance.dto.team.TeamConflictReport;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Planning intervals of one organization within {@code [horizonStart, horizonEnd]}: an
+ * {@link IntervalTree} per user (leaves and worked days) and one per team (leaves only).
+ * Thread-safe through a read-write lock.
+ */
+public final class OrganizationIntervals {
+
+    private final LocalDate horizonStart;
+    private final LocalDate horizonEnd;
+    private final Map<UUID, PlanningInterval> byId = new HashMap<>();
+    private final Map<UUID, IntervalTree> byUser = new HashMap<>();
+    private final Map<UUID, IntervalTree> leavesByTeam = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public OrganizationIntervals(LocalDate horizonStart, LocalDate horizonEnd) {
+        this.horizonStart = horizonStart;
+        this.horizonEnd = horizonEnd;
+    }
+
+    public boolean covers(LocalDate from, LocalDate to) {
+        return !from.isBefore(horizonStart) && !to.isAfter(horizonEnd);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds an interval, replacing the one with the same id. Intervals entirely outside the
+     * horizon are dropped.
+     */
+    public void put(PlanningInterval interval) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(interval.id());
+            if (!interval.overlaps(horizonStart, horizonEnd)) {
+                return;
+            }
+            byId.put(interval.id(), interval);
+            byUser.computeIfAbsent(interval.userId(), id -> new IntervalTree()).insert(interval);
+            if (interval.kind() == PlanningInterval.Kind.LEAVE && interval.teamId() != null) {
+                leavesByTeam.computeIfAbsent(interval.teamId(), id -> new IntervalTree()).insert(interval);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Intervals of the user overlapping {@code [from, to]}, in start order.
+     */
+    public List<PlanningInterval> userIntervals(UUID userId, LocalDate from, LocalDate to) {
+        List<PlanningInterval> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            IntervalTree tree = byUser.get(userId);
+            if (tree != null) {
+                tree.forEachOverlap(from.toEpochDay(), to.toEpochDay(), result::add);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Overlapping leaves of different team members, and work logged on approved leave days,
+     * within {@code [from, to]}. Leave types in {@code nonAbsenceTypes} (e.g. remote) are
+     * not absences and conflict with nothing.
+     */
+    public TeamConflictReport teamConflicts(UUID teamId, LocalDate from, LocalDate to, Set<String> nonAbsenceTypes) {
+        List<LeaveOverlapDto> overlaps = new ArrayList<>();
+        List<AttendanceOnLeaveDto> onLeave = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            IntervalTree team = leavesByTeam.get(teamId);
+            if (team != null) {
+                team.forEachOverlap(from.toEpochDay(), to.toEpochDay(), leave -> {
+                    if (nonAbsenceTypes.contains(leave.type())) {
+                        return;
+                    }
+                    LocalDate start = max(leave.start(), from);
+                    LocalDate end = min(leave.end(), to);
+                    team.forEachOverlap(start.toEpochDay(), end.toEpochDay(), other -> {
+                        // Each pair once
+                        if (!other.userId().equals(leave.userId())
+                                && !nonAbsenceTypes.contains(other.type())
+                                && leave.id().compareTo(other.id()) < 0) {
+                            overlaps.add(new LeaveOverlapDto(leave.userId(), leave.id(), other.userId(), other.id(),
+                                    max(start, other.start()), min(end, other.end())));
+                        }
+                    });
+                    if ("APPROVED".equals(leave.status())) {
+                        byUser.get(leave.userId()).forEachOverlap(start.toEpochDay(), end.toEpochDay(), work -> {
+                            if (work.kind() == PlanningInterval.Kind.WORK) {
+                                onLeave.add(new AttendanceOnLeaveDto(work.userId(), work.id(), leave.id(), work.start()));
+                            }
+                        });
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        overlaps.sort(Comparator.comparing(LeaveOverlapDto::getFrom)
+                .thenComparing(overlap -> overlap.getUserId().toString()));
+        onLeave.sort(Comparator.comparing(AttendanceOnLeaveDto::getDate)
+                .thenComparing(conflict -> conflict.getUserId().toString()));
+        return new TeamConflictReport(teamId, from, to, overlaps, onLeave);
+    }
+
+    private void removeLocked(UUID id) {
+        PlanningInterval existing = byId.remove(id);
+        if (existing == null) {
+            return;
+        }
+        IntervalTree user = byUser.get(existing.userId());
+        user.remove(existing);
+        if (user.size() == 0) {
+            byUser.remove(existing.userId());
+        }
+        if (existing.kind() == PlanningInterval.Kind.LEAVE && existing.teamId() != null) {
+            IntervalTree team = leavesByTeam.get(existing.teamId());
+            team.remove(existing);
+            if (team.size() == 0) {
+                leavesByTeam.remove(existing.teamId());
+            }
+        }
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,23 @@
+package com.uros.timesheet.attendance.conflict;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A leave request or a worked day of one user, as closed date range {@code [start, end]}.
+ *
+ * @param id     leave request or attendance record id
+ * @param teamId team of the user when the interval was read, may be null
+ * @param type   leave type or attendance type
+ */
+public record PlanningInterval(UUID id, UUID userId, UUID teamId, Kind kind, String type, String status,
+                               LocalDate start, LocalDate end) {
+
+    public enum Kind {
+        LEAVE, WORK
+    }
+
+    public boolean overlaps(LocalDate from, LocalDate to) {
+        return !start.isAfter(to) && !end.isBefore(from);
+    }
+}
@@ -1,9 +1,17 @@
 package com.uros.timesheet.attendance.controller;
 
 import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.dto.export.ExportFormat;
 import com.uros.timesheet.attendance.dto.export.ExportRequest;
+import com.uros.timesheet.attendance.dto.export.ExportSubject;
+import com.uros.timesheet.attendance.dto.export.RawExportRequest;
+import com.uros.timesheet.attendance.dto.export.ScopedExportRequest;
 import com.uros.timesheet.attendance.repository.UserRepository;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
 import com.uros.timesheet.attendance.service.ExportService;
+import com.uros.timesheet.attendance.service.RawDataExportService;
+import com.uros.timesheet.attendance.service.ScopedExportService;
+import com.uros.timesheet.attendance.service.helper.ExportResultCache;
 import com.uros.timesheet.attendance.exception.NotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,7 +22,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,8 +30,11 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -39,15 +50,24 @@ public class ExportController {
 
     private final ExportService pdfExportService;
     private final ExportService excelExportService;
+    private final ScopedExportService scopedExportService;
+    private final RawDataExportService rawDataExportService;
+    private final ExportResultCache exportResultCache;
     private final UserRepository userRepository;
 
     public ExportController(
             @Qualifier("pdfExportService") ExportService pdfExportService,
             @Qualifier("excelExportService") ExportService excelExportService,
+            ScopedExportService scopedExportService,
+            RawDataExportService rawDataExportService,
+            ExportResultCache exportResultCache,
             UserRepository userRepository
     ) {
         this.pdfExportService = pdfExportService;
         this.excelExportService = excelExportService;
+        this.scopedExportService = scopedExportService;
+        this.rawDataExportService = rawDataExportService;
+        this.exportResultCache = exportResultCache;
         this.userRepository = userRepository;
     }
 
@@ -59,7 +79,7 @@ public class ExportController {
      * @param endDate     End date of the export range
      * @param exportType  Type of export (e.g. ATTENDANCE, LEAVE)
      * @param userDetails Authenticated user details
-     * @return PDF file as a downloadable resource
+     * @return PDF file streamed to the client
      */
     @Operation(
             summary = "Export data to PDF",
@@ -70,11 +90,12 @@ public class ExportController {
                     content = @Content(mediaType = "application/pdf")),
             @ApiResponse(responseCode = "404", description = "User not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "403", description = "Forbidden")
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "429", description = "Too many exports running; see Retry-After")
     })
     @GetMapping("/pdf")
     @PreAuthorize("hasAuthority('EXPORT_PDF') or hasRole('HR') or hasRole('MANAGER')")
-    public ResponseEntity<Resource> exportToPdf(
+    public ResponseEntity<StreamingResponseBody> exportToPdf(
             @Parameter(description = "UUID of the user whose data is exported", required = true)
             @RequestParam UUID userId,
             @Parameter(description = "Start date for export", required = true, example = "2024-06-01")
@@ -96,13 +117,15 @@ public class ExportController {
         request.setExportType(exportType);
         request.setRequestedBy(requestedBy);
 
-        Resource resource = pdfExportService.exportToPdf(request);
+        // Rendered through scratch files and written straight into the response; repeats come from the cache
+        StreamingResponseBody body = exportResultCache.cached(exportResultCache.keyFor(request, ExportFormat.PDF),
+                out -> pdfExportService.exportToPdf(request, out));
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=\"" + generateFileName(request, "pdf") + "\"")
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(resource);
+                .body(body);
     }
 
     /**
@@ -113,7 +136,7 @@ public class ExportController {
      * @param endDate     End date of the export range
      * @param exportType  Type of export (e.g. ATTENDANCE, LEAVE)
      * @param userDetails Authenticated user details
-     * @return Excel file as a downloadable resource
+     * @return Excel file streamed to the client
      */
     @Operation(
             summary = "Export data to Excel",
@@ -124,11 +147,12 @@ public class ExportController {
                     content = @Content(mediaType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")),
             @ApiResponse(responseCode = "404", description = "User not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
-            @ApiResponse(responseCode = "403", description = "Forbidden")
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "429", description = "Too many exports running; see Retry-After")
     })
     @GetMapping("/excel")
     @PreAuthorize("hasAuthority('EXPORT_EXCEL') or hasRole('HR') or hasRole('MANAGER')")
-    public ResponseEntity<Resource> exportToExcel(
+    public ResponseEntity<StreamingResponseBody> exportToExcel(
             @Parameter(description = "UUID of the user whose data is exported", required = true)
             @RequestParam UUID userId,
             @Parameter(description = "Start date for export", required = true, example = "2024-06-01")
@@ -150,13 +174,192 @@ public class ExportController {
         request.setExportType(exportType);
         request.setRequestedBy(requestedBy);
 
-        Resource resource = excelExportService.exportToExcel(request);
+        // Written on an async thread straight into the response; heap stays flat regardless of row count
+        StreamingResponseBody body = exportResultCache.cached(exportResultCache.keyFor(request, ExportFormat.EXCEL),
+                out -> excelExportService.exportToExcel(request, out));
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=\"" + generateFileName(request, "xlsx") + "\"")
                 .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(resource);
+                .body(body);
+    }
+
+    /**
+     * Exports every user of a team or organization into one file.
+     *
+     * @param scope       TEAM or ORGANIZATION
+     * @param scopeId     UUID of the team or organization
+     * @param startDate   Start date of the export range
+     * @param endDate     End date of the export range
+     * @param exportType  Type of export (e.g. ATTENDANCE, LEAVE)
+     * @param output      EXCEL (sheet per user), PDF (section per user), ZIP (Excel file per user)
+     *                    or BUNDLE (PDF and Excel file per user)
+     * @param userDetails Authenticated user details
+     * @return Merged file streamed to the client
+     */
+    @Operation(
+            summary = "Export a team or organization",
+            description = "Exports all users of a team or organization, processed in parallel and merged into one workbook, PDF or ZIP. "
+                    + "Organization scope requires HR/ADMIN role; managers may export their own team."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Team not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/scoped")
+    @PreAuthorize("hasRole('HR') or hasRole('MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportScoped(
+            @Parameter(description = "Export scope", required = true)
+            @RequestParam ScopedExportRequest.Scope scope,
+            @Parameter(description = "UUID of the team or organization", required = true)
+            @RequestParam UUID scopeId,
+            @Parameter(description = "Start date for export", required = true, example = "2024-06-01")
+            @RequestParam LocalDate startDate,
+            @Parameter(description = "End date for export", required = true, example = "2024-06-30")
+            @RequestParam LocalDate endDate,
+            @Parameter(description = "Type of export", required = true, schema = @Schema(implementation = ExportRequest.ExportType.class))
+            @RequestParam ExportRequest.ExportType exportType,
+            @Parameter(description = "Output format", required = true)
+            @RequestParam ScopedExportRequest.Output output,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        User requestedBy = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new NotFoundException("error.user.not.found"));
+
+        ScopedExportRequest request = new ScopedExportRequest();
+        request.setScope(scope);
+        request.setScopeId(scopeId);
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        request.setExportType(exportType);
+        request.setOutput(output);
+        request.setRequestedBy(requestedBy);
+
+        // Resolved up front: access errors must surface before the response is committed
+        List<ExportSubject> subjects = scopedExportService.resolveSubjects(request);
+        StreamingResponseBody body = out -> scopedExportService.export(request, subjects, out);
+
+        String fileName = String.format("%s_%s_%s_%s_%s.%s",
+                scope.name().toLowerCase(), exportType.name().toLowerCase(), scopeId, startDate, endDate,
+                output.getExtension());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(MediaType.parseMediaType(output.getContentType()))
+                .body(body);
+    }
+
+    /**
+     * Exports a team's month as one ZIP with a folder per member holding their PDF and Excel timesheet.
+     *
+     * @param teamId      UUID of the team
+     * @param month       Month to export
+     * @param userDetails Authenticated user details
+     * @return ZIP archive streamed to the client
+     */
+    @Operation(
+            summary = "Export a team's monthly timesheet bundle",
+            description = "Streams a ZIP with each team member's PDF and Excel timesheet for the month. "
+                    + "Entries are generated in parallel and written in name order. Requires HR/ADMIN role or MANAGER of the team."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Bundle streamed successfully",
+                    content = @Content(mediaType = "application/zip")),
+            @ApiResponse(responseCode = "404", description = "Team not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/bundle")
+    @PreAuthorize("hasRole('HR') or hasRole('MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTeamBundle(
+            @Parameter(description = "UUID of the team", required = true)
+            @RequestParam UUID teamId,
+            @Parameter(description = "Month to export", required = true, example = "2024-06")
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        User requestedBy = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new NotFoundException("error.user.not.found"));
+
+        ScopedExportRequest request = new ScopedExportRequest();
+        request.setScope(ScopedExportRequest.Scope.TEAM);
+        request.setScopeId(teamId);
+        request.setStartDate(month.atDay(1));
+        request.setEndDate(month.atEndOfMonth());
+        request.setExportType(ExportRequest.ExportType.ALL);
+        request.setOutput(ScopedExportRequest.Output.BUNDLE);
+        request.setRequestedBy(requestedBy);
+
+        List<ExportSubject> subjects = scopedExportService.resolveSubjects(request);
+        StreamingResponseBody body = out -> scopedExportService.export(request, subjects, out);
+
+        String fileName = String.format("team_timesheets_%s_%s.zip", teamId, month);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(MediaType.parseMediaType(ScopedExportRequest.Output.BUNDLE.getContentType()))
+                .body(body);
+    }
+
+    /**
+     * Exports raw rows of the caller's organization as gzip-compressed CSV/TSV or in the columnar format.
+     *
+     * @param dataset   ATTENDANCE, LEAVE_REQUESTS or AUDIT_LOGS
+     * @param format    CSV, TSV or COLUMNAR
+     * @param startDate Start date of the export range
+     * @param endDate   End date of the export range
+     * @param principal Authenticated user
+     * @return Gzip file streamed to the client
+     */
+    @Operation(
+            summary = "Export raw data as gzip CSV/TSV or columnar binary",
+            description = "Streams one row per attendance record, leave request or audit log entry of the caller's organization. "
+                    + "COLUMNAR produces a typed, block-compressed file readable with the bundled columnar reader. "
+                    + "Requires HR or ADMIN role; audit logs require ADMIN."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully",
+                    content = {@Content(mediaType = "application/gzip"), @Content(mediaType = "application/octet-stream")}),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/raw")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('HR') and #dataset.name() != 'AUDIT_LOGS')")
+    public ResponseEntity<StreamingResponseBody> exportRaw(
+            @Parameter(description = "Dataset to export", required = true)
+            @RequestParam RawExportRequest.Dataset dataset,
+            @Parameter(description = "Output format")
+            @RequestParam(defaultValue = "CSV") RawExportRequest.Format format,
+            @Parameter(description = "Start date for export", required = true, example = "2024-06-01")
+            @RequestParam LocalDate startDate,
+            @Parameter(description = "End date for export", required = true, example = "2024-06-30")
+            @RequestParam LocalDate endDate,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal CustomUserDetails principal) {
+
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("export.error.invalid.range");
+        }
+        RawExportRequest request = new RawExportRequest();
+        request.setDataset(dataset);
+        request.setFormat(format);
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        request.setOrganizationId(principal.getOrganizationId());
+
+        StreamingResponseBody body = out -> rawDataExportService.export(request, out);
+
+        String fileName = String.format("%s_%s_%s.%s",
+                dataset.name().toLowerCase(), startDate, endDate, format.getExtension());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
     }
 
     /**
@@ -0,0 +1,158 @@
+package com.uros.timesheet.attendance.controller;
+
+import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.dto.export.ExportFormat;
+import com.uros.timesheet.attendance.dto.export.ExportJobRequest;
+import com.uros.timesheet.attendance.dto.export.ExportJobResponse;
+import com.uros.timesheet.attendance.exception.NotFoundException;
+import com.uros.timesheet.attendance.repository.UserRepository;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
+import com.uros.timesheet.attendance.service.ExportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST controller for background export jobs: submit, poll status, download and cancel.
+ * Jobs are visible to the user who submitted them and to administrators.
+ */
+@RestController
+@RequestMapping("/api/v1/export/jobs")
+@SecurityRequirement(name = "bearerAuth")
+@RequiredArgsConstructor
+@Tag(name = "Export Jobs", description = "Endpoints for asynchronous PDF/Excel exports")
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+    private final UserRepository userRepository;
+
+    /**
+     * Queues an export job. An identical request that is still queued or running returns the existing job.
+     *
+     * @param request     Export parameters and format
+     * @param principal   Authenticated user
+     * @return The queued (or already in-flight) job
+     */
+    @Operation(
+            summary = "Submit export job",
+            description = "Queues a PDF or Excel export and returns immediately. Poll the job until it is COMPLETED, then download the result. Requires EXPORT_PDF/EXPORT_EXCEL authority or HR/MANAGER role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Export job accepted",
+                    content = @Content(schema = @Schema(implementation = ExportJobResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or export queue full"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @PostMapping
+    @PreAuthorize("hasAuthority('EXPORT_PDF') or hasAuthority('EXPORT_EXCEL') or hasRole('HR') or hasRole('MANAGER')")
+    public ResponseEntity<ExportJobResponse> submit(
+            @Valid @RequestBody ExportJobRequest request,
+            @Parameter(hidden = true) @AuthenticationPrincipal CustomUserDetails principal) {
+        User requestedBy = userRepository.findById(principal.getId())
+                .orElseThrow(() -> new NotFoundException("error.user.not.found"));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(exportJobService.submit(request, requestedBy));
+    }
+
+    /**
+     * Returns the status and progress of an export job.
+     *
+     * @param id        Job UUID
+     * @param principal Authenticated user
+     * @return The job status
+     */
+    @Operation(
+            summary = "Get export job status",
+            description = "Returns status and progress (0-100) of an export job."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Job status returned",
+                    content = @Content(schema = @Schema(implementation = ExportJobResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ExportJobResponse> getJob(
+            @Parameter(description = "Export job UUID", required = true) @PathVariable UUID id,
+            @Parameter(hidden = true) @AuthenticationPrincipal CustomUserDetails principal) {
+        return ResponseEntity.ok(exportJobService.getJob(id, principal));
+    }
+
+    /**
+     * Downloads the result of a completed export job.
+     *
+     * @param id        Job UUID
+     * @param principal Authenticated user
+     * @return The exported file
+     */
+    @Operation(
+            summary = "Download export result",
+            description = "Downloads the file produced by a COMPLETED export job. Results are removed once the job expires."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "File returned"),
+            @ApiResponse(responseCode = "404", description = "Job not found"),
+            @ApiResponse(responseCode = "409", description = "Job not completed or result expired"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{id}/download")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Resource> download(
+            @Parameter(description = "Export job UUID", required = true) @PathVariable UUID id,
+            @Parameter(hidden = true) @AuthenticationPrincipal CustomUserDetails principal) {
+        ExportJobResponse job = exportJobService.getJob(id, principal);
+        Resource resource = exportJobService.openResult(id, principal);
+        ExportFormat format = ExportFormat.valueOf(job.getFormat());
+        String fileName = String.format("%s_%s_%s_%s.%s",
+                job.getExportType().toLowerCase(), job.getUserId(), job.getStartDate(), job.getEndDate(),
+                format.getExtension());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(resource);
+    }
+
+    /**
+     * Cancels a queued or running export job.
+     *
+     * @param id        Job UUID
+     * @param principal Authenticated user
+     * @return The cancelled job
+     */
+    @Operation(
+            summary = "Cancel export job",
+            description = "Cancels a QUEUED or RUNNING export job; a running export is interrupted and its partial file removed."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Job cancelled",
+                    content = @Content(schema = @Schema(implementation = ExportJobResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found"),
+            @ApiResponse(responseCode = "409", description = "Job already finished"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @DeleteMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ExportJobResponse> cancel(
+            @Parameter(description = "Export job UUID", required = true) @PathVariable UUID id,
+            @Parameter(hidden = true) @AuthenticationPrincipal CustomUserDetails principal) {
+        return ResponseEntity.ok(exportJobService.cancel(id, principal));
+    }
+}
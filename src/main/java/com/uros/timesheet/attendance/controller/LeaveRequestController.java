@@ -1,9 +1,12 @@
 package com.uros.timesheet.attendance.controller;
 
+import com.uros.timesheet.attendance.dto.leave.LeaveBalanceRebuildResponse;
+import com.uros.timesheet.attendance.dto.leave.LeaveBalanceResponse;
 import com.uros.timesheet.attendance.dto.leave.LeaveRequestCreateRequest;
 import com.uros.timesheet.attendance.dto.leave.LeaveRequestResponse;
 import com.uros.timesheet.attendance.i18n.MessageUtil;
 import com.uros.timesheet.attendance.security.CustomUserDetails;
+import com.uros.timesheet.attendance.service.LeaveBalanceService;
 import com.uros.timesheet.attendance.service.LeaveRequestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,11 +18,13 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -37,6 +42,7 @@ import java.util.UUID;
 public class LeaveRequestController {
 
     private final LeaveRequestService leaveRequestService;
+    private final LeaveBalanceService leaveBalanceService;
     private final MessageUtil messages;
 
     /**
@@ -188,14 +194,16 @@ public class LeaveRequestController {
     }
 
     /**
-     * Retrieves all leave requests for a specific user.
+     * Retrieves the leave requests for a specific user, optionally only those overlapping a date range.
      *
      * @param userId User UUID
+     * @param from First day of the range (optional, together with to)
+     * @param to Last day of the range (optional, together with from)
      * @return List of leave requests for the specified user
      */
     @Operation(
             summary = "List leave requests for user",
-            description = "Retrieves all leave requests for the specified user. Requires LEAVE_REQUEST_VIEW_SELF authority or HR/ADMIN role."
+            description = "Retrieves the leave requests for the specified user. With from and to, only leaves overlapping the range are returned, including those that start before or end after it. Requires LEAVE_REQUEST_VIEW_SELF authority or HR/ADMIN role."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Leave requests retrieved successfully",
@@ -207,19 +215,29 @@ public class LeaveRequestController {
     @PreAuthorize("hasAuthority('LEAVE_REQUEST_VIEW_SELF') or hasRole('HR') or hasRole('ADMIN')")
     public ResponseEntity<List<LeaveRequestResponse>> listLeaveRequestsForUser(
             @Parameter(description = "User UUID", required = true)
-            @PathVariable UUID userId) {
-        List<LeaveRequestResponse> records = leaveRequestService.getRequestsForUser(userId);
+            @PathVariable UUID userId,
+            @Parameter(description = "First day of the range (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<LeaveRequestResponse> records = from == null && to == null
+                ? leaveRequestService.getRequestsForUser(userId)
+                : leaveRequestService.getRequestsForUser(userId, from, to);
         return ResponseEntity.ok(records);
     }
 
     /**
-     * Retrieves all leave requests for the current tenant (organization).
+     * Retrieves the leave requests for the current tenant (organization), optionally only those
+     * overlapping a date range and belonging to one team.
      *
+     * @param from First day of the range (optional, together with to)
+     * @param to Last day of the range (optional, together with from)
+     * @param teamId Team UUID (optional, requires the range)
      * @return List of leave requests for the current tenant
      */
     @Operation(
             summary = "List leave requests for current tenant",
-            description = "Retrieves all leave requests for the current tenant. Requires ADMIN or MANAGER role."
+            description = "Retrieves the leave requests for the current tenant. With from and to, only leaves overlapping the range are returned, optionally of one team. Requires ADMIN or MANAGER role."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Leave requests retrieved successfully",
@@ -229,8 +247,16 @@ public class LeaveRequestController {
     })
     @GetMapping("/current-tenant")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public ResponseEntity<List<LeaveRequestResponse>> listLeaveRequestsForCurrentTenant() {
-        List<LeaveRequestResponse> leaveRequests = leaveRequestService.getRequestsForCurrentTenant();
+    public ResponseEntity<List<LeaveRequestResponse>> listLeaveRequestsForCurrentTenant(
+            @Parameter(description = "First day of the range (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Team UUID")
+            @RequestParam(required = false) UUID teamId) {
+        List<LeaveRequestResponse> leaveRequests = from == null && to == null && teamId == null
+                ? leaveRequestService.getRequestsForCurrentTenant()
+                : leaveRequestService.getRequestsForCurrentTenant(from, to, teamId);
         return ResponseEntity.ok(leaveRequests);
     }
 
@@ -297,4 +323,59 @@ public class LeaveRequestController {
         LeaveRequestResponse restored = leaveRequestService.restoreRequest(id, performedBy, resolvedReason);
         return ResponseEntity.ok(restored);
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves a user's leave balance of one type and year.
+     *
+     * @param userId User UUID
+     * @param type Leave type (default annual)
+     * @param year Calendar year (default the current year)
+     * @return Entitled, consumed and remaining days
+     */
+    @Operation(
+            summary = "Get leave balance",
+            description = "Returns the entitled, consumed and remaining working days of a leave type in a year, from the leave ledger. Requires LEAVE_REQUEST_VIEW_SELF authority or HR/ADMIN role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Leave balance retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = LeaveBalanceResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Leave type has no balance"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/user/{userId}/balance")
+    @PreAuthorize("hasAuthority('LEAVE_REQUEST_VIEW_SELF') or hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<LeaveBalanceResponse> getLeaveBalance(
+            @Parameter(description = "User UUID", required = true)
+            @PathVariable UUID userId,
+            @Parameter(description = "Leave type")
+            @RequestParam(defaultValue = "annual") String type,
+            @Parameter(description = "Calendar year")
+            @RequestParam(required = false) Integer year) {
+        return ResponseEntity.ok(leaveBalanceService.getBalance(userId, type, year));
+    }
+
+    /**
+     * Rebuilds the current tenant's leave ledger and balances of one year.
+     *
+     * @param year Calendar year
+     * @return Number of approved leaves booked
+     */
+    @Operation(
+            summary = "Rebuild leave balances",
+            description = "Recomputes the current tenant's leave ledger and balances of a year from its approved leave requests, with the current entitlements. Requires ADMIN role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Leave balances rebuilt",
+                    content = @Content(schema = @Schema(implementation = LeaveBalanceRebuildResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @PostMapping("/balances/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<LeaveBalanceRebuildResponse> rebuildLeaveBalances(
+            @Parameter(description = "Calendar year", required = true)
+            @RequestParam int year) {
+        return ResponseEntity.ok(leaveBalanceService.rebuildCurrentTenant(year));
+    }
+}
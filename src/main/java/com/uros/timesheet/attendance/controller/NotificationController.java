@@ -1,7 +1,11 @@
 package com.uros.timesheet.attendance.controller;
 
 import com.uros.timesheet.attendance.dto.notification.NotificationCreateRequest;
+import com.uros.timesheet.attendance.dto.notification.NotificationMarkReadRequest;
 import com.uros.timesheet.attendance.dto.notification.NotificationResponse;
+import com.uros.timesheet.attendance.dto.notification.UnreadCountResponse;
+import com.uros.timesheet.attendance.notification.NotificationStreamRegistry;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
 import com.uros.timesheet.attendance.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,9 +20,12 @@ import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -34,6 +41,7 @@ import java.util.UUID;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamRegistry notificationStreamRegistry;
 
     /**
      * Creates and immediately sends a notification to a user using the appropriate delivery channel.
@@ -137,4 +145,86 @@ public class NotificationController {
         List<NotificationResponse> notifications = notificationService.getForRecipient(recipientId);
         return ResponseEntity.ok(notifications);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the number of unread notifications of the authenticated user.
+     * Served from an in-memory counter; changes are also pushed to
+     * /queue/notifications/{userId}/unread-count.
+     *
+     * @param principal Authenticated user
+     * @return Unread notification count
+     */
+    @Operation(
+            summary = "Get own unread notification count",
+            description = "Returns the number of unread notifications of the authenticated user without loading the notifications."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Unread count retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = UnreadCountResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/unread-count")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<UnreadCountResponse> getUnreadCount(
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal CustomUserDetails principal) {
+        return ResponseEntity.ok(notificationService.getUnreadCount(principal.getId()));
+    }
+
+    /**
+     * Marks notifications of the authenticated user as read in a single update.
+     *
+     * @param request   IDs to mark as read, or all=true to mark every notification as read
+     * @param principal Authenticated user
+     * @return Unread notification count after the update
+     */
+    @Operation(
+            summary = "Mark own notifications as read",
+            description = "Marks the given notifications (or all, when \"all\" is true) of the authenticated user as read. " +
+                    "Notifications of other users are ignored."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Notifications marked as read",
+                    content = @Content(schema = @Schema(implementation = UnreadCountResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping("/read")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<UnreadCountResponse> markRead(
+            @Valid @RequestBody NotificationMarkReadRequest request,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal CustomUserDetails principal) {
+        UnreadCountResponse response = notificationService.markRead(
+                principal.getId(), request.getIds(), request.isAll());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Opens a Server-Sent Events stream with the authenticated user's notifications.
+     * Clients reconnecting with a Last-Event-ID header receive everything they missed.
+     *
+     * @param lastEventId ID of the last notification received by the client (optional)
+     * @param principal   Authenticated user
+     * @return SSE emitter bound to the current user
+     */
+    @Operation(
+            summary = "Stream own notifications (SSE)",
+            description = "Opens a Server-Sent Events stream with notifications addressed to the authenticated user. " +
+                    "Send the Last-Event-ID header on reconnect to replay missed notifications."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream opened",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter stream(
+            @Parameter(description = "ID of the last notification received before reconnecting")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal CustomUserDetails principal) {
+        return notificationStreamRegistry.subscribe(principal.getId(), lastEventId);
+    }
+}
@@ -1,8 +1,11 @@
 package com.uros.timesheet.attendance.controller;
 
+import com.uros.timesheet.attendance.dto.organization.HolidayRequest;
+import com.uros.timesheet.attendance.dto.organization.HolidayResponse;
 import com.uros.timesheet.attendance.dto.organization.OrganizationCreateRequest;
 import com.uros.timesheet.attendance.dto.organization.OrganizationResponse;
 import com.uros.timesheet.attendance.dto.organization.OrganizationUpdateRequest;
+import com.uros.timesheet.attendance.service.HolidayService;
 import com.uros.timesheet.attendance.service.OrganizationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,10 +17,13 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.UUID;
 
@@ -35,6 +41,7 @@ import java.util.UUID;
 public class OrganizationController {
 
     private final OrganizationService organizationService;
+    private final HolidayService holidayService;
 
     /**
      * Creates a new organization.
@@ -204,4 +211,90 @@ public class OrganizationController {
         OrganizationResponse restored = organizationService.restoreOrganization(id, performedByUserId, reason);
         return ResponseEntity.ok(restored);
     }
-}
\ No newline at end of file
+
+    /**
+     * Lists an organization's holidays of one year.
+     *
+     * @param id Organization UUID
+     * @param year Calendar year (optional, defaults to the current year)
+     * @return Holidays in date order
+     */
+    @Operation(
+            summary = "List organization holidays",
+            description = "Holidays of one year; work on them counts as overtime. Requires ORGANIZATION_VIEW authority or ADMIN role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Holidays retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = HolidayResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Organization not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/{id}/holidays")
+    @PreAuthorize("hasAuthority('ORGANIZATION_VIEW') or hasRole('ADMIN')")
+    public ResponseEntity<List<HolidayResponse>> getHolidays(
+            @Parameter(description = "Organization unique identifier", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = "Calendar year, defaults to the current year", required = false)
+            @RequestParam(required = false) Integer year) {
+        int holidayYear = year != null ? year : LocalDate.now(ZoneOffset.UTC).getYear();
+        return ResponseEntity.ok(holidayService.getHolidays(id, holidayYear));
+    }
+
+    /**
+     * Adds a holiday, or renames the existing one on that date.
+     *
+     * @param id Organization UUID
+     * @param date Holiday date (ISO format)
+     * @param request Holiday name
+     * @return The stored holiday
+     */
+    @Operation(
+            summary = "Add or rename an organization holiday",
+            description = "Approved attendance of that week is split again into regular and overtime hours. Requires ORGANIZATION_UPDATE authority or ADMIN role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Holiday stored successfully",
+                    content = @Content(schema = @Schema(implementation = HolidayResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or organization not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @PutMapping("/{id}/holidays/{date}")
+    @PreAuthorize("hasAuthority('ORGANIZATION_UPDATE') or hasRole('ADMIN')")
+    public ResponseEntity<HolidayResponse> putHoliday(
+            @Parameter(description = "Organization unique identifier", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = "Holiday date (ISO format)", required = true)
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Valid @RequestBody HolidayRequest request) {
+        return ResponseEntity.ok(holidayService.putHoliday(id, date, request));
+    }
+
+    /**
+     * Removes an organization holiday.
+     *
+     * @param id Organization UUID
+     * @param date Holiday date (ISO format)
+     */
+    @Operation(
+            summary = "Remove an organization holiday",
+            description = "Approved attendance of that week is split again into regular and overtime hours. Requires ORGANIZATION_UPDATE authority or ADMIN role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Holiday removed successfully"),
+            @ApiResponse(responseCode = "404", description = "Holiday not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @DeleteMapping("/{id}/holidays/{date}")
+    @PreAuthorize("hasAuthority('ORGANIZATION_UPDATE') or hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteHoliday(
+            @Parameter(description = "Organization unique identifier", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = "Holiday date (ISO format)", required = true)
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        holidayService.deleteHoliday(id, date);
+        return ResponseEntity.noContent().build();
+    }
+}
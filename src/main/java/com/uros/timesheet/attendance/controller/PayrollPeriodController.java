@@ -0,0 +1,93 @@
+package com.uros.timesheet.attendance.controller;
+
+import com.uros.timesheet.attendance.dto.payroll.PayrollPeriodResponse;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
+import com.uros.timesheet.attendance.service.PayrollPeriodService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * PayrollPeriodController closes payroll periods of the caller's organization. Attendance
+ * dated inside a closed period is locked, and attendance summaries for exactly that range
+ * are read from the totals computed at close.
+ */
+@RestController
+@RequestMapping("/api/v1/payroll/periods")
+@SecurityRequirement(name = "bearerAuth")
+@RequiredArgsConstructor
+@Tag(name = "Payroll Periods", description = "Closing payroll periods and their frozen totals")
+public class PayrollPeriodController {
+
+    private final PayrollPeriodService payrollPeriodService;
+
+    /**
+     * Lists the closed payroll periods of the current user's organization.
+     *
+     * @param principal Authenticated user
+     * @return Closed periods, latest first
+     */
+    @Operation(
+            summary = "List closed payroll periods",
+            description = "Closed periods of the caller's organization, latest first. Requires ADMIN/HR role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Closed periods retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = PayrollPeriodResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
+    public ResponseEntity<List<PayrollPeriodResponse>> getClosedPeriods(
+            @AuthenticationPrincipal CustomUserDetails principal) {
+        return ResponseEntity.ok(payrollPeriodService.getClosedPeriods(principal.getOrganizationId()));
+    }
+
+    /**
+     * Closes a payroll period of the current user's organization.
+     *
+     * @param from      First day of the period
+     * @param to        Last day of the period
+     * @param principal Authenticated user, recorded as the one who closed it
+     * @return The closed period
+     */
+    @Operation(
+            summary = "Close a payroll period",
+            description = "Locks attendance dated inside the period against further changes and stores the per-user " +
+                    "totals of approved attendance. Periods cannot overlap and are never reopened. Requires ADMIN/HR role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Period closed successfully",
+                    content = @Content(schema = @Schema(implementation = PayrollPeriodResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid range or overlapping a closed period"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @PostMapping("/close")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
+    public ResponseEntity<PayrollPeriodResponse> closePeriod(
+            @Parameter(description = "First day of the period", required = true, example = "2024-06-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the period", required = true, example = "2024-06-30")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal CustomUserDetails principal) {
+        return ResponseEntity.ok(payrollPeriodService.closePeriod(
+                principal.getOrganizationId(), from, to, principal.getId()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.uros.timesheet.attendance.controller;
+
+import com.uros.timesheet.attendance.dto.presence.PresenceSnapshotResponse;
+import com.uros.timesheet.attendance.presence.PresenceTracker;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * PresenceController exposes the live "who is working now" board of the caller's organization.
+ * Subsequent changes are pushed over STOMP to /topic/presence/{organizationId}.
+ */
+@RestController
+@RequestMapping("/api/v1/attendance/presence")
+@SecurityRequirement(name = "bearerAuth")
+@RequiredArgsConstructor
+@Tag(name = "Presence", description = "Live presence board per organization")
+public class PresenceController {
+
+    private final PresenceTracker presenceTracker;
+
+    /**
+     * Returns today's presence snapshot of the current user's organization, served from memory.
+     *
+     * @param principal Authenticated user
+     * @return Presence snapshot with today's intervals per user
+     */
+    @Operation(
+            summary = "Get live presence board",
+            description = "Returns who is working now in the caller's organization, with today's intervals per user. "
+                    + "Served from memory; subscribe to /topic/presence/{organizationId} for deltas. Requires ADMIN/MANAGER role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Presence snapshot retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = PresenceSnapshotResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<PresenceSnapshotResponse> snapshot(@AuthenticationPrincipal CustomUserDetails principal) {
+        return ResponseEntity.ok(presenceTracker.snapshot(principal.getOrganizationId()));
+    }
+}
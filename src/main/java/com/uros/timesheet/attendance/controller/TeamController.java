@@ -1,7 +1,11 @@
 package com.uros.timesheet.attendance.controller;
 
+import com.uros.timesheet.attendance.dto.team.TeamCalendarResponse;
+import com.uros.timesheet.attendance.dto.team.TeamConflictReport;
 import com.uros.timesheet.attendance.dto.team.TeamCreateRequest;
 import com.uros.timesheet.attendance.dto.team.TeamResponse;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
+import com.uros.timesheet.attendance.service.TeamCalendarService;
 import com.uros.timesheet.attendance.service.TeamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,10 +17,14 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
 
@@ -34,6 +42,7 @@ import java.util.UUID;
 public class TeamController {
 
     private final TeamService teamService;
+    private final TeamCalendarService teamCalendarService;
 
     /**
      * Creates a new team in the system.
@@ -129,4 +138,71 @@ public class TeamController {
         List<TeamResponse> teams = teamService.getTeamsForCurrentTenant();
         return ResponseEntity.ok(teams);
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the availability calendar of a team for one month.
+     *
+     * @param id        Team UUID
+     * @param month     Month in yyyy-MM format
+     * @param principal Authenticated user; the team must belong to their organization
+     * @return One row per member with the state of every day of the month
+     */
+    @Operation(
+            summary = "Get team availability calendar",
+            description = "Returns a member x day matrix of WORKED, LEAVE (with the leave type), WEEKEND and ABSENT " +
+                    "states for the month. Requires TEAM_VIEW authority or ADMIN role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Calendar retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = TeamCalendarResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Team not found or invalid month"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/{id}/calendar")
+    @PreAuthorize("hasAuthority('TEAM_VIEW') or hasRole('ADMIN')")
+    public ResponseEntity<TeamCalendarResponse> getTeamCalendar(
+            @Parameter(description = "Team unique identifier", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = "Month (yyyy-MM)", required = true, example = "2024-06")
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal CustomUserDetails principal) {
+        return ResponseEntity.ok(teamCalendarService.getTeamCalendar(id, month, principal.getOrganizationId()));
+    }
+
+    /**
+     * Reports planning conflicts within a team for a date range.
+     *
+     * @param id        Team UUID
+     * @param from      Start date (inclusive)
+     * @param to        End date (inclusive)
+     * @param principal Authenticated user; the team must belong to their organization
+     * @return Overlapping leaves between members and work logged on approved leave days
+     */
+    @Operation(
+            summary = "Get team planning conflicts",
+            description = "Lists submitted or approved leaves of different members that overlap, and work logged on " +
+                    "approved leave days. Remote leave is not an absence. Requires TEAM_VIEW authority or ADMIN role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Conflicts retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = TeamConflictReport.class))),
+            @ApiResponse(responseCode = "400", description = "Team not found or invalid date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/{id}/conflicts")
+    @PreAuthorize("hasAuthority('TEAM_VIEW') or hasRole('ADMIN')")
+    public ResponseEntity<TeamConflictReport> getTeamConflicts(
+            @Parameter(description = "Team unique identifier", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = "Start date (inclusive)", required = true, example = "2024-06-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date (inclusive)", required = true, example = "2024-08-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal CustomUserDetails principal) {
+        return ResponseEntity.ok(teamCalendarService.getTeamConflicts(id, from, to, principal.getOrganizationId()));
+    }
+}
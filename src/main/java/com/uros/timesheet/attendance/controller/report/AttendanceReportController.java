@@ -1,9 +1,16 @@
 package com.uros.timesheet.attendance.controller.report;
 
+import com.uros.timesheet.attendance.dto.report.DailyHeadcountDto;
+import com.uros.timesheet.attendance.dto.report.PresentUsersResponse;
+import com.uros.timesheet.attendance.dto.report.ReportQueryRequest;
+import com.uros.timesheet.attendance.dto.report.ReportResult;
 import com.uros.timesheet.attendance.dto.report.UserAttendanceSummaryDto;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
 import com.uros.timesheet.attendance.service.report.AttendanceReportService;
 import com.uros.timesheet.attendance.service.report.AttendanceSummaryExportService;
 import com.uros.timesheet.attendance.service.report.AttendanceSummaryExcelExportService;
+import com.uros.timesheet.attendance.service.report.PresenceReportService;
+import com.uros.timesheet.attendance.service.report.ReportQueryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,7 +26,9 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -29,7 +38,10 @@ import java.util.UUID;
  * AttendanceReportController exposes endpoints for retrieving and exporting
  * user attendance summaries in CSV and Excel formats.
  * <p>
- * All endpoints are secured and support filtering by user and date range.
+ * All endpoints are secured and support filtering by user and date range. The batch
+ * endpoints summarize many users of the caller's organization in a single query, and the
+ * query endpoint slices attendance by arbitrary dimensions and measures. The presence
+ * endpoints count and list who was present on given days.
  */
 @RestController
 @RequestMapping("/api/v1/reports/attendance")
@@ -41,6 +53,8 @@ public class AttendanceReportController {
     private final AttendanceReportService attendanceReportService;
     private final AttendanceSummaryExportService attendanceSummaryExportService;
     private final AttendanceSummaryExcelExportService attendanceSummaryExcelExportService;
+    private final ReportQueryService reportQueryService;
+    private final PresenceReportService presenceReportService;
 
     /**
      * Retrieves attendance summary for a specific user within a date range.
@@ -121,7 +135,7 @@ public class AttendanceReportController {
      * @param userId UUID of the user
      * @param from   Start date (inclusive)
      * @param to     End date (inclusive)
-     * @return Excel file as a downloadable resource
+     * @return Excel file streamed to the client
      */
     @Operation(
             summary = "Export user attendance summary (Excel)",
@@ -136,7 +150,7 @@ public class AttendanceReportController {
     })
     @GetMapping("/user/{userId}/excel")
     @PreAuthorize("hasAuthority('REPORT_EXPORT') or hasRole('ADMIN') or hasRole('HR')")
-    public ResponseEntity<Resource> exportUserAttendanceSummaryExcel(
+    public ResponseEntity<StreamingResponseBody> exportUserAttendanceSummaryExcel(
             @Parameter(description = "User UUID", required = true)
             @PathVariable UUID userId,
             @Parameter(description = "Start date (inclusive)", required = true, example = "2024-06-01")
@@ -145,13 +159,246 @@ public class AttendanceReportController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
     ) {
         List<UserAttendanceSummaryDto> summary = attendanceReportService.getUserAttendanceSummary(userId, from, to);
-        Resource resource = attendanceSummaryExcelExportService.exportSummaryToExcel(summary);
+        StreamingResponseBody body = out -> attendanceSummaryExcelExportService.exportSummaryToExcel(summary, out);
 
         String filename = String.format("attendance_summary_%s_%s_%s.xlsx", userId, from, to);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                 .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(resource);
+                .body(body);
+    }
+
+    /**
+     * Retrieves attendance summaries for many users in one request.
+     *
+     * @param userIds   Users to summarize; takes precedence over the team
+     * @param teamId    Team to summarize when no user IDs are given
+     * @param from      Start date (inclusive)
+     * @param to        End date (inclusive)
+     * @param principal Authenticated user; results are limited to their organization
+     * @return One summary per user, ordered by full name
+     */
+    @Operation(
+            summary = "Get attendance summaries for many users",
+            description = "Summarizes the given users, a team, or the whole organization when neither is given. " +
+                    "Users without approved records are listed with zero totals. " +
+                    "Requires REPORT_VIEW authority or ADMIN/HR role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Attendance summaries retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = UserAttendanceSummaryDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid selection or date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/batch")
+    @PreAuthorize("hasAuthority('REPORT_VIEW') or hasRole('ADMIN') or hasRole('HR')")
+    public ResponseEntity<List<UserAttendanceSummaryDto>> getAttendanceSummaries(
+            @Parameter(description = "User UUIDs (at most 1000)")
+            @RequestParam(required = false) List<UUID> userIds,
+            @Parameter(description = "Team UUID")
+            @RequestParam(required = false) UUID teamId,
+            @Parameter(description = "Start date (inclusive)", required = true, example = "2024-06-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date (inclusive)", required = true, example = "2024-06-30")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal CustomUserDetails principal
+    ) {
+        return ResponseEntity.ok(attendanceReportService.getAttendanceSummaries(
+                userIds, teamId, principal.getOrganizationId(), from, to));
+    }
+
+    /**
+     * Exports attendance summaries for many users as a CSV file.
+     *
+     * @param userIds   Users to summarize; takes precedence over the team
+     * @param teamId    Team to summarize when no user IDs are given
+     * @param from      Start date (inclusive)
+     * @param to        End date (inclusive)
+     * @param principal Authenticated user; results are limited to their organization
+     * @return CSV file streamed to the client
+     */
+    @Operation(
+            summary = "Export attendance summaries for many users (CSV)",
+            description = "Exports the batch summary to CSV format. " +
+                    "Requires REPORT_EXPORT authority or ADMIN/HR role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "CSV file exported successfully",
+                    content = @Content(mediaType = "text/csv")),
+            @ApiResponse(responseCode = "400", description = "Invalid selection or date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/batch/csv")
+    @PreAuthorize("hasAuthority('REPORT_EXPORT') or hasRole('ADMIN') or hasRole('HR')")
+    public ResponseEntity<StreamingResponseBody> exportAttendanceSummariesCsv(
+            @Parameter(description = "User UUIDs (at most 1000)")
+            @RequestParam(required = false) List<UUID> userIds,
+            @Parameter(description = "Team UUID")
+            @RequestParam(required = false) UUID teamId,
+            @Parameter(description = "Start date (inclusive)", required = true, example = "2024-06-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date (inclusive)", required = true, example = "2024-06-30")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal CustomUserDetails principal
+    ) {
+        List<UserAttendanceSummaryDto> summaries = attendanceReportService.getAttendanceSummaries(
+                userIds, teamId, principal.getOrganizationId(), from, to);
+        StreamingResponseBody body = out -> attendanceSummaryExportService.exportSummaryToCsv(summaries, out);
+
+        String filename = String.format("attendance_summary_batch_%s_%s.csv", from, to);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+
+    /**
+     * Exports attendance summaries for many users as an Excel file.
+     *
+     * @param userIds   Users to summarize; takes precedence over the team
+     * @param teamId    Team to summarize when no user IDs are given
+     * @param from      Start date (inclusive)
+     * @param to        End date (inclusive)
+     * @param principal Authenticated user; results are limited to their organization
+     * @return Excel file streamed to the client
+     */
+    @Operation(
+            summary = "Export attendance summaries for many users (Excel)",
+            description = "Exports the batch summary to Excel format. " +
+                    "Requires REPORT_EXPORT authority or ADMIN/HR role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Excel file exported successfully",
+                    content = @Content(mediaType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")),
+            @ApiResponse(responseCode = "400", description = "Invalid selection or date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/batch/excel")
+    @PreAuthorize("hasAuthority('REPORT_EXPORT') or hasRole('ADMIN') or hasRole('HR')")
+    public ResponseEntity<StreamingResponseBody> exportAttendanceSummariesExcel(
+            @Parameter(description = "User UUIDs (at most 1000)")
+            @RequestParam(required = false) List<UUID> userIds,
+            @Parameter(description = "Team UUID")
+            @RequestParam(required = false) UUID teamId,
+            @Parameter(description = "Start date (inclusive)", required = true, example = "2024-06-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date (inclusive)", required = true, example = "2024-06-30")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal CustomUserDetails principal
+    ) {
+        List<UserAttendanceSummaryDto> summaries = attendanceReportService.getAttendanceSummaries(
+                userIds, teamId, principal.getOrganizationId(), from, to);
+        StreamingResponseBody body = out -> attendanceSummaryExcelExportService.exportSummaryToExcel(summaries, out);
+
+        String filename = String.format("attendance_summary_batch_%s_%s.xlsx", from, to);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .body(body);
+    }
+
+    /**
+     * Runs an ad-hoc pivot report over the caller's organization.
+     *
+     * @param request   Dimensions, measures, totals, date range and optional filters
+     * @param principal Authenticated user; results are limited to their organization
+     * @return Report rows with subtotals as requested
+     */
+    @Operation(
+            summary = "Query attendance report",
+            description = "Groups attendance records by the chosen dimensions (organization, team, user, type, status, " +
+                    "day, week, month) and computes the chosen measures. ROLLUP and CUBE totals add subtotal rows. " +
+                    "Requires REPORT_VIEW authority or ADMIN/HR role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Report computed successfully",
+                    content = @Content(schema = @Schema(implementation = ReportResult.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid query or result too large"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @PostMapping("/query")
+    @PreAuthorize("hasAuthority('REPORT_VIEW') or hasRole('ADMIN') or hasRole('HR')")
+    public ResponseEntity<ReportResult> queryReport(
+            @RequestBody ReportQueryRequest request,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal CustomUserDetails principal
+    ) {
+        return ResponseEntity.ok(reportQueryService.query(request, principal.getOrganizationId()));
+    }
+
+    /**
+     * Retrieves how many users were present on each day of a date range.
+     *
+     * @param from      Start date (inclusive)
+     * @param to        End date (inclusive)
+     * @param principal Authenticated user; results are limited to their organization
+     * @return One headcount per day, including days without anyone present
+     */
+    @Operation(
+            summary = "Get daily headcounts",
+            description = "Counts the users with a work or remote record that is not rejected or deleted on each day. " +
+                    "Requires REPORT_VIEW authority or ADMIN/HR role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Headcounts retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = DailyHeadcountDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid or too long date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/headcount")
+    @PreAuthorize("hasAuthority('REPORT_VIEW') or hasRole('ADMIN') or hasRole('HR')")
+    public ResponseEntity<List<DailyHeadcountDto>> getDailyHeadcounts(
+            @Parameter(description = "Start date (inclusive)", required = true, example = "2024-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date (inclusive)", required = true, example = "2024-12-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal CustomUserDetails principal
+    ) {
+        return ResponseEntity.ok(presenceReportService.getDailyHeadcounts(principal.getOrganizationId(), from, to));
+    }
+
+    /**
+     * Lists the users present on all, or on any, of the given days.
+     *
+     * @param days      Days to check (at most 31)
+     * @param match     ALL to require presence on every day, ANY for at least one
+     * @param principal Authenticated user; results are limited to their organization
+     * @return Matching user IDs, ordered by ID
+     */
+    @Operation(
+            summary = "Get users present on given days",
+            description = "Lists the users with a work or remote record that is not rejected or deleted on all " +
+                    "(match=ALL) or any (match=ANY) of the days. Requires REPORT_VIEW authority or ADMIN/HR role."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Present users retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = PresentUsersResponse.class))),
+            @ApiResponse(responseCode = "400", description = "No days or too many days"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/present")
+    @PreAuthorize("hasAuthority('REPORT_VIEW') or hasRole('ADMIN') or hasRole('HR')")
+    public ResponseEntity<PresentUsersResponse> getPresentUsers(
+            @Parameter(description = "Days to check", required = true, example = "2024-06-03")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> days,
+            @Parameter(description = "ALL (default) or ANY")
+            @RequestParam(defaultValue = "ALL") PresentUsersResponse.Match match,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal CustomUserDetails principal
+    ) {
+        return ResponseEntity.ok(presenceReportService.getPresentUsers(principal.getOrganizationId(), days, match));
     }
-}
\ No newline at end of file
+}
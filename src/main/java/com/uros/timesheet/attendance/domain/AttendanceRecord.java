@@ -48,6 +48,13 @@ public class AttendanceRecord {
 
     private String notes;
 
+    // Elapsed minutes in the organization's timezone; the split is set while approved
+    private Integer workedMinutes;
+
+    private Integer regularMinutes;
+
+    private Integer overtimeMinutes;
+
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -0,0 +1,64 @@
+package com.uros.timesheet.attendance.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "export_jobs")
+@Getter @Setter @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class ExportJob {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "requested_by_id", nullable = false)
+    private UUID requestedById;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private String format; // PDF, EXCEL
+
+    @Column(nullable = false)
+    private String exportType; // ATTENDANCE, LEAVE_REQUESTS, ALL
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    @Column(nullable = false)
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED, EXPIRED
+
+    @Column(nullable = false)
+    private int progress;
+
+    @Column(nullable = false)
+    private String dedupKey;
+
+    private String filePath;
+
+    private Long fileSize;
+
+    @Column(length = 2048)
+    private String errorMessage;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    private Instant startedAt;
+
+    private Instant completedAt;
+
+    private Instant expiresAt;
+
+    public boolean isInFlight() { return "QUEUED".equals(status) || "RUNNING".equals(status); }
+}
@@ -38,6 +38,9 @@ public class Notification {
 
     private Instant sentAt;
 
+    @Column(name = "read_at")
+    private Instant readAt;
+
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -46,4 +49,6 @@ public class Notification {
 
     @Column(name = "entity_type")
     private String entityType;
+
+    public boolean isRead() { return readAt != null; }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.uros.timesheet.attendance.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "organization_holidays")
+@Getter @Setter @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class OrganizationHoliday {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID organizationId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private String name;
+}
@@ -0,0 +1,21 @@
+package com.uros.timesheet.attendance.dto.attendance;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+public class AttendanceStatusChange {
+    private UUID attendanceRecordId;
+    private UUID userId;
+    private UUID organizationId;
+    private UUID teamId;
+    private String oldStatus;
+    private String newStatus;
+    private UUID changedByUserId;
+    private String reason;
+    private Instant changedAt;
+}
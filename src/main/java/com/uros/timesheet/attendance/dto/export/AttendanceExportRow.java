@@ -0,0 +1,21 @@
+package com.uros.timesheet.attendance.dto.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Flat projection of an attendance record as streamed into exports.
+ */
+@Data
+@AllArgsConstructor
+public class AttendanceExportRow {
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String type;
+    private String status;
+    private String notes;
+}
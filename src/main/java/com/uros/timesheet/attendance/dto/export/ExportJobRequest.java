@@ -0,0 +1,21 @@
+package com.uros.timesheet.attendance.dto.export;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+public class ExportJobRequest {
+    @NotNull
+    private UUID userId;
+    @NotNull
+    private LocalDate startDate;
+    @NotNull
+    private LocalDate endDate;
+    @NotNull
+    private ExportRequest.ExportType exportType;
+    @NotNull
+    private ExportFormat format;
+}
@@ -0,0 +1,25 @@
+package com.uros.timesheet.attendance.dto.export;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+public class ExportJobResponse {
+    private UUID id;
+    private UUID userId;
+    private String format;
+    private String exportType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String status;
+    private int progress;
+    private Long fileSize;
+    private String errorMessage;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant completedAt;
+    private Instant expiresAt;
+}
@@ -13,8 +13,25 @@ public class ExportRequest {
     private LocalDate endDate;
     private ExportType exportType;
     private User requestedBy;
+    // Optional; set by background export jobs to track progress and cancellation
+    private ProgressListener progressListener;
 
     public enum ExportType {
         ATTENDANCE, LEAVE_REQUESTS, ALL
     }
-}
\ No newline at end of file
+
+    /**
+     * Receives the number of rows written since the previous call.
+     * May throw {@link java.util.concurrent.CancellationException} to abort the export.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void rowsWritten(int rows);
+    }
+
+    public void reportProgress(int rows) {
+        if (progressListener != null && rows > 0) {
+            progressListener.rowsWritten(rows);
+        }
+    }
+}
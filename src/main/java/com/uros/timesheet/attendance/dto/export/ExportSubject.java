@@ -0,0 +1,16 @@
+package com.uros.timesheet.attendance.dto.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * A user covered by a team- or organization-wide export.
+ */
+@Data
+@AllArgsConstructor
+public class ExportSubject {
+    private UUID userId;
+    private String fullName;
+}
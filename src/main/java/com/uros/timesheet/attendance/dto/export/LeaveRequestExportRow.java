@@ -0,0 +1,20 @@
+package com.uros.timesheet.attendance.dto.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Flat projection of a leave request as streamed into exports.
+ */
+@Data
+@AllArgsConstructor
+public class LeaveRequestExportRow {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String type;
+    private String status;
+    private String approver;
+    private String notes;
+}
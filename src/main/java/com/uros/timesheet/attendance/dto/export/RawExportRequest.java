@@ -0,0 +1,46 @@
+package com.uros.timesheet.attendance.dto.export;
+
+import com.uros.timesheet.attendance.columnar.ColumnarFormat;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+public class RawExportRequest {
+    private Dataset dataset;
+    private Format format;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private UUID organizationId;
+
+    public enum Dataset {
+        ATTENDANCE, LEAVE_REQUESTS, AUDIT_LOGS
+    }
+
+    /**
+     * CSV and TSV are gzip-compressed text; COLUMNAR is the typed, block-compressed
+     * binary format of the {@code columnar} package.
+     */
+    public enum Format {
+        CSV("csv.gz", "application/gzip"),
+        TSV("tsv.gz", "application/gzip"),
+        COLUMNAR(ColumnarFormat.EXTENSION, ColumnarFormat.CONTENT_TYPE);
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+}
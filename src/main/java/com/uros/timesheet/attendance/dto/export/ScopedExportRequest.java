@@ -0,0 +1,49 @@
+package com.uros.timesheet.attendance.dto.export;
+
+import com.uros.timesheet.attendance.domain.User;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+public class ScopedExportRequest {
+    private Scope scope;
+    private UUID scopeId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private ExportRequest.ExportType exportType;
+    private Output output;
+    private User requestedBy;
+
+    public enum Scope {
+        TEAM, ORGANIZATION
+    }
+
+    /**
+     * EXCEL: one workbook with a sheet per user; PDF: one document with a section per user;
+     * ZIP: one Excel file per user; BUNDLE: a folder per user with their PDF and Excel file.
+     */
+    public enum Output {
+        EXCEL("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+        PDF("pdf", "application/pdf"),
+        ZIP("zip", "application/zip"),
+        BUNDLE("zip", "application/zip");
+
+        private final String extension;
+        private final String contentType;
+
+        Output(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.uros.timesheet.attendance.dto.leave;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalanceRebuildResponse {
+    private UUID organizationId;
+    private int year;
+    private int leaves;
+}
@@ -0,0 +1,19 @@
+package com.uros.timesheet.attendance.dto.leave;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalanceResponse {
+    private UUID userId;
+    private String type;
+    private int year;
+    private int entitled;
+    private int consumed;
+    private int remaining;
+}
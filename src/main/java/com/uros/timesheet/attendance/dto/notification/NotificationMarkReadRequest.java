@@ -0,0 +1,16 @@
+package com.uros.timesheet.attendance.dto.notification;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class NotificationMarkReadRequest {
+    @Size(max = 1000)
+    private List<UUID> ids;
+
+    // Marks every notification as read; must be set explicitly instead of sending ids
+    private boolean all;
+}
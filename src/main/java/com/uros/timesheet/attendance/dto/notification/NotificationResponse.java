@@ -17,5 +17,6 @@ public class NotificationResponse {
     private String message;
     private String status;
     private Instant sentAt;
+    private Instant readAt;
     private Instant createdAt;
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.uros.timesheet.attendance.dto.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCountResponse {
+    private long unreadCount;
+}
@@ -0,0 +1,12 @@
+package com.uros.timesheet.attendance.dto.organization;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class HolidayRequest {
+    @NotBlank
+    @Size(max = 255)
+    private String name;
+}
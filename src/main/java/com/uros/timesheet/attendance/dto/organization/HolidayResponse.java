@@ -0,0 +1,17 @@
+package com.uros.timesheet.attendance.dto.organization;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayResponse {
+    private UUID organizationId;
+    private LocalDate date;
+    private String name;
+}
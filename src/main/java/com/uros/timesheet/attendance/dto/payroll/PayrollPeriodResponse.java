@@ -0,0 +1,21 @@
+package com.uros.timesheet.attendance.dto.payroll;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollPeriodResponse {
+    private UUID id;
+    private UUID organizationId;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private Instant closedAt;
+    private UUID closedById;
+}
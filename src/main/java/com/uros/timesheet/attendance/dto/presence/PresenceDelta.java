@@ -0,0 +1,24 @@
+package com.uros.timesheet.attendance.dto.presence;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Incremental presence change pushed to /topic/presence/{organizationId}.
+ * UPSERT carries the user's full state for today, REMOVE only the user id,
+ * RESET tells clients the day rolled over and the snapshot must be reloaded.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceDelta {
+    private String type; // UPSERT, REMOVE, RESET
+    private UUID organizationId;
+    private UUID userId;
+    private PresenceUserResponse user;
+}
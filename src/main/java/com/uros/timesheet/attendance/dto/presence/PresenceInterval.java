@@ -0,0 +1,19 @@
+package com.uros.timesheet.attendance.dto.presence;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class PresenceInterval {
+    private UUID recordId;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String type;
+    private String status;
+}
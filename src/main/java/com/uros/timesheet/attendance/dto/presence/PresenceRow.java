@@ -0,0 +1,28 @@
+package com.uros.timesheet.attendance.dto.presence;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Flat projection of an attendance record with everything the presence board needs,
+ * loaded without materializing the entity graph.
+ */
+@Data
+@AllArgsConstructor
+public class PresenceRow {
+    private UUID recordId;
+    private UUID userId;
+    private String fullName;
+    private UUID teamId;
+    private UUID organizationId;
+    private String timezone;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String type;
+    private String status;
+}
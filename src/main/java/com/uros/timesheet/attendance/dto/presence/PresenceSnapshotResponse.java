@@ -0,0 +1,23 @@
+package com.uros.timesheet.attendance.dto.presence;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceSnapshotResponse {
+    private UUID organizationId;
+    private LocalDate date;
+    private Instant generatedAt;
+    private int workingNow;
+    private List<PresenceUserResponse> users;
+}
@@ -0,0 +1,21 @@
+package com.uros.timesheet.attendance.dto.presence;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceUserResponse {
+    private UUID userId;
+    private String fullName;
+    private UUID teamId;
+    private boolean working;
+    private List<PresenceInterval> intervals;
+}
@@ -0,0 +1,13 @@
+package com.uros.timesheet.attendance.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class DailyHeadcountDto {
+    private LocalDate date;
+    private long present;
+}
@@ -0,0 +1,24 @@
+package com.uros.timesheet.attendance.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class PresentUsersResponse {
+    private List<LocalDate> days;
+    private Match match;
+    private int count;
+    private List<UUID> userIds;
+
+    /**
+     * ALL: present on every one of the days; ANY: present on at least one.
+     */
+    public enum Match {
+        ALL, ANY
+    }
+}
@@ -0,0 +1,16 @@
+package com.uros.timesheet.attendance.dto.report;
+
+/**
+ * Attribute an attendance report can be grouped by. Calendar dimensions yield the first
+ * day of their period (ISO week starting Monday).
+ */
+public enum ReportDimension {
+    ORGANIZATION,
+    TEAM,
+    USER,
+    TYPE,
+    STATUS,
+    DAY,
+    WEEK,
+    MONTH
+}
@@ -0,0 +1,16 @@
+package com.uros.timesheet.attendance.dto.report;
+
+/**
+ * Aggregate computed per report row. HOURS sums the stored worked minutes of the records;
+ * REGULAR_HOURS and OVERTIME_HOURS sum their overtime split, which only approved records
+ * have. APPROVAL_RATE is the approved share of records (0..1).
+ */
+public enum ReportMeasure {
+    HOURS,
+    RECORDS,
+    DISTINCT_DAYS,
+    APPROVED_RECORDS,
+    APPROVAL_RATE,
+    REGULAR_HOURS,
+    OVERTIME_HOURS
+}
@@ -0,0 +1,28 @@
+package com.uros.timesheet.attendance.dto.report;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class ReportQueryRequest {
+    private List<ReportDimension> dimensions;
+    private List<ReportMeasure> measures;
+    private LocalDate from;
+    private LocalDate to;
+    private Totals totals;
+    private UUID teamId;
+    private UUID userId;
+    private List<String> statuses;
+    private List<String> types;
+
+    /**
+     * NONE: one row per combination of all dimensions; ROLLUP: plus subtotals for every
+     * leading subset of the dimensions and a grand total; CUBE: subtotals for every subset.
+     */
+    public enum Totals {
+        NONE, ROLLUP, CUBE
+    }
+}
@@ -0,0 +1,14 @@
+package com.uros.timesheet.attendance.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReportResult {
+    private List<ReportDimension> dimensions;
+    private List<ReportMeasure> measures;
+    private List<ReportRow> rows;
+}
@@ -0,0 +1,19 @@
+package com.uros.timesheet.attendance.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One report row. Dimension values and measures follow the order of the query; a dimension
+ * listed in {@code rolledUp} is aggregated away in this (subtotal) row and its value is null.
+ */
+@Data
+@AllArgsConstructor
+public class ReportRow {
+    private List<String> dimensions;
+    private List<ReportDimension> rolledUp;
+    private List<BigDecimal> measures;
+}
@@ -17,4 +17,7 @@ public class UserAttendanceSummaryDto {
     private long totalDays;
     private long totalRecords;
     private BigDecimal totalHours;
+    // Approved records the overtime job has not split yet count in neither
+    private BigDecimal regularHours;
+    private BigDecimal overtimeHours;
 }
\ No newline at end of file
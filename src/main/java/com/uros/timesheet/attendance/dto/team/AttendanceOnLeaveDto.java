@@ -0,0 +1,19 @@
+package com.uros.timesheet.attendance.dto.team;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Work logged on a day the user is on approved leave.
+ */
+@Data
+@AllArgsConstructor
+public class AttendanceOnLeaveDto {
+    private UUID userId;
+    private UUID attendanceRecordId;
+    private UUID leaveRequestId;
+    private LocalDate date;
+}
@@ -0,0 +1,9 @@
+package com.uros.timesheet.attendance.dto.team;
+
+/**
+ * Availability of a team member on one calendar day. WORKED wins over everything else; a
+ * weekend inside a leave stays WEEKEND. ABSENT covers future weekdays nobody booked yet.
+ */
+public enum CalendarDayState {
+    WORKED, LEAVE, WEEKEND, ABSENT
+}
@@ -0,0 +1,21 @@
+package com.uros.timesheet.attendance.dto.team;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Two team members away at the same time.
+ */
+@Data
+@AllArgsConstructor
+public class LeaveOverlapDto {
+    private UUID userId;
+    private UUID leaveRequestId;
+    private UUID otherUserId;
+    private UUID otherLeaveRequestId;
+    private LocalDate from;
+    private LocalDate to;
+}
@@ -0,0 +1,18 @@
+package com.uros.timesheet.attendance.dto.team;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class TeamCalendarResponse {
+    private UUID teamId;
+    private YearMonth month;
+    private List<LocalDate> days;
+    private List<TeamCalendarRow> members;
+}
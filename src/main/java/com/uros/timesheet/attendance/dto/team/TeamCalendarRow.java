@@ -0,0 +1,18 @@
+package com.uros.timesheet.attendance.dto.team;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class TeamCalendarRow {
+    private UUID userId;
+    private String fullName;
+    // One entry per day of the month
+    private List<CalendarDayState> days;
+    // Leave type on LEAVE days, null otherwise
+    private List<String> leaveTypes;
+}
@@ -0,0 +1,18 @@
+package com.uros.timesheet.attendance.dto.team;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class TeamConflictReport {
+    private UUID teamId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<LeaveOverlapDto> leaveOverlaps;
+    private List<AttendanceOnLeaveDto> attendanceOnLeave;
+}
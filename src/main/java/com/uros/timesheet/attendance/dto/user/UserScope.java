@@ -0,0 +1,17 @@
+package com.uros.timesheet.attendance.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Minimal tenant/team coordinates of a user, used to route domain events.
+ */
+@Data
+@AllArgsConstructor
+public class UserScope {
+    private UUID userId;
+    private UUID organizationId;
+    private UUID teamId;
+}
@@ -0,0 +1,19 @@
+package com.uros.timesheet.attendance.event;
+
+import com.uros.timesheet.attendance.dto.notification.NotificationResponse;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
+
+@Getter
+public class NotificationCreatedEvent extends ApplicationEvent {
+    private final UUID recipientId;
+    private final NotificationResponse notification;
+
+    public NotificationCreatedEvent(Object source, UUID recipientId, NotificationResponse notification) {
+        super(source);
+        this.recipientId = recipientId;
+        this.notification = notification;
+    }
+}
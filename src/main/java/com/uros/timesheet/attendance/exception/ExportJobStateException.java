@@ -0,0 +1,10 @@
+package com.uros.timesheet.attendance.exception;
+
+/**
+ * Thrown when an export job is not in a state that allows the requested operation.
+ */
+public class ExportJobStateException extends RuntimeException {
+    public ExportJobStateException(String message) {
+        super(message);
+    }
+}
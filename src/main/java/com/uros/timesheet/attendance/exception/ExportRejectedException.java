@@ -0,0 +1,18 @@
+package com.uros.timesheet.attendance.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when an export is refused because too many exports of its format are already
+ * running or waiting. Carries the suggested delay for the Retry-After header.
+ */
+@Getter
+public class ExportRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ExportRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
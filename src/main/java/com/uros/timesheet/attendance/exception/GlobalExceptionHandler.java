@@ -3,6 +3,8 @@ package com.uros.timesheet.attendance.exception;
 import com.uros.timesheet.attendance.i18n.MessageUtil;
 import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 
+import java.sql.SQLException;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,6 +22,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    static final String ATTENDANCE_OVERLAP_CONSTRAINT = "attendance_records_no_overlap";
+
+    // PostgreSQL SQLSTATEs of constraints that reject a conflicting row
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final MessageUtil messages;
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -64,6 +73,55 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    @ExceptionHandler(ExportJobStateException.class)
+    public ResponseEntity<?> handleExportJobState(ExportJobStateException ex) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", Instant.now());
+        error.put("status", HttpStatus.CONFLICT.value());
+        error.put("error", messages.get("conflict"));
+        error.put("message", messages.get(ex.getMessage(), ex.getMessage()));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(PayrollPeriodClosedException.class)
+    public ResponseEntity<?> handlePayrollPeriodClosed(PayrollPeriodClosedException ex) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", Instant.now());
+        error.put("status", HttpStatus.CONFLICT.value());
+        error.put("error", messages.get("conflict"));
+        error.put("message", messages.get(ex.getMessage(), ex.getMessage()));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<?> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        SQLException cause = sqlCause(ex);
+        String sqlState = cause != null ? cause.getSQLState() : null;
+        if (!UNIQUE_VIOLATION.equals(sqlState) && !EXCLUSION_VIOLATION.equals(sqlState)) {
+            return handleGenericException(ex);
+        }
+        boolean overlap = EXCLUSION_VIOLATION.equals(sqlState)
+                && String.valueOf(cause.getMessage()).contains(ATTENDANCE_OVERLAP_CONSTRAINT);
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", Instant.now());
+        error.put("status", HttpStatus.CONFLICT.value());
+        error.put("error", messages.get("conflict"));
+        error.put("message", messages.get(overlap ? "error.attendance.overlap" : "error.data.conflict"));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(ExportRejectedException.class)
+    public ResponseEntity<?> handleExportRejected(ExportRejectedException ex) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", Instant.now());
+        error.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        error.put("error", messages.get("too.many.requests"));
+        error.put("message", messages.get(ex.getMessage(), ex.getRetryAfterSeconds()));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<?> handleNotFoundException(NotFoundException ex) {
         Map<String, Object> error = new HashMap<>();
@@ -123,4 +181,13 @@ public class GlobalExceptionHandler {
         error.put("message", messages.get("unauthorized", "Authentication is required to access this resource."));
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
-}
\ No newline at end of file
+
+    private static SQLException sqlCause(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql) {
+                return sql;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.uros.timesheet.attendance.exception;
+
+/**
+ * Thrown when attendance dated inside a closed payroll period would change.
+ */
+public class PayrollPeriodClosedException extends RuntimeException {
+    public PayrollPeriodClosedException(String message) {
+        super(message);
+    }
+}
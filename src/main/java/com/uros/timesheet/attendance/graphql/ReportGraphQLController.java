@@ -0,0 +1,81 @@
+package com.uros.timesheet.attendance.graphql;
+
+import com.uros.timesheet.attendance.dto.report.ReportDimension;
+import com.uros.timesheet.attendance.dto.report.ReportMeasure;
+import com.uros.timesheet.attendance.dto.report.ReportQueryRequest;
+import com.uros.timesheet.attendance.dto.report.ReportResult;
+import com.uros.timesheet.attendance.i18n.MessageUtil;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
+import com.uros.timesheet.attendance.service.report.ReportQueryService;
+import graphql.GraphQLError;
+import graphql.schema.DataFetchingEnvironment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * GraphQL access to the attendance pivot reports, same engine and limits as
+ * {@code POST /api/v1/reports/attendance/query}.
+ */
+@Controller
+@RequiredArgsConstructor
+public class ReportGraphQLController {
+
+    private final ReportQueryService reportQueryService;
+    private final MessageUtil messageUtil;
+
+    @QueryMapping
+    @PreAuthorize("hasAuthority('REPORT_VIEW') or hasRole('ADMIN') or hasRole('HR')")
+    public ReportResult attendanceReport(@Argument List<ReportDimension> dimensions,
+                                         @Argument List<ReportMeasure> measures,
+                                         @Argument String from,
+                                         @Argument String to,
+                                         @Argument ReportQueryRequest.Totals totals,
+                                         @Argument UUID teamId,
+                                         @Argument UUID userId,
+                                         @Argument List<String> statuses,
+                                         @Argument List<String> types,
+                                         @AuthenticationPrincipal CustomUserDetails principal) {
+        ReportQueryRequest request = new ReportQueryRequest();
+        request.setDimensions(dimensions);
+        request.setMeasures(measures);
+        request.setFrom(LocalDate.parse(from));
+        request.setTo(LocalDate.parse(to));
+        request.setTotals(totals);
+        request.setTeamId(teamId);
+        request.setUserId(userId);
+        request.setStatuses(statuses);
+        request.setTypes(types);
+        return reportQueryService.query(request, principal.getOrganizationId());
+    }
+
+    @GraphQlExceptionHandler
+    public GraphQLError handleInvalidQuery(IllegalArgumentException ex, DataFetchingEnvironment env) {
+        return GraphQLError.newError()
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(messageUtil.get(ex.getMessage(), ex.getMessage()))
+                .path(env.getExecutionStepInfo().getPath())
+                .location(env.getField().getSourceLocation())
+                .build();
+    }
+
+    @GraphQlExceptionHandler
+    public GraphQLError handleInvalidDate(DateTimeParseException ex, DataFetchingEnvironment env) {
+        return GraphQLError.newError()
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(messageUtil.get("bad.request"))
+                .path(env.getExecutionStepInfo().getPath())
+                .location(env.getField().getSourceLocation())
+                .build();
+    }
+}
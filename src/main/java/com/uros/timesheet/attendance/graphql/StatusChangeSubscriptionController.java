@@ -0,0 +1,63 @@
+package com.uros.timesheet.attendance.graphql;
+
+import com.uros.timesheet.attendance.dto.attendance.AttendanceStatusChange;
+import com.uros.timesheet.attendance.dto.leave.LeaveRequestStatusChange;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * GraphQL subscriptions for attendance and leave status changes.
+ * <p>
+ * ADMIN and HR receive every change in their organization, MANAGER receives
+ * changes of their own team, and everyone else only their own changes.
+ */
+@Controller
+@RequiredArgsConstructor
+public class StatusChangeSubscriptionController {
+
+    private static final Set<String> TENANT_WIDE_ROLES = Set.of("ADMIN", "HR");
+    private static final Set<String> TEAM_ROLES = Set.of("MANAGER");
+
+    private final StatusChangeSubscriptionPublisher publisher;
+
+    @SubscriptionMapping
+    public Flux<AttendanceStatusChange> attendanceStatusChanged(@AuthenticationPrincipal CustomUserDetails principal) {
+        if (principal == null) {
+            return Flux.error(new AccessDeniedException("Authentication is required for subscriptions."));
+        }
+        return publisher.attendanceChanges()
+                .filter(change -> isVisible(principal, change.getOrganizationId(), change.getTeamId(), change.getUserId()));
+    }
+
+    @SubscriptionMapping
+    public Flux<LeaveRequestStatusChange> leaveRequestStatusChanged(@AuthenticationPrincipal CustomUserDetails principal) {
+        if (principal == null) {
+            return Flux.error(new AccessDeniedException("Authentication is required for subscriptions."));
+        }
+        return publisher.leaveRequestChanges()
+                .filter(change -> isVisible(principal, change.getOrganizationId(), change.getTeamId(), change.getUserId()));
+    }
+
+    boolean isVisible(CustomUserDetails principal, UUID organizationId, UUID teamId, UUID userId) {
+        if (!principal.getOrganizationId().equals(organizationId)) {
+            return false;
+        }
+        if (principal.getRoleNames().stream().anyMatch(TENANT_WIDE_ROLES::contains)) {
+            return true;
+        }
+        if (principal.getId().equals(userId)) {
+            return true;
+        }
+        return principal.getTeamId() != null
+                && principal.getTeamId().equals(teamId)
+                && principal.getRoleNames().stream().anyMatch(TEAM_ROLES::contains);
+    }
+}
@@ -0,0 +1,125 @@
+package com.uros.timesheet.attendance.graphql;
+
+import com.uros.timesheet.attendance.dto.attendance.AttendanceStatusChange;
+import com.uros.timesheet.attendance.dto.leave.LeaveRequestStatusChange;
+import com.uros.timesheet.attendance.dto.user.UserScope;
+import com.uros.timesheet.attendance.event.AttendanceRecordStatusChangedEvent;
+import com.uros.timesheet.attendance.event.LeaveRequestStatusChangedEvent;
+import com.uros.timesheet.attendance.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Optional;
+
+/**
+ * Bridges attendance and leave status events into reactive multicast sinks
+ * consumed by GraphQL subscriptions.
+ * <p>
+ * The sinks are best-effort multicast; every subscriber gets its own bounded
+ * buffer (drop-oldest), so a slow dashboard never stalls the publisher or other subscribers.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatusChangeSubscriptionPublisher {
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Sinks.Many<AttendanceStatusChange> attendanceSink = Sinks.many().multicast().directBestEffort();
+    private final Sinks.Many<LeaveRequestStatusChange> leaveSink = Sinks.many().multicast().directBestEffort();
+
+    @Value("${graphql.subscriptions.subscriber-buffer:256}")
+    private int subscriberBuffer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("graphql.subscriptions.active", attendanceSink, Sinks.Many::currentSubscriberCount)
+                .tag("type", "attendance")
+                .register(meterRegistry);
+        Gauge.builder("graphql.subscriptions.active", leaveSink, Sinks.Many::currentSubscriberCount)
+                .tag("type", "leave")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttendanceStatusChanged(AttendanceRecordStatusChangedEvent event) {
+        if (attendanceSink.currentSubscriberCount() == 0) {
+            return;
+        }
+        Optional<UserScope> scope = userRepository.findScopeById(event.getUserId());
+        if (scope.isEmpty()) {
+            return;
+        }
+        AttendanceStatusChange change = AttendanceStatusChange.builder()
+                .attendanceRecordId(event.getAttendanceRecordId())
+                .userId(event.getUserId())
+                .organizationId(scope.get().getOrganizationId())
+                .teamId(scope.get().getTeamId())
+                .oldStatus(event.getOldStatus())
+                .newStatus(event.getNewStatus())
+                .changedByUserId(event.getChangedByUserId())
+                .reason(event.getReason())
+                .changedAt(event.getChangedAt())
+                .build();
+        emit(attendanceSink, change);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLeaveRequestStatusChanged(LeaveRequestStatusChangedEvent event) {
+        if (leaveSink.currentSubscriberCount() == 0) {
+            return;
+        }
+        Optional<UserScope> scope = userRepository.findScopeById(event.getUserId());
+        if (scope.isEmpty()) {
+            return;
+        }
+        LeaveRequestStatusChange change = LeaveRequestStatusChange.builder()
+                .leaveRequestId(event.getLeaveRequestId())
+                .userId(event.getUserId())
+                .organizationId(scope.get().getOrganizationId())
+                .teamId(scope.get().getTeamId())
+                .oldStatus(event.getOldStatus())
+                .newStatus(event.getNewStatus())
+                .changedByUserId(event.getChangedByUserId())
+                .reason(event.getReason())
+                .changedAt(event.getChangedAt())
+                .build();
+        emit(leaveSink, change);
+    }
+
+    public Flux<AttendanceStatusChange> attendanceChanges() {
+        return attendanceSink.asFlux()
+                .onBackpressureBuffer(subscriberBuffer, dropped -> countDropped("attendance"), BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    public Flux<LeaveRequestStatusChange> leaveRequestChanges() {
+        return leaveSink.asFlux()
+                .onBackpressureBuffer(subscriberBuffer, dropped -> countDropped("leave"), BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    private <T> void emit(Sinks.Many<T> sink, T change) {
+        Sinks.EmitResult result;
+        // Sinks reject concurrent emission; events arrive on request threads, so serialize here
+        synchronized (sink) {
+            result = sink.tryEmitNext(change);
+        }
+        if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+            log.warn("[GraphQLSubscriptions] Failed to emit status change: {}", result);
+        }
+    }
+
+    private void countDropped(String type) {
+        meterRegistry.counter("graphql.subscriptions.dropped", "type", type).increment();
+    }
+}
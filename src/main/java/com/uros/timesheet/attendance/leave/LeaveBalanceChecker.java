@@ -0,0 +1,81 @@
+package com.uros.timesheet.attendance.leave;
+
+import com.uros.timesheet.attendance.repository.LeaveRequestRepository;
+import com.uros.timesheet.attendance.repository.leave.LeaveBalance;
+import com.uros.timesheet.attendance.repository.leave.LeaveLedgerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verifies the leave ledger against the leave requests, and the balances against the
+ * ledger. Drift comes from writes that bypassed the handlers or from concurrent changes
+ * of one request. Leaves booked wrongly are booked again through {@link LeaveLedger};
+ * balances are then reset to the ledger sums, the ledger being the source of truth. With
+ * {@code leave.balance.repair=false} drift is only reported.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaveBalanceChecker {
+
+    private final LeaveLedgerRepository ledgerRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final LeaveLedger leaveLedger;
+    private final LeaveBalanceProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong leavesOutOfBalance = new AtomicLong();
+    private final AtomicLong balancesOutOfBalance = new AtomicLong();
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("leave.balance.drift", leavesOutOfBalance, AtomicLong::get)
+                .description("Leave requests whose ledger entries differ from their days, at the last check")
+                .tag("kind", "ledger")
+                .register(meterRegistry);
+        Gauge.builder("leave.balance.drift", balancesOutOfBalance, AtomicLong::get)
+                .description("Balances that differ from their ledger sums, at the last check")
+                .tag("kind", "balance")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${leave.balance.check-cron:0 45 3 * * *}")
+    public void check() {
+        List<UUID> leaves = ledgerRepository.findLeavesOutOfBalance(properties.getTypes());
+        leavesOutOfBalance.set(leaves.size());
+        if (!leaves.isEmpty()) {
+            log.warn("[LeaveBalance] {} leave requests out of balance with the ledger", leaves.size());
+            if (properties.isRepair()) {
+                leaves.forEach(this::rebook);
+            }
+        }
+
+        List<LeaveBalance> drift = ledgerRepository.findBalanceDrift();
+        balancesOutOfBalance.set(drift.size());
+        if (!drift.isEmpty()) {
+            log.warn("[LeaveBalance] {} balances differ from the ledger", drift.size());
+            if (properties.isRepair()) {
+                transactionTemplate.executeWithoutResult(status -> ledgerRepository.saveBalances(drift));
+            }
+        }
+    }
+
+    private void rebook(UUID leaveRequestId) {
+        transactionTemplate.executeWithoutResult(status ->
+                leaveRequestRepository.findByIdIncludingDeleted(leaveRequestId)
+                        .ifPresentOrElse(
+                                leave -> leaveLedger.record(leave, null),
+                                () -> log.warn("[LeaveBalance] Ledger entries of missing leave request {}", leaveRequestId)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.uros.timesheet.attendance.leave;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings of the leave ledger and balances (leave.balance.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "leave.balance")
+public class LeaveBalanceProperties {
+
+    /** Leave types booked against a balance; others (e.g. remote) never touch the ledger. */
+    private Set<String> types = new LinkedHashSet<>(Set.of("annual", "sick", "unpaid"));
+
+    /** Days per year for organizations without a leave_entitlements row; missing types get 0. */
+    private Map<String, Integer> entitlements = new HashMap<>(Map.of("annual", 20));
+
+    /** How long organization entitlements are cached. */
+    private Duration entitlementTtl = Duration.ofMinutes(10);
+
+    /** Book every approved leave on startup when the ledger is still empty. */
+    private boolean backfillOnStartup = true;
+
+    /** Approved leaves booked per transaction by the backfill. */
+    private int backfillBatchSize = 500;
+
+    /** Correct drift found by the consistency check instead of only reporting it. */
+    private boolean repair = true;
+
+    public boolean isTracked(String type) {
+        return types.contains(type);
+    }
+
+    public int defaultEntitlement(String type) {
+        return entitlements.getOrDefault(type, 0);
+    }
+}
@@ -0,0 +1,99 @@
+package com.uros.timesheet.attendance.leave;
+
+import com.uros.timesheet.attendance.domain.LeaveRequest;
+import com.uros.timesheet.attendance.repository.LeaveRequestRepository;
+import com.uros.timesheet.attendance.repository.leave.LeaveLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fills the leave ledger from existing leave requests: a backfill of every approved leave
+ * when the ledger is first deployed, and a rebuild of one organization and year, e.g.
+ * after its entitlements changed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaveBalanceRebuildJob {
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final LeaveLedgerRepository ledgerRepository;
+    private final LeaveLedger leaveLedger;
+    private final LeaveEntitlements entitlements;
+    private final LeaveBalanceProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!properties.isBackfillOnStartup() || !ledgerRepository.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        long leaves = backfill();
+        log.info("[LeaveBalance] Backfilled {} approved leaves in {} ms",
+                leaves, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Books every approved leave of a tracked type in id order, one transaction per batch.
+     * Leaves already in the ledger write nothing.
+     *
+     * @return number of leaves visited
+     */
+    public long backfill() {
+        UUID after = new UUID(0, 0);
+        long leaves = 0;
+        while (true) {
+            UUID from = after;
+            List<UUID> ids = transactionTemplate.execute(status -> {
+                List<LeaveRequest> batch = leaveRequestRepository.findApprovedAfter(
+                        from, properties.getTypes(), PageRequest.of(0, properties.getBackfillBatchSize()));
+                batch.forEach(leave -> leaveLedger.record(leave, null));
+                return batch.stream().map(LeaveRequest::getId).toList();
+            });
+            if (ids == null || ids.isEmpty()) {
+                return leaves;
+            }
+            leaves += ids.size();
+            after = ids.get(ids.size() - 1);
+            if (ids.size() < properties.getBackfillBatchSize()) {
+                return leaves;
+            }
+        }
+    }
+
+    /**
+     * Drops the organization's ledger entries and balances of the year and books its
+     * approved leaves again, with the current entitlements. Leaves reaching into another
+     * year keep their bookings there.
+     *
+     * @return number of leaves booked
+     */
+    public int rebuild(UUID organizationId, int year) {
+        entitlements.invalidate(organizationId);
+        Integer booked = transactionTemplate.execute(status -> {
+            ledgerRepository.deleteYear(organizationId, year);
+            List<LeaveRequest> leaves = leaveRequestRepository.findOverlappingByOrganizationId(
+                    organizationId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+            int count = 0;
+            for (LeaveRequest leave : leaves) {
+                if ("APPROVED".equals(leave.getStatus()) && properties.isTracked(leave.getType())) {
+                    leaveLedger.record(leave, null);
+                    count++;
+                }
+            }
+            return count;
+        });
+        log.info("[LeaveBalance] Rebuilt {} of organization {} from {} leaves", year, organizationId, booked);
+        return booked != null ? booked : 0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.uros.timesheet.attendance.leave;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Leave days a request consumes: the working days (Monday to Friday) of its inclusive date
+ * range, split by calendar year. {@link LeaveBalanceChecker} counts the same days in SQL.
+ */
+public final class LeaveDays {
+
+    private LeaveDays() {
+    }
+
+    /**
+     * Working days of {@code [start, end]} per year, in year order; years without working
+     * days are left out.
+     */
+    public static Map<Integer, Integer> byYear(LocalDate start, LocalDate end) {
+        Map<Integer, Integer> days = new TreeMap<>();
+        for (int year = start.getYear(); year <= end.getYear(); year++) {
+            LocalDate from = year == start.getYear() ? start : LocalDate.of(year, 1, 1);
+            LocalDate to = year == end.getYear() ? end : LocalDate.of(year, 12, 31);
+            int count = workingDays(from, to);
+            if (count > 0) {
+                days.put(year, count);
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Working days of the inclusive range, in constant time.
+     */
+    static int workingDays(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            return 0;
+        }
+        long total = to.toEpochDay() - from.toEpochDay() + 1;
+        long weeks = total / 7;
+        int count = (int) (weeks * 5);
+        // The remaining days start on from's weekday
+        int weekday = from.getDayOfWeek().getValue();
+        for (int i = 0; i < total % 7; i++) {
+            if (weekday <= DayOfWeek.FRIDAY.getValue()) {
+                count++;
+            }
+            weekday = weekday % 7 + 1;
+        }
+        return count;
+    }
+}
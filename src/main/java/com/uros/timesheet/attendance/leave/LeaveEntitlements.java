@@ -0,0 +1,40 @@
+package com.uros.timesheet.attendance.leave;
+
+import com.uros.timesheet.attendance.repository.leave.LeaveLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Days per year each organization grants per leave type, from leave_entitlements with
+ * {@code leave.balance.entitlements} as the default. Cached per organization for
+ * {@code leave.balance.entitlement-ttl}.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeaveEntitlements {
+
+    private final LeaveLedgerRepository ledgerRepository;
+    private final LeaveBalanceProperties properties;
+    private final Map<UUID, Cached> cache = new ConcurrentHashMap<>();
+
+    public int daysPerYear(UUID organizationId, String type) {
+        Cached cached = cache.get(organizationId);
+        if (cached == null || System.nanoTime() - cached.loadedAt > properties.getEntitlementTtl().toNanos()) {
+            cached = new Cached(Map.copyOf(ledgerRepository.findEntitlements(organizationId)), System.nanoTime());
+            cache.put(organizationId, cached);
+        }
+        Integer days = cached.days.get(type);
+        return days != null ? days : properties.defaultEntitlement(type);
+    }
+
+    public void invalidate(UUID organizationId) {
+        cache.remove(organizationId);
+    }
+
+    private record Cached(Map<String, Integer> days, long loadedAt) {
+    }
+}
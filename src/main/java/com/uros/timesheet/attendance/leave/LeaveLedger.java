@@ -0,0 +1,93 @@
+package com.uros.timesheet.attendance.leave;
+
+import com.uros.timesheet.attendance.domain.LeaveRequest;
+import com.uros.timesheet.attendance.repository.leave.LeaveBalance;
+import com.uros.timesheet.attendance.repository.leave.LeaveLedgerEntry;
+import com.uros.timesheet.attendance.repository.leave.LeaveLedgerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Books leave requests into the leave ledger and keeps the running balances in step.
+ * <p>
+ * An approved, live request of a tracked type consumes its working days; in any other
+ * state it consumes nothing. {@link #record} compares that with what the request has
+ * booked so far and appends the difference per year, as a consumption or a reversal, so
+ * approve, reject, delete and restore all go through the same call and repeating it
+ * writes nothing. The first booking of a (user, type, year) opens its balance with an
+ * accrual of the organization's entitlement. Runs in the caller's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeaveLedger {
+
+    private final LeaveLedgerRepository ledgerRepository;
+    private final LeaveEntitlements entitlements;
+    private final LeaveBalanceProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Books the current state of the leave request.
+     *
+     * @param performedById user behind the change, or null for maintenance jobs
+     * @return number of consumption and reversal entries written
+     */
+    public int record(LeaveRequest leave, UUID performedById) {
+        Map<Integer, Integer> expected = consumes(leave)
+                ? LeaveDays.byYear(leave.getStartDate(), leave.getEndDate())
+                : Map.of();
+        Map<Integer, Integer> booked = ledgerRepository.findConsumedByLeave(leave.getId());
+        if (expected.isEmpty() && booked.isEmpty()) {
+            return 0;
+        }
+        UUID userId = leave.getUser().getId();
+        UUID organizationId = leave.getOrganization().getId();
+        Instant now = Instant.now();
+        Set<Integer> years = new TreeSet<>(expected.keySet());
+        years.addAll(booked.keySet());
+        int written = 0;
+        for (int year : years) {
+            int delta = expected.getOrDefault(year, 0) - booked.getOrDefault(year, 0);
+            if (delta == 0) {
+                continue;
+            }
+            accrue(userId, organizationId, leave.getType(), year, performedById, now);
+            LeaveLedgerEntry.Kind kind = delta > 0 ? LeaveLedgerEntry.Kind.CONSUMPTION : LeaveLedgerEntry.Kind.REVERSAL;
+            ledgerRepository.append(new LeaveLedgerEntry(UUID.randomUUID(), userId, organizationId, leave.getId(),
+                    leave.getType(), year, kind, -delta, performedById, now));
+            ledgerRepository.addConsumed(userId, leave.getType(), year, delta);
+            meterRegistry.counter("leave.ledger.entries", "kind", kind.name()).increment();
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * The user's balance; before anything was booked, the full entitlement.
+     */
+    public LeaveBalance balance(UUID userId, UUID organizationId, String type, int year) {
+        return ledgerRepository.findBalance(userId, type, year)
+                .orElseGet(() -> new LeaveBalance(userId, organizationId, type, year,
+                        entitlements.daysPerYear(organizationId, type), 0));
+    }
+
+    private boolean consumes(LeaveRequest leave) {
+        return "APPROVED".equals(leave.getStatus()) && !leave.isDeleted() && properties.isTracked(leave.getType());
+    }
+
+    private void accrue(UUID userId, UUID organizationId, String type, int year, UUID performedById, Instant now) {
+        int entitled = entitlements.daysPerYear(organizationId, type);
+        if (ledgerRepository.createBalance(userId, organizationId, type, year, entitled) && entitled != 0) {
+            ledgerRepository.append(new LeaveLedgerEntry(UUID.randomUUID(), userId, organizationId, null,
+                    type, year, LeaveLedgerEntry.Kind.ACCRUAL, entitled, performedById, now));
+            meterRegistry.counter("leave.ledger.entries", "kind", LeaveLedgerEntry.Kind.ACCRUAL.name()).increment();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.uros.timesheet.attendance.mapper;
 
 import com.uros.timesheet.attendance.domain.AttendanceRecord;
+import com.uros.timesheet.attendance.dto.export.AttendanceExportRow;
 import com.uros.timesheet.attendance.dto.export.AttendanceRecordExportDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -15,4 +16,9 @@ public interface AttendanceRecordExportMapper {
     AttendanceRecordExportDto toDto(AttendanceRecord entity);
 
     List<AttendanceRecordExportDto> toDtoList(List<AttendanceRecord> entities);
+
+    @Mapping(target = "date", expression = "java(row.getDate().format(java.time.format.DateTimeFormatter.ofPattern(\"dd.MM.yyyy\")))")
+    @Mapping(target = "startTime", expression = "java(row.getStartTime() != null ? row.getStartTime().toString() : \"\")")
+    @Mapping(target = "endTime", expression = "java(row.getEndTime() != null ? row.getEndTime().toString() : \"\")")
+    AttendanceRecordExportDto toDto(AttendanceExportRow row);
 }
\ No newline at end of file
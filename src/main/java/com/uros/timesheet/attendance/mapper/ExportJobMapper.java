@@ -0,0 +1,10 @@
+package com.uros.timesheet.attendance.mapper;
+
+import com.uros.timesheet.attendance.domain.ExportJob;
+import com.uros.timesheet.attendance.dto.export.ExportJobResponse;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface ExportJobMapper {
+    ExportJobResponse toResponse(ExportJob entity);
+}
@@ -2,6 +2,7 @@ package com.uros.timesheet.attendance.mapper;
 
 import com.uros.timesheet.attendance.domain.LeaveRequest;
 import com.uros.timesheet.attendance.dto.export.LeaveRequestExportDto;
+import com.uros.timesheet.attendance.dto.export.LeaveRequestExportRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -15,4 +16,9 @@ public interface LeaveRequestExportMapper {
     LeaveRequestExportDto toDto(LeaveRequest entity);
 
     List<LeaveRequestExportDto> toDtoList(List<LeaveRequest> entities);
+
+    @Mapping(target = "startDate", expression = "java(row.getStartDate().format(java.time.format.DateTimeFormatter.ofPattern(\"dd.MM.yyyy\")))")
+    @Mapping(target = "endDate", expression = "java(row.getEndDate().format(java.time.format.DateTimeFormatter.ofPattern(\"dd.MM.yyyy\")))")
+    @Mapping(target = "approver", expression = "java(row.getApprover() != null ? row.getApprover() : \"\")")
+    LeaveRequestExportDto toDto(LeaveRequestExportRow row);
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.uros.timesheet.attendance.notification;
+
+import com.uros.timesheet.attendance.dto.notification.NotificationResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded ring buffer holding the most recent notifications of a single user.
+ * Used to resume SSE streams from a Last-Event-ID without touching the database
+ * as long as the requested event is still inside the buffer window.
+ */
+public class NotificationReplayBuffer {
+
+    private final NotificationResponse[] ring;
+    private int head;
+    private int size;
+    private volatile long lastAppendMillis = System.currentTimeMillis();
+
+    public NotificationReplayBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Replay buffer capacity must be positive");
+        }
+        this.ring = new NotificationResponse[capacity];
+    }
+
+    public synchronized void append(NotificationResponse notification) {
+        ring[head] = notification;
+        head = (head + 1) % ring.length;
+        if (size < ring.length) {
+            size++;
+        }
+        lastAppendMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns true when nothing was appended after the given epoch millis.
+     */
+    public boolean isIdleSince(long cutoffMillis) {
+        return lastAppendMillis <= cutoffMillis;
+    }
+
+    /**
+     * Returns all notifications appended after the given event, oldest first.
+     * An empty Optional means the event has already been evicted (or never existed)
+     * and the caller has to fall back to the database.
+     */
+    public synchronized Optional<List<NotificationResponse>> since(UUID lastEventId) {
+        int oldest = (head - size + ring.length) % ring.length;
+        for (int i = 0; i < size; i++) {
+            NotificationResponse candidate = ring[(oldest + i) % ring.length];
+            if (candidate.getId().equals(lastEventId)) {
+                List<NotificationResponse> missed = new ArrayList<>(size - i - 1);
+                for (int j = i + 1; j < size; j++) {
+                    missed.add(ring[(oldest + j) % ring.length]);
+                }
+                return Optional.of(missed);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
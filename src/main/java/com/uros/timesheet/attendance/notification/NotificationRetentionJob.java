@@ -0,0 +1,261 @@
+package com.uros.timesheet.attendance.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uros.timesheet.attendance.enums.NotificationType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Removes expired notifications according to per-type TTLs.
+ * <p>
+ * Each type is walked in (created_at, id) keyset order in bounded batches; every batch
+ * runs in its own short transaction, skips rows locked by live traffic and is followed
+ * by a pause. With archiving enabled, rows are first copied into notifications_archive
+ * with their content gzip-compressed.
+ * <p>
+ * A run can take minutes, so the scheduler only hands it to a private worker thread;
+ * heartbeats and the other {@code @Scheduled} tasks share the scheduler's threads and
+ * must not wait behind it. A trigger while a run is still going is skipped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationRetentionJob {
+
+    private static final String SELECT_EXPIRED = """
+            SELECT id, recipient_id, title, message, status, sent_at, read_at, created_at, entity_id, entity_type
+            FROM notifications
+            WHERE type = ? AND created_at < ? AND (created_at, id) > (?, ?)
+            ORDER BY created_at, id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String INSERT_ARCHIVE = """
+            INSERT INTO notifications_archive (id, recipient_id, type, created_at, archived_at, payload)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (id) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final NotificationRetentionProperties properties;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+
+    private final Map<NotificationType, AtomicLong> lagSeconds = new EnumMap<>(NotificationType.class);
+    private final AtomicLong lastRunRowsPerSecond = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private ExecutorService worker;
+
+    @PostConstruct
+    public void init() {
+        worker = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("notification-retention-"));
+        for (NotificationType type : NotificationType.values()) {
+            AtomicLong lag = new AtomicLong();
+            lagSeconds.put(type, lag);
+            Gauge.builder("notifications.retention.lag.seconds", lag, AtomicLong::get)
+                    .description("Age of the oldest expired notification still present, beyond its TTL")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("notifications.retention.throughput", lastRunRowsPerSecond, AtomicLong::get)
+                .description("Rows removed per second during the last run")
+                .baseUnit("rows/s")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 2 * * *}")
+    public void run() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.warn("[NotificationRetention] Previous run still in progress, skipping");
+            return;
+        }
+        worker.execute(() -> {
+            try {
+                purgeExpired();
+            } catch (RuntimeException ex) {
+                log.error("[NotificationRetention] Run failed", ex);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    /**
+     * Purges every type once, on the calling thread.
+     */
+    void purgeExpired() {
+        long started = System.nanoTime();
+        long total = 0;
+        for (NotificationType type : NotificationType.values()) {
+            Instant cutoff = Instant.now().minus(properties.ttlFor(type));
+            total += purge(type, cutoff);
+            updateLag(type, cutoff);
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+        }
+        long elapsedMs = Math.max(1, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        lastRunRowsPerSecond.set(total * 1000 / elapsedMs);
+        log.info("[NotificationRetention] Removed {} notifications in {} ms (archive={})",
+                total, elapsedMs, properties.isArchive());
+    }
+
+    /**
+     * Removes expired notifications of one type, at most maxBatchesPerRun batches.
+     *
+     * @return number of removed rows
+     */
+    long purge(NotificationType type, Instant cutoff) {
+        Timestamp lastCreatedAt = new Timestamp(0);
+        UUID lastId = new UUID(0, 0);
+        long removed = 0;
+        Timer batchTimer = meterRegistry.timer("notifications.retention.batch", "type", type.name());
+
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            Timestamp afterCreatedAt = lastCreatedAt;
+            UUID afterId = lastId;
+            List<ExpiredRow> rows = batchTimer.record(() -> transactionTemplate.execute(status ->
+                    removeBatch(type, cutoff, afterCreatedAt, afterId)));
+            if (rows == null || rows.isEmpty()) {
+                break;
+            }
+            removed += rows.size();
+            meterRegistry.counter("notifications.retention.rows",
+                    "type", type.name(), "action", properties.isArchive() ? "archived" : "deleted")
+                    .increment(rows.size());
+
+            Set<UUID> unreadRecipients = rows.stream()
+                    .filter(row -> row.readAt() == null)
+                    .map(ExpiredRow::recipientId)
+                    .collect(Collectors.toSet());
+            unreadNotificationCounter.invalidate(unreadRecipients);
+
+            ExpiredRow last = rows.get(rows.size() - 1);
+            lastCreatedAt = last.createdAt();
+            lastId = last.id();
+            if (rows.size() < properties.getBatchSize() || !pause()) {
+                break;
+            }
+        }
+        return removed;
+    }
+
+    private List<ExpiredRow> removeBatch(NotificationType type, Instant cutoff, Timestamp afterCreatedAt, UUID afterId) {
+        List<ExpiredRow> rows = jdbcTemplate.query(SELECT_EXPIRED, (rs, i) -> new ExpiredRow(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("recipient_id", UUID.class),
+                        rs.getString("title"),
+                        rs.getString("message"),
+                        rs.getString("status"),
+                        rs.getTimestamp("sent_at"),
+                        rs.getTimestamp("read_at"),
+                        rs.getTimestamp("created_at"),
+                        rs.getObject("entity_id", UUID.class),
+                        rs.getString("entity_type")),
+                type.name(), Timestamp.from(cutoff), afterCreatedAt, afterId, properties.getBatchSize());
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        if (properties.isArchive()) {
+            Timestamp archivedAt = Timestamp.from(Instant.now());
+            jdbcTemplate.batchUpdate(INSERT_ARCHIVE, rows, rows.size(), (PreparedStatement ps, ExpiredRow row) -> {
+                ps.setObject(1, row.id());
+                ps.setObject(2, row.recipientId());
+                ps.setString(3, type.name());
+                ps.setTimestamp(4, row.createdAt());
+                ps.setTimestamp(5, archivedAt);
+                ps.setBytes(6, compress(row));
+            });
+        }
+        UUID[] ids = rows.stream().map(ExpiredRow::id).toArray(UUID[]::new);
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("DELETE FROM notifications WHERE id = ANY(?)");
+            ps.setArray(1, con.createArrayOf("uuid", ids));
+            return ps;
+        });
+        return rows;
+    }
+
+    private void updateLag(NotificationType type, Instant cutoff) {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM notifications WHERE type = ? AND created_at < ?",
+                Timestamp.class, type.name(), Timestamp.from(cutoff));
+        long lag = oldest != null ? Duration.between(oldest.toInstant(), cutoff).toSeconds() : 0;
+        lagSeconds.get(type).set(lag);
+    }
+
+    private byte[] compress(ExpiredRow row) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("title", row.title());
+        payload.put("message", row.message());
+        payload.put("status", row.status());
+        payload.put("sentAt", row.sentAt() != null ? row.sentAt().toInstant().toString() : null);
+        payload.put("readAt", row.readAt() != null ? row.readAt().toInstant().toString() : null);
+        payload.put("entityId", row.entityId());
+        payload.put("entityType", row.entityType());
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(gzip, payload);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPause().toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record ExpiredRow(UUID id, UUID recipientId, String title, String message, String status,
+                              Timestamp sentAt, Timestamp readAt, Timestamp createdAt,
+                              UUID entityId, String entityType) {
+    }
+}
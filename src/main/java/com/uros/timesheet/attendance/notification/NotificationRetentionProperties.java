@@ -0,0 +1,42 @@
+package com.uros.timesheet.attendance.notification;
+
+import com.uros.timesheet.attendance.enums.NotificationType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of the notification retention job (notifications.retention.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "notifications.retention")
+public class NotificationRetentionProperties {
+
+    private boolean enabled = true;
+
+    /** Rows deleted (or archived) per transaction. */
+    private int batchSize = 1000;
+
+    /** Pause between batches so the job never monopolizes the database. */
+    private Duration pause = Duration.ofMillis(200);
+
+    /** Upper bound of batches per type and run; the remainder is handled by the next run. */
+    private int maxBatchesPerRun = 500;
+
+    /** Move expired rows into notifications_archive instead of deleting them outright. */
+    private boolean archive = false;
+
+    /** TTL for types without an explicit entry. */
+    private Duration defaultTtl = Duration.ofDays(180);
+
+    private Map<NotificationType, Duration> ttl = new EnumMap<>(NotificationType.class);
+
+    public Duration ttlFor(NotificationType type) {
+        return ttl.getOrDefault(type, defaultTtl);
+    }
+}
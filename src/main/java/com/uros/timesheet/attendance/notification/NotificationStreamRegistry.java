@@ -0,0 +1,250 @@
+package com.uros.timesheet.attendance.notification;
+
+import com.uros.timesheet.attendance.domain.Notification;
+import com.uros.timesheet.attendance.dto.notification.NotificationResponse;
+import com.uros.timesheet.attendance.event.NotificationCreatedEvent;
+import com.uros.timesheet.attendance.mapper.NotificationMapper;
+import com.uros.timesheet.attendance.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Keeps the open Server-Sent Events connections and a per-user replay buffer.
+ * Each connection is a servlet async context (SseEmitter), so no request thread
+ * is held while the client is idle.
+ * <p>
+ * A resumed stream is registered before its replay is read, and notifications published
+ * during the replay are held back and sent after it, minus those the replay already
+ * contained; the client sees every notification once, in order.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationStreamRegistry {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationMapper notificationMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<UUID, Set<Subscription>> emitters = new ConcurrentHashMap<>();
+    private final Map<UUID, NotificationReplayBuffer> buffers = new ConcurrentHashMap<>();
+
+    @Value("${notifications.sse.buffer-size:50}")
+    private int bufferSize;
+
+    @Value("${notifications.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${notifications.sse.max-replay:500}")
+    private int maxReplay;
+
+    @Value("${notifications.sse.buffer-idle-ms:3600000}")
+    private long bufferIdleMs;
+
+    @PostConstruct
+    public void registerMetrics() {
+        meterRegistry.gaugeMapSize("notifications.sse.users", Tags.empty(), emitters);
+        meterRegistry.gaugeMapSize("notifications.sse.buffers", Tags.empty(), buffers);
+    }
+
+    /**
+     * Opens a stream for the given user and replays everything missed since lastEventId.
+     */
+    public SseEmitter subscribe(UUID userId, String lastEventId) {
+        SseEmitter emitter = createEmitter();
+        boolean resume = lastEventId != null && !lastEventId.isBlank();
+        Subscription subscription = new Subscription(emitter, resume);
+        emitters.compute(userId, (id, userEmitters) -> {
+            Set<Subscription> target = userEmitters != null ? userEmitters : new CopyOnWriteArraySet<>();
+            target.add(subscription);
+            return target;
+        });
+
+        emitter.onCompletion(() -> remove(userId, subscription));
+        emitter.onTimeout(() -> remove(userId, subscription));
+        emitter.onError(ex -> remove(userId, subscription));
+
+        if (resume) {
+            // Registered first, so nothing published from here on is missed; it is held until the replay is out
+            List<NotificationResponse> replayed = replay(userId, lastEventId, subscription);
+            goLive(userId, subscription, replayed);
+        }
+        return emitter;
+    }
+
+    /**
+     * Publishes a notification only once its row is committed, so a rolled back notification is
+     * never pushed or buffered and a slow stream does not hold the transaction open.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        publish(event.getRecipientId(), event.getNotification());
+    }
+
+    /**
+     * Appends a notification to the user's replay buffer and pushes it to all open streams.
+     */
+    public void publish(UUID userId, NotificationResponse notification) {
+        buffers.computeIfAbsent(userId, id -> new NotificationReplayBuffer(bufferSize)).append(notification);
+
+        Set<Subscription> userEmitters = emitters.get(userId);
+        if (userEmitters == null) {
+            return;
+        }
+        for (Subscription subscription : userEmitters) {
+            synchronized (subscription) {
+                if (subscription.held != null) {
+                    subscription.held.add(notification);
+                    continue;
+                }
+                send(userId, subscription, notification);
+            }
+        }
+    }
+
+    /**
+     * Sends a comment line to every open stream so proxies do not drop idle connections.
+     */
+    @Scheduled(fixedDelayString = "${notifications.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        emitters.forEach((userId, userEmitters) -> userEmitters.forEach(subscription -> {
+            try {
+                subscription.emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException ex) {
+                remove(userId, subscription);
+            }
+        }));
+    }
+
+    /**
+     * Drops replay buffers of users without an open stream that received nothing for
+     * buffer-idle-ms. A later Last-Event-ID from such a user is served from the database.
+     */
+    @Scheduled(fixedDelayString = "${notifications.sse.buffer-sweep-ms:300000}")
+    public void evictIdleBuffers() {
+        long cutoff = System.currentTimeMillis() - bufferIdleMs;
+        for (UUID userId : buffers.keySet()) {
+            buffers.computeIfPresent(userId, (id, buffer) ->
+                    !emitters.containsKey(id) && buffer.isIdleSince(cutoff) ? null : buffer);
+        }
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    /**
+     * Sends everything after lastEventId and returns what was sent.
+     */
+    private List<NotificationResponse> replay(UUID userId, String lastEventId, Subscription subscription) {
+        UUID lastId;
+        try {
+            lastId = UUID.fromString(lastEventId);
+        } catch (IllegalArgumentException ex) {
+            log.debug("[NotificationStream] Ignoring malformed Last-Event-ID '{}'", lastEventId);
+            return List.of();
+        }
+
+        NotificationReplayBuffer buffer = buffers.get(userId);
+        Optional<List<NotificationResponse>> buffered = buffer != null ? buffer.since(lastId) : Optional.empty();
+        List<NotificationResponse> missed;
+        if (buffered.isPresent()) {
+            missed = buffered.get();
+            meterRegistry.counter("notifications.sse.replay", "source", "buffer").increment();
+        } else {
+            missed = loadFromDatabase(userId, lastId);
+            meterRegistry.counter("notifications.sse.replay", "source", "database").increment();
+        }
+        for (NotificationResponse notification : missed) {
+            send(userId, subscription, notification);
+        }
+        return missed;
+    }
+
+    /**
+     * Sends what was published during the replay, skipping what the replay already sent,
+     * and lets later notifications through directly.
+     */
+    private void goLive(UUID userId, Subscription subscription, List<NotificationResponse> replayed) {
+        Set<UUID> replayedIds = new HashSet<>();
+        for (NotificationResponse notification : replayed) {
+            replayedIds.add(notification.getId());
+        }
+        synchronized (subscription) {
+            for (NotificationResponse notification : subscription.held) {
+                if (!replayedIds.contains(notification.getId())) {
+                    send(userId, subscription, notification);
+                }
+            }
+            subscription.held = null;
+        }
+    }
+
+    private List<NotificationResponse> loadFromDatabase(UUID userId, UUID lastId) {
+        Optional<Notification> last = notificationRepository.findById(lastId)
+                .filter(n -> n.getRecipient().getId().equals(userId));
+        if (last.isEmpty()) {
+            return List.of();
+        }
+        return notificationRepository.findByRecipientIdCreatedAfter(
+                        userId, last.get().getCreatedAt(), lastId, PageRequest.of(0, maxReplay))
+                .stream()
+                .map(notificationMapper::toResponse)
+                .toList();
+    }
+
+    private void send(UUID userId, Subscription subscription, NotificationResponse notification) {
+        try {
+            subscription.emitter.send(SseEmitter.event()
+                    .id(notification.getId().toString())
+                    .name("notification")
+                    .data(notification));
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("[NotificationStream] Dropping stream of user {}: {}", userId, ex.getMessage());
+            remove(userId, subscription);
+        }
+    }
+
+    private void remove(UUID userId, Subscription subscription) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(subscription);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+
+    /**
+     * One open stream. While its replay is being sent, publishes collect in held (guarded by
+     * the subscription's monitor); null once the stream is live.
+     */
+    private static final class Subscription {
+
+        private final SseEmitter emitter;
+        private List<NotificationResponse> held;
+
+        private Subscription(SseEmitter emitter, boolean replaying) {
+            this.emitter = emitter;
+            this.held = replaying ? new ArrayList<>() : null;
+        }
+    }
+}
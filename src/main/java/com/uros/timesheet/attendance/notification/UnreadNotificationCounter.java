@@ -0,0 +1,236 @@
+package com.uros.timesheet.attendance.notification;
+
+import com.uros.timesheet.attendance.dto.notification.UnreadCountResponse;
+import com.uros.timesheet.attendance.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-user unread notification counters kept in memory.
+ * <p>
+ * Counters are split over lock stripes so concurrent updates for different users
+ * rarely contend. A counter is loaded from the database on first read; afterwards
+ * it is adjusted in memory on create/mark-read, and every change is pushed to
+ * /queue/notifications/{userId}/unread-count. Changed counters are marked dirty and
+ * periodically reconciled against the database in one grouped query (write-behind),
+ * which corrects drift from rolled back transactions or other nodes. Clean counters
+ * not touched for notifications.unread.idle-ms are evicted and reloaded on next read.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UnreadNotificationCounter {
+
+    private static final int STRIPES = 64;
+    private static final int RECONCILE_BATCH = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Stripe[] stripes = createStripes();
+
+    @Value("${notifications.unread.idle-ms:1800000}")
+    private long idleMs;
+
+    /**
+     * Returns the unread count, loading it from the database on first access.
+     */
+    public long get(UUID userId) {
+        Stripe stripe = stripeFor(userId);
+        synchronized (stripe) {
+            Counter counter = stripe.counters.get(userId);
+            if (counter != null) {
+                counter.touch();
+                return counter.value;
+            }
+        }
+        long loaded = notificationRepository.countUnreadByRecipientId(userId);
+        synchronized (stripe) {
+            // Another thread may have loaded or changed it meanwhile; keep that value
+            Counter counter = stripe.counters.computeIfAbsent(userId, id -> new Counter(loaded));
+            stripe.dirty.add(userId);
+            return counter.value;
+        }
+    }
+
+    /**
+     * Adds delta (negative for reads) to a loaded counter and pushes the new value.
+     * Counters not loaded yet are left alone; the next read loads the exact value.
+     */
+    public void add(UUID userId, long delta) {
+        Stripe stripe = stripeFor(userId);
+        long value;
+        synchronized (stripe) {
+            Counter counter = stripe.counters.get(userId);
+            if (counter == null) {
+                return;
+            }
+            counter.value = Math.max(0, counter.value + delta);
+            counter.version++;
+            counter.touch();
+            stripe.dirty.add(userId);
+            value = counter.value;
+        }
+        push(userId, value);
+    }
+
+    /**
+     * Sets a counter to an exact value, e.g. zero after "mark all as read".
+     */
+    public void set(UUID userId, long value) {
+        Stripe stripe = stripeFor(userId);
+        synchronized (stripe) {
+            Counter counter = stripe.counters.computeIfAbsent(userId, id -> new Counter(value));
+            counter.value = value;
+            counter.version++;
+            counter.touch();
+            stripe.dirty.add(userId);
+        }
+        push(userId, value);
+    }
+
+    /**
+     * Marks loaded counters for reconciliation after notifications were removed in bulk.
+     */
+    public void invalidate(Collection<UUID> userIds) {
+        for (UUID userId : userIds) {
+            Stripe stripe = stripeFor(userId);
+            synchronized (stripe) {
+                if (stripe.counters.containsKey(userId)) {
+                    stripe.dirty.add(userId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-counts dirty users from the database. A counter that changed while the
+     * query ran stays dirty and is picked up by the next run.
+     */
+    @Scheduled(fixedDelayString = "${notifications.unread.reconcile-ms:30000}")
+    public void reconcile() {
+        Map<UUID, Long> versions = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (UUID userId : stripe.dirty) {
+                    versions.put(userId, stripe.counters.get(userId).version);
+                }
+                stripe.dirty.clear();
+            }
+        }
+        if (versions.isEmpty()) {
+            return;
+        }
+
+        List<UUID> userIds = new ArrayList<>(versions.keySet());
+        for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH) {
+            List<UUID> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH, userIds.size()));
+            Map<UUID, Long> actual = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadByRecipientIds(batch)) {
+                actual.put((UUID) row[0], (Long) row[1]);
+            }
+            for (UUID userId : batch) {
+                apply(userId, versions.get(userId), actual.getOrDefault(userId, 0L));
+            }
+        }
+    }
+
+    /**
+     * Drops counters that are reconciled (not dirty) and were not read or changed for idle-ms.
+     * The next read loads the exact value from the database again.
+     */
+    @Scheduled(fixedDelayString = "${notifications.unread.sweep-ms:300000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleMs;
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Map.Entry<UUID, Counter>> it = stripe.counters.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<UUID, Counter> entry = it.next();
+                    if (!stripe.dirty.contains(entry.getKey()) && entry.getValue().lastAccessMillis <= cutoff) {
+                        it.remove();
+                        evicted++;
+                    }
+                }
+            }
+        }
+        if (evicted > 0) {
+            log.debug("[UnreadCounter] Evicted {} idle counters", evicted);
+        }
+    }
+
+    private void apply(UUID userId, long version, long actual) {
+        Stripe stripe = stripeFor(userId);
+        synchronized (stripe) {
+            Counter counter = stripe.counters.get(userId);
+            if (counter == null) {
+                return;
+            }
+            if (counter.version != version) {
+                stripe.dirty.add(userId);
+                return;
+            }
+            if (counter.value == actual) {
+                return;
+            }
+            log.debug("[UnreadCounter] Correcting user {}: {} -> {}", userId, counter.value, actual);
+            counter.value = actual;
+            counter.version++;
+        }
+        meterRegistry.counter("notifications.unread.corrections").increment();
+        push(userId, actual);
+    }
+
+    private void push(UUID userId, long value) {
+        messagingTemplate.convertAndSend("/queue/notifications/" + userId + "/unread-count",
+                new UnreadCountResponse(value));
+    }
+
+    private Stripe stripeFor(UUID userId) {
+        return stripes[userId.hashCode() & (STRIPES - 1)];
+    }
+
+    private static Stripe[] createStripes() {
+        Stripe[] created = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            created[i] = new Stripe();
+        }
+        return created;
+    }
+
+    private static final class Stripe {
+        private final Map<UUID, Counter> counters = new HashMap<>();
+        private final Set<UUID> dirty = new HashSet<>();
+    }
+
+    private static final class Counter {
+        private long value;
+        private long version;
+        private long lastAccessMillis = System.currentTimeMillis();
+
+        Counter(long value) {
+            this.value = value;
+        }
+
+        void touch() {
+            lastAccessMillis = System.currentTimeMillis();
+        }
+    }
+}
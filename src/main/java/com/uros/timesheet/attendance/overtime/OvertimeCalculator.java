@@ -0,0 +1,83 @@
+package com.uros.timesheet.attendance.overtime;
+
+import com.uros.timesheet.attendance.presence.PresenceBoard;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Splits the approved shifts of one user's ISO week into regular and overtime minutes.
+ * <p>
+ * Shifts are taken in chronological order; each is regular until the daily threshold of
+ * its date or the weekly threshold runs out, and overtime after. Work on weekends and
+ * holidays is overtime when configured and does not use up the thresholds. Non-working
+ * types (leave, sick) are regular time and do not use them up either. Because the whole
+ * week is split at once, the result does not depend on the order of approvals.
+ * <p>
+ * A shift with a frozen split (in a closed payroll period) keeps it; its regular minutes
+ * still use up the thresholds of the shifts after it.
+ */
+public final class OvertimeCalculator {
+
+    private OvertimeCalculator() {
+    }
+
+    public static Map<UUID, Split> split(List<Shift> shifts, Set<LocalDate> holidays, OvertimeProperties properties) {
+        int dailyThreshold = (int) properties.getDailyThreshold().toMinutes();
+        int weeklyRemaining = (int) properties.getWeeklyThreshold().toMinutes();
+        Map<LocalDate, Integer> dailyRegular = new HashMap<>();
+        Map<UUID, Split> splits = new HashMap<>();
+        for (Shift shift : shifts) {
+            int worked = Math.max(0, shift.workedMinutes());
+            if (shift.frozen() != null) {
+                splits.put(shift.id(), shift.frozen());
+                if (PresenceBoard.WORKING_TYPES.contains(shift.type()) && !isPremium(shift.date(), holidays, properties)) {
+                    int regular = shift.frozen().regularMinutes();
+                    dailyRegular.merge(shift.date(), regular, Integer::sum);
+                    weeklyRemaining -= regular;
+                }
+                continue;
+            }
+            if (!PresenceBoard.WORKING_TYPES.contains(shift.type())) {
+                splits.put(shift.id(), new Split(worked, 0));
+                continue;
+            }
+            if (isPremium(shift.date(), holidays, properties)) {
+                splits.put(shift.id(), new Split(0, worked));
+                continue;
+            }
+            int usedToday = dailyRegular.getOrDefault(shift.date(), 0);
+            int regular = Math.min(worked, Math.max(0, Math.min(dailyThreshold - usedToday, weeklyRemaining)));
+            dailyRegular.put(shift.date(), usedToday + regular);
+            weeklyRemaining -= regular;
+            splits.put(shift.id(), new Split(regular, worked - regular));
+        }
+        return splits;
+    }
+
+    private static boolean isPremium(LocalDate date, Set<LocalDate> holidays, OvertimeProperties properties) {
+        DayOfWeek day = date.getDayOfWeek();
+        if (properties.isWeekendOvertime() && (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY)) {
+            return true;
+        }
+        return properties.isHolidayOvertime() && holidays.contains(date);
+    }
+
+    /**
+     * @param frozen split to keep as is, or null to compute one
+     */
+    public record Shift(UUID id, LocalDate date, String type, int workedMinutes, Split frozen) {
+
+        public Shift(UUID id, LocalDate date, String type, int workedMinutes) {
+            this(id, date, type, workedMinutes, null);
+        }
+    }
+
+    public record Split(int regularMinutes, int overtimeMinutes) {
+    }
+}
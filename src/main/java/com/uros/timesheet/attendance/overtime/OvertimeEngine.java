@@ -0,0 +1,150 @@
+package com.uros.timesheet.attendance.overtime;
+
+import com.uros.timesheet.attendance.domain.AttendanceRecord;
+import com.uros.timesheet.attendance.domain.Organization;
+import com.uros.timesheet.attendance.domain.OrganizationHoliday;
+import com.uros.timesheet.attendance.presence.PresenceBoard;
+import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
+import com.uros.timesheet.attendance.repository.OrganizationHolidayRepository;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriod;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriodRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Worked, regular and overtime minutes of attendance records, stored on the records so
+ * reports sum columns instead of recomputing times.
+ * <p>
+ * Worked minutes are set when a record is created, in the organization's timezone. The
+ * regular/overtime split is recomputed for the whole ISO week of a record whenever it
+ * enters or leaves APPROVED; must run inside the caller's transaction. Records of the week
+ * inside a closed payroll period keep their split, since a period may end mid-week. Zone
+ * rules are cached per organization and reloaded when its timezone changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class OvertimeEngine {
+
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final OrganizationHolidayRepository holidayRepository;
+    private final PayrollPeriodRepository payrollPeriodRepository;
+    private final OvertimeProperties properties;
+    private final Map<UUID, Zone> zones = new ConcurrentHashMap<>();
+
+    public int workedMinutes(AttendanceRecord record) {
+        return WorkingTime.workedMinutes(record.getDate(), record.getStartTime(), record.getEndTime(),
+                rules(record.getOrganization()));
+    }
+
+    /**
+     * Re-splits the record's week after a status change; a record that is no longer
+     * approved loses its split.
+     */
+    public void recompute(AttendanceRecord record) {
+        if (!"APPROVED".equals(record.getStatus()) || record.isDeleted()) {
+            record.setRegularMinutes(null);
+            record.setOvertimeMinutes(null);
+        }
+        recomputeWeek(record.getUser().getId(), record.getOrganization().getId(), record.getDate());
+    }
+
+    public void recomputeWeek(UUID userId, UUID organizationId, LocalDate date) {
+        LocalDate monday = date.with(DayOfWeek.MONDAY);
+        LocalDate sunday = monday.plusDays(6);
+        List<AttendanceRecord> week = attendanceRecordRepository.findApprovedForOvertime(userId, monday, sunday);
+        if (week.isEmpty()) {
+            return;
+        }
+        Set<LocalDate> holidays = holidayRepository.findBetween(organizationId, monday, sunday).stream()
+                .map(OrganizationHoliday::getDate)
+                .collect(Collectors.toSet());
+        List<PayrollPeriod> closed = payrollPeriodRepository.findClosedOverlapping(organizationId, monday, sunday);
+
+        List<OvertimeCalculator.Shift> shifts = new ArrayList<>(week.size());
+        Set<UUID> frozen = new HashSet<>();
+        for (AttendanceRecord record : week) {
+            if (isClosed(closed, record.getDate())) {
+                frozen.add(record.getId());
+                int worked = record.getWorkedMinutes() != null ? record.getWorkedMinutes() : workedMinutes(record);
+                shifts.add(new OvertimeCalculator.Shift(record.getId(), record.getDate(), record.getType(), worked,
+                        new OvertimeCalculator.Split(orZero(record.getRegularMinutes()), orZero(record.getOvertimeMinutes()))));
+                continue;
+            }
+            if (record.getWorkedMinutes() == null) {
+                record.setWorkedMinutes(workedMinutes(record));
+            }
+            shifts.add(new OvertimeCalculator.Shift(record.getId(), record.getDate(), record.getType(),
+                    record.getWorkedMinutes()));
+        }
+        Map<UUID, OvertimeCalculator.Split> splits = OvertimeCalculator.split(shifts, holidays, properties);
+        for (AttendanceRecord record : week) {
+            if (frozen.contains(record.getId())) {
+                continue;
+            }
+            OvertimeCalculator.Split split = splits.get(record.getId());
+            record.setRegularMinutes(split.regularMinutes());
+            record.setOvertimeMinutes(split.overtimeMinutes());
+        }
+    }
+
+    /**
+     * Splits the organization's approved records in {@code [from, to]} that have no split
+     * yet, without waiting for the recompute job.
+     *
+     * @return number of user weeks split
+     */
+    public int recomputePending(UUID organizationId, LocalDate from, LocalDate to) {
+        List<Object[]> weeks = attendanceRecordRepository.findWeeksPendingOvertime(organizationId, from, to);
+        for (Object[] week : weeks) {
+            recomputeWeek((UUID) week[0], organizationId, toLocalDate(week[1]));
+        }
+        return weeks.size();
+    }
+
+    private static boolean isClosed(List<PayrollPeriod> closed, LocalDate date) {
+        for (PayrollPeriod period : closed) {
+            if (!date.isBefore(period.periodStart()) && !date.isAfter(period.periodEnd())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int orZero(Integer minutes) {
+        return minutes != null ? minutes : 0;
+    }
+
+    static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    private ZoneRules rules(Organization organization) {
+        String timezone = organization.getTimezone();
+        Zone zone = zones.get(organization.getId());
+        if (zone == null || !Objects.equals(zone.timezone, timezone)) {
+            zone = new Zone(timezone, PresenceBoard.zoneOf(timezone).getRules());
+            zones.put(organization.getId(), zone);
+        }
+        return zone.rules;
+    }
+
+    private record Zone(String timezone, ZoneRules rules) {
+    }
+}
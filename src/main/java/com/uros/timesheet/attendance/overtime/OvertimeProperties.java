@@ -0,0 +1,31 @@
+package com.uros.timesheet.attendance.overtime;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Rules splitting approved attendance into regular and overtime minutes (overtime.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "overtime")
+public class OvertimeProperties {
+
+    /** Regular time per date; minutes beyond it are overtime. */
+    private Duration dailyThreshold = Duration.ofHours(8);
+
+    /** Regular time per ISO week, Monday to Sunday. */
+    private Duration weeklyThreshold = Duration.ofHours(40);
+
+    /** Count all work on Saturdays and Sundays as overtime. */
+    private boolean weekendOvertime = true;
+
+    /** Count all work on organization holidays as overtime. */
+    private boolean holidayOvertime = true;
+
+    /** User weeks split per run of the recompute job. */
+    private int recomputeBatchSize = 500;
+}
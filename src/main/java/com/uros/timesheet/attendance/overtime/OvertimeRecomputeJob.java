@@ -0,0 +1,52 @@
+package com.uros.timesheet.attendance.overtime;
+
+import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Splits approved records that have no regular/overtime minutes yet: rows approved before
+ * the split existed, and weeks whose holidays changed. One transaction per user week.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OvertimeRecomputeJob {
+
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final OvertimeEngine overtimeEngine;
+    private final OvertimeProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(initialDelayString = "${overtime.recompute-initial-delay-ms:30000}",
+            fixedDelayString = "${overtime.recompute-ms:300000}")
+    public void recomputePending() {
+        long weeks = 0;
+        while (true) {
+            List<Object[]> pending = attendanceRecordRepository.findWeeksPendingOvertime(properties.getRecomputeBatchSize());
+            for (Object[] row : pending) {
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            overtimeEngine.recomputeWeek((UUID) row[0], (UUID) row[1], OvertimeEngine.toLocalDate(row[2])));
+                } catch (RuntimeException ex) {
+                    // The week stays pending; stop so it is not picked again in this run
+                    log.warn("[Overtime] Failed to split week {} of user {}: {}", row[2], row[0], ex.getMessage());
+                    return;
+                }
+                weeks++;
+            }
+            if (pending.size() < properties.getRecomputeBatchSize()) {
+                break;
+            }
+        }
+        if (weeks > 0) {
+            log.info("[Overtime] Split {} pending user weeks", weeks);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.uros.timesheet.attendance.overtime;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.List;
+
+/**
+ * Elapsed minutes of a shift given as local date and times in the organization's zone.
+ * A shift whose end is not after its start ends on the next day.
+ */
+public final class WorkingTime {
+
+    private WorkingTime() {
+    }
+
+    public static int workedMinutes(LocalDate date, LocalTime start, LocalTime end, ZoneRules rules) {
+        LocalDateTime from = date.atTime(start);
+        LocalDateTime to = (end.isAfter(start) ? date : date.plusDays(1)).atTime(end);
+        long minutes = Duration.between(instant(from, rules), instant(to, rules)).toMinutes();
+        return (int) Math.max(0, minutes);
+    }
+
+    /**
+     * Resolves local times like PostgreSQL's {@code AT TIME ZONE}, which computed the stored
+     * minutes of existing rows: a time skipped by a DST gap takes the offset before the
+     * transition, a repeated time the offset after it.
+     */
+    static Instant instant(LocalDateTime local, ZoneRules rules) {
+        List<ZoneOffset> offsets = rules.getValidOffsets(local);
+        ZoneOffset offset = offsets.isEmpty()
+                ? rules.getTransition(local).getOffsetBefore()
+                : offsets.get(offsets.size() - 1);
+        return local.toInstant(offset);
+    }
+}
@@ -0,0 +1,31 @@
+package com.uros.timesheet.attendance.payroll;
+
+import com.uros.timesheet.attendance.exception.PayrollPeriodClosedException;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriodRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Keeps attendance dated inside a closed payroll period from changing, so the period's
+ * totals stay what was paid. Must run inside the caller's transaction: the check holds a
+ * shared lock on the organization row that closing a period takes exclusively, so a
+ * transition either commits before the close computes its totals or sees the period closed.
+ * A period may end mid-week: re-splitting overtime of such a week from an open day leaves
+ * the closed days' splits alone (see OvertimeEngine), so checking the record's own date suffices.
+ */
+@Component
+@RequiredArgsConstructor
+public class PayrollPeriodLock {
+
+    private final PayrollPeriodRepository payrollPeriodRepository;
+
+    public void checkOpen(UUID organizationId, LocalDate date) {
+        payrollPeriodRepository.lockForTransition(organizationId);
+        if (payrollPeriodRepository.isClosed(organizationId, date)) {
+            throw new PayrollPeriodClosedException("error.payroll.period.closed");
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.uros.timesheet.attendance.presence;
+
+import com.uros.timesheet.attendance.dto.presence.PresenceDelta;
+import com.uros.timesheet.attendance.dto.presence.PresenceInterval;
+import com.uros.timesheet.attendance.dto.presence.PresenceRow;
+import com.uros.timesheet.attendance.dto.presence.PresenceSnapshotResponse;
+import com.uros.timesheet.attendance.dto.presence.PresenceUserResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory "who is working now" model, one board per organization.
+ * <p>
+ * Each board keeps, per user, the attendance intervals from the organization's local
+ * yesterday (overnight shifts) through tomorrow (records created ahead of time).
+ * Reads never touch the database; writes replace a user's immutable entry atomically.
+ */
+@Slf4j
+public class PresenceBoard {
+
+    public static final Set<String> WORKING_TYPES = Set.of("work", "remote");
+    private static final Set<String> INACTIVE_STATUSES = Set.of("REJECTED", "DELETED");
+
+    private final Clock clock;
+    private final Map<UUID, OrganizationBoard> boards = new ConcurrentHashMap<>();
+
+    public PresenceBoard(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Replaces all boards with the given rows. Rows outside each organization's
+     * window are ignored.
+     */
+    public void load(Collection<PresenceRow> rows) {
+        Map<UUID, OrganizationBoard> rebuilt = new LinkedHashMap<>();
+        for (PresenceRow row : rows) {
+            OrganizationBoard board = rebuilt.computeIfAbsent(row.getOrganizationId(),
+                    id -> new OrganizationBoard(zoneOf(row.getTimezone()), clock));
+            board.apply(row);
+        }
+        boards.keySet().retainAll(rebuilt.keySet());
+        boards.putAll(rebuilt);
+    }
+
+    /**
+     * Applies the current state of a single record and returns the resulting delta,
+     * or null when the record does not affect the board.
+     */
+    public PresenceDelta apply(PresenceRow row) {
+        OrganizationBoard board = boards.computeIfAbsent(row.getOrganizationId(),
+                id -> new OrganizationBoard(zoneOf(row.getTimezone()), clock));
+        if (!board.apply(row)) {
+            return null;
+        }
+        PresenceUserResponse user = board.toResponse(row.getUserId());
+        return PresenceDelta.builder()
+                .type(user != null ? "UPSERT" : "REMOVE")
+                .organizationId(row.getOrganizationId())
+                .userId(row.getUserId())
+                .user(user)
+                .build();
+    }
+
+    /**
+     * Replaces a single organization's board, e.g. after its local day rolled over.
+     */
+    public void replace(UUID organizationId, String timezone, Collection<PresenceRow> rows) {
+        OrganizationBoard fresh = new OrganizationBoard(zoneOf(timezone), clock);
+        rows.forEach(fresh::apply);
+        boards.put(organizationId, fresh);
+    }
+
+    /**
+     * @return ids of organizations whose local day changed since the last call
+     */
+    public List<UUID> rollOver() {
+        List<UUID> rolled = new ArrayList<>();
+        boards.forEach((organizationId, board) -> {
+            LocalDate today = board.today();
+            if (!today.equals(board.day)) {
+                board.day = today;
+                rolled.add(organizationId);
+            }
+        });
+        return rolled;
+    }
+
+    public boolean contains(UUID organizationId) {
+        return boards.containsKey(organizationId);
+    }
+
+    public void register(UUID organizationId, String timezone) {
+        boards.computeIfAbsent(organizationId, id -> new OrganizationBoard(zoneOf(timezone), clock));
+    }
+
+    public String timezone(UUID organizationId) {
+        OrganizationBoard board = boards.get(organizationId);
+        return board != null ? board.zone.getId() : null;
+    }
+
+    public LocalDate today(UUID organizationId) {
+        OrganizationBoard board = boards.get(organizationId);
+        return board != null ? board.today() : LocalDate.now(clock);
+    }
+
+    public PresenceSnapshotResponse snapshot(UUID organizationId) {
+        OrganizationBoard board = boards.get(organizationId);
+        if (board == null) {
+            return PresenceSnapshotResponse.builder()
+                    .organizationId(organizationId)
+                    .date(LocalDate.now(clock))
+                    .generatedAt(clock.instant())
+                    .users(List.of())
+                    .build();
+        }
+        LocalDateTime now = LocalDateTime.now(clock.withZone(board.zone));
+        List<PresenceUserResponse> users = new ArrayList<>();
+        int working = 0;
+        for (UUID userId : board.users.keySet()) {
+            PresenceUserResponse user = board.toResponse(userId, now);
+            if (user == null) {
+                continue;
+            }
+            if (user.isWorking()) {
+                working++;
+            }
+            users.add(user);
+        }
+        users.sort(Comparator.comparing(PresenceUserResponse::getFullName, Comparator.nullsLast(String::compareTo)));
+        return PresenceSnapshotResponse.builder()
+                .organizationId(organizationId)
+                .date(now.toLocalDate())
+                .generatedAt(clock.instant())
+                .workingNow(working)
+                .users(users)
+                .build();
+    }
+
+    public static ZoneId zoneOf(String timezone) {
+        try {
+            return timezone != null ? ZoneId.of(timezone) : ZoneOffset.UTC;
+        } catch (DateTimeException ex) {
+            log.warn("[PresenceBoard] Unknown timezone '{}', falling back to UTC", timezone);
+            return ZoneOffset.UTC;
+        }
+    }
+
+    static boolean covers(PresenceInterval interval, LocalDateTime now) {
+        if (!WORKING_TYPES.contains(interval.getType())) {
+            return false;
+        }
+        LocalDateTime start = interval.getDate().atTime(interval.getStartTime());
+        LocalTime endTime = interval.getEndTime();
+        // An end at or before the start means the shift runs past midnight
+        LocalDateTime end = endTime.isAfter(interval.getStartTime())
+                ? interval.getDate().atTime(endTime)
+                : interval.getDate().plusDays(1).atTime(endTime);
+        return !now.isBefore(start) && now.isBefore(end);
+    }
+
+    /**
+     * Immutable per-user state; replaced as a whole on every change.
+     */
+    private record Entry(UUID userId, String fullName, UUID teamId, Map<UUID, PresenceInterval> intervals) {
+    }
+
+    private static final class OrganizationBoard {
+
+        private final ZoneId zone;
+        private final Clock clock;
+        private final Map<UUID, Entry> users = new ConcurrentHashMap<>();
+        private volatile LocalDate day;
+
+        OrganizationBoard(ZoneId zone, Clock clock) {
+            this.zone = zone;
+            this.clock = clock;
+            this.day = today();
+        }
+
+        LocalDate today() {
+            return LocalDate.now(clock.withZone(zone));
+        }
+
+        /**
+         * @return true when the user's visible state changed
+         */
+        boolean apply(PresenceRow row) {
+            LocalDate today = today();
+            boolean inWindow = !row.getDate().isBefore(today.minusDays(1)) && !row.getDate().isAfter(today.plusDays(1));
+            boolean active = inWindow && !INACTIVE_STATUSES.contains(row.getStatus());
+            boolean[] changed = {false};
+            users.compute(row.getUserId(), (id, current) -> {
+                Map<UUID, PresenceInterval> intervals = current != null
+                        ? new LinkedHashMap<>(current.intervals())
+                        : new LinkedHashMap<>();
+                PresenceInterval previous = active
+                        ? intervals.put(row.getRecordId(), new PresenceInterval(row.getRecordId(), row.getDate(),
+                                row.getStartTime(), row.getEndTime(), row.getType(), row.getStatus()))
+                        : intervals.remove(row.getRecordId());
+                changed[0] = active || previous != null;
+                if (intervals.isEmpty()) {
+                    return null;
+                }
+                return new Entry(row.getUserId(), row.getFullName(), row.getTeamId(), Map.copyOf(intervals));
+            });
+            return changed[0];
+        }
+
+        PresenceUserResponse toResponse(UUID userId) {
+            return toResponse(userId, LocalDateTime.now(clock.withZone(zone)));
+        }
+
+        PresenceUserResponse toResponse(UUID userId, LocalDateTime now) {
+            Entry entry = users.get(userId);
+            if (entry == null) {
+                return null;
+            }
+            LocalDate today = now.toLocalDate();
+            List<PresenceInterval> intervals = new ArrayList<>();
+            boolean working = false;
+            for (PresenceInterval interval : entry.intervals().values()) {
+                if (interval.getDate().isAfter(today)) {
+                    continue;
+                }
+                if (interval.getDate().equals(today)) {
+                    intervals.add(interval);
+                }
+                // Yesterday's overnight shifts may still be running
+                working |= covers(interval, now);
+            }
+            if (intervals.isEmpty() && !working) {
+                return null;
+            }
+            intervals.sort(Comparator.comparing(PresenceInterval::getStartTime));
+            return PresenceUserResponse.builder()
+                    .userId(entry.userId())
+                    .fullName(entry.fullName())
+                    .teamId(entry.teamId())
+                    .working(working)
+                    .intervals(intervals)
+                    .build();
+        }
+    }
+}
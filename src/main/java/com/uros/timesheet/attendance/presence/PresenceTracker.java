@@ -0,0 +1,99 @@
+package com.uros.timesheet.attendance.presence;
+
+import com.uros.timesheet.attendance.dto.presence.PresenceDelta;
+import com.uros.timesheet.attendance.dto.presence.PresenceRow;
+import com.uros.timesheet.attendance.dto.presence.PresenceSnapshotResponse;
+import com.uros.timesheet.attendance.event.AttendanceRecordStatusChangedEvent;
+import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
+import com.uros.timesheet.attendance.repository.OrganizationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the {@link PresenceBoard} in sync with attendance records and pushes
+ * per-user deltas to /topic/presence/{organizationId}.
+ * <p>
+ * The board is rebuilt once on startup; afterwards only the single record
+ * behind each attendance event is re-read.
+ */
+@Slf4j
+@Component
+public class PresenceTracker {
+
+    public static final String TOPIC_PREFIX = "/topic/presence/";
+
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final OrganizationRepository organizationRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PresenceBoard board = new PresenceBoard(Clock.systemUTC());
+
+    public PresenceTracker(AttendanceRecordRepository attendanceRecordRepository,
+                           OrganizationRepository organizationRepository,
+                           SimpMessagingTemplate messagingTemplate) {
+        this.attendanceRecordRepository = attendanceRecordRepository;
+        this.organizationRepository = organizationRepository;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        // Widest window that covers yesterday..tomorrow in every timezone; the board trims per organization
+        LocalDate utcToday = LocalDate.now(ZoneOffset.UTC);
+        List<PresenceRow> rows = attendanceRecordRepository.findPresenceRowsBetween(
+                utcToday.minusDays(2), utcToday.plusDays(2));
+        board.load(rows);
+        log.info("[Presence] Board rebuilt from {} attendance rows", rows.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttendanceStatusChanged(AttendanceRecordStatusChangedEvent event) {
+        try {
+            attendanceRecordRepository.findPresenceRowById(event.getAttendanceRecordId())
+                    .map(board::apply)
+                    .ifPresent(this::send);
+        } catch (RuntimeException ex) {
+            log.warn("[Presence] Failed to apply attendance record {}: {}",
+                    event.getAttendanceRecordId(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Reloads organizations whose local day changed, so records created days
+     * ahead enter the board, and tells clients to refetch the snapshot.
+     */
+    @Scheduled(fixedDelayString = "${presence.rollover-check-ms:60000}")
+    public void rollOver() {
+        for (UUID organizationId : board.rollOver()) {
+            LocalDate today = board.today(organizationId);
+            List<PresenceRow> rows = attendanceRecordRepository.findPresenceRowsForOrganizationBetween(
+                    organizationId, today.minusDays(1), today.plusDays(1));
+            board.replace(organizationId, board.timezone(organizationId), rows);
+            send(PresenceDelta.builder().type("RESET").organizationId(organizationId).build());
+        }
+    }
+
+    public PresenceSnapshotResponse snapshot(UUID organizationId) {
+        if (!board.contains(organizationId)) {
+            // Organization without attendance yet: resolve its timezone once
+            organizationRepository.findById(organizationId)
+                    .ifPresent(org -> board.register(organizationId, org.getTimezone()));
+        }
+        return board.snapshot(organizationId);
+    }
+
+    private void send(PresenceDelta delta) {
+        messagingTemplate.convertAndSend(TOPIC_PREFIX + delta.getOrganizationId(), delta);
+    }
+}
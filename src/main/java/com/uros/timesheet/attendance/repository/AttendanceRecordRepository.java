@@ -1,13 +1,20 @@
 package com.uros.timesheet.attendance.repository;
 
 import com.uros.timesheet.attendance.domain.AttendanceRecord;
+import com.uros.timesheet.attendance.dto.export.AttendanceExportRow;
+import com.uros.timesheet.attendance.dto.presence.PresenceRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface AttendanceRecordRepository extends JpaRepository<AttendanceRecord, UUID> {
 
@@ -20,6 +27,20 @@ public interface AttendanceRecordRepository extends JpaRepository<AttendanceReco
     @Query("SELECT ar FROM AttendanceRecord ar WHERE ar.user.id = :userId AND ar.date BETWEEN :startDate AND :endDate AND ar.deletedAt IS NULL")
     List<AttendanceRecord> findByUserIdAndDateBetween(UUID userId, LocalDate startDate, LocalDate endDate);
 
+    // Export streaming: cursor-based read, must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+        SELECT new com.uros.timesheet.attendance.dto.export.AttendanceExportRow(
+            ar.date, ar.startTime, ar.endTime, ar.type, ar.status, ar.notes)
+        FROM AttendanceRecord ar
+        WHERE ar.user.id = :userId AND ar.date BETWEEN :startDate AND :endDate AND ar.deletedAt IS NULL
+        ORDER BY ar.date, ar.startTime
+    """)
+    Stream<AttendanceExportRow> streamExportRows(UUID userId, LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT COUNT(ar) FROM AttendanceRecord ar WHERE ar.user.id = :userId AND ar.date BETWEEN :startDate AND :endDate AND ar.deletedAt IS NULL")
+    long countExportRows(UUID userId, LocalDate startDate, LocalDate endDate);
+
     @Query("SELECT ar FROM AttendanceRecord ar WHERE ar.id = :id")
     Optional<AttendanceRecord> findByIdIncludingDeleted(UUID id);
 
@@ -30,6 +51,69 @@ public interface AttendanceRecordRepository extends JpaRepository<AttendanceReco
     @Query("SELECT ar FROM AttendanceRecord ar WHERE ar.organization.id = :organizationId AND ar.deletedAt IS NULL")
     List<AttendanceRecord> findByOrganizationId(UUID organizationId);
 
+    // === Presence board projections ===
+
+    @Query("""
+        SELECT new com.uros.timesheet.attendance.dto.presence.PresenceRow(
+            ar.id, u.id, u.fullName, t.id, o.id, o.timezone, ar.date, ar.startTime, ar.endTime, ar.type, ar.status)
+        FROM AttendanceRecord ar JOIN ar.user u LEFT JOIN u.team t JOIN ar.organization o
+        WHERE ar.id = :id
+    """)
+    Optional<PresenceRow> findPresenceRowById(UUID id);
+
+    @Query("""
+        SELECT new com.uros.timesheet.attendance.dto.presence.PresenceRow(
+            ar.id, u.id, u.fullName, t.id, o.id, o.timezone, ar.date, ar.startTime, ar.endTime, ar.type, ar.status)
+        FROM AttendanceRecord ar JOIN ar.user u LEFT JOIN u.team t JOIN ar.organization o
+        WHERE ar.date BETWEEN :from AND :to AND ar.deletedAt IS NULL AND ar.status <> 'REJECTED'
+    """)
+    List<PresenceRow> findPresenceRowsBetween(LocalDate from, LocalDate to);
+
+    @Query("""
+        SELECT new com.uros.timesheet.attendance.dto.presence.PresenceRow(
+            ar.id, u.id, u.fullName, t.id, o.id, o.timezone, ar.date, ar.startTime, ar.endTime, ar.type, ar.status)
+        FROM AttendanceRecord ar JOIN ar.user u LEFT JOIN u.team t JOIN ar.organization o
+        WHERE o.id = :organizationId AND ar.date BETWEEN :from AND :to
+          AND ar.deletedAt IS NULL AND ar.status <> 'REJECTED'
+    """)
+    List<PresenceRow> findPresenceRowsForOrganizationBetween(UUID organizationId, LocalDate from, LocalDate to);
+
+    // === Overtime ===
+
+    @Query("""
+        SELECT ar FROM AttendanceRecord ar
+        WHERE ar.user.id = :userId AND ar.date BETWEEN :from AND :to
+          AND ar.status = 'APPROVED' AND ar.deletedAt IS NULL
+        ORDER BY ar.date, ar.startTime
+    """)
+    List<AttendanceRecord> findApprovedForOvertime(UUID userId, LocalDate from, LocalDate to);
+
+    // Returns [userId, organizationId, weekStart] of approved records still missing their overtime split
+    @Query(value = """
+        SELECT DISTINCT ar.user_id, ar.organization_id, CAST(date_trunc('week', ar.date) AS date)
+        FROM attendance_records ar
+        WHERE ar.status = 'APPROVED' AND ar.deleted_at IS NULL AND ar.regular_minutes IS NULL
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Object[]> findWeeksPendingOvertime(int limit);
+
+    // Returns [userId, weekStart] of the organization's approved records in the range still missing their split
+    @Query(value = """
+        SELECT DISTINCT ar.user_id, CAST(date_trunc('week', ar.date) AS date)
+        FROM attendance_records ar
+        WHERE ar.organization_id = :organizationId AND ar.date BETWEEN :from AND :to
+          AND ar.status = 'APPROVED' AND ar.deleted_at IS NULL AND ar.regular_minutes IS NULL
+    """, nativeQuery = true)
+    List<Object[]> findWeeksPendingOvertime(UUID organizationId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("""
+        UPDATE AttendanceRecord ar SET ar.regularMinutes = NULL, ar.overtimeMinutes = NULL
+        WHERE ar.organization.id = :organizationId AND ar.date BETWEEN :from AND :to
+          AND ar.status = 'APPROVED' AND ar.deletedAt IS NULL
+    """)
+    int clearOvertime(UUID organizationId, LocalDate from, LocalDate to);
+
     // === Metrics queries ===
 
     @Query("SELECT DISTINCT ar.status FROM AttendanceRecord ar WHERE ar.deletedAt IS NULL")
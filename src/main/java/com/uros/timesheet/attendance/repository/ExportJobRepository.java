@@ -0,0 +1,55 @@
+package com.uros.timesheet.attendance.repository;
+
+import com.uros.timesheet.attendance.domain.ExportJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ExportJobRepository extends JpaRepository<ExportJob, UUID> {
+
+    @Query("SELECT j FROM ExportJob j WHERE j.dedupKey = :dedupKey AND j.status IN ('QUEUED', 'RUNNING')")
+    Optional<ExportJob> findInFlightByDedupKey(String dedupKey);
+
+    @Query("SELECT j FROM ExportJob j WHERE j.expiresAt < :now AND j.status IN ('COMPLETED', 'FAILED', 'CANCELLED') ORDER BY j.expiresAt")
+    List<ExportJob> findExpired(Instant now, Pageable pageable);
+
+    @Query("SELECT COUNT(j) FROM ExportJob j WHERE j.status = :status")
+    long countByStatus(String status);
+
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.progress = :progress WHERE j.id = :id AND j.status = 'RUNNING'")
+    int updateProgress(UUID id, int progress);
+
+    // State transitions are conditional so a cancel racing with the worker never gets overwritten
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.status = 'RUNNING', j.startedAt = :now WHERE j.id = :id AND j.status = 'QUEUED'")
+    int markRunning(UUID id, Instant now);
+
+    @Modifying
+    @Query("""
+        UPDATE ExportJob j
+        SET j.status = 'COMPLETED', j.progress = 100, j.filePath = :filePath, j.fileSize = :fileSize,
+            j.completedAt = :now, j.expiresAt = :expiresAt
+        WHERE j.id = :id AND j.status = 'RUNNING'
+    """)
+    int markCompleted(UUID id, String filePath, long fileSize, Instant now, Instant expiresAt);
+
+    @Modifying
+    @Query("""
+        UPDATE ExportJob j
+        SET j.status = :status, j.errorMessage = :errorMessage, j.completedAt = :now, j.expiresAt = :expiresAt
+        WHERE j.id = :id AND j.status IN ('QUEUED', 'RUNNING')
+    """)
+    int markFinished(UUID id, String status, String errorMessage, Instant now, Instant expiresAt);
+
+    // Jobs orphaned by a restart never finish; fail them on startup
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.status = 'FAILED', j.errorMessage = :reason, j.completedAt = :now, j.expiresAt = :now WHERE j.status IN ('QUEUED', 'RUNNING')")
+    int failInFlight(String reason, Instant now);
+}
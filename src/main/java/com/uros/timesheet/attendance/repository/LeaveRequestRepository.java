@@ -1,14 +1,22 @@
 package com.uros.timesheet.attendance.repository;
 
 import com.uros.timesheet.attendance.domain.LeaveRequest;
+import com.uros.timesheet.attendance.dto.export.LeaveRequestExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.sql.Date;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, UUID> {
 
@@ -28,12 +36,62 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, UUID
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.organization.id = :organizationId AND lr.deletedAt IS NULL")
     List<LeaveRequest> findByOrganizationId(UUID organizationId);
 
+    // Leave ledger backfill: keyset pages in id order
     @Query("""
         SELECT lr FROM LeaveRequest lr
-        WHERE lr.user.id = :userId
-          AND lr.startDate >= :from
-          AND lr.endDate <= :to
+        WHERE lr.status = 'APPROVED'
           AND lr.deletedAt IS NULL
+          AND lr.type IN :types
+          AND lr.id > :after
+        ORDER BY lr.id
     """)
-    List<LeaveRequest> findByUserIdAndStartDateBetween(UUID userId, LocalDate from, LocalDate to);
-}
\ No newline at end of file
+    List<LeaveRequest> findApprovedAfter(UUID after, Collection<String> types, Pageable pageable);
+
+    // Overlap on the generated period column (V7), served by its GiST indexes. Bounds are inclusive,
+    // so a leave straddling either end of [from, to] is included.
+    String OVERLAPS = "lr.period && daterange(CAST(:from AS date), CAST(:to AS date), '[]')";
+
+    @Query(value = "SELECT lr.* FROM leave_requests lr"
+            + " WHERE lr.user_id = :userId AND lr.deleted_at IS NULL AND " + OVERLAPS
+            + " ORDER BY lr.start_date", nativeQuery = true)
+    List<LeaveRequest> findOverlappingByUserId(UUID userId, LocalDate from, LocalDate to);
+
+    @Query(value = "SELECT lr.* FROM leave_requests lr JOIN users u ON u.id = lr.user_id"
+            + " WHERE u.team_id = :teamId AND lr.organization_id = :organizationId"
+            + " AND lr.deleted_at IS NULL AND " + OVERLAPS
+            + " ORDER BY lr.start_date, lr.user_id", nativeQuery = true)
+    List<LeaveRequest> findOverlappingByTeamId(UUID teamId, UUID organizationId, LocalDate from, LocalDate to);
+
+    @Query(value = "SELECT lr.* FROM leave_requests lr"
+            + " WHERE lr.organization_id = :organizationId AND lr.deleted_at IS NULL AND " + OVERLAPS
+            + " ORDER BY lr.start_date, lr.user_id", nativeQuery = true)
+    List<LeaveRequest> findOverlappingByOrganizationId(UUID organizationId, LocalDate from, LocalDate to);
+
+    /**
+     * Export rows of the user's leaves overlapping {@code [from, to]}, in start order. Consumed
+     * inside a transaction.
+     */
+    default Stream<LeaveRequestExportRow> streamExportRows(UUID userId, LocalDate from, LocalDate to) {
+        return streamExportTuples(userId, from, to).map(row -> new LeaveRequestExportRow(
+                toLocalDate(row[0]), toLocalDate(row[1]), (String) row[2], (String) row[3],
+                (String) row[4], (String) row[5]));
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "SELECT lr.start_date, lr.end_date, lr.type, lr.status, a.full_name, lr.notes"
+            + " FROM leave_requests lr LEFT JOIN users a ON a.id = lr.approver_id"
+            + " WHERE lr.user_id = :userId AND lr.deleted_at IS NULL AND " + OVERLAPS
+            + " ORDER BY lr.start_date", nativeQuery = true)
+    Stream<Object[]> streamExportTuples(UUID userId, LocalDate from, LocalDate to);
+
+    @Query(value = "SELECT COUNT(*) FROM leave_requests lr"
+            + " WHERE lr.user_id = :userId AND lr.deleted_at IS NULL AND " + OVERLAPS, nativeQuery = true)
+    long countExportRows(UUID userId, LocalDate from, LocalDate to);
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+}
@@ -4,10 +4,36 @@ import com.uros.timesheet.attendance.domain.Notification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
 
     Page<Notification> findByRecipientId(UUID recipientId, Pageable pageable);
-}
\ No newline at end of file
+
+    // Used for SSE replay when the Last-Event-ID is older than the in-memory buffer; (createdAt, id) keyset
+    @Query("SELECT n FROM Notification n WHERE n.recipient.id = :recipientId "
+            + "AND (n.createdAt > :after OR (n.createdAt = :after AND n.id > :afterId)) "
+            + "ORDER BY n.createdAt ASC, n.id ASC")
+    List<Notification> findByRecipientIdCreatedAfter(UUID recipientId, Instant after, UUID afterId, Pageable pageable);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient.id = :recipientId AND n.readAt IS NULL")
+    long countUnreadByRecipientId(UUID recipientId);
+
+    // Returns [recipientId, unreadCount] pairs; recipients without unread notifications are absent
+    @Query("SELECT n.recipient.id, COUNT(n) FROM Notification n WHERE n.recipient.id IN :recipientIds AND n.readAt IS NULL GROUP BY n.recipient.id")
+    List<Object[]> countUnreadByRecipientIds(Collection<UUID> recipientIds);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.readAt = :readAt WHERE n.recipient.id = :recipientId AND n.id IN :ids AND n.readAt IS NULL")
+    int markReadByIds(UUID recipientId, Collection<UUID> ids, Instant readAt);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.readAt = :readAt WHERE n.recipient.id = :recipientId AND n.readAt IS NULL")
+    int markAllRead(UUID recipientId, Instant readAt);
+}
@@ -0,0 +1,18 @@
+package com.uros.timesheet.attendance.repository;
+
+import com.uros.timesheet.attendance.domain.OrganizationHoliday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OrganizationHolidayRepository extends JpaRepository<OrganizationHoliday, UUID> {
+
+    @Query("SELECT h FROM OrganizationHoliday h WHERE h.organizationId = :organizationId AND h.date BETWEEN :from AND :to ORDER BY h.date")
+    List<OrganizationHoliday> findBetween(UUID organizationId, LocalDate from, LocalDate to);
+
+    Optional<OrganizationHoliday> findByOrganizationIdAndDate(UUID organizationId, LocalDate date);
+}
@@ -1,6 +1,8 @@
 package com.uros.timesheet.attendance.repository;
 
 import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.dto.export.ExportSubject;
+import com.uros.timesheet.attendance.dto.user.UserScope;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -49,6 +51,30 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Query("SELECT COUNT(u) FROM User u WHERE u.deletedAt IS NULL")
     long countActive();
 
+    @Query("""
+        SELECT new com.uros.timesheet.attendance.dto.export.ExportSubject(u.id, u.fullName)
+        FROM User u
+        WHERE u.team.id = :teamId AND u.organization.id = :organizationId AND u.deletedAt IS NULL
+        ORDER BY u.fullName, u.id
+    """)
+    List<ExportSubject> findExportSubjectsByTeamId(UUID teamId, UUID organizationId);
+
+    @Query("""
+        SELECT new com.uros.timesheet.attendance.dto.export.ExportSubject(u.id, u.fullName)
+        FROM User u
+        WHERE u.organization.id = :organizationId AND u.deletedAt IS NULL
+        ORDER BY u.fullName, u.id
+    """)
+    List<ExportSubject> findExportSubjectsByOrganizationId(UUID organizationId);
+
+    // Lightweight tenant/team lookup for event consumers (no entity graph)
+    @Query("""
+        SELECT new com.uros.timesheet.attendance.dto.user.UserScope(u.id, o.id, t.id)
+        FROM User u JOIN u.organization o LEFT JOIN u.team t
+        WHERE u.id = :id
+    """)
+    Optional<UserScope> findScopeById(UUID id);
+
     @Query("SELECT u.status, COUNT(u) FROM User u GROUP BY u.status")
     List<Object[]> countByStatus();
 
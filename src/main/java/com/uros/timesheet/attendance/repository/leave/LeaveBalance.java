@@ -0,0 +1,13 @@
+package com.uros.timesheet.attendance.repository.leave;
+
+import java.util.UUID;
+
+/**
+ * Running balance of one user, leave type and year.
+ */
+public record LeaveBalance(UUID userId, UUID organizationId, String type, int year, int entitled, int consumed) {
+
+    public int remaining() {
+        return entitled - consumed;
+    }
+}
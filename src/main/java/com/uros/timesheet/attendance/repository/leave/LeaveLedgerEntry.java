@@ -0,0 +1,13 @@
+package com.uros.timesheet.attendance.repository.leave;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One leave ledger row. {@code days} is the signed effect on the remaining balance.
+ */
+public record LeaveLedgerEntry(UUID id, UUID userId, UUID organizationId, UUID leaveRequestId, String type,
+                               int year, Kind kind, int days, UUID performedById, Instant createdAt) {
+
+    public enum Kind { ACCRUAL, CONSUMPTION, REVERSAL }
+}
@@ -0,0 +1,57 @@
+package com.uros.timesheet.attendance.repository.leave;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Leave ledger entries and the balances materialized from them. Writes join the caller's
+ * transaction, so a ledger entry and its balance change commit together with the leave.
+ */
+public interface LeaveLedgerRepository {
+
+    Optional<LeaveBalance> findBalance(UUID userId, String type, int year);
+
+    /**
+     * Days per year of each leave type the organization configured.
+     */
+    Map<String, Integer> findEntitlements(UUID organizationId);
+
+    /**
+     * Net days the leave request has consumed so far, per year.
+     */
+    Map<Integer, Integer> findConsumedByLeave(UUID leaveRequestId);
+
+    /**
+     * Creates the balance with nothing consumed.
+     *
+     * @return false if it already existed
+     */
+    boolean createBalance(UUID userId, UUID organizationId, String type, int year, int entitled);
+
+    void addConsumed(UUID userId, String type, int year, int days);
+
+    void append(LeaveLedgerEntry entry);
+
+    boolean isEmpty();
+
+    /**
+     * Removes the organization's ledger entries and balances of one year.
+     */
+    void deleteYear(UUID organizationId, int year);
+
+    /**
+     * Leave requests whose booked days differ from the working days an approved, live
+     * request of a tracked type consumes.
+     */
+    List<UUID> findLeavesOutOfBalance(Collection<String> types);
+
+    /**
+     * Balances as the ledger sums them, for every balance row that differs.
+     */
+    List<LeaveBalance> findBalanceDrift();
+
+    void saveBalances(List<LeaveBalance> balances);
+}
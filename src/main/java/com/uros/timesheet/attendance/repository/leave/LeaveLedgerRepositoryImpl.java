@@ -0,0 +1,188 @@
+package com.uros.timesheet.attendance.repository.leave;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class LeaveLedgerRepositoryImpl implements LeaveLedgerRepository {
+
+    private static final String INSERT_ENTRY = """
+        INSERT INTO leave_ledger_entries
+            (id, user_id, organization_id, leave_request_id, leave_type, year, kind, days, performed_by_id, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String UPSERT_BALANCE = """
+        INSERT INTO leave_balances (user_id, leave_type, year, organization_id, entitled, consumed, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, now())
+        ON CONFLICT (user_id, leave_type, year)
+        DO UPDATE SET entitled = EXCLUDED.entitled, consumed = EXCLUDED.consumed, updated_at = now()
+    """;
+
+    // Working days as counted by LeaveDays
+    private static final String LEAVES_OUT_OF_BALANCE_SQL = """
+        WITH booked AS (
+            SELECT leave_request_id AS id, -SUM(days) AS consumed
+            FROM leave_ledger_entries
+            WHERE leave_request_id IS NOT NULL
+            GROUP BY leave_request_id
+        ), expected AS (
+            SELECT lr.id,
+                   (SELECT COUNT(*) FROM generate_series(lr.start_date, lr.end_date, interval '1 day') d
+                    WHERE EXTRACT(ISODOW FROM d) < 6) AS consumed
+            FROM leave_requests lr
+            WHERE lr.status = 'APPROVED'
+              AND lr.deleted_at IS NULL
+              AND lr.type IN (:types)
+        )
+        SELECT COALESCE(e.id, b.id)
+        FROM expected e
+        FULL JOIN booked b ON b.id = e.id
+        WHERE COALESCE(e.consumed, 0) <> COALESCE(b.consumed, 0)
+    """;
+
+    private static final String BALANCE_DRIFT_SQL = """
+        WITH ledger AS (
+            SELECT user_id, leave_type, year, (array_agg(organization_id))[1] AS organization_id,
+                   COALESCE(SUM(days) FILTER (WHERE kind = 'ACCRUAL'), 0) AS entitled,
+                   COALESCE(-SUM(days) FILTER (WHERE kind <> 'ACCRUAL'), 0) AS consumed
+            FROM leave_ledger_entries
+            GROUP BY user_id, leave_type, year
+        )
+        SELECT l.user_id, l.organization_id, l.leave_type, l.year, l.entitled, l.consumed
+        FROM ledger l
+        LEFT JOIN leave_balances b
+               ON b.user_id = l.user_id AND b.leave_type = l.leave_type AND b.year = l.year
+        WHERE b.user_id IS NULL OR b.entitled <> l.entitled OR b.consumed <> l.consumed
+        UNION ALL
+        SELECT b.user_id, b.organization_id, b.leave_type, b.year, 0, 0
+        FROM leave_balances b
+        WHERE (b.entitled <> 0 OR b.consumed <> 0)
+          AND NOT EXISTS (SELECT 1 FROM leave_ledger_entries e
+                          WHERE e.user_id = b.user_id AND e.leave_type = b.leave_type AND e.year = b.year)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public LeaveLedgerRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public Optional<LeaveBalance> findBalance(UUID userId, String type, int year) {
+        return jdbcTemplate.query("""
+                SELECT user_id, organization_id, leave_type, year, entitled, consumed
+                FROM leave_balances
+                WHERE user_id = ? AND leave_type = ? AND year = ?
+                """, LeaveLedgerRepositoryImpl::toBalance, userId, type, year)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Map<String, Integer> findEntitlements(UUID organizationId) {
+        Map<String, Integer> entitlements = new HashMap<>();
+        jdbcTemplate.query("SELECT leave_type, days_per_year FROM leave_entitlements WHERE organization_id = ?",
+                rs -> {
+                    entitlements.put(rs.getString(1), rs.getInt(2));
+                }, organizationId);
+        return entitlements;
+    }
+
+    @Override
+    public Map<Integer, Integer> findConsumedByLeave(UUID leaveRequestId) {
+        Map<Integer, Integer> consumed = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT year, -SUM(days) FROM leave_ledger_entries
+                WHERE leave_request_id = ?
+                GROUP BY year
+                """, rs -> {
+                    consumed.put(rs.getInt(1), rs.getInt(2));
+                }, leaveRequestId);
+        return consumed;
+    }
+
+    @Override
+    public boolean createBalance(UUID userId, UUID organizationId, String type, int year, int entitled) {
+        return jdbcTemplate.update("""
+                INSERT INTO leave_balances (user_id, leave_type, year, organization_id, entitled, consumed, updated_at)
+                VALUES (?, ?, ?, ?, ?, 0, now())
+                ON CONFLICT (user_id, leave_type, year) DO NOTHING
+                """, userId, type, year, organizationId, entitled) > 0;
+    }
+
+    @Override
+    public void addConsumed(UUID userId, String type, int year, int days) {
+        // Relative update, so concurrent bookings for the same user never overwrite each other
+        jdbcTemplate.update("""
+                UPDATE leave_balances SET consumed = consumed + ?, updated_at = now()
+                WHERE user_id = ? AND leave_type = ? AND year = ?
+                """, days, userId, type, year);
+    }
+
+    @Override
+    public void append(LeaveLedgerEntry entry) {
+        jdbcTemplate.update(INSERT_ENTRY, entry.id(), entry.userId(), entry.organizationId(), entry.leaveRequestId(),
+                entry.type(), entry.year(), entry.kind().name(), entry.days(), entry.performedById(),
+                Timestamp.from(entry.createdAt()));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return jdbcTemplate.queryForList("SELECT 1 FROM leave_ledger_entries LIMIT 1", Integer.class).isEmpty();
+    }
+
+    @Override
+    public void deleteYear(UUID organizationId, int year) {
+        jdbcTemplate.update("DELETE FROM leave_ledger_entries WHERE organization_id = ? AND year = ?", organizationId, year);
+        jdbcTemplate.update("DELETE FROM leave_balances WHERE organization_id = ? AND year = ?", organizationId, year);
+    }
+
+    @Override
+    public List<UUID> findLeavesOutOfBalance(Collection<String> types) {
+        return namedJdbcTemplate.query(LEAVES_OUT_OF_BALANCE_SQL, new MapSqlParameterSource("types", types),
+                (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    @Override
+    public List<LeaveBalance> findBalanceDrift() {
+        return jdbcTemplate.query(BALANCE_DRIFT_SQL, LeaveLedgerRepositoryImpl::toBalance);
+    }
+
+    @Override
+    public void saveBalances(List<LeaveBalance> balances) {
+        jdbcTemplate.batchUpdate(UPSERT_BALANCE, balances, 500, (PreparedStatement ps, LeaveBalance balance) -> {
+            ps.setObject(1, balance.userId());
+            ps.setString(2, balance.type());
+            ps.setInt(3, balance.year());
+            ps.setObject(4, balance.organizationId());
+            ps.setInt(5, balance.entitled());
+            ps.setInt(6, balance.consumed());
+        });
+    }
+
+    private static LeaveBalance toBalance(ResultSet rs, int rowNum) throws SQLException {
+        return new LeaveBalance(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, UUID.class),
+                rs.getString(3),
+                rs.getInt(4),
+                rs.getInt(5),
+                rs.getInt(6));
+    }
+}
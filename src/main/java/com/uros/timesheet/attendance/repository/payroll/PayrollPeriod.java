@@ -0,0 +1,12 @@
+package com.uros.timesheet.attendance.repository.payroll;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A closed payroll period of one organization, both dates inclusive.
+ */
+public record PayrollPeriod(UUID id, UUID organizationId, LocalDate periodStart, LocalDate periodEnd,
+                            Instant closedAt, UUID closedById) {
+}
@@ -0,0 +1,59 @@
+package com.uros.timesheet.attendance.repository.payroll;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Closed payroll periods and their per-user totals. Both are written once, when the period
+ * closes, and never updated. Writes and locks join the caller's transaction.
+ */
+public interface PayrollPeriodRepository {
+
+    /**
+     * Locks the organization row against closing a period until the transaction ends;
+     * concurrent attendance transitions of the organization still proceed.
+     */
+    void lockForTransition(UUID organizationId);
+
+    /**
+     * Locks the organization row exclusively, waiting for running attendance transitions
+     * of the organization to finish.
+     */
+    void lockForClose(UUID organizationId);
+
+    boolean isClosed(UUID organizationId, LocalDate date);
+
+    boolean overlapsClosed(UUID organizationId, LocalDate from, LocalDate to);
+
+    Optional<PayrollPeriod> findClosed(UUID organizationId, LocalDate from, LocalDate to);
+
+    /**
+     * Closed periods of the organization overlapping {@code [from, to]}, in start order.
+     */
+    List<PayrollPeriod> findClosedOverlapping(UUID organizationId, LocalDate from, LocalDate to);
+
+    /**
+     * The closed period of the user's organization spanning exactly {@code [from, to]}.
+     */
+    Optional<PayrollPeriod> findClosedForUser(UUID userId, LocalDate from, LocalDate to);
+
+    List<PayrollPeriod> findByOrganization(UUID organizationId);
+
+    void insert(PayrollPeriod period);
+
+    /**
+     * Computes the totals of every user of the organization in one statement: approved,
+     * non-deleted attendance within the period. Deleted users are kept when they have any.
+     *
+     * @return number of users written
+     */
+    int snapshot(UUID periodId);
+
+    /**
+     * Totals of the period, ordered by full name; null filters match everything.
+     */
+    List<PayrollPeriodTotal> findTotals(UUID periodId, Collection<UUID> userIds, UUID teamId);
+}
@@ -0,0 +1,170 @@
+package com.uros.timesheet.attendance.repository.payroll;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class PayrollPeriodRepositoryImpl implements PayrollPeriodRepository {
+
+    private static final String COLUMNS = "p.id, p.organization_id, p.period_start, p.period_end, p.closed_at, p.closed_by_id";
+
+    // Range predicates in the shape of the payroll_periods_no_overlap GiST index
+    private static final String PERIOD_RANGE = "daterange(p.period_start, p.period_end, '[]')";
+
+    // Same totals as the per-user attendance summaries
+    private static final String SNAPSHOT_SQL = """
+        INSERT INTO payroll_period_totals
+            (period_id, user_id, team_id, user_full_name, total_days, total_records,
+             worked_minutes, regular_minutes, overtime_minutes)
+        SELECT p.id, u.id, u.team_id, u.full_name,
+               COUNT(DISTINCT ar.date),
+               COUNT(ar.id),
+               COALESCE(SUM(ar.worked_minutes), 0),
+               COALESCE(SUM(ar.regular_minutes), 0),
+               COALESCE(SUM(ar.overtime_minutes), 0)
+        FROM payroll_periods p
+        JOIN users u ON u.organization_id = p.organization_id
+        LEFT JOIN attendance_records ar
+          ON ar.user_id = u.id
+         AND ar.date BETWEEN p.period_start AND p.period_end
+         AND ar.status = 'APPROVED'
+         AND ar.deleted_at IS NULL
+        WHERE p.id = ?
+        GROUP BY p.id, u.id, u.team_id, u.full_name, u.deleted_at
+        HAVING u.deleted_at IS NULL OR COUNT(ar.id) > 0
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public PayrollPeriodRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public void lockForTransition(UUID organizationId) {
+        // KEY SHARE does not block other transitions, only FOR UPDATE
+        jdbcTemplate.queryForList("SELECT id FROM organizations WHERE id = ? FOR KEY SHARE", UUID.class, organizationId);
+    }
+
+    @Override
+    public void lockForClose(UUID organizationId) {
+        jdbcTemplate.queryForList("SELECT id FROM organizations WHERE id = ? FOR UPDATE", UUID.class, organizationId);
+    }
+
+    @Override
+    public boolean isClosed(UUID organizationId, LocalDate date) {
+        return !jdbcTemplate.queryForList(
+                "SELECT 1 FROM payroll_periods p WHERE p.organization_id = ? AND " + PERIOD_RANGE + " @> CAST(? AS date) LIMIT 1",
+                Integer.class, organizationId, date).isEmpty();
+    }
+
+    @Override
+    public boolean overlapsClosed(UUID organizationId, LocalDate from, LocalDate to) {
+        return !jdbcTemplate.queryForList(
+                "SELECT 1 FROM payroll_periods p WHERE p.organization_id = ? AND " + PERIOD_RANGE
+                        + " && daterange(CAST(? AS date), CAST(? AS date), '[]') LIMIT 1",
+                Integer.class, organizationId, from, to).isEmpty();
+    }
+
+    @Override
+    public Optional<PayrollPeriod> findClosed(UUID organizationId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM payroll_periods p"
+                        + " WHERE p.organization_id = ? AND p.period_start = ? AND p.period_end = ?",
+                PayrollPeriodRepositoryImpl::toPeriod, organizationId, from, to)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<PayrollPeriod> findClosedOverlapping(UUID organizationId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM payroll_periods p"
+                        + " WHERE p.organization_id = ? AND " + PERIOD_RANGE
+                        + " && daterange(CAST(? AS date), CAST(? AS date), '[]') ORDER BY p.period_start",
+                PayrollPeriodRepositoryImpl::toPeriod, organizationId, from, to);
+    }
+
+    @Override
+    public Optional<PayrollPeriod> findClosedForUser(UUID userId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM payroll_periods p"
+                        + " JOIN users u ON u.organization_id = p.organization_id"
+                        + " WHERE u.id = ? AND p.period_start = ? AND p.period_end = ?",
+                PayrollPeriodRepositoryImpl::toPeriod, userId, from, to)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<PayrollPeriod> findByOrganization(UUID organizationId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM payroll_periods p"
+                        + " WHERE p.organization_id = ? ORDER BY p.period_start DESC",
+                PayrollPeriodRepositoryImpl::toPeriod, organizationId);
+    }
+
+    @Override
+    public void insert(PayrollPeriod period) {
+        jdbcTemplate.update("""
+                INSERT INTO payroll_periods (id, organization_id, period_start, period_end, closed_at, closed_by_id)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, period.id(), period.organizationId(), period.periodStart(), period.periodEnd(),
+                Timestamp.from(period.closedAt()), period.closedById());
+    }
+
+    @Override
+    public int snapshot(UUID periodId) {
+        return jdbcTemplate.update(SNAPSHOT_SQL, periodId);
+    }
+
+    @Override
+    public List<PayrollPeriodTotal> findTotals(UUID periodId, Collection<UUID> userIds, UUID teamId) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT t.user_id, t.user_full_name, t.total_days, t.total_records,
+                       t.worked_minutes, t.regular_minutes, t.overtime_minutes
+                FROM payroll_period_totals t
+                WHERE t.period_id = :periodId
+                """);
+        MapSqlParameterSource params = new MapSqlParameterSource("periodId", periodId);
+        if (userIds != null) {
+            if (userIds.isEmpty()) {
+                return List.of();
+            }
+            sql.append(" AND t.user_id IN (:userIds)");
+            params.addValue("userIds", userIds);
+        }
+        if (teamId != null) {
+            sql.append(" AND t.team_id = :teamId");
+            params.addValue("teamId", teamId);
+        }
+        sql.append(" ORDER BY t.user_full_name, t.user_id");
+        return namedJdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new PayrollPeriodTotal(
+                rs.getObject(1, UUID.class),
+                rs.getString(2),
+                rs.getLong(3),
+                rs.getLong(4),
+                rs.getLong(5),
+                rs.getLong(6),
+                rs.getLong(7)));
+    }
+
+    private static PayrollPeriod toPeriod(ResultSet rs, int rowNum) throws SQLException {
+        return new PayrollPeriod(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, UUID.class),
+                rs.getObject(3, LocalDate.class),
+                rs.getObject(4, LocalDate.class),
+                rs.getTimestamp(5).toInstant(),
+                rs.getObject(6, UUID.class));
+    }
+}
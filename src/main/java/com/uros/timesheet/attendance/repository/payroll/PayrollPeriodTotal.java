@@ -0,0 +1,10 @@
+package com.uros.timesheet.attendance.repository.payroll;
+
+import java.util.UUID;
+
+/**
+ * A user's approved attendance in a closed payroll period, as computed when it closed.
+ */
+public record PayrollPeriodTotal(UUID userId, String userFullName, long totalDays, long totalRecords,
+                                 long workedMinutes, long regularMinutes, long overtimeMinutes) {
+}
@@ -2,9 +2,20 @@ package com.uros.timesheet.attendance.repository.report;
 
 import com.uros.timesheet.attendance.dto.report.UserAttendanceSummaryDto;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface AttendanceReportRepository {
     List<UserAttendanceSummaryDto> getUserAttendanceSummary(UUID userId, LocalDate from, LocalDate to);
-}
\ No newline at end of file
+
+    /**
+     * Summaries for the given users of an organization, one row per user (users without
+     * approved records included with zero totals), ordered by full name.
+     */
+    List<UserAttendanceSummaryDto> getUserAttendanceSummaries(Collection<UUID> userIds, UUID organizationId, LocalDate from, LocalDate to);
+
+    List<UserAttendanceSummaryDto> getTeamAttendanceSummaries(UUID teamId, UUID organizationId, LocalDate from, LocalDate to);
+
+    List<UserAttendanceSummaryDto> getOrganizationAttendanceSummaries(UUID organizationId, LocalDate from, LocalDate to);
+}
@@ -1,66 +1,112 @@
 package com.uros.timesheet.attendance.repository.report;
 
-import com.uros.timesheet.attendance.domain.AttendanceRecord;
 import com.uros.timesheet.attendance.dto.report.UserAttendanceSummaryDto;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.math.BigDecimal;
 
+/**
+ * Attendance summaries aggregated by PostgreSQL: distinct days, record count and worked
+ * minutes come back as one row per user, so no entities are loaded and a whole team or
+ * organization costs a single round-trip.
+ */
 @Repository
 public class AttendanceReportRepositoryImpl implements AttendanceReportRepository {
 
+    private static final BigDecimal MINUTES_PER_HOUR = BigDecimal.valueOf(60);
+
+    // Sums the stored per-record worked/regular/overtime minutes, computed in the organization's zone on write
+    private static final String SUMMARY_SQL = """
+        SELECT u.id,
+               u.full_name,
+               COUNT(DISTINCT ar.date),
+               COUNT(ar.id),
+               COALESCE(SUM(ar.worked_minutes), 0),
+               COALESCE(SUM(ar.regular_minutes), 0),
+               COALESCE(SUM(ar.overtime_minutes), 0)
+        FROM users u
+        %s JOIN attendance_records ar
+          ON ar.user_id = u.id
+         AND ar.date BETWEEN :fromDate AND :toDate
+         AND ar.status = 'APPROVED'
+         AND ar.deleted_at IS NULL
+        WHERE %s
+        GROUP BY u.id, u.full_name
+        ORDER BY u.full_name, u.id
+    """;
+
     @PersistenceContext
     private EntityManager em;
 
     @Override
     @Transactional(readOnly = true)
     public List<UserAttendanceSummaryDto> getUserAttendanceSummary(UUID userId, LocalDate from, LocalDate to) {
-        String jpql = """
-            SELECT ar FROM AttendanceRecord ar
-            JOIN FETCH ar.user u
-            WHERE u.id = :userId
-              AND ar.date >= :fromDate
-              AND ar.date <= :toDate
-              AND ar.status = 'APPROVED'
-        """;
-
-        List<AttendanceRecord> records = em.createQuery(jpql, AttendanceRecord.class)
-                .setParameter("userId", userId)
-                .setParameter("fromDate", from)
-                .setParameter("toDate", to)
-                .getResultList();
+        // Inner join keeps the original contract: no approved records, no summary
+        return summarize("", "u.id = :userId", Map.of("userId", userId), from, to);
+    }
 
-        if (records.isEmpty()) {
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserAttendanceSummaryDto> getUserAttendanceSummaries(Collection<UUID> userIds, UUID organizationId,
+                                                                     LocalDate from, LocalDate to) {
+        if (userIds.isEmpty()) {
             return List.of();
         }
+        return summarize("LEFT", "u.id IN (:userIds) AND u.organization_id = :organizationId",
+                Map.of("userIds", userIds, "organizationId", organizationId), from, to);
+    }
 
-        AttendanceRecord first = records.get(0);
-        long totalDays = records.stream().map(AttendanceRecord::getDate).distinct().count();
-        long totalRecords = records.size();
-        double totalHours = records.stream()
-                .mapToDouble(r -> {
-                    if (r.getStartTime() == null || r.getEndTime() == null) return 0.0;
-                    return Duration.between(r.getStartTime(), r.getEndTime()).toMinutes() / 60.0;
-                })
-                .sum();
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserAttendanceSummaryDto> getTeamAttendanceSummaries(UUID teamId, UUID organizationId,
+                                                                     LocalDate from, LocalDate to) {
+        return summarize("LEFT", "u.team_id = :teamId AND u.organization_id = :organizationId AND u.deleted_at IS NULL",
+                Map.of("teamId", teamId, "organizationId", organizationId), from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserAttendanceSummaryDto> getOrganizationAttendanceSummaries(UUID organizationId,
+                                                                             LocalDate from, LocalDate to) {
+        return summarize("LEFT", "u.organization_id = :organizationId AND u.deleted_at IS NULL",
+                Map.of("organizationId", organizationId), from, to);
+    }
 
-        UserAttendanceSummaryDto summary = new UserAttendanceSummaryDto(
-                first.getUser().getId(),
-                first.getUser().getFullName(),
-                from,
-                to,
-                totalDays,
-                totalRecords,
-                BigDecimal.valueOf(totalHours)
-        );
+    private List<UserAttendanceSummaryDto> summarize(String joinType, String userFilter, Map<String, Object> parameters,
+                                                     LocalDate from, LocalDate to) {
+        Query query = em.createNativeQuery(SUMMARY_SQL.formatted(joinType, userFilter))
+                .setParameter("fromDate", from)
+                .setParameter("toDate", to);
+        parameters.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> new UserAttendanceSummaryDto(
+                        (UUID) row[0],
+                        (String) row[1],
+                        from,
+                        to,
+                        ((Number) row[2]).longValue(),
+                        ((Number) row[3]).longValue(),
+                        toHours((Number) row[4]),
+                        toHours((Number) row[5]),
+                        toHours((Number) row[6])))
+                .toList();
+    }
 
-        return List.of(summary);
+    private static BigDecimal toHours(Number minutes) {
+        BigDecimal value = minutes instanceof BigDecimal decimal ? decimal : BigDecimal.valueOf(minutes.longValue());
+        return value.divide(MINUTES_PER_HOUR, 2, RoundingMode.HALF_UP);
     }
-}
\ No newline at end of file
+}
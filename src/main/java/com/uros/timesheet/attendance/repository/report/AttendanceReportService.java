@@ -7,4 +7,11 @@ import java.util.UUID;
 
 public interface AttendanceReportService {
     List<UserAttendanceSummaryDto> getUserAttendanceSummary(UUID userId, LocalDate from, LocalDate to);
-}
\ No newline at end of file
+
+    /**
+     * Summaries for several users in one query: the given user IDs, otherwise the given team,
+     * otherwise the whole organization. Always limited to {@code organizationId}.
+     */
+    List<UserAttendanceSummaryDto> getAttendanceSummaries(List<UUID> userIds, UUID teamId, UUID organizationId,
+                                                          LocalDate from, LocalDate to);
+}
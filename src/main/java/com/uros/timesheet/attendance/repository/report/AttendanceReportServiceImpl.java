@@ -1,22 +1,82 @@
 package com.uros.timesheet.attendance.service.report;
 
 import com.uros.timesheet.attendance.dto.report.UserAttendanceSummaryDto;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriod;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriodRepository;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriodTotal;
 import com.uros.timesheet.attendance.repository.report.AttendanceReportRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class AttendanceReportServiceImpl implements AttendanceReportService {
 
+    static final int MAX_BATCH_USERS = 1000;
+    private static final BigDecimal MINUTES_PER_HOUR = BigDecimal.valueOf(60);
+
     private final AttendanceReportRepository attendanceReportRepository;
+    private final PayrollPeriodRepository payrollPeriodRepository;
 
+    // A range matching a closed payroll period reads the totals frozen at close
     @Override
     public List<UserAttendanceSummaryDto> getUserAttendanceSummary(UUID userId, LocalDate from, LocalDate to) {
+        Optional<PayrollPeriod> closed = payrollPeriodRepository.findClosedForUser(userId, from, to);
+        if (closed.isPresent()) {
+            // Same contract as the live query: no approved records, no summary
+            return payrollPeriodRepository.findTotals(closed.get().id(), Set.of(userId), null).stream()
+                    .filter(total -> total.totalRecords() > 0)
+                    .map(total -> toSummary(total, closed.get()))
+                    .toList();
+        }
         return attendanceReportRepository.getUserAttendanceSummary(userId, from, to);
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<UserAttendanceSummaryDto> getAttendanceSummaries(List<UUID> userIds, UUID teamId, UUID organizationId,
+                                                                 LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("export.error.invalid.range");
+        }
+        boolean byUsers = userIds != null && !userIds.isEmpty();
+        if (byUsers && teamId != null) {
+            throw new IllegalArgumentException("report.error.batch.selector");
+        }
+        Set<UUID> distinct = byUsers ? new LinkedHashSet<>(userIds) : null;
+        if (byUsers && distinct.size() > MAX_BATCH_USERS) {
+            throw new IllegalArgumentException("report.error.batch.too.many");
+        }
+        Optional<PayrollPeriod> closed = payrollPeriodRepository.findClosed(organizationId, from, to);
+        if (closed.isPresent()) {
+            return payrollPeriodRepository.findTotals(closed.get().id(), distinct, teamId).stream()
+                    .map(total -> toSummary(total, closed.get()))
+                    .toList();
+        }
+        if (byUsers) {
+            return attendanceReportRepository.getUserAttendanceSummaries(distinct, organizationId, from, to);
+        }
+        if (teamId != null) {
+            return attendanceReportRepository.getTeamAttendanceSummaries(teamId, organizationId, from, to);
+        }
+        return attendanceReportRepository.getOrganizationAttendanceSummaries(organizationId, from, to);
+    }
+
+    private static UserAttendanceSummaryDto toSummary(PayrollPeriodTotal total, PayrollPeriod period) {
+        return new UserAttendanceSummaryDto(total.userId(), total.userFullName(),
+                period.periodStart(), period.periodEnd(), total.totalDays(), total.totalRecords(),
+                toHours(total.workedMinutes()), toHours(total.regularMinutes()), toHours(total.overtimeMinutes()));
+    }
+
+    private static BigDecimal toHours(long minutes) {
+        return BigDecimal.valueOf(minutes).divide(MINUTES_PER_HOUR, 2, RoundingMode.HALF_UP);
+    }
+}
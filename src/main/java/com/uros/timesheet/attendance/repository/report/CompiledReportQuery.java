@@ -0,0 +1,20 @@
+package com.uros.timesheet.attendance.repository.report;
+
+import com.uros.timesheet.attendance.dto.report.ReportDimension;
+import com.uros.timesheet.attendance.dto.report.ReportMeasure;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Native SQL produced by {@link ReportQueryCompiler}. Columns are the dimensions in order,
+ * then the GROUPING() bitmask, then the measures; {@code :rowLimit} is left for the caller.
+ */
+public record CompiledReportQuery(
+        String sql,
+        Map<String, Object> parameters,
+        List<ReportDimension> dimensions,
+        List<ReportMeasure> measures,
+        List<List<ReportDimension>> groupingSets
+) {
+}
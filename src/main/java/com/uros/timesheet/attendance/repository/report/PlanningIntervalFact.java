@@ -0,0 +1,12 @@
+package com.uros.timesheet.attendance.repository.report;
+
+import com.uros.timesheet.attendance.conflict.PlanningInterval;
+
+import java.util.UUID;
+
+/**
+ * A leave request or attendance record as re-read after a status change; inactive ones
+ * (rejected, deleted, draft leave) are to be dropped from the planning index.
+ */
+public record PlanningIntervalFact(UUID organizationId, PlanningInterval interval, boolean active) {
+}
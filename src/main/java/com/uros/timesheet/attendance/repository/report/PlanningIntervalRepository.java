@@ -0,0 +1,32 @@
+package com.uros.timesheet.attendance.repository.report;
+
+import com.uros.timesheet.attendance.conflict.PlanningInterval;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Active leave requests (submitted or approved, not deleted) and worked days (as on the
+ * presence board) as {@link PlanningInterval}s.
+ */
+public interface PlanningIntervalRepository {
+    /**
+     * Streams the active intervals of an organization, or of one team when teamId is given,
+     * overlapping {@code [from, to]} through a cursor.
+     */
+    void streamIntervals(UUID organizationId, UUID teamId, LocalDate from, LocalDate to,
+                         Consumer<PlanningInterval> consumer);
+
+    /**
+     * Active intervals of one user overlapping {@code [from, to]}.
+     */
+    List<PlanningInterval> findUserIntervals(UUID userId, LocalDate from, LocalDate to);
+
+    /**
+     * Re-reads one leave request or attendance record, active or not.
+     */
+    Optional<PlanningIntervalFact> findFact(UUID id, PlanningInterval.Kind kind);
+}
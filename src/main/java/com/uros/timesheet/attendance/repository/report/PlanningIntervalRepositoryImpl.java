@@ -0,0 +1,113 @@
+package com.uros.timesheet.attendance.repository.report;
+
+import com.uros.timesheet.attendance.conflict.PlanningInterval;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Repository
+public class PlanningIntervalRepositoryImpl implements PlanningIntervalRepository {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String ACTIVE_LEAVE = "lr.deleted_at IS NULL AND lr.status IN ('SUBMITTED', 'APPROVED')";
+
+    private static final String LEAVE_COLUMNS = """
+        SELECT lr.id, lr.user_id, u.team_id, 'LEAVE', lr.type, lr.status, lr.start_date, lr.end_date,
+               lr.organization_id, %s
+        FROM leave_requests lr
+        JOIN users u ON u.id = lr.user_id
+    """.formatted(ACTIVE_LEAVE);
+
+    private static final String WORK_COLUMNS = """
+        SELECT ar.id, ar.user_id, u.team_id, 'WORK', ar.type, ar.status, ar.date, ar.date,
+               ar.organization_id, %s
+        FROM attendance_records ar
+        JOIN users u ON u.id = ar.user_id
+    """.formatted(PresenceReportRepositoryImpl.PRESENT);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PlanningIntervalRepositoryImpl(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamIntervals(UUID organizationId, UUID teamId, LocalDate from, LocalDate to,
+                                Consumer<PlanningInterval> consumer) {
+        // Inside a transaction, so PostgreSQL fetches through a cursor
+        MapSqlParameterSource params = range(from, to).addValue("organizationId", organizationId);
+        String filter = "u.organization_id = :organizationId";
+        if (teamId != null) {
+            filter += " AND u.team_id = :teamId";
+            params.addValue("teamId", teamId);
+        }
+        jdbcTemplate.query(rangeSql(filter), params,
+                rs -> {
+                    consumer.accept(toInterval(rs));
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PlanningInterval> findUserIntervals(UUID userId, LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = range(from, to).addValue("userId", userId);
+        return jdbcTemplate.query(rangeSql("u.id = :userId"), params,
+                (rs, rowNum) -> toInterval(rs));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PlanningIntervalFact> findFact(UUID id, PlanningInterval.Kind kind) {
+        String sql = (kind == PlanningInterval.Kind.LEAVE ? LEAVE_COLUMNS + "WHERE lr.id = :id"
+                : WORK_COLUMNS + "WHERE ar.id = :id");
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("id", id),
+                        (rs, rowNum) -> new PlanningIntervalFact(
+                                rs.getObject(9, UUID.class), toInterval(rs), rs.getBoolean(10)))
+                .stream()
+                .findFirst();
+    }
+
+    private static String rangeSql(String filter) {
+        return LEAVE_COLUMNS
+                + "WHERE " + ACTIVE_LEAVE + " AND " + filter
+                + " AND lr.period && daterange(:fromDate, :toDate, '[]')\n"
+                + "UNION ALL\n"
+                + WORK_COLUMNS
+                + "WHERE " + PresenceReportRepositoryImpl.PRESENT + " AND " + filter
+                + " AND ar.date BETWEEN :fromDate AND :toDate";
+    }
+
+    private static MapSqlParameterSource range(LocalDate from, LocalDate to) {
+        return new MapSqlParameterSource()
+                .addValue("fromDate", Date.valueOf(from))
+                .addValue("toDate", Date.valueOf(to));
+    }
+
+    private static PlanningInterval toInterval(ResultSet rs) throws SQLException {
+        return new PlanningInterval(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, UUID.class),
+                rs.getObject(3, UUID.class),
+                PlanningInterval.Kind.valueOf(rs.getString(4)),
+                rs.getString(5),
+                rs.getString(6),
+                rs.getObject(7, LocalDate.class),
+                rs.getObject(8, LocalDate.class));
+    }
+}
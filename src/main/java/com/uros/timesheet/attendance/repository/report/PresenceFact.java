@@ -0,0 +1,10 @@
+package com.uros.timesheet.attendance.repository.report;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Whether a user counts as present on a day, as re-read for one attendance record.
+ */
+public record PresenceFact(UUID organizationId, UUID userId, LocalDate date, boolean present) {
+}
@@ -0,0 +1,33 @@
+package com.uros.timesheet.attendance.repository.report;
+
+import com.uros.timesheet.attendance.dto.report.DailyHeadcountDto;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Presence queries: a user is present on a day with a live, non-rejected work or remote
+ * attendance record, as on the presence board.
+ */
+public interface PresenceReportRepository {
+    List<DailyHeadcountDto> countPresentByDay(UUID organizationId, LocalDate from, LocalDate to);
+
+    /**
+     * Users present on all (or any) of the days, ordered by id.
+     */
+    List<UUID> findPresentUsers(UUID organizationId, Collection<LocalDate> days, boolean all);
+
+    /**
+     * Streams each distinct (user, day) presence in {@code [from, to]} through a cursor.
+     */
+    void streamPresence(UUID organizationId, LocalDate from, LocalDate to, BiConsumer<UUID, LocalDate> consumer);
+
+    /**
+     * Presence of the user and day behind one record, or empty if the record does not exist.
+     */
+    Optional<PresenceFact> findPresenceByRecordId(UUID recordId);
+}
@@ -0,0 +1,128 @@
+package com.uros.timesheet.attendance.repository.report;
+
+import com.uros.timesheet.attendance.dto.report.DailyHeadcountDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+@Repository
+public class PresenceReportRepositoryImpl implements PresenceReportRepository {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    // Same notion of presence as the presence board
+    static final String PRESENT = """
+        ar.deleted_at IS NULL
+          AND ar.status NOT IN ('REJECTED', 'DELETED')
+          AND ar.type IN ('work', 'remote')
+    """;
+
+    private static final String HEADCOUNT_SQL = """
+        SELECT ar.date, COUNT(DISTINCT ar.user_id)
+        FROM attendance_records ar
+        WHERE ar.organization_id = :organizationId
+          AND ar.date BETWEEN :fromDate AND :toDate
+          AND %s
+        GROUP BY ar.date
+        ORDER BY ar.date
+    """.formatted(PRESENT);
+
+    private static final String PRESENT_USERS_SQL = """
+        SELECT ar.user_id
+        FROM attendance_records ar
+        WHERE ar.organization_id = :organizationId
+          AND ar.date IN (:days)
+          AND %s
+        GROUP BY ar.user_id
+        HAVING COUNT(DISTINCT ar.date) >= :required
+        ORDER BY ar.user_id
+    """.formatted(PRESENT);
+
+    private static final String STREAM_SQL = """
+        SELECT DISTINCT ar.user_id, ar.date
+        FROM attendance_records ar
+        WHERE ar.organization_id = ?
+          AND ar.date BETWEEN ? AND ?
+          AND %s
+    """.formatted(PRESENT);
+
+    private static final String FACT_SQL = """
+        SELECT r.organization_id, r.user_id, r.date,
+               EXISTS (SELECT 1 FROM attendance_records ar
+                       WHERE ar.user_id = r.user_id AND ar.date = r.date AND %s)
+        FROM attendance_records r
+        WHERE r.id = ?
+    """.formatted(PRESENT);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public PresenceReportRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyHeadcountDto> countPresentByDay(UUID organizationId, LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("organizationId", organizationId)
+                .addValue("fromDate", Date.valueOf(from))
+                .addValue("toDate", Date.valueOf(to));
+        return namedJdbcTemplate.query(HEADCOUNT_SQL, params,
+                (rs, rowNum) -> new DailyHeadcountDto(rs.getObject(1, LocalDate.class), rs.getLong(2)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findPresentUsers(UUID organizationId, Collection<LocalDate> days, boolean all) {
+        if (days.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("organizationId", organizationId)
+                .addValue("days", days.stream().map(Date::valueOf).toList())
+                .addValue("required", all ? days.size() : 1);
+        return namedJdbcTemplate.query(PRESENT_USERS_SQL, params, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamPresence(UUID organizationId, LocalDate from, LocalDate to, BiConsumer<UUID, LocalDate> consumer) {
+        // Inside a transaction, so PostgreSQL fetches through a cursor
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(STREAM_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, organizationId);
+            ps.setDate(2, Date.valueOf(from));
+            ps.setDate(3, Date.valueOf(to));
+            return ps;
+        }, rs -> {
+            consumer.accept(rs.getObject(1, UUID.class), rs.getObject(2, LocalDate.class));
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PresenceFact> findPresenceByRecordId(UUID recordId) {
+        return jdbcTemplate.query(FACT_SQL, (rs, rowNum) -> new PresenceFact(
+                        rs.getObject(1, UUID.class),
+                        rs.getObject(2, UUID.class),
+                        rs.getObject(3, LocalDate.class),
+                        rs.getBoolean(4)), recordId)
+                .stream()
+                .findFirst();
+    }
+}
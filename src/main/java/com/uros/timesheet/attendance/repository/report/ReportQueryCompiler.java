@@ -0,0 +1,153 @@
+package com.uros.timesheet.attendance.repository.report;
+
+import com.uros.timesheet.attendance.dto.report.ReportDimension;
+import com.uros.timesheet.attendance.dto.report.ReportMeasure;
+import com.uros.timesheet.attendance.dto.report.ReportQueryRequest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a validated {@link ReportQueryRequest} into one PostgreSQL statement over
+ * {@code attendance_records}. Every requested total level becomes a grouping set of the same
+ * GROUP BY, so detail rows and subtotals come from a single scan; GROUPING() tells subtotal
+ * rows apart from genuine null values. Only fixed expressions from this class reach the SQL
+ * text, request values are always bound.
+ */
+public final class ReportQueryCompiler {
+
+    private static final Map<ReportDimension, String> DIMENSIONS = new EnumMap<>(Map.of(
+            ReportDimension.ORGANIZATION, "ar.organization_id",
+            ReportDimension.TEAM, "u.team_id",
+            ReportDimension.USER, "ar.user_id",
+            ReportDimension.TYPE, "ar.type",
+            ReportDimension.STATUS, "ar.status",
+            ReportDimension.DAY, "ar.date",
+            ReportDimension.WEEK, "CAST(date_trunc('week', ar.date) AS date)",
+            ReportDimension.MONTH, "CAST(date_trunc('month', ar.date) AS date)"
+    ));
+
+    private static final String APPROVED = "COUNT(*) FILTER (WHERE ar.status = 'APPROVED')";
+
+    // Sums of the stored worked/regular/overtime minutes, computed in the organization's zone on write
+    private static final Map<ReportMeasure, String> MEASURES = new EnumMap<>(Map.of(
+            ReportMeasure.HOURS, hours("ar.worked_minutes"),
+            ReportMeasure.REGULAR_HOURS, hours("ar.regular_minutes"),
+            ReportMeasure.OVERTIME_HOURS, hours("ar.overtime_minutes"),
+            ReportMeasure.RECORDS, "COUNT(*)",
+            ReportMeasure.DISTINCT_DAYS, "COUNT(DISTINCT ar.date)",
+            ReportMeasure.APPROVED_RECORDS, APPROVED,
+            ReportMeasure.APPROVAL_RATE, "ROUND(CAST(" + APPROVED + " AS numeric) / NULLIF(COUNT(*), 0), 4)"
+    ));
+
+    private ReportQueryCompiler() {
+    }
+
+    private static String hours(String minutesColumn) {
+        return "ROUND(CAST(COALESCE(SUM(" + minutesColumn + "), 0) AS numeric) / 60, 2)";
+    }
+
+    public static CompiledReportQuery compile(ReportQueryRequest request, UUID organizationId) {
+        List<ReportDimension> dimensions = request.getDimensions() != null ? List.copyOf(request.getDimensions()) : List.of();
+        List<ReportMeasure> measures = List.copyOf(request.getMeasures());
+        List<List<ReportDimension>> groupingSets = groupingSets(dimensions, request.getTotals());
+
+        List<String> select = new ArrayList<>();
+        for (ReportDimension dimension : dimensions) {
+            select.add(DIMENSIONS.get(dimension));
+        }
+        // Bit set (leftmost dimension highest) where the dimension is rolled up
+        select.add(dimensions.isEmpty() ? "0" : "GROUPING(" + expressions(dimensions) + ")");
+        for (ReportMeasure measure : measures) {
+            select.add(MEASURES.get(measure));
+        }
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("organizationId", organizationId);
+        parameters.put("fromDate", request.getFrom());
+        parameters.put("toDate", request.getTo());
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(String.join(", ", select))
+                .append("\nFROM attendance_records ar");
+        if (dimensions.contains(ReportDimension.TEAM) || request.getTeamId() != null) {
+            sql.append("\nJOIN users u ON u.id = ar.user_id");
+        }
+        sql.append("\nWHERE ar.organization_id = :organizationId")
+                .append("\n  AND ar.deleted_at IS NULL")
+                .append("\n  AND ar.date BETWEEN :fromDate AND :toDate");
+        if (request.getTeamId() != null) {
+            sql.append("\n  AND u.team_id = :teamId");
+            parameters.put("teamId", request.getTeamId());
+        }
+        if (request.getUserId() != null) {
+            sql.append("\n  AND ar.user_id = :userId");
+            parameters.put("userId", request.getUserId());
+        }
+        if (request.getStatuses() != null && !request.getStatuses().isEmpty()) {
+            sql.append("\n  AND ar.status IN (:statuses)");
+            parameters.put("statuses", request.getStatuses());
+        }
+        if (request.getTypes() != null && !request.getTypes().isEmpty()) {
+            sql.append("\n  AND ar.type IN (:types)");
+            parameters.put("types", request.getTypes());
+        }
+
+        sql.append("\nGROUP BY GROUPING SETS (")
+                .append(groupingSets.stream().map(set -> "(" + expressions(set) + ")").collect(Collectors.joining(", ")))
+                .append(")");
+        // Subtotals sort after the detail rows they summarize (nulls last, then by GROUPING())
+        List<String> order = new ArrayList<>();
+        for (int i = 1; i <= dimensions.size() + 1; i++) {
+            order.add(Integer.toString(i));
+        }
+        sql.append("\nORDER BY ").append(String.join(", ", order))
+                .append("\nLIMIT :rowLimit");
+
+        return new CompiledReportQuery(sql.toString(), parameters, dimensions, measures, groupingSets);
+    }
+
+    static List<List<ReportDimension>> groupingSets(List<ReportDimension> dimensions, ReportQueryRequest.Totals totals) {
+        ReportQueryRequest.Totals mode = totals != null ? totals : ReportQueryRequest.Totals.NONE;
+        List<List<ReportDimension>> sets = new ArrayList<>();
+        switch (mode) {
+            case NONE -> sets.add(dimensions);
+            case ROLLUP -> {
+                for (int size = dimensions.size(); size >= 0; size--) {
+                    sets.add(dimensions.subList(0, size));
+                }
+            }
+            case CUBE -> {
+                int all = (1 << dimensions.size()) - 1;
+                // Larger sets first; within a size, subsets keep the request order
+                for (int size = dimensions.size(); size >= 0; size--) {
+                    for (int mask = all; mask >= 0; mask--) {
+                        if (Integer.bitCount(mask) == size) {
+                            sets.add(subset(dimensions, mask));
+                        }
+                    }
+                }
+            }
+        }
+        return sets.stream().map(List::copyOf).toList();
+    }
+
+    private static List<ReportDimension> subset(List<ReportDimension> dimensions, int mask) {
+        List<ReportDimension> subset = new ArrayList<>();
+        for (int i = 0; i < dimensions.size(); i++) {
+            // Highest bit is the first dimension
+            if ((mask & (1 << (dimensions.size() - 1 - i))) != 0) {
+                subset.add(dimensions.get(i));
+            }
+        }
+        return subset;
+    }
+
+    private static String expressions(List<ReportDimension> dimensions) {
+        return dimensions.stream().map(DIMENSIONS::get).collect(Collectors.joining(", "));
+    }
+}
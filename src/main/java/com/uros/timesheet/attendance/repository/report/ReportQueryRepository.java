@@ -0,0 +1,13 @@
+package com.uros.timesheet.attendance.repository.report;
+
+import com.uros.timesheet.attendance.dto.report.ReportRow;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface ReportQueryRepository {
+    /**
+     * Runs a compiled report, returning at most {@code limit} rows.
+     */
+    List<ReportRow> run(CompiledReportQuery query, int limit, Duration timeout);
+}
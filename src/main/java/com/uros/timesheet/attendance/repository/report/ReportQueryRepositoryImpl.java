@@ -0,0 +1,75 @@
+package com.uros.timesheet.attendance.repository.report;
+
+import com.uros.timesheet.attendance.dto.report.ReportDimension;
+import com.uros.timesheet.attendance.dto.report.ReportRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Repository
+public class ReportQueryRepositoryImpl implements ReportQueryRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReportRow> run(CompiledReportQuery compiled, int limit, Duration timeout) {
+        Query query = em.createNativeQuery(compiled.sql())
+                .setParameter("rowLimit", limit)
+                .setHint("jakarta.persistence.query.timeout", timeout.toMillis());
+        compiled.parameters().forEach(query::setParameter);
+
+        int dimensionCount = compiled.dimensions().size();
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        List<ReportRow> result = new ArrayList<>(rows.size());
+        for (Object[] columns : rows) {
+            int grouping = ((Number) columns[dimensionCount]).intValue();
+
+            List<String> values = new ArrayList<>(dimensionCount);
+            List<ReportDimension> rolledUp = new ArrayList<>();
+            for (int i = 0; i < dimensionCount; i++) {
+                if ((grouping & (1 << (dimensionCount - 1 - i))) != 0) {
+                    rolledUp.add(compiled.dimensions().get(i));
+                    values.add(null);
+                } else {
+                    values.add(format(columns[i]));
+                }
+            }
+            List<BigDecimal> measures = Arrays.stream(columns, dimensionCount + 1, columns.length)
+                    .map(ReportQueryRepositoryImpl::toDecimal)
+                    .toList();
+            result.add(new ReportRow(values, rolledUp, measures));
+        }
+        return result;
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Date date ? date.toLocalDate().toString() : value.toString();
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        return value instanceof Double || value instanceof Float
+                ? BigDecimal.valueOf(((Number) value).doubleValue())
+                : BigDecimal.valueOf(((Number) value).longValue());
+    }
+}
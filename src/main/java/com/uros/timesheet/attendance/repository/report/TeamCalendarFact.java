@@ -0,0 +1,16 @@
+package com.uros.timesheet.attendance.repository.report;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One row of the team calendar query: a member, a day worked, or an approved leave clipped
+ * to the requested range.
+ */
+public record TeamCalendarFact(Kind kind, UUID userId, String fullName, String leaveType,
+                               LocalDate start, LocalDate end) {
+
+    public enum Kind {
+        MEMBER, WORKED, LEAVE
+    }
+}
@@ -0,0 +1,13 @@
+package com.uros.timesheet.attendance.repository.report;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface TeamCalendarRepository {
+    /**
+     * Members of the team, then their days worked and approved leaves within
+     * {@code [from, to]}, in a single query. Members come first, ordered by full name.
+     */
+    List<TeamCalendarFact> findCalendarFacts(UUID teamId, UUID organizationId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,75 @@
+package com.uros.timesheet.attendance.repository.report;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class TeamCalendarRepositoryImpl implements TeamCalendarRepository {
+
+    private static final String CALENDAR_SQL = """
+        WITH members AS (
+            SELECT u.id, u.full_name
+            FROM users u
+            WHERE u.team_id = :teamId
+              AND u.organization_id = :organizationId
+              AND u.deleted_at IS NULL
+        )
+        SELECT 0 AS part, m.id, m.full_name, CAST(NULL AS varchar), CAST(NULL AS date), CAST(NULL AS date)
+        FROM members m
+        UNION ALL
+        SELECT DISTINCT 1, ar.user_id, NULL, NULL, ar.date, ar.date
+        FROM attendance_records ar
+        JOIN members m ON m.id = ar.user_id
+        WHERE ar.date BETWEEN :fromDate AND :toDate
+          AND %s
+        UNION ALL
+        SELECT 2, lr.user_id, NULL, lr.type, GREATEST(lr.start_date, :fromDate), LEAST(lr.end_date, :toDate)
+        FROM leave_requests lr
+        JOIN members m ON m.id = lr.user_id
+        WHERE lr.status = 'APPROVED'
+          AND lr.deleted_at IS NULL
+          AND lr.period && daterange(:fromDate, :toDate, '[]')
+        ORDER BY 1, 3, 2, 5
+    """.formatted(PresenceReportRepositoryImpl.PRESENT);
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public List<TeamCalendarFact> findCalendarFacts(UUID teamId, UUID organizationId, LocalDate from, LocalDate to) {
+        List<Object[]> rows = em.createNativeQuery(CALENDAR_SQL)
+                .setParameter("teamId", teamId)
+                .setParameter("organizationId", organizationId)
+                .setParameter("fromDate", from)
+                .setParameter("toDate", to)
+                .getResultList();
+        return rows.stream().map(TeamCalendarRepositoryImpl::toFact).toList();
+    }
+
+    private static TeamCalendarFact toFact(Object[] row) {
+        TeamCalendarFact.Kind kind = TeamCalendarFact.Kind.values()[((Number) row[0]).intValue()];
+        return new TeamCalendarFact(
+                kind,
+                (UUID) row[1],
+                (String) row[2],
+                (String) row[3],
+                toLocalDate(row[4]),
+                toLocalDate(row[5]));
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+}
@@ -19,6 +19,7 @@ public class CustomUserDetails implements UserDetails {
     private final String status;
     private final UUID organizationId;
     private final String organizationName;
+    private final UUID teamId;
     private final Set<String> roleNames;
     private final Set<String> permissionNames;
     private final Collection<? extends GrantedAuthority> authorities;
@@ -30,6 +31,7 @@ public class CustomUserDetails implements UserDetails {
         this.status = user.getStatus();
         this.organizationId = user.getOrganization().getId();
         this.organizationName = user.getOrganization().getName();
+        this.teamId = user.getTeam() != null ? user.getTeam().getId() : null;
 
         // Role names as strings
         this.roleNames = user.getRoles().stream()
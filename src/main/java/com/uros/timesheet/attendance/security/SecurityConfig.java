@@ -1,5 +1,6 @@
 package com.uros.timesheet.attendance.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -30,6 +31,8 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // SSE streams complete on an async dispatch that carries no JWT header
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/api/v1/auth/**",
                                 "/swagger-ui.html",
@@ -43,6 +46,7 @@ public class SecurityConfig {
                                 "/ws",
                                 "/graphql",
                                 "/graphql/**",
+                                "/graphql-ws",
                                 "/graphiql",
                                 "/graphiql/**"
                         ).permitAll()
@@ -1,6 +1,7 @@
 package com.uros.timesheet.attendance.seeder;
 
 import com.uros.timesheet.attendance.domain.*;
+import com.uros.timesheet.attendance.overtime.OvertimeEngine;
 import com.uros.timesheet.attendance.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -17,6 +18,7 @@ public class AttendanceSeeder {
     private final UserRepository userRepository;
     private final OrganizationRepository organizationRepository;
     private final WorkflowLogRepository workflowLogRepository;
+    private final OvertimeEngine overtimeEngine;
 
     public void seedIfTableEmpty() {
         if (attendanceRecordRepository.count() == 0) {
@@ -94,6 +96,8 @@ public class AttendanceSeeder {
                     .createdAt(Instant.now())
                     .updatedAt(Instant.now())
                     .build();
+            // Approved records get their overtime split from the recompute job
+            record.setWorkedMinutes(overtimeEngine.workedMinutes(record));
             attendanceRecordRepository.save(record);
 
             createWorkflowLogIfNotExists(record, "NONE", "DRAFT", user, "Record created");
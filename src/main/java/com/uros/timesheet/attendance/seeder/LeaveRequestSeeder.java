@@ -59,7 +59,7 @@ public class LeaveRequestSeeder {
             LocalDate startDate, LocalDate endDate, String type, String status,
             User approver, Instant approvedAt, String notes
     ) {
-        boolean alreadyExists = leaveRequestRepository.findByUserIdAndStartDateBetween(
+        boolean alreadyExists = leaveRequestRepository.findOverlappingByUserId(
                 user.getId(), startDate, endDate
         ).stream().anyMatch(lr -> lr.getType().equals(type));
         if (!alreadyExists) {
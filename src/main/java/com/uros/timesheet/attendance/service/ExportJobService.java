@@ -0,0 +1,19 @@
+package com.uros.timesheet.attendance.service;
+
+import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.dto.export.ExportJobRequest;
+import com.uros.timesheet.attendance.dto.export.ExportJobResponse;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
+import org.springframework.core.io.Resource;
+
+import java.util.UUID;
+
+public interface ExportJobService {
+    /**
+     * Queues an export, or returns the in-flight job of an identical earlier request.
+     */
+    ExportJobResponse submit(ExportJobRequest request, User requestedBy);
+    ExportJobResponse getJob(UUID jobId, CustomUserDetails principal);
+    ExportJobResponse cancel(UUID jobId, CustomUserDetails principal);
+    Resource openResult(UUID jobId, CustomUserDetails principal);
+}
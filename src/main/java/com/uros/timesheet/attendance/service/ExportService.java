@@ -4,7 +4,20 @@ import com.uros.timesheet.attendance.dto.export.ExportRequest;
 import com.uros.timesheet.attendance.exception.ExportException;
 import org.springframework.core.io.Resource;
 
+import java.io.OutputStream;
+
 public interface ExportService {
     Resource exportToPdf(ExportRequest request) throws ExportException;
+
+    /**
+     * Writes the PDF export straight into the given stream (e.g. the servlet response).
+     */
+    void exportToPdf(ExportRequest request, OutputStream out) throws ExportException;
+
     Resource exportToExcel(ExportRequest request) throws ExportException;
+
+    /**
+     * Writes the Excel export straight into the given stream (e.g. the servlet response).
+     */
+    void exportToExcel(ExportRequest request, OutputStream out) throws ExportException;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.uros.timesheet.attendance.service;
+
+import com.uros.timesheet.attendance.dto.organization.HolidayRequest;
+import com.uros.timesheet.attendance.dto.organization.HolidayResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface HolidayService {
+    List<HolidayResponse> getHolidays(UUID organizationId, int year);
+
+    /**
+     * Adds or renames the organization's holiday on the date. Approved attendance of that
+     * week is split again into regular and overtime minutes.
+     */
+    HolidayResponse putHoliday(UUID organizationId, LocalDate date, HolidayRequest request);
+
+    void deleteHoliday(UUID organizationId, LocalDate date);
+}
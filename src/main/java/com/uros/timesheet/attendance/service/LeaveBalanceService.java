@@ -0,0 +1,18 @@
+package com.uros.timesheet.attendance.service;
+
+import com.uros.timesheet.attendance.dto.leave.LeaveBalanceRebuildResponse;
+import com.uros.timesheet.attendance.dto.leave.LeaveBalanceResponse;
+
+import java.util.UUID;
+
+public interface LeaveBalanceService {
+    /**
+     * The user's balance of a tracked leave type; year null means the current year.
+     */
+    LeaveBalanceResponse getBalance(UUID userId, String type, Integer year);
+
+    /**
+     * Rebuilds the current tenant's ledger and balances of one year from its approved leaves.
+     */
+    LeaveBalanceRebuildResponse rebuildCurrentTenant(int year);
+}
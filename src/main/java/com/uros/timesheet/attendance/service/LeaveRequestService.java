@@ -4,6 +4,7 @@ import com.uros.timesheet.attendance.dto.leave.LeaveRequestCreateRequest;
 import com.uros.timesheet.attendance.dto.leave.LeaveRequestResponse;
 import com.uros.timesheet.attendance.security.CustomUserDetails;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,9 +15,11 @@ public interface LeaveRequestService {
     LeaveRequestResponse rejectRequest(UUID id, UUID approverId, String reason);
     LeaveRequestResponse getRequestById(UUID id);
     List<LeaveRequestResponse> getRequestsForUser(UUID userId);
+    List<LeaveRequestResponse> getRequestsForUser(UUID userId, LocalDate from, LocalDate to);
 
     LeaveRequestResponse softDeleteRequest(UUID id, UUID performedByUserId, String reason);
     LeaveRequestResponse restoreRequest(UUID id, UUID performedByUserId, String reason);
 
     List<LeaveRequestResponse> getRequestsForCurrentTenant();
+    List<LeaveRequestResponse> getRequestsForCurrentTenant(LocalDate from, LocalDate to, UUID teamId);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.uros.timesheet.attendance.service;
 
 import com.uros.timesheet.attendance.dto.notification.NotificationCreateRequest;
 import com.uros.timesheet.attendance.dto.notification.NotificationResponse;
+import com.uros.timesheet.attendance.dto.notification.UnreadCountResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -14,4 +15,7 @@ public interface NotificationService {
     List<NotificationResponse> getForRecipient(UUID recipientId);
 
     Page<NotificationResponse> getForRecipientPaginated(UUID recipientId, Pageable pageable);
+
+    UnreadCountResponse getUnreadCount(UUID recipientId);
+    UnreadCountResponse markRead(UUID recipientId, List<UUID> ids, boolean all);
 }
\ No newline at end of file
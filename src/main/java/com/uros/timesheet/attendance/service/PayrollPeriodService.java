@@ -0,0 +1,18 @@
+package com.uros.timesheet.attendance.service;
+
+import com.uros.timesheet.attendance.dto.payroll.PayrollPeriodResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface PayrollPeriodService {
+    /**
+     * Closes {@code [from, to]} for the organization: attendance dated inside it can no longer
+     * change, and the per-user totals are computed once and kept. Reports for exactly this
+     * range read those totals from then on.
+     */
+    PayrollPeriodResponse closePeriod(UUID organizationId, LocalDate from, LocalDate to, UUID closedById);
+
+    List<PayrollPeriodResponse> getClosedPeriods(UUID organizationId);
+}
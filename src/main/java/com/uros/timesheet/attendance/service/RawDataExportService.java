@@ -0,0 +1,18 @@
+package com.uros.timesheet.attendance.service;
+
+import com.uros.timesheet.attendance.dto.export.RawExportRequest;
+import com.uros.timesheet.attendance.exception.ExportException;
+
+import java.io.OutputStream;
+
+/**
+ * Raw table exports (one line per row) as gzip-compressed CSV/TSV.
+ */
+public interface RawDataExportService {
+    /**
+     * Streams all rows of the dataset into out as gzip data.
+     *
+     * @return number of exported rows
+     */
+    long export(RawExportRequest request, OutputStream out) throws ExportException;
+}
@@ -0,0 +1,21 @@
+package com.uros.timesheet.attendance.service;
+
+import com.uros.timesheet.attendance.dto.export.ExportSubject;
+import com.uros.timesheet.attendance.dto.export.ScopedExportRequest;
+import com.uros.timesheet.attendance.exception.ExportException;
+
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Team- and organization-wide exports, produced per user in parallel and merged into one file.
+ */
+public interface ScopedExportService {
+    /**
+     * Checks the requester's access to the scope and returns the users it covers.
+     * Called before streaming starts so errors still map to a proper HTTP status.
+     */
+    List<ExportSubject> resolveSubjects(ScopedExportRequest request);
+
+    void export(ScopedExportRequest request, List<ExportSubject> subjects, OutputStream out) throws ExportException;
+}
@@ -0,0 +1,20 @@
+package com.uros.timesheet.attendance.service;
+
+import com.uros.timesheet.attendance.dto.team.TeamCalendarResponse;
+import com.uros.timesheet.attendance.dto.team.TeamConflictReport;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.UUID;
+
+public interface TeamCalendarService {
+    /**
+     * Availability of every member of the team on every day of the month.
+     */
+    TeamCalendarResponse getTeamCalendar(UUID teamId, YearMonth month, UUID organizationId);
+
+    /**
+     * Overlapping leaves between team members and work logged on approved leave days.
+     */
+    TeamConflictReport getTeamConflicts(UUID teamId, LocalDate from, LocalDate to, UUID organizationId);
+}
@@ -8,6 +8,8 @@ import com.uros.timesheet.attendance.event.AttendanceRecordStatusChangedEvent;
 import com.uros.timesheet.attendance.event.DomainEventPublisher;
 import com.uros.timesheet.attendance.i18n.MessageUtil;
 import com.uros.timesheet.attendance.mapper.AttendanceRecordMapper;
+import com.uros.timesheet.attendance.overtime.OvertimeEngine;
+import com.uros.timesheet.attendance.payroll.PayrollPeriodLock;
 import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
 import com.uros.timesheet.attendance.repository.UserRepository;
 import com.uros.timesheet.attendance.workflow.WorkflowEngineService;
@@ -35,6 +37,8 @@ public class AttendanceRecordApproveHandler {
     private final MessageUtil messageUtil;
     private final DomainEventPublisher eventPublisher;
     private final MeterRegistry meterRegistry;
+    private final OvertimeEngine overtimeEngine;
+    private final PayrollPeriodLock payrollPeriodLock;
 
     public AttendanceRecordResponse handle(UUID id, UUID approverId) {
         Timer.Sample timerSample = Timer.start(meterRegistry);
@@ -43,6 +47,7 @@ public class AttendanceRecordApproveHandler {
         try {
             AttendanceRecord record = attendanceRecordRepository.findById(id)
                     .orElseThrow(() -> new IllegalArgumentException(messageUtil.get("error.attendance.not.found")));
+            payrollPeriodLock.checkOpen(record.getOrganization().getId(), record.getDate());
             if (record.getUser().getId().equals(approverId)) {
                 throw new IllegalArgumentException(messageUtil.get("error.attendance.approve.self"));
             }
@@ -62,6 +67,7 @@ public class AttendanceRecordApproveHandler {
             record.setApprovedAt(Instant.now());
             record.setUpdatedAt(Instant.now());
             attendanceRecordRepository.save(record);
+            overtimeEngine.recompute(record);
 
             eventPublisher.publish(new AttendanceRecordStatusChangedEvent(
                     this,
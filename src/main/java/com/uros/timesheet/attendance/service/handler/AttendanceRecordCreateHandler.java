@@ -9,9 +9,12 @@ import com.uros.timesheet.attendance.event.AttendanceRecordStatusChangedEvent;
 import com.uros.timesheet.attendance.event.DomainEventPublisher;
 import com.uros.timesheet.attendance.i18n.MessageUtil;
 import com.uros.timesheet.attendance.mapper.AttendanceRecordMapper;
+import com.uros.timesheet.attendance.overtime.OvertimeEngine;
+import com.uros.timesheet.attendance.payroll.PayrollPeriodLock;
 import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
 import com.uros.timesheet.attendance.repository.OrganizationRepository;
 import com.uros.timesheet.attendance.repository.UserRepository;
+import com.uros.timesheet.attendance.service.helper.PlanningConflictChecker;
 import com.uros.timesheet.attendance.util.TenantContext;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -34,6 +37,9 @@ public class AttendanceRecordCreateHandler {
     private final MessageUtil messageUtil;
     private final DomainEventPublisher eventPublisher;
     private final MeterRegistry meterRegistry;
+    private final PlanningConflictChecker conflictChecker;
+    private final OvertimeEngine overtimeEngine;
+    private final PayrollPeriodLock payrollPeriodLock;
 
     public AttendanceRecordResponse handle(AttendanceRecordCreateRequest request) {
         Timer.Sample timerSample = Timer.start(meterRegistry);
@@ -57,6 +63,8 @@ public class AttendanceRecordCreateHandler {
                     throw new IllegalArgumentException(messageUtil.get("error.organization.id.required"));
                 }
             }
+            payrollPeriodLock.checkOpen(organization.getId(), request.getDate());
+            conflictChecker.checkAttendance(organization.getId(), user.getId(), request.getDate(), request.getType());
 
             AttendanceRecord record = AttendanceRecord.builder()
                     .user(user)
@@ -70,6 +78,7 @@ public class AttendanceRecordCreateHandler {
                     .createdAt(Instant.now())
                     .updatedAt(Instant.now())
                     .build();
+            record.setWorkedMinutes(overtimeEngine.workedMinutes(record));
 
             attendanceRecordRepository.save(record);
 
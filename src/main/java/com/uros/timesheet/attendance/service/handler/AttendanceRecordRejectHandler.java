@@ -8,6 +8,8 @@ import com.uros.timesheet.attendance.event.AttendanceRecordStatusChangedEvent;
 import com.uros.timesheet.attendance.event.DomainEventPublisher;
 import com.uros.timesheet.attendance.i18n.MessageUtil;
 import com.uros.timesheet.attendance.mapper.AttendanceRecordMapper;
+import com.uros.timesheet.attendance.overtime.OvertimeEngine;
+import com.uros.timesheet.attendance.payroll.PayrollPeriodLock;
 import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
 import com.uros.timesheet.attendance.repository.UserRepository;
 import com.uros.timesheet.attendance.workflow.WorkflowEngineService;
@@ -34,6 +36,8 @@ public class AttendanceRecordRejectHandler {
     private final MessageUtil messageUtil;
     private final DomainEventPublisher eventPublisher;
     private final MeterRegistry meterRegistry;
+    private final OvertimeEngine overtimeEngine;
+    private final PayrollPeriodLock payrollPeriodLock;
 
     public AttendanceRecordResponse handle(UUID id, UUID approverId, String reason) {
         Timer.Sample timerSample = Timer.start(meterRegistry);
@@ -42,6 +46,7 @@ public class AttendanceRecordRejectHandler {
         try {
             AttendanceRecord record = attendanceRecordRepository.findById(id)
                     .orElseThrow(() -> new IllegalArgumentException(messageUtil.get("error.attendance.not.found")));
+            payrollPeriodLock.checkOpen(record.getOrganization().getId(), record.getDate());
 
             User approver = userRepository.findById(approverId)
                     .orElseThrow(() -> new NotFoundException("error.user.not.found"));
@@ -69,6 +74,7 @@ public class AttendanceRecordRejectHandler {
             record.setNotes(reason);
             record.setUpdatedAt(Instant.now());
             attendanceRecordRepository.save(record);
+            overtimeEngine.recompute(record);
 
             eventPublisher.publish(new AttendanceRecordStatusChangedEvent(
                     this,
@@ -6,6 +6,8 @@ import com.uros.timesheet.attendance.event.AttendanceRecordStatusChangedEvent;
 import com.uros.timesheet.attendance.event.DomainEventPublisher;
 import com.uros.timesheet.attendance.i18n.MessageUtil;
 import com.uros.timesheet.attendance.mapper.AttendanceRecordMapper;
+import com.uros.timesheet.attendance.overtime.OvertimeEngine;
+import com.uros.timesheet.attendance.payroll.PayrollPeriodLock;
 import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -24,6 +26,8 @@ public class AttendanceRecordRestoreHandler {
     private final DomainEventPublisher eventPublisher;
     private final MessageUtil messageUtil;
     private final MeterRegistry meterRegistry;
+    private final OvertimeEngine overtimeEngine;
+    private final PayrollPeriodLock payrollPeriodLock;
 
     public AttendanceRecordResponse handle(UUID id, UUID performedByUserId, String reason) {
         Timer.Sample timerSample = Timer.start(meterRegistry);
@@ -32,6 +36,7 @@ public class AttendanceRecordRestoreHandler {
         try {
             AttendanceRecord record = attendanceRecordRepository.findByIdIncludingDeleted(id)
                     .orElseThrow(() -> new IllegalArgumentException(messageUtil.get("error.attendance.not.found")));
+            payrollPeriodLock.checkOpen(record.getOrganization().getId(), record.getDate());
             if (!record.isDeleted()) {
                 throw new IllegalStateException(messageUtil.get("error.attendance.not.deleted"));
             }
@@ -39,6 +44,7 @@ public class AttendanceRecordRestoreHandler {
             record.restore();
             record.setUpdatedAt(Instant.now());
             attendanceRecordRepository.save(record);
+            overtimeEngine.recompute(record);
 
             eventPublisher.publish(new AttendanceRecordStatusChangedEvent(
                     this,
@@ -8,6 +8,7 @@ import com.uros.timesheet.attendance.event.AttendanceRecordStatusChangedEvent;
 import com.uros.timesheet.attendance.event.DomainEventPublisher;
 import com.uros.timesheet.attendance.i18n.MessageUtil;
 import com.uros.timesheet.attendance.mapper.AttendanceRecordMapper;
+import com.uros.timesheet.attendance.payroll.PayrollPeriodLock;
 import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
 import com.uros.timesheet.attendance.service.helper.AttendanceMetricHelper;
 import com.uros.timesheet.attendance.workflow.WorkflowEngineService;
@@ -32,6 +33,7 @@ public class AttendanceRecordSubmitHandler {
     private final MessageUtil messageUtil;
     private final DomainEventPublisher eventPublisher;
     private final MeterRegistry meterRegistry;
+    private final PayrollPeriodLock payrollPeriodLock;
 
     public AttendanceRecordResponse handle(UUID id, UUID currentUserId) {
         Timer.Sample timerSample = Timer.start(meterRegistry);
@@ -40,6 +42,7 @@ public class AttendanceRecordSubmitHandler {
         try {
             AttendanceRecord record = attendanceRecordRepository.findById(id)
                     .orElseThrow(() -> new IllegalArgumentException(messageUtil.get("error.attendance.not.found")));
+            payrollPeriodLock.checkOpen(record.getOrganization().getId(), record.getDate());
             if (!record.getUser().getId().equals(currentUserId)) {
                 throw new IllegalArgumentException(messageUtil.get("error.attendance.unauthorized"));
             }
@@ -7,6 +7,7 @@ import com.uros.timesheet.attendance.dto.leave.LeaveRequestResponse;
 import com.uros.timesheet.attendance.event.DomainEventPublisher;
 import com.uros.timesheet.attendance.event.LeaveRequestStatusChangedEvent;
 import com.uros.timesheet.attendance.i18n.MessageUtil;
+import com.uros.timesheet.attendance.leave.LeaveLedger;
 import com.uros.timesheet.attendance.mapper.LeaveRequestMapper;
 import com.uros.timesheet.attendance.repository.LeaveRequestRepository;
 import com.uros.timesheet.attendance.repository.UserRepository;
@@ -32,6 +33,7 @@ public class LeaveRequestApproveHandler {
     private final WorkflowEngineService workflowEngineService;
     private final MessageUtil messageUtil;
     private final DomainEventPublisher eventPublisher;
+    private final LeaveLedger leaveLedger;
 
     public LeaveRequestResponse handle(UUID id, UUID approverId) {
         LeaveRequest entity = leaveRequestRepository.findById(id)
@@ -60,6 +62,7 @@ public class LeaveRequestApproveHandler {
         entity.setApprovedAt(Instant.now());
         entity.setUpdatedAt(Instant.now());
         leaveRequestRepository.save(entity);
+        leaveLedger.record(entity, approverId);
 
         eventPublisher.publish(new LeaveRequestStatusChangedEvent(
                 this,
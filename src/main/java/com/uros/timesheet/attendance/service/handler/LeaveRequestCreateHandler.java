@@ -35,6 +35,10 @@ public class LeaveRequestCreateHandler {
                 .orElseThrow(() -> new NotFoundException("error.user.not.found"));
         Organization organization = organizationRepository.findById(request.getOrganizationId())
                 .orElseThrow(() -> new IllegalArgumentException(messageUtil.get("error.organization.not.found")));
+        if (request.getStartDate() == null || request.getEndDate() == null
+                || request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException(messageUtil.get("error.leaverequest.invalid.dates"));
+        }
 
         LeaveRequest entity = LeaveRequest.builder()
                 .user(user)
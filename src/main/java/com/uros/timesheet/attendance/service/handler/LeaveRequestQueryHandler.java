@@ -8,6 +8,7 @@ import com.uros.timesheet.attendance.util.TenantContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,13 +34,49 @@ public class LeaveRequestQueryHandler {
                 .toList();
     }
 
+    /**
+     * Leave requests of the user overlapping {@code [from, to]}, including those that start
+     * before {@code from} or end after {@code to}.
+     */
+    public List<LeaveRequestResponse> getByUser(UUID userId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return leaveRequestRepository.findOverlappingByUserId(userId, from, to).stream()
+                .map(leaveRequestMapper::toResponse)
+                .toList();
+    }
+
     public List<LeaveRequestResponse> getByTenant() {
+        return leaveRequestRepository.findByOrganizationId(tenantId()).stream()
+                .map(leaveRequestMapper::toResponse)
+                .toList();
+    }
+
+    /**
+     * Leave requests of the tenant, or of one of its teams, overlapping {@code [from, to]}.
+     */
+    public List<LeaveRequestResponse> getByTenant(LocalDate from, LocalDate to, UUID teamId) {
+        checkRange(from, to);
+        UUID tenantId = tenantId();
+        return (teamId != null
+                ? leaveRequestRepository.findOverlappingByTeamId(teamId, tenantId, from, to)
+                : leaveRequestRepository.findOverlappingByOrganizationId(tenantId, from, to)).stream()
+                .map(leaveRequestMapper::toResponse)
+                .toList();
+    }
+
+    private UUID tenantId() {
         String tenantIdString = TenantContext.getTenantId();
         if (tenantIdString == null)
             throw new IllegalStateException(messageUtil.get("error.tenant.not.set"));
-        UUID tenantId = UUID.fromString(tenantIdString);
-        return leaveRequestRepository.findByOrganizationId(tenantId).stream()
-                .map(leaveRequestMapper::toResponse)
-                .toList();
+        return UUID.fromString(tenantIdString);
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException(messageUtil.get("error.leaverequest.range.required"));
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException(messageUtil.get("error.leaverequest.invalid.dates"));
+        }
     }
 }
\ No newline at end of file
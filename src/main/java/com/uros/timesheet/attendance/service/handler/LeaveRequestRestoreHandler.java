@@ -5,6 +5,7 @@ import com.uros.timesheet.attendance.dto.leave.LeaveRequestResponse;
 import com.uros.timesheet.attendance.event.DomainEventPublisher;
 import com.uros.timesheet.attendance.event.LeaveRequestStatusChangedEvent;
 import com.uros.timesheet.attendance.i18n.MessageUtil;
+import com.uros.timesheet.attendance.leave.LeaveLedger;
 import com.uros.timesheet.attendance.mapper.LeaveRequestMapper;
 import com.uros.timesheet.attendance.repository.LeaveRequestRepository;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,7 @@ public class LeaveRequestRestoreHandler {
     private final LeaveRequestRepository leaveRequestRepository;
     private final LeaveRequestMapper leaveRequestMapper;
     private final DomainEventPublisher eventPublisher;
+    private final LeaveLedger leaveLedger;
     private final MessageUtil messageUtil;
 
     public LeaveRequestResponse handle(UUID id, UUID performedByUserId, String reason) {
@@ -31,6 +33,7 @@ public class LeaveRequestRestoreHandler {
         entity.restore();
         entity.setUpdatedAt(Instant.now());
         leaveRequestRepository.save(entity);
+        leaveLedger.record(entity, performedByUserId);
 
         eventPublisher.publish(new LeaveRequestStatusChangedEvent(
                 this,
@@ -10,6 +10,7 @@ import com.uros.timesheet.attendance.i18n.MessageUtil;
 import com.uros.timesheet.attendance.mapper.LeaveRequestMapper;
 import com.uros.timesheet.attendance.repository.LeaveRequestRepository;
 import com.uros.timesheet.attendance.security.CustomUserDetails;
+import com.uros.timesheet.attendance.service.helper.PlanningConflictChecker;
 import com.uros.timesheet.attendance.workflow.WorkflowEngineService;
 import com.uros.timesheet.attendance.exception.WorkflowTransitionDeniedException;
 import org.springframework.security.access.AccessDeniedException;
@@ -30,6 +31,7 @@ public class LeaveRequestSubmitHandler {
     private final WorkflowEngineService workflowEngineService;
     private final MessageUtil messageUtil;
     private final DomainEventPublisher eventPublisher;
+    private final PlanningConflictChecker conflictChecker;
 
     public LeaveRequestResponse handle(UUID id, CustomUserDetails principal) {
         LeaveRequest entity = leaveRequestRepository.findById(id)
@@ -55,6 +57,7 @@ public class LeaveRequestSubmitHandler {
         )) {
             throw new WorkflowTransitionDeniedException("error.workflow.transition.denied");
         }
+        conflictChecker.checkLeaveSubmit(entity);
 
         String oldStatus = entity.getStatus();
         entity.setStatus("SUBMITTED");
@@ -0,0 +1,134 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal CSV/TSV record writer for bulk exports.
+ * <p>
+ * Characters are copied into one reusable buffer that is handed to the underlying
+ * writer only when full, so writing a field allocates nothing. CSV fields are quoted
+ * per RFC 4180 only when they contain the delimiter, a quote or a line break; TSV has
+ * no quoting, so tabs and line breaks inside values are replaced by spaces.
+ * Not thread-safe.
+ */
+public class DelimitedWriter {
+
+    private static final int DEFAULT_BUFFER_SIZE = 32 * 1024;
+
+    private final Writer out;
+    private final char delimiter;
+    private final boolean quoting;
+    private final char[] buffer;
+    private int position;
+    private boolean firstField = true;
+
+    public DelimitedWriter(Writer out, char delimiter, boolean quoting) {
+        this(out, delimiter, quoting, DEFAULT_BUFFER_SIZE);
+    }
+
+    public DelimitedWriter(Writer out, char delimiter, boolean quoting, int bufferSize) {
+        this.out = out;
+        this.delimiter = delimiter;
+        this.quoting = quoting;
+        this.buffer = new char[bufferSize];
+    }
+
+    public static DelimitedWriter csv(Writer out) {
+        return new DelimitedWriter(out, ',', true);
+    }
+
+    public static DelimitedWriter tsv(Writer out) {
+        return new DelimitedWriter(out, '\t', false);
+    }
+
+    /**
+     * Appends a field; null is written as an empty field.
+     */
+    public void field(String value) throws IOException {
+        if (!firstField) {
+            put(delimiter);
+        }
+        firstField = false;
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (!quoting) {
+            putSanitized(value);
+        } else if (needsQuotes(value)) {
+            putQuoted(value);
+        } else {
+            putAll(value);
+        }
+    }
+
+    public void endRecord() throws IOException {
+        put('\n');
+        firstField = true;
+    }
+
+    /**
+     * Writes buffered characters through and flushes the underlying writer.
+     */
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    private boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void putQuoted(String value) throws IOException {
+        put('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                put('"');
+            }
+            put(c);
+        }
+        put('"');
+    }
+
+    private void putSanitized(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            put(c == '\t' || c == '\n' || c == '\r' ? ' ' : c);
+        }
+    }
+
+    private void putAll(String value) throws IOException {
+        int from = 0;
+        int length = value.length();
+        while (from < length) {
+            if (position == buffer.length) {
+                drain();
+            }
+            int chunk = Math.min(length - from, buffer.length - position);
+            value.getChars(from, from + chunk, buffer, position);
+            position += chunk;
+            from += chunk;
+        }
+    }
+
+    private void put(char c) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = c;
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Shared plumbing for streaming (SXSSF) Excel exports.
+ * <p>
+ * Only the last {@code export.excel.row-window} rows are kept on heap; older rows are
+ * flushed to gzip-compressed temp files and copied straight into the target stream on write.
+ * Column widths are fixed up front because autoSizeColumn would need every row in memory.
+ */
+@Component
+public class ExcelStreamingHelper {
+
+    @Value("${export.excel.row-window:100}")
+    private int rowWindow;
+
+    public SXSSFWorkbook createWorkbook() {
+        // No shared strings table: it would grow with every distinct cell value
+        return new SXSSFWorkbook(null, rowWindow, true, false);
+    }
+
+    /**
+     * Creates a sheet with a frozen header row and fixed column widths.
+     *
+     * @param widths column widths in characters
+     */
+    public SXSSFSheet createSheet(SXSSFWorkbook workbook, String name, String[] headers, int[] widths, CellStyle headerStyle) {
+        SXSSFSheet sheet = workbook.createSheet(name);
+        for (int i = 0; i < widths.length; i++) {
+            sheet.setColumnWidth(i, Math.min(widths[i], 255) * 256);
+        }
+        writeHeader(sheet, 0, headers, headerStyle);
+        sheet.createFreezePane(0, 1);
+        return sheet;
+    }
+
+    public void writeHeader(Sheet sheet, int rowIndex, String[] headers, CellStyle headerStyle) {
+        Row headerRow = sheet.createRow(rowIndex);
+        for (int i = 0; i < headers.length; i++) {
+            setCell(headerRow, i, headers[i], headerStyle);
+        }
+    }
+
+    public void setCell(Row row, int column, String value, CellStyle style) {
+        Cell cell = row.createCell(column);
+        cell.setCellValue(value != null ? value : "");
+        cell.setCellStyle(style);
+    }
+
+    public CellStyle createHeaderStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setBold(true);
+        font.setColor(IndexedColors.WHITE.getIndex());
+        style.setFont(font);
+        style.setFillForegroundColor(IndexedColors.DARK_BLUE.getIndex());
+        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        setThinBorders(style);
+        return style;
+    }
+
+    public CellStyle createDataStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        setThinBorders(style);
+        style.setWrapText(true);
+        return style;
+    }
+
+    private void setThinBorders(CellStyle style) {
+        style.setBorderBottom(BorderStyle.THIN);
+        style.setBorderTop(BorderStyle.THIN);
+        style.setBorderLeft(BorderStyle.THIN);
+        style.setBorderRight(BorderStyle.THIN);
+    }
+
+    public void write(SXSSFWorkbook workbook, OutputStream out) throws IOException {
+        workbook.write(out);
+        out.flush();
+    }
+
+    /**
+     * Removes the workbook's temp files; call in a finally block.
+     */
+    public void dispose(SXSSFWorkbook workbook) {
+        workbook.dispose();
+        try {
+            workbook.close();
+        } catch (IOException ignored) {
+            // temp files are already gone; nothing left to release
+        }
+    }
+}
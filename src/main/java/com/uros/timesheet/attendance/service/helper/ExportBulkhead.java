@@ -0,0 +1,179 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import com.uros.timesheet.attendance.dto.export.ExportFormat;
+import com.uros.timesheet.attendance.exception.ExportRejectedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many PDF and Excel exports generate at the same time, separately per format.
+ * <p>
+ * Request threads wait for a slot at most {@code export.bulkhead.max-wait}, and at most
+ * {@code export.bulkhead.max-waiting} of them per format; beyond that the export is
+ * rejected with {@link ExportRejectedException} (429). Background jobs use the same slots
+ * but wait without limit, since they are already queued.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExportBulkhead {
+
+    private static final long MAX_RETRY_AFTER_SECONDS = 300;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${export.bulkhead.pdf.max-concurrent:2}")
+    private int pdfMaxConcurrent;
+
+    @Value("${export.bulkhead.excel.max-concurrent:2}")
+    private int excelMaxConcurrent;
+
+    @Value("${export.bulkhead.max-waiting:8}")
+    private int maxWaiting;
+
+    @Value("${export.bulkhead.max-wait:PT20S}")
+    private Duration maxWait;
+
+    @Value("${export.bulkhead.retry-after:PT15S}")
+    private Duration defaultRetryAfter;
+
+    private final Map<ExportFormat, Lane> lanes = new EnumMap<>(ExportFormat.class);
+
+    /**
+     * A held generation slot; closing it releases the slot once.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    @PostConstruct
+    public void init() {
+        for (ExportFormat format : ExportFormat.values()) {
+            int limit = Math.max(1, format == ExportFormat.PDF ? pdfMaxConcurrent : excelMaxConcurrent);
+            Lane lane = new Lane(format, limit);
+            lanes.put(format, lane);
+            Gauge.builder("export.bulkhead.queue.depth", lane.waiting, AtomicInteger::get)
+                    .description("Export requests waiting for a generation slot")
+                    .tag("format", format.name())
+                    .register(meterRegistry);
+            Gauge.builder("export.bulkhead.active", lane.permits, p -> lane.limit - p.availablePermits())
+                    .description("Exports currently generating")
+                    .tag("format", format.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Takes a slot for a request thread, waiting a bounded time in a bounded queue.
+     *
+     * @throws ExportRejectedException if the queue is full or no slot frees up in time
+     */
+    public Permit acquire(ExportFormat format) {
+        Lane lane = lanes.get(format);
+        if (lane.permits.tryAcquire()) {
+            return lane.permit();
+        }
+        if (lane.waiting.incrementAndGet() > maxWaiting) {
+            lane.waiting.decrementAndGet();
+            throw reject(lane, "queue_full");
+        }
+        try {
+            if (!lane.permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw reject(lane, "timeout");
+            }
+            return lane.permit();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw reject(lane, "interrupted");
+        } finally {
+            lane.waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Takes a slot only if one is free now, without queueing. For work that can no longer
+     * be answered with a 429, such as a response whose status is already sent.
+     *
+     * @return the permit, or {@code null} if every slot of the format is taken
+     */
+    public Permit tryAcquire(ExportFormat format) {
+        Lane lane = lanes.get(format);
+        if (lane.permits.tryAcquire()) {
+            return lane.permit();
+        }
+        meterRegistry.counter("export.bulkhead.rejected", "format", lane.format.name(), "reason", "no_slot").increment();
+        return null;
+    }
+
+    /**
+     * Takes a slot for a background job, waiting until one is free or the thread is interrupted.
+     */
+    public Permit acquireInterruptibly(ExportFormat format) throws InterruptedException {
+        Lane lane = lanes.get(format);
+        lane.permits.acquire();
+        return lane.permit();
+    }
+
+    private ExportRejectedException reject(Lane lane, String reason) {
+        meterRegistry.counter("export.bulkhead.rejected", "format", lane.format.name(), "reason", reason).increment();
+        log.warn("[ExportBulkhead] Rejected {} export: {}", lane.format, reason);
+        return new ExportRejectedException("export.error.busy", retryAfterSeconds(lane));
+    }
+
+    /**
+     * Estimates when a slot frees up from the mean generation time and the queue ahead.
+     */
+    private long retryAfterSeconds(Lane lane) {
+        if (lane.held.count() == 0) {
+            return defaultRetryAfter.toSeconds();
+        }
+        double rounds = Math.ceil((lane.waiting.get() + 1) / (double) lane.limit);
+        long estimate = (long) Math.ceil(lane.held.mean(TimeUnit.SECONDS) * rounds);
+        return Math.max(1, Math.min(MAX_RETRY_AFTER_SECONDS, estimate));
+    }
+
+    private final class Lane {
+
+        private final ExportFormat format;
+        private final int limit;
+        private final Semaphore permits;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Timer held;
+
+        private Lane(ExportFormat format, int limit) {
+            this.format = format;
+            this.limit = limit;
+            this.permits = new Semaphore(limit, true);
+            this.held = Timer.builder("export.bulkhead.held")
+                    .description("Time a generation slot is held")
+                    .tag("format", format.name())
+                    .register(meterRegistry);
+        }
+
+        private Permit permit() {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicBoolean released = new AtomicBoolean();
+            return () -> {
+                if (released.compareAndSet(false, true)) {
+                    sample.stop(held);
+                    permits.release();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+/**
+ * Local directory holding the results of background export jobs.
+ * <p>
+ * Files are written under a temporary ".part" name and moved into place only once
+ * complete, so a half-written file is never served.
+ */
+@Slf4j
+@Component
+public class ExportFileStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${export.jobs.storage-dir:${java.io.tmpdir}/timesheet-exports}")
+    private String storageDir;
+
+    private Path root;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(storageDir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+    }
+
+    public Path pathFor(UUID jobId, String extension) {
+        return root.resolve(jobId + "." + extension);
+    }
+
+    public Path partialPathFor(Path target) {
+        return target.resolveSibling(target.getFileName() + ".part");
+    }
+
+    public OutputStream openForWrite(Path partial) throws IOException {
+        return new BufferedOutputStream(Files.newOutputStream(partial), BUFFER_SIZE);
+    }
+
+    /**
+     * Moves a fully written partial file into its final place.
+     *
+     * @return size of the stored file in bytes
+     */
+    public long commit(Path partial, Path target) throws IOException {
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return Files.size(target);
+    }
+
+    public boolean exists(String path) {
+        return path != null && Files.isRegularFile(resolveStored(path));
+    }
+
+    public Path resolveStored(String path) {
+        Path resolved = Paths.get(path).toAbsolutePath().normalize();
+        if (!resolved.startsWith(root)) {
+            throw new UncheckedIOException(new IOException("Path outside export store: " + path));
+        }
+        return resolved;
+    }
+
+    public void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("[ExportFileStore] Could not delete {}: {}", path, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,510 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.dto.export.ExportFormat;
+import com.uros.timesheet.attendance.dto.export.ExportRequest;
+import com.uros.timesheet.attendance.event.AttendanceRecordStatusChangedEvent;
+import com.uros.timesheet.attendance.event.LeaveRequestStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Disk-backed cache of single-user PDF and Excel export results.
+ * <p>
+ * Entries are addressed by a SHA-256 of everything that determines the file content,
+ * including a per-user data version that is bumped after every committed attendance or
+ * leave status change. A bump also drops that user's entries, so a stale file is never
+ * served. Total size is capped by {@code export.cache.max-bytes} with least-recently-used
+ * eviction. Hits are copied to the response with {@link FileChannel#transferTo}.
+ * <p>
+ * Misses are admitted through the {@link ExportBulkhead} on the request thread, so a full
+ * bulkhead is answered with a 429. Identical requests arriving while a result is being
+ * generated do not take a slot: they wait for that generation and are served its cached
+ * file. If it could not be stored, or a hit was evicted before it was read, the response
+ * has already started; such fallbacks generate only if a slot is free at once and
+ * otherwise abort the stream with {@link ExportSlotUnavailableException}.
+ * <p>
+ * Versions live in memory and the directory is cleared on startup, so the cache is
+ * local to one instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExportResultCache {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final MeterRegistry meterRegistry;
+    private final ExportBulkhead bulkhead;
+
+    @Value("${export.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${export.cache.dir:${java.io.tmpdir}/timesheet-export-cache}")
+    private String cacheDir;
+
+    @Value("${export.cache.max-bytes:1GB}")
+    private DataSize maxBytes;
+
+    @Value("${export.cache.max-entry-bytes:64MB}")
+    private DataSize maxEntryBytes;
+
+    @Value("${export.cache.coalesce-timeout:PT10M}")
+    private Duration coalesceTimeout;
+
+    private final Map<UUID, Long> dataVersions = new ConcurrentHashMap<>();
+
+    // Generations in progress by hash; completed with the stored file, or null if nothing was stored
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    // Access-ordered: iteration starts at the least recently used entry. Guarded by this.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private Path root;
+    private Counter hits;
+    private Counter misses;
+    private Counter coalesced;
+    private Counter fallbackRejected;
+
+    /**
+     * Identifies one cached result.
+     *
+     * @param hash        content address, used as file name
+     * @param userId      user whose data the export contains
+     * @param dataVersion data version the export is generated from
+     * @param format      format of the result
+     */
+    public record Key(String hash, UUID userId, long dataVersion, ExportFormat format) {
+    }
+
+    private record Entry(Path path, long size, UUID userId) {
+    }
+
+    /**
+     * Thrown into the response stream when a result has to be generated after all but no
+     * slot is free. The status is already sent, so the client sees an aborted download
+     * with no body and can retry.
+     */
+    public static class ExportSlotUnavailableException extends IOException {
+        public ExportSlotUnavailableException(Key key) {
+            super("No export slot free to generate " + key.format() + " " + key.hash());
+        }
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(cacheDir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        // Versions restart at zero, so files left by a previous run could be stale
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(root)) {
+            for (Path file : leftovers) {
+                deleteQuietly(file);
+            }
+        }
+        hits = meterRegistry.counter("export.cache.requests", "result", "hit");
+        misses = meterRegistry.counter("export.cache.requests", "result", "miss");
+        coalesced = meterRegistry.counter("export.cache.requests", "result", "coalesced");
+        fallbackRejected = meterRegistry.counter("export.cache.fallback.rejected");
+        Gauge.builder("export.cache.bytes", this, ExportResultCache::getTotalBytes)
+                .description("Bytes held by the export result cache")
+                .register(meterRegistry);
+        Gauge.builder("export.cache.entries", this, ExportResultCache::getEntryCount)
+                .description("Files held by the export result cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the cache key for a request. Must be called on the request thread, before
+     * generation starts, so the captured data version is never newer than the data read.
+     */
+    public Key keyFor(ExportRequest request, ExportFormat format) {
+        UUID userId = request.getUserId();
+        long version = dataVersions.getOrDefault(userId, 0L);
+        StringBuilder source = new StringBuilder()
+                .append(format.name()).append('|')
+                .append(request.getExportType().name()).append('|')
+                .append(userId).append('|')
+                .append(request.getStartDate()).append('|')
+                .append(request.getEndDate()).append('|')
+                .append(LocaleContextHolder.getLocale().toLanguageTag()).append('|')
+                .append(version);
+        if (format == ExportFormat.PDF) {
+            // The PDF footer names the requester and the generation date
+            User requestedBy = request.getRequestedBy();
+            source.append('|').append(requestedBy != null ? requestedBy.getId() : null)
+                    .append('|').append(LocalDate.now());
+        }
+        return new Key(sha256(source.toString()), userId, version, format);
+    }
+
+    /**
+     * Returns a body that serves the cached result for key, joins a generation of the
+     * same key already in progress, or runs generator and stores its output while it
+     * is streamed to the client. Must be called on the request thread.
+     *
+     * @throws com.uros.timesheet.attendance.exception.ExportRejectedException if generation
+     *         is needed and the bulkhead has no room
+     */
+    public StreamingResponseBody cached(Key key, StreamingResponseBody generator) {
+        if (!enabled) {
+            ExportBulkhead.Permit permit = bulkhead.acquire(key.format());
+            return out -> {
+                try (permit) {
+                    generator.writeTo(out);
+                }
+            };
+        }
+        Path path = lookup(key.hash());
+        if (path != null) {
+            hits.increment();
+            return out -> serve(key, path, generator, out);
+        }
+
+        CompletableFuture<Path> flight = new CompletableFuture<>();
+        CompletableFuture<Path> leader = inFlight.putIfAbsent(key.hash(), flight);
+        if (leader != null) {
+            coalesced.increment();
+            return out -> follow(key, leader, generator, out);
+        }
+        misses.increment();
+        ExportBulkhead.Permit permit;
+        try {
+            permit = bulkhead.acquire(key.format());
+        } catch (RuntimeException ex) {
+            land(key, flight, null);
+            throw ex;
+        }
+        return out -> {
+            Path stored = null;
+            try (permit) {
+                stored = generateAndStore(key, generator, out);
+            } finally {
+                land(key, flight, stored);
+            }
+        };
+    }
+
+    /**
+     * Bumps the user's data version once the change is committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttendanceStatusChanged(AttendanceRecordStatusChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLeaveStatusChanged(LeaveRequestStatusChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    public void invalidate(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        dataVersions.merge(userId, 1L, Long::sum);
+        int removed = 0;
+        synchronized (this) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (userId.equals(entry.userId())) {
+                    iterator.remove();
+                    totalBytes -= entry.size();
+                    deleteQuietly(entry.path());
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            meterRegistry.counter("export.cache.evictions", "reason", "invalidated").increment(removed);
+        }
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    private synchronized Path lookup(String hash) {
+        Entry entry = entries.get(hash);
+        return entry != null ? entry.path() : null;
+    }
+
+    private synchronized void forget(String hash) {
+        Entry entry = entries.remove(hash);
+        if (entry != null) {
+            totalBytes -= entry.size();
+        }
+    }
+
+    private void serve(Key key, Path path, StreamingResponseBody generator, OutputStream out) throws IOException {
+        try {
+            transfer(path, out);
+        } catch (NoSuchFileException ex) {
+            // Evicted between lookup and read; nothing has been written yet
+            forget(key.hash());
+            regenerate(key, generator, out);
+        }
+    }
+
+    private void follow(Key key, CompletableFuture<Path> leader, StreamingResponseBody generator,
+                        OutputStream out) throws IOException {
+        Path stored;
+        try {
+            stored = leader.get(coalesceTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for export " + key.hash());
+        } catch (ExecutionException | TimeoutException ex) {
+            stored = null;
+        }
+        if (stored != null) {
+            serve(key, stored, generator, out);
+            return;
+        }
+        // The shared generation failed or was not stored; nothing has been written yet
+        regenerate(key, generator, out);
+    }
+
+    /**
+     * Generates on an async thread after the status was sent. Waiting for a slot here would
+     * hold the worker and a rejection could no longer become a 429, so it never queues.
+     */
+    private void regenerate(Key key, StreamingResponseBody generator, OutputStream out) throws IOException {
+        ExportBulkhead.Permit permit = bulkhead.tryAcquire(key.format());
+        if (permit == null) {
+            fallbackRejected.increment();
+            throw new ExportSlotUnavailableException(key);
+        }
+        try (permit) {
+            generateAndStore(key, generator, out);
+        }
+    }
+
+    private void land(Key key, CompletableFuture<Path> flight, Path stored) {
+        inFlight.remove(key.hash(), flight);
+        flight.complete(stored);
+    }
+
+    private Path generateAndStore(Key key, StreamingResponseBody generator, OutputStream out) throws IOException {
+        Path partial = root.resolve(key.hash() + "." + UUID.randomUUID() + ".part");
+        CacheTee tee = new CacheTee(out, partial, maxEntryBytes.toBytes());
+        boolean generated = false;
+        try {
+            generator.writeTo(tee);
+            tee.flush();
+            generated = true;
+        } finally {
+            tee.closeCopy();
+            if (!generated) {
+                deleteQuietly(partial);
+            }
+        }
+        if (tee.isCopyComplete()) {
+            return store(key, partial, tee.getCopied());
+        }
+        deleteQuietly(partial);
+        return null;
+    }
+
+    private Path store(Key key, Path partial, long size) {
+        int evicted = 0;
+        Path target;
+        synchronized (this) {
+            // Data changed while generating: the result is already stale
+            if (dataVersions.getOrDefault(key.userId(), 0L) != key.dataVersion()) {
+                deleteQuietly(partial);
+                return null;
+            }
+            target = root.resolve(key.hash() + "." + key.format().getExtension());
+            try {
+                Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ex) {
+                log.warn("[ExportCache] Could not store {}: {}", target, ex.getMessage());
+                deleteQuietly(partial);
+                return null;
+            }
+            Entry previous = entries.put(key.hash(), new Entry(target, size, key.userId()));
+            totalBytes += size - (previous != null ? previous.size() : 0);
+
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes.toBytes() && eldest.hasNext()) {
+                Map.Entry<String, Entry> candidate = eldest.next();
+                if (candidate.getKey().equals(key.hash())) {
+                    continue;
+                }
+                eldest.remove();
+                totalBytes -= candidate.getValue().size();
+                deleteQuietly(candidate.getValue().path());
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            meterRegistry.counter("export.cache.evictions", "reason", "size").increment(evicted);
+        }
+        return target;
+    }
+
+    private void transfer(Path path, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+        out.flush();
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("[ExportCache] Could not delete {}: {}", path, ex.getMessage());
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Writes to the client and copies into a cache file. A failing or oversized copy is
+     * abandoned without affecting the client; the client stream is never closed here.
+     */
+    private static final class CacheTee extends OutputStream {
+
+        private final OutputStream client;
+        private final long limit;
+        private OutputStream copy;
+        private long copied;
+        private boolean abandoned;
+
+        CacheTee(OutputStream client, Path file, long limit) {
+            this.client = client;
+            this.limit = limit;
+            try {
+                this.copy = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+            } catch (IOException ex) {
+                log.warn("[ExportCache] Could not open {}: {}", file, ex.getMessage());
+                this.abandoned = true;
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            client.write(b);
+            if (!abandoned) {
+                copy(() -> copy.write(b), 1);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            client.write(b, off, len);
+            if (!abandoned) {
+                copy(() -> copy.write(b, off, len), len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            client.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        boolean isCopyComplete() {
+            return !abandoned;
+        }
+
+        long getCopied() {
+            return copied;
+        }
+
+        void closeCopy() {
+            if (copy == null) {
+                return;
+            }
+            try {
+                copy.close();
+            } catch (IOException ex) {
+                abandoned = true;
+            }
+            copy = null;
+        }
+
+        private void copy(CopyAction action, int length) {
+            if (copied + length > limit) {
+                abandoned = true;
+                return;
+            }
+            try {
+                action.run();
+                copied += length;
+            } catch (IOException ex) {
+                log.warn("[ExportCache] Dropping cache copy: {}", ex.getMessage());
+                abandoned = true;
+            }
+        }
+
+        @FunctionalInterface
+        private interface CopyAction {
+            void run() throws IOException;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import com.uros.timesheet.attendance.exception.ExportException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fans per-user export work out to virtual threads while keeping output order.
+ * <p>
+ * Every task holds one permit of a JVM-wide semaphore sized to the DB-connection budget
+ * ({@code export.scoped.db-connection-budget}), so concurrent scoped exports together never
+ * take more than that many pool connections. Results are handed to the sink in input
+ * order on the calling thread, with at most two results per permit buffered ahead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ParallelExportExecutor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${export.scoped.db-connection-budget:4}")
+    private int connectionBudget;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    private Semaphore permits;
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        // Leave connections for regular request traffic
+        int budget = Math.max(1, Math.min(connectionBudget, poolSize - 2));
+        if (budget != connectionBudget) {
+            log.warn("[ParallelExport] DB-connection budget {} exceeds pool size {}; using {}",
+                    connectionBudget, poolSize, budget);
+        }
+        connectionBudget = budget;
+        permits = new Semaphore(budget, true);
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("scoped-export-", 0).factory());
+        Gauge.builder("export.scoped.connections.in.use", permits, p -> connectionBudget - p.availablePermits())
+                .description("DB connections held by scoped export workers")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Applies worker to every item in parallel and passes the results to sink in input order.
+     * The first failure cancels outstanding work and is rethrown.
+     */
+    public <S, T> void forEachOrdered(List<S> items, Function<S, T> worker, Consumer<T> sink) {
+        Locale locale = LocaleContextHolder.getLocale();
+        int window = connectionBudget * 2;
+        Deque<Future<T>> pending = new ArrayDeque<>(window);
+        Iterator<S> source = items.iterator();
+        try {
+            while (source.hasNext() || !pending.isEmpty()) {
+                while (source.hasNext() && pending.size() < window) {
+                    S item = source.next();
+                    pending.addLast(executor.submit(() -> run(item, worker, locale)));
+                }
+                sink.accept(await(pending.removeFirst()));
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <S, T> T run(S item, Function<S, T> worker, Locale locale) throws InterruptedException {
+        permits.acquire();
+        LocaleContextHolder.setLocale(locale);
+        try {
+            return worker.apply(item);
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+            permits.release();
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ExportException(ex.getMessage());
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new ExportException(ex.getCause().getMessage());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.Normalizer;
+
+/**
+ * Unicode fonts for PDF exports.
+ * <p>
+ * The TTF files are read once per JVM and kept as bytes; each document parses them from
+ * memory and embeds only the glyphs it uses (subset). Parsed fonts are not shared because
+ * fontbox's TrueTypeFont is not safe for concurrent use. Without a readable font file the
+ * exports fall back to Helvetica, with characters outside WinAnsi (č, ć, đ) transliterated.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PdfFontProvider {
+
+    private final ResourceLoader resourceLoader;
+
+    @Value("${export.pdf.font:file:/usr/share/fonts/truetype/dejavu/DejaVuSans.ttf}")
+    private String regularFontLocation;
+
+    @Value("${export.pdf.bold-font:file:/usr/share/fonts/truetype/dejavu/DejaVuSans-Bold.ttf}")
+    private String boldFontLocation;
+
+    private byte[] regularFont;
+    private byte[] boldFont;
+
+    @PostConstruct
+    public void init() {
+        regularFont = read(regularFontLocation);
+        boldFont = read(boldFontLocation);
+        if (boldFont == null) {
+            boldFont = regularFont;
+        }
+        if (regularFont == null) {
+            log.warn("[PdfFonts] No TTF font at {}; PDF exports fall back to Helvetica", regularFontLocation);
+        }
+    }
+
+    /**
+     * Fonts bound to one document; call once per document.
+     */
+    public PdfFonts load(PDDocument document) throws IOException {
+        if (regularFont == null) {
+            return new PdfFonts(PDType1Font.HELVETICA, PDType1Font.HELVETICA_BOLD, false);
+        }
+        return new PdfFonts(embed(document, regularFont), embed(document, boldFont), true);
+    }
+
+    private PDFont embed(PDDocument document, byte[] font) throws IOException {
+        TrueTypeFont ttf = new TTFParser().parse(new ByteArrayInputStream(font));
+        // PDType0Font closes the TrueTypeFont together with the document
+        return PDType0Font.load(document, ttf, true);
+    }
+
+    private byte[] read(String location) {
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException ex) {
+            log.warn("[PdfFonts] Could not read font {}: {}", location, ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Regular and bold font of one document.
+     */
+    public record PdfFonts(PDFont regular, PDFont bold, boolean unicode) {
+
+        /**
+         * Makes text safe for the fallback fonts; Unicode fonts get it unchanged.
+         */
+        public String printable(String text) {
+            if (text == null) {
+                return "";
+            }
+            String singleLine = text.replace('\n', ' ').replace('\r', ' ').replace('\t', ' ');
+            if (unicode) {
+                return singleLine;
+            }
+            String latin = singleLine.replace("đ", "dj").replace("Đ", "Dj");
+            return Normalizer.normalize(latin, Normalizer.Form.NFD)
+                    .replaceAll("\\p{M}", "")
+                    .replaceAll("[^\\x20-\\x7E]", "?");
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+import java.awt.Color;
+import java.io.IOException;
+
+/**
+ * Writes headings and tables top-down onto A4 pages of one document.
+ * <p>
+ * Pagination lives here only: a new page is started whenever the next line does not
+ * fit, the current table header is repeated on it and every finished page gets the
+ * footer. Only the current page's content stream is open at any time; with a
+ * scratch-file backed document, finished pages do not stay on heap.
+ */
+public class PdfTableRenderer implements AutoCloseable {
+
+    private static final float MARGIN = 50;
+    private static final float ROW_HEIGHT = 14;
+    private static final float CELL_PADDING = 3;
+    private static final float TEXT_SIZE = 9;
+    private static final float HEADER_SIZE = 9;
+    private static final float TITLE_SIZE = 12;
+    private static final float FOOTER_SIZE = 8;
+    private static final Color HEADER_FILL = new Color(220, 220, 220);
+    private static final String ELLIPSIS = "...";
+
+    private final PDDocument document;
+    private final PdfFontProvider.PdfFonts fonts;
+    private final String footer;
+
+    private PDPageContentStream content;
+    private float y;
+    private int pages;
+
+    private String[] tableHeaders;
+    private float[] tableWidths;
+
+    public PdfTableRenderer(PDDocument document, PdfFontProvider.PdfFonts fonts, String footer) {
+        this.document = document;
+        this.fonts = fonts;
+        this.footer = footer;
+    }
+
+    public int getPageCount() {
+        return pages;
+    }
+
+    public void title(String text) throws IOException {
+        ensureSpace(ROW_HEIGHT * 2);
+        text(fonts.bold(), TITLE_SIZE, MARGIN, y - TITLE_SIZE, text);
+        y -= ROW_HEIGHT * 2;
+    }
+
+    public void line(String text) throws IOException {
+        ensureSpace(ROW_HEIGHT);
+        text(fonts.regular(), TEXT_SIZE + 1, MARGIN, y - TEXT_SIZE, text);
+        y -= ROW_HEIGHT;
+    }
+
+    public void gap() {
+        y -= ROW_HEIGHT;
+    }
+
+    /**
+     * Starts a table with a section heading; widths are in points.
+     */
+    public void startTable(String heading, String[] headers, float[] widths) throws IOException {
+        tableHeaders = null;
+        // Heading, header and at least one row stay together
+        ensureSpace(ROW_HEIGHT * 3);
+        text(fonts.bold(), TEXT_SIZE + 1, MARGIN, y - TEXT_SIZE, heading);
+        y -= ROW_HEIGHT;
+        tableHeaders = headers;
+        tableWidths = widths;
+        drawHeader();
+    }
+
+    public void row(String... cells) throws IOException {
+        if (ensureSpace(ROW_HEIGHT) && tableHeaders != null) {
+            drawHeader();
+        }
+        drawCells(fonts.regular(), TEXT_SIZE, cells);
+    }
+
+    public void endTable() {
+        tableHeaders = null;
+        tableWidths = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finishPage();
+    }
+
+    private void drawHeader() throws IOException {
+        content.setNonStrokingColor(HEADER_FILL);
+        content.addRect(MARGIN, y - ROW_HEIGHT, sum(tableWidths), ROW_HEIGHT);
+        content.fill();
+        content.setNonStrokingColor(Color.BLACK);
+        drawCells(fonts.bold(), HEADER_SIZE, tableHeaders);
+    }
+
+    private void drawCells(PDFont font, float size, String[] cells) throws IOException {
+        float x = MARGIN;
+        float baseline = y - ROW_HEIGHT + (ROW_HEIGHT - size) / 2 + 1;
+        for (int i = 0; i < tableWidths.length && i < cells.length; i++) {
+            String value = fit(font, size, fonts.printable(cells[i]), tableWidths[i] - 2 * CELL_PADDING);
+            if (!value.isEmpty()) {
+                text(font, size, x + CELL_PADDING, baseline, value);
+            }
+            x += tableWidths[i];
+        }
+        content.moveTo(MARGIN, y - ROW_HEIGHT);
+        content.lineTo(MARGIN + sum(tableWidths), y - ROW_HEIGHT);
+        content.stroke();
+        y -= ROW_HEIGHT;
+    }
+
+    /**
+     * Starts a new page when fewer than height points are left.
+     *
+     * @return true if a new page was started
+     */
+    private boolean ensureSpace(float height) throws IOException {
+        if (content != null && y - height >= MARGIN + ROW_HEIGHT) {
+            return false;
+        }
+        finishPage();
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        content = new PDPageContentStream(document, page);
+        content.setLineWidth(0.5f);
+        y = page.getMediaBox().getHeight() - MARGIN;
+        pages++;
+        return true;
+    }
+
+    private void finishPage() throws IOException {
+        if (content == null) {
+            return;
+        }
+        text(fonts.regular(), FOOTER_SIZE, MARGIN, MARGIN / 2, footer + "  |  " + pages);
+        content.close();
+        content = null;
+    }
+
+    private void text(PDFont font, float size, float x, float baseline, String value) throws IOException {
+        content.beginText();
+        content.setFont(font, size);
+        content.newLineAtOffset(x, baseline);
+        content.showText(encodable(font, fonts.printable(value)));
+        content.endText();
+    }
+
+    private String fit(PDFont font, float size, String value, float maxWidth) throws IOException {
+        value = encodable(font, value);
+        if (width(font, size, value) <= maxWidth) {
+            return value;
+        }
+        float ellipsis = width(font, size, ELLIPSIS);
+        // Text glyphs are hardly ever narrower than 0.15 em; skips measuring long notes char by char
+        int end = Math.min(value.length(), (int) (maxWidth / (size * 0.15f)));
+        while (end > 0 && width(font, size, value.substring(0, end)) + ellipsis > maxWidth) {
+            end--;
+        }
+        return value.substring(0, end) + ELLIPSIS;
+    }
+
+    private static float width(PDFont font, float size, String value) throws IOException {
+        return font.getStringWidth(value) / 1000 * size;
+    }
+
+    // Characters the font has no glyph for would abort the whole document
+    private static String encodable(PDFont font, String value) throws IOException {
+        try {
+            font.encode(value);
+            return value;
+        } catch (IllegalArgumentException ex) {
+            StringBuilder result = new StringBuilder(value.length());
+            value.codePoints().forEach(cp -> {
+                String ch = new String(Character.toChars(cp));
+                try {
+                    font.encode(ch);
+                    result.append(ch);
+                } catch (IllegalArgumentException | IOException e) {
+                    result.append('?');
+                }
+            });
+            return result.toString();
+        }
+    }
+
+    private static float sum(float[] values) {
+        float total = 0;
+        for (float value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
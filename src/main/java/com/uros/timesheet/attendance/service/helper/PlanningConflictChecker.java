@@ -0,0 +1,80 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import com.uros.timesheet.attendance.conflict.ConflictIndex;
+import com.uros.timesheet.attendance.conflict.OrganizationIntervals;
+import com.uros.timesheet.attendance.conflict.PlanningInterval;
+import com.uros.timesheet.attendance.domain.LeaveRequest;
+import com.uros.timesheet.attendance.i18n.MessageUtil;
+import com.uros.timesheet.attendance.presence.PresenceBoard;
+import com.uros.timesheet.attendance.repository.report.PlanningIntervalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Overlap checks on attendance create and leave submit, answered by the
+ * {@link ConflictIndex} within its horizon and by a per-user range query outside it.
+ * Leave types in {@code conflict.non-absence-leave-types} (remote work) are not absences.
+ */
+@Component
+@RequiredArgsConstructor
+public class PlanningConflictChecker {
+
+    private final ConflictIndex conflictIndex;
+    private final PlanningIntervalRepository planningIntervalRepository;
+    private final MessageUtil messageUtil;
+
+    @Value("${conflict.enforce:true}")
+    private boolean enforce;
+
+    @Value("${conflict.non-absence-leave-types:remote}")
+    private Set<String> nonAbsenceLeaveTypes;
+
+    /**
+     * Rejects logging work on a day the user is on approved leave.
+     */
+    public void checkAttendance(UUID organizationId, UUID userId, LocalDate date, String type) {
+        if (!enforce || date == null || !PresenceBoard.WORKING_TYPES.contains(type)) {
+            return;
+        }
+        for (PlanningInterval interval : userIntervals(organizationId, userId, date, date)) {
+            if (interval.kind() == PlanningInterval.Kind.LEAVE
+                    && "APPROVED".equals(interval.status())
+                    && !nonAbsenceLeaveTypes.contains(interval.type())) {
+                throw new IllegalArgumentException(messageUtil.get("error.attendance.on.leave"));
+            }
+        }
+    }
+
+    /**
+     * Rejects submitting a leave that overlaps another submitted or approved leave of the
+     * same user, or days the user already logged work on.
+     */
+    public void checkLeaveSubmit(LeaveRequest leave) {
+        if (!enforce) {
+            return;
+        }
+        UUID organizationId = leave.getOrganization() != null ? leave.getOrganization().getId() : null;
+        boolean absence = !nonAbsenceLeaveTypes.contains(leave.getType());
+        for (PlanningInterval interval : userIntervals(organizationId, leave.getUser().getId(),
+                leave.getStartDate(), leave.getEndDate())) {
+            if (interval.kind() == PlanningInterval.Kind.LEAVE && !interval.id().equals(leave.getId())) {
+                throw new IllegalArgumentException(messageUtil.get("error.leaverequest.overlap"));
+            }
+            if (interval.kind() == PlanningInterval.Kind.WORK && absence) {
+                throw new IllegalArgumentException(messageUtil.get("error.leaverequest.overlaps.attendance"));
+            }
+        }
+    }
+
+    private List<PlanningInterval> userIntervals(UUID organizationId, UUID userId, LocalDate from, LocalDate to) {
+        return conflictIndex.covering(organizationId, from, to)
+                .map(intervals -> intervals.userIntervals(userId, from, to))
+                .orElseGet(() -> planningIntervalRepository.findUserIntervals(userId, from, to));
+    }
+}
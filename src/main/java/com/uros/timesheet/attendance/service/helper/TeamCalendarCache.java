@@ -0,0 +1,142 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import com.uros.timesheet.attendance.dto.team.TeamCalendarResponse;
+import com.uros.timesheet.attendance.dto.team.TeamCalendarRow;
+import com.uros.timesheet.attendance.event.AttendanceRecordStatusChangedEvent;
+import com.uros.timesheet.attendance.event.LeaveRequestStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory cache of team calendars by (team, month).
+ * <p>
+ * A committed attendance or leave status change drops every cached calendar listing that
+ * user. A calendar computed while such a change was committed is not stored, so a stale
+ * matrix is never cached. Membership changes raise no event and are picked up once an
+ * entry is older than {@code team-calendar.cache.ttl}. Size is capped by
+ * {@code max-entries} with least-recently-used eviction.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamCalendarCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${team-calendar.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${team-calendar.cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${team-calendar.cache.ttl:10m}")
+    private Duration ttl;
+
+    // Access-ordered: iteration starts at the least recently used entry. Guarded by this.
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    // Bumped by every invalidation; a calendar is stored only if none happened while computing it
+    private long generation;
+
+    private Counter hits;
+    private Counter misses;
+
+    private record Key(UUID teamId, YearMonth month) {
+    }
+
+    private record Entry(TeamCalendarResponse calendar, Set<UUID> userIds, long createdAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        hits = meterRegistry.counter("team.calendar.cache.requests", "result", "hit");
+        misses = meterRegistry.counter("team.calendar.cache.requests", "result", "miss");
+        Gauge.builder("team.calendar.cache.entries", this, TeamCalendarCache::getEntryCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached calendar of the team and month, or computes and caches it.
+     */
+    public TeamCalendarResponse get(UUID teamId, YearMonth month, Supplier<TeamCalendarResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(teamId, month);
+        long startGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.createdAt() <= ttl.toNanos()) {
+                hits.increment();
+                return entry.calendar();
+            }
+            startGeneration = generation;
+        }
+        misses.increment();
+        TeamCalendarResponse calendar = loader.get();
+        Set<UUID> userIds = calendar.getMembers().stream()
+                .map(TeamCalendarRow::getUserId)
+                .collect(Collectors.toUnmodifiableSet());
+        synchronized (this) {
+            if (generation == startGeneration) {
+                entries.put(key, new Entry(calendar, userIds, System.nanoTime()));
+                Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+                while (entries.size() > maxEntries && eldest.hasNext()) {
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+        return calendar;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttendanceStatusChanged(AttendanceRecordStatusChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLeaveStatusChanged(LeaveRequestStatusChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    public void invalidate(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        int removed = 0;
+        synchronized (this) {
+            generation++;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().userIds().contains(userId)) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            meterRegistry.counter("team.calendar.cache.evictions", "reason", "invalidated").increment(removed);
+        }
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+}
@@ -1,10 +1,8 @@
 package com.uros.timesheet.attendance.service.impl;
 
-import com.uros.timesheet.attendance.domain.AttendanceRecord;
-import com.uros.timesheet.attendance.domain.LeaveRequest;
-import com.uros.timesheet.attendance.dto.export.AttendanceRecordExportDto;
+import com.uros.timesheet.attendance.dto.export.AttendanceExportRow;
 import com.uros.timesheet.attendance.dto.export.ExportRequest;
-import com.uros.timesheet.attendance.dto.export.LeaveRequestExportDto;
+import com.uros.timesheet.attendance.dto.export.LeaveRequestExportRow;
 import com.uros.timesheet.attendance.exception.ExportException;
 import com.uros.timesheet.attendance.i18n.MessageUtil;
 import com.uros.timesheet.attendance.mapper.AttendanceRecordExportMapper;
@@ -13,18 +11,20 @@ import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
 import com.uros.timesheet.attendance.repository.LeaveRequestRepository;
 import com.uros.timesheet.attendance.repository.UserRepository;
 import com.uros.timesheet.attendance.service.ExportService;
+import com.uros.timesheet.attendance.service.helper.ExcelStreamingHelper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.io.OutputStream;
+import java.util.stream.Stream;
 
 @Service("excelExportService")
 @RequiredArgsConstructor
@@ -37,38 +37,59 @@ public class ExcelExportServiceImpl implements ExportService {
     private final MessageUtil messageUtil;
     private final AttendanceRecordExportMapper attendanceMapper;
     private final LeaveRequestExportMapper leaveMapper;
+    private final ExcelStreamingHelper excelStreamingHelper;
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    // Fixed widths (in characters) replace autoSizeColumn, which needs every row on heap
+    private static final int[] ATTENDANCE_COLUMN_WIDTHS = {12, 10, 10, 12, 12, 50};
+    private static final int[] LEAVE_COLUMN_WIDTHS = {12, 12, 12, 12, 25, 50};
+    private static final int PROGRESS_INTERVAL = 1000;
 
+    /**
+     * Builds the whole file in memory. Kept for small in-process consumers;
+     * HTTP downloads use {@link #exportToExcel(ExportRequest, OutputStream)}.
+     */
     @Override
+    @Transactional(readOnly = true)
     public Resource exportToExcel(ExportRequest request) throws ExportException {
-        try (Workbook workbook = new XSSFWorkbook()) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportToExcel(request, out);
+        return new ByteArrayResource(out.toByteArray());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportToExcel(ExportRequest request, OutputStream out) throws ExportException {
+        SXSSFWorkbook workbook = excelStreamingHelper.createWorkbook();
+        try {
             // Create styles
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle dataStyle = createDataStyle(workbook);
+            CellStyle headerStyle = excelStreamingHelper.createHeaderStyle(workbook);
+            CellStyle dataStyle = excelStreamingHelper.createDataStyle(workbook);
 
             switch (request.getExportType()) {
                 case ATTENDANCE:
-                    return exportAttendanceToExcel(workbook, request, headerStyle, dataStyle);
+                    writeAttendanceSheet(workbook, request, headerStyle, dataStyle);
+                    break;
                 case LEAVE_REQUESTS:
-                    return exportLeaveRequestsToExcel(workbook, request, headerStyle, dataStyle);
+                    writeLeaveRequestsSheet(workbook, request, headerStyle, dataStyle);
+                    break;
                 case ALL:
-                    return exportCombinedToExcel(workbook, request, headerStyle, dataStyle);
+                    writeAttendanceSheet(workbook, request, headerStyle, dataStyle);
+                    writeLeaveRequestsSheet(workbook, request, headerStyle, dataStyle);
+                    break;
                 default:
                     throw new ExportException(messageUtil.get("export.error.invalid.type"));
             }
+            excelStreamingHelper.write(workbook, out);
         } catch (IOException e) {
             log.error("Excel export failed", e);
             throw new ExportException(messageUtil.get("export.error.excel.generation"));
+        } finally {
+            excelStreamingHelper.dispose(workbook);
         }
     }
 
-    private Resource exportAttendanceToExcel(Workbook workbook, ExportRequest request,
-                                             CellStyle headerStyle, CellStyle dataStyle) throws IOException {
-        Sheet sheet = workbook.createSheet(messageUtil.get("export.sheet.attendance"));
-
-        // Header row
-        Row headerRow = sheet.createRow(0);
+    private void writeAttendanceSheet(SXSSFWorkbook workbook, ExportRequest request,
+                                      CellStyle headerStyle, CellStyle dataStyle) {
         String[] headers = {
                 messageUtil.get("export.column.date"),
                 messageUtil.get("export.column.start"),
@@ -77,44 +98,30 @@ public class ExcelExportServiceImpl implements ExportService {
                 messageUtil.get("export.column.status"),
                 messageUtil.get("export.column.notes")
         };
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
+        Sheet sheet = excelStreamingHelper.createSheet(workbook, messageUtil.get("export.sheet.attendance"),
+                headers, ATTENDANCE_COLUMN_WIDTHS, headerStyle);
+
+        int[] rowNum = {1};
+        try (Stream<AttendanceExportRow> rows = attendanceRecordRepository.streamExportRows(
+                request.getUserId(), request.getStartDate(), request.getEndDate())) {
+            rows.map(attendanceMapper::toDto).forEach(dto -> {
+                Row row = sheet.createRow(rowNum[0]++);
+                excelStreamingHelper.setCell(row, 0, dto.getDate(), dataStyle);
+                excelStreamingHelper.setCell(row, 1, dto.getStartTime(), dataStyle);
+                excelStreamingHelper.setCell(row, 2, dto.getEndTime(), dataStyle);
+                excelStreamingHelper.setCell(row, 3, dto.getType(), dataStyle);
+                excelStreamingHelper.setCell(row, 4, dto.getStatus(), dataStyle);
+                excelStreamingHelper.setCell(row, 5, dto.getNotes(), dataStyle);
+                if ((rowNum[0] - 1) % PROGRESS_INTERVAL == 0) {
+                    request.reportProgress(PROGRESS_INTERVAL);
+                }
+            });
         }
-
-        List<AttendanceRecord> records = attendanceRecordRepository.findByUserIdAndDateBetween(
-                request.getUserId(), request.getStartDate(), request.getEndDate());
-        List<AttendanceRecordExportDto> dtoList = attendanceMapper.toDtoList(records);
-
-        int rowNum = 1;
-        for (AttendanceRecordExportDto dto : dtoList) {
-            Row row = sheet.createRow(rowNum++);
-            row.createCell(0).setCellValue(dto.getDate());
-            row.createCell(1).setCellValue(dto.getStartTime());
-            row.createCell(2).setCellValue(dto.getEndTime());
-            row.createCell(3).setCellValue(dto.getType());
-            row.createCell(4).setCellValue(dto.getStatus());
-            row.createCell(5).setCellValue(dto.getNotes() != null ? dto.getNotes() : "");
-            for (int i = 0; i < headers.length; i++) {
-                row.getCell(i).setCellStyle(dataStyle);
-            }
-        }
-
-        // Auto-size columns
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-        }
-
-        return createResource(workbook);
+        request.reportProgress((rowNum[0] - 1) % PROGRESS_INTERVAL);
     }
 
-    private Resource exportLeaveRequestsToExcel(Workbook workbook, ExportRequest request,
-                                                CellStyle headerStyle, CellStyle dataStyle) throws IOException {
-        Sheet sheet = workbook.createSheet(messageUtil.get("export.sheet.leave"));
-
-        // Header row
-        Row headerRow = sheet.createRow(0);
+    private void writeLeaveRequestsSheet(SXSSFWorkbook workbook, ExportRequest request,
+                                         CellStyle headerStyle, CellStyle dataStyle) {
         String[] headers = {
                 messageUtil.get("export.column.start.date"),
                 messageUtil.get("export.column.end.date"),
@@ -123,78 +130,35 @@ public class ExcelExportServiceImpl implements ExportService {
                 messageUtil.get("export.column.approved.by"),
                 messageUtil.get("export.column.notes")
         };
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
+        Sheet sheet = excelStreamingHelper.createSheet(workbook, messageUtil.get("export.sheet.leave"),
+                headers, LEAVE_COLUMN_WIDTHS, headerStyle);
+
+        int[] rowNum = {1};
+        try (Stream<LeaveRequestExportRow> rows = leaveRequestRepository.streamExportRows(
+                request.getUserId(), request.getStartDate(), request.getEndDate())) {
+            rows.map(leaveMapper::toDto).forEach(dto -> {
+                Row row = sheet.createRow(rowNum[0]++);
+                excelStreamingHelper.setCell(row, 0, dto.getStartDate(), dataStyle);
+                excelStreamingHelper.setCell(row, 1, dto.getEndDate(), dataStyle);
+                excelStreamingHelper.setCell(row, 2, dto.getType(), dataStyle);
+                excelStreamingHelper.setCell(row, 3, dto.getStatus(), dataStyle);
+                excelStreamingHelper.setCell(row, 4, dto.getApprover(), dataStyle);
+                excelStreamingHelper.setCell(row, 5, dto.getNotes(), dataStyle);
+                if ((rowNum[0] - 1) % PROGRESS_INTERVAL == 0) {
+                    request.reportProgress(PROGRESS_INTERVAL);
+                }
+            });
         }
-
-        List<LeaveRequest> leaves = leaveRequestRepository.findByUserIdAndStartDateBetween(
-                request.getUserId(), request.getStartDate(), request.getEndDate());
-        List<LeaveRequestExportDto> dtoList = leaveMapper.toDtoList(leaves);
-
-        int rowNum = 1;
-        for (LeaveRequestExportDto dto : dtoList) {
-            Row row = sheet.createRow(rowNum++);
-            row.createCell(0).setCellValue(dto.getStartDate());
-            row.createCell(1).setCellValue(dto.getEndDate());
-            row.createCell(2).setCellValue(dto.getType());
-            row.createCell(3).setCellValue(dto.getStatus());
-            row.createCell(4).setCellValue(dto.getApprover() != null ? dto.getApprover() : "");
-            row.createCell(5).setCellValue(dto.getNotes() != null ? dto.getNotes() : "");
-            for (int i = 0; i < headers.length; i++) {
-                row.getCell(i).setCellStyle(dataStyle);
-            }
-        }
-
-        // Auto-size columns
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-        }
-
-        return createResource(workbook);
-    }
-
-    private Resource exportCombinedToExcel(Workbook workbook, ExportRequest request,
-                                           CellStyle headerStyle, CellStyle dataStyle) throws IOException {
-        exportAttendanceToExcel(workbook, request, headerStyle, dataStyle);
-        exportLeaveRequestsToExcel(workbook, request, headerStyle, dataStyle);
-        return createResource(workbook);
-    }
-
-    private CellStyle createHeaderStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        Font font = workbook.createFont();
-        font.setBold(true);
-        font.setColor(IndexedColors.WHITE.getIndex());
-        style.setFont(font);
-        style.setFillForegroundColor(IndexedColors.DARK_BLUE.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
+        request.reportProgress((rowNum[0] - 1) % PROGRESS_INTERVAL);
     }
 
-    private CellStyle createDataStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        style.setWrapText(true);
-        return style;
-    }
-
-    private Resource createResource(Workbook workbook) throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        workbook.write(out);
-        return new ByteArrayResource(out.toByteArray());
+    @Override
+    public Resource exportToPdf(ExportRequest request) throws ExportException {
+        throw new UnsupportedOperationException(messageUtil.get("export.error.pdf.not.implemented"));
     }
 
     @Override
-    public Resource exportToPdf(ExportRequest request) throws ExportException {
+    public void exportToPdf(ExportRequest request, OutputStream out) throws ExportException {
         throw new UnsupportedOperationException(messageUtil.get("export.error.pdf.not.implemented"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,450 @@
+package com.uros.timesheet.attendance.service.impl;
+
+import com.uros.timesheet.attendance.domain.ExportJob;
+import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.dto.export.ExportFormat;
+import com.uros.timesheet.attendance.dto.export.ExportJobRequest;
+import com.uros.timesheet.attendance.dto.export.ExportJobResponse;
+import com.uros.timesheet.attendance.dto.export.ExportRequest;
+import com.uros.timesheet.attendance.exception.ExportException;
+import com.uros.timesheet.attendance.exception.ExportJobStateException;
+import com.uros.timesheet.attendance.exception.NotFoundException;
+import com.uros.timesheet.attendance.i18n.MessageUtil;
+import com.uros.timesheet.attendance.mapper.ExportJobMapper;
+import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
+import com.uros.timesheet.attendance.repository.ExportJobRepository;
+import com.uros.timesheet.attendance.repository.LeaveRequestRepository;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
+import com.uros.timesheet.attendance.service.ExportJobService;
+import com.uros.timesheet.attendance.service.ExportService;
+import com.uros.timesheet.attendance.service.helper.ExportBulkhead;
+import com.uros.timesheet.attendance.service.helper.ExportFileStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs exports in the background on a bounded pool and keeps the results in the local
+ * {@link ExportFileStore} until they expire.
+ * <p>
+ * Job state lives in export_jobs; progress of running jobs is tracked in memory and
+ * flushed to the table periodically, so exports never write from inside their own
+ * read-only transaction. Identical in-flight requests (same requester, format, type,
+ * user and period) share one job.
+ */
+@Slf4j
+@Service
+public class ExportJobServiceImpl implements ExportJobService {
+
+    static final String QUEUED = "QUEUED";
+    static final String RUNNING = "RUNNING";
+    static final String COMPLETED = "COMPLETED";
+    static final String FAILED = "FAILED";
+    static final String CANCELLED = "CANCELLED";
+    static final String EXPIRED = "EXPIRED";
+
+    private static final int CLEANUP_BATCH = 200;
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final ExportJobRepository exportJobRepository;
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final ExportService pdfExportService;
+    private final ExportService excelExportService;
+    private final ExportFileStore fileStore;
+    private final ExportBulkhead bulkhead;
+    private final ExportJobMapper exportJobMapper;
+    private final MessageUtil messageUtil;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${export.jobs.pool-size:2}")
+    private int poolSize;
+
+    @Value("${export.jobs.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${export.jobs.result-ttl:PT24H}")
+    private Duration resultTtl;
+
+    private final Map<UUID, RunningJob> running = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    public ExportJobServiceImpl(
+            ExportJobRepository exportJobRepository,
+            AttendanceRecordRepository attendanceRecordRepository,
+            LeaveRequestRepository leaveRequestRepository,
+            @Qualifier("pdfExportService") ExportService pdfExportService,
+            @Qualifier("excelExportService") ExportService excelExportService,
+            ExportFileStore fileStore,
+            ExportBulkhead bulkhead,
+            ExportJobMapper exportJobMapper,
+            MessageUtil messageUtil,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.exportJobRepository = exportJobRepository;
+        this.attendanceRecordRepository = attendanceRecordRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.pdfExportService = pdfExportService;
+        this.excelExportService = excelExportService;
+        this.fileStore = fileStore;
+        this.bulkhead = bulkhead;
+        this.exportJobMapper = exportJobMapper;
+        this.messageUtil = messageUtil;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        // Private pool rather than a shared executor bean: exports must not starve other async work
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("export-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("export.jobs.queue.depth", executor, e -> e.getQueue().size())
+                .description("Export jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("export.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Export jobs currently running")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running.values().forEach(job -> job.cancelled = true);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Jobs that were queued or running when the previous instance stopped can never finish.
+     * Assumes a single application node owns the export_jobs table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failOrphanedJobs() {
+        String reason = messageUtil.get("export.job.error.interrupted");
+        Integer failed = transactionTemplate.execute(status -> exportJobRepository.failInFlight(reason, Instant.now()));
+        if (failed != null && failed > 0) {
+            log.warn("[ExportJobs] Marked {} orphaned export jobs as failed", failed);
+        }
+    }
+
+    @Override
+    public ExportJobResponse submit(ExportJobRequest request, User requestedBy) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("export.error.invalid.range");
+        }
+        // Headers and messages are rendered in the request locale, so it is part of the identity
+        Locale locale = LocaleContextHolder.getLocale();
+        String dedupKey = dedupKey(request, requestedBy.getId(), locale);
+        ExportJob existing = exportJobRepository.findInFlightByDedupKey(dedupKey).orElse(null);
+        if (existing != null) {
+            meterRegistry.counter("export.jobs.deduplicated").increment();
+            return toResponse(existing);
+        }
+
+        ExportJob job = ExportJob.builder()
+                .requestedById(requestedBy.getId())
+                .userId(request.getUserId())
+                .format(request.getFormat().name())
+                .exportType(request.getExportType().name())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .status(QUEUED)
+                .progress(0)
+                .dedupKey(dedupKey)
+                .createdAt(Instant.now())
+                .build();
+        try {
+            // Committed before the worker can pick the job up
+            job = exportJobRepository.saveAndFlush(job);
+        } catch (DataIntegrityViolationException ex) {
+            // An identical request won the race on the in-flight unique index
+            meterRegistry.counter("export.jobs.deduplicated").increment();
+            return exportJobRepository.findInFlightByDedupKey(dedupKey)
+                    .map(this::toResponse)
+                    .orElseThrow(() -> ex);
+        }
+
+        ExportRequest exportRequest = new ExportRequest();
+        exportRequest.setUserId(request.getUserId());
+        exportRequest.setStartDate(request.getStartDate());
+        exportRequest.setEndDate(request.getEndDate());
+        exportRequest.setExportType(request.getExportType());
+        exportRequest.setRequestedBy(requestedBy);
+
+        RunningJob handle = new RunningJob(job.getId(), request.getFormat(), locale);
+        running.put(job.getId(), handle);
+        try {
+            handle.future = executor.submit(() -> run(handle, exportRequest));
+        } catch (RejectedExecutionException ex) {
+            running.remove(job.getId());
+            String message = messageUtil.get("export.error.queue.full");
+            finish(job.getId(), FAILED, message);
+            meterRegistry.counter("export.jobs.rejected").increment();
+            throw new ExportException(message);
+        }
+        return toResponse(job);
+    }
+
+    @Override
+    public ExportJobResponse getJob(UUID jobId, CustomUserDetails principal) {
+        return toResponse(findAccessible(jobId, principal));
+    }
+
+    @Override
+    public ExportJobResponse cancel(UUID jobId, CustomUserDetails principal) {
+        ExportJob job = findAccessible(jobId, principal);
+        RunningJob handle = running.get(jobId);
+        if (handle != null) {
+            handle.cancelled = true;
+        }
+        if (!finish(jobId, CANCELLED, null)) {
+            throw new ExportJobStateException("export.job.error.not.cancellable");
+        }
+        if (handle != null && handle.future != null) {
+            // Interrupts a running export; a queued one never starts, so nothing else will release its handle
+            handle.future.cancel(true);
+            if (!handle.started) {
+                running.remove(jobId);
+            }
+        }
+        return toResponse(exportJobRepository.findById(jobId).orElse(job));
+    }
+
+    @Override
+    public Resource openResult(UUID jobId, CustomUserDetails principal) {
+        ExportJob job = findAccessible(jobId, principal);
+        if (!COMPLETED.equals(job.getStatus()) || !fileStore.exists(job.getFilePath())) {
+            throw new ExportJobStateException("export.job.error.not.ready");
+        }
+        return new FileSystemResource(fileStore.resolveStored(job.getFilePath()));
+    }
+
+    /**
+     * Writes in-memory progress of running jobs to the table for status polling from other nodes.
+     */
+    @Scheduled(fixedDelayString = "${export.jobs.progress-flush-ms:2000}")
+    public void flushProgress() {
+        for (RunningJob handle : running.values()) {
+            int progress = handle.progress();
+            if (progress > handle.flushedProgress) {
+                transactionTemplate.executeWithoutResult(status ->
+                        exportJobRepository.updateProgress(handle.jobId, progress));
+                handle.flushedProgress = progress;
+            }
+        }
+    }
+
+    /**
+     * Deletes result files of expired jobs and marks them EXPIRED.
+     */
+    @Scheduled(fixedDelayString = "${export.jobs.cleanup-ms:300000}")
+    public void removeExpired() {
+        List<ExportJob> expired;
+        do {
+            expired = exportJobRepository.findExpired(Instant.now(), PageRequest.of(0, CLEANUP_BATCH));
+            for (ExportJob job : expired) {
+                if (job.getFilePath() != null) {
+                    fileStore.deleteQuietly(fileStore.resolveStored(job.getFilePath()));
+                }
+                job.setStatus(EXPIRED);
+                job.setFilePath(null);
+            }
+            exportJobRepository.saveAll(expired);
+            if (!expired.isEmpty()) {
+                log.info("[ExportJobs] Expired {} export jobs", expired.size());
+            }
+        } while (expired.size() == CLEANUP_BATCH);
+    }
+
+    private void run(RunningJob handle, ExportRequest request) {
+        handle.started = true;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocaleContextHolder.setLocale(handle.locale);
+        Path target = fileStore.pathFor(handle.jobId, handle.format.getExtension());
+        Path partial = fileStore.partialPathFor(target);
+        String outcome = FAILED;
+        try {
+            if (handle.cancelled || !transition(handle.jobId)) {
+                outcome = CANCELLED;
+                return;
+            }
+            handle.totalRows = countRows(request);
+            request.setProgressListener(rows -> {
+                if (handle.cancelled || Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException();
+                }
+                handle.writtenRows.addAndGet(rows);
+            });
+
+            // Shares the per-format generation slots with synchronous exports
+            try (ExportBulkhead.Permit permit = bulkhead.acquireInterruptibly(handle.format);
+                 OutputStream out = fileStore.openForWrite(partial)) {
+                if (handle.format == ExportFormat.EXCEL) {
+                    excelExportService.exportToExcel(request, out);
+                } else {
+                    pdfExportService.exportToPdf(request, out);
+                }
+            }
+            if (handle.cancelled) {
+                throw new CancellationException();
+            }
+
+            long size = fileStore.commit(partial, target);
+            Instant now = Instant.now();
+            Integer updated = transactionTemplate.execute(status -> exportJobRepository.markCompleted(
+                    handle.jobId, target.toString(), size, now, now.plus(resultTtl)));
+            if (updated != null && updated > 0) {
+                outcome = COMPLETED;
+            } else {
+                // Cancelled between the last check and the update
+                fileStore.deleteQuietly(target);
+                outcome = CANCELLED;
+            }
+        } catch (CancellationException ex) {
+            outcome = CANCELLED;
+            finish(handle.jobId, CANCELLED, null);
+        } catch (Exception ex) {
+            if (handle.cancelled) {
+                outcome = CANCELLED;
+            } else {
+                log.error("[ExportJobs] Export job {} failed", handle.jobId, ex);
+                finish(handle.jobId, FAILED, truncate(ex.getMessage()));
+            }
+        } finally {
+            fileStore.deleteQuietly(partial);
+            running.remove(handle.jobId);
+            LocaleContextHolder.resetLocaleContext();
+            sample.stop(meterRegistry.timer("export.jobs.duration",
+                    "format", handle.format.name(), "status", outcome));
+            meterRegistry.counter("export.jobs.completed",
+                    "format", handle.format.name(), "status", outcome).increment();
+        }
+    }
+
+    private boolean transition(UUID jobId) {
+        Integer updated = transactionTemplate.execute(status -> exportJobRepository.markRunning(jobId, Instant.now()));
+        return updated != null && updated > 0;
+    }
+
+    /**
+     * Moves an in-flight job to a terminal state.
+     *
+     * @return false if the job had already left QUEUED/RUNNING
+     */
+    private boolean finish(UUID jobId, String status, String errorMessage) {
+        Instant now = Instant.now();
+        Integer updated = transactionTemplate.execute(tx ->
+                exportJobRepository.markFinished(jobId, status, errorMessage, now, now.plus(resultTtl)));
+        return updated != null && updated > 0;
+    }
+
+    private long countRows(ExportRequest request) {
+        long total = 0;
+        ExportRequest.ExportType type = request.getExportType();
+        if (type == ExportRequest.ExportType.ATTENDANCE || type == ExportRequest.ExportType.ALL) {
+            total += attendanceRecordRepository.countExportRows(
+                    request.getUserId(), request.getStartDate(), request.getEndDate());
+        }
+        if (type == ExportRequest.ExportType.LEAVE_REQUESTS || type == ExportRequest.ExportType.ALL) {
+            total += leaveRequestRepository.countExportRows(
+                    request.getUserId(), request.getStartDate(), request.getEndDate());
+        }
+        return total;
+    }
+
+    private ExportJob findAccessible(UUID jobId, CustomUserDetails principal) {
+        ExportJob job = exportJobRepository.findById(jobId)
+                .orElseThrow(() -> new NotFoundException("error.export.job.not.found"));
+        // Other users' jobs are reported as missing rather than forbidden
+        if (!job.getRequestedById().equals(principal.getId()) && !principal.getRoleNames().contains("ADMIN")) {
+            throw new NotFoundException("error.export.job.not.found");
+        }
+        return job;
+    }
+
+    private ExportJobResponse toResponse(ExportJob job) {
+        ExportJobResponse response = exportJobMapper.toResponse(job);
+        RunningJob handle = running.get(job.getId());
+        if (handle != null && RUNNING.equals(job.getStatus())) {
+            response.setProgress(Math.max(response.getProgress(), handle.progress()));
+        }
+        return response;
+    }
+
+    private static String dedupKey(ExportJobRequest request, UUID requesterId, Locale locale) {
+        String key = String.join("|", requesterId.toString(), request.getFormat().name(),
+                request.getExportType().name(), request.getUserId().toString(),
+                request.getStartDate().toString(), request.getEndDate().toString(), locale.toLanguageTag());
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static final class RunningJob {
+        private final UUID jobId;
+        private final ExportFormat format;
+        private final Locale locale;
+        private final AtomicLong writtenRows = new AtomicLong();
+        private volatile long totalRows;
+        private volatile boolean cancelled;
+        private volatile boolean started;
+        private volatile Future<?> future;
+        private int flushedProgress;
+
+        RunningJob(UUID jobId, ExportFormat format, Locale locale) {
+            this.jobId = jobId;
+            this.format = format;
+            this.locale = locale;
+        }
+
+        // Capped below 100 until the file is stored
+        int progress() {
+            long total = totalRows;
+            if (total <= 0) {
+                return 0;
+            }
+            return (int) Math.min(99, writtenRows.get() * 100 / total);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.uros.timesheet.attendance.service.impl;
+
+import com.uros.timesheet.attendance.domain.OrganizationHoliday;
+import com.uros.timesheet.attendance.dto.organization.HolidayRequest;
+import com.uros.timesheet.attendance.dto.organization.HolidayResponse;
+import com.uros.timesheet.attendance.exception.NotFoundException;
+import com.uros.timesheet.attendance.i18n.MessageUtil;
+import com.uros.timesheet.attendance.payroll.PayrollPeriodLock;
+import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
+import com.uros.timesheet.attendance.repository.OrganizationHolidayRepository;
+import com.uros.timesheet.attendance.repository.OrganizationRepository;
+import com.uros.timesheet.attendance.service.HolidayService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class HolidayServiceImpl implements HolidayService {
+
+    private final OrganizationHolidayRepository holidayRepository;
+    private final OrganizationRepository organizationRepository;
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final MessageUtil messageUtil;
+    private final PayrollPeriodLock payrollPeriodLock;
+
+    @Override
+    public List<HolidayResponse> getHolidays(UUID organizationId, int year) {
+        requireOrganization(organizationId);
+        return holidayRepository.findBetween(organizationId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))
+                .stream()
+                .map(HolidayServiceImpl::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public HolidayResponse putHoliday(UUID organizationId, LocalDate date, HolidayRequest request) {
+        requireOrganization(organizationId);
+        // A holiday re-splits overtime of the week, which must not change in a closed period
+        payrollPeriodLock.checkOpen(organizationId, date);
+        OrganizationHoliday holiday = holidayRepository.findByOrganizationIdAndDate(organizationId, date)
+                .orElseGet(() -> OrganizationHoliday.builder().organizationId(organizationId).date(date).build());
+        holiday.setName(request.getName());
+        holidayRepository.save(holiday);
+        clearWeek(organizationId, date);
+        return toResponse(holiday);
+    }
+
+    @Override
+    @Transactional
+    public void deleteHoliday(UUID organizationId, LocalDate date) {
+        OrganizationHoliday holiday = holidayRepository.findByOrganizationIdAndDate(organizationId, date)
+                .orElseThrow(() -> new NotFoundException("error.holiday.not.found"));
+        payrollPeriodLock.checkOpen(organizationId, date);
+        holidayRepository.delete(holiday);
+        clearWeek(organizationId, date);
+    }
+
+    // The overtime recompute job splits the week again with the changed holidays
+    private void clearWeek(UUID organizationId, LocalDate date) {
+        LocalDate monday = date.with(DayOfWeek.MONDAY);
+        attendanceRecordRepository.clearOvertime(organizationId, monday, monday.plusDays(6));
+    }
+
+    private void requireOrganization(UUID organizationId) {
+        if (!organizationRepository.existsById(organizationId)) {
+            throw new IllegalArgumentException(messageUtil.get("error.organization.not.found"));
+        }
+    }
+
+    private static HolidayResponse toResponse(OrganizationHoliday holiday) {
+        return new HolidayResponse(holiday.getOrganizationId(), holiday.getDate(), holiday.getName());
+    }
+}
@@ -0,0 +1,60 @@
+package com.uros.timesheet.attendance.service.impl;
+
+import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.dto.leave.LeaveBalanceRebuildResponse;
+import com.uros.timesheet.attendance.dto.leave.LeaveBalanceResponse;
+import com.uros.timesheet.attendance.exception.NotFoundException;
+import com.uros.timesheet.attendance.i18n.MessageUtil;
+import com.uros.timesheet.attendance.leave.LeaveBalanceProperties;
+import com.uros.timesheet.attendance.leave.LeaveBalanceRebuildJob;
+import com.uros.timesheet.attendance.leave.LeaveLedger;
+import com.uros.timesheet.attendance.repository.UserRepository;
+import com.uros.timesheet.attendance.repository.leave.LeaveBalance;
+import com.uros.timesheet.attendance.repository.leave.LeaveLedgerRepository;
+import com.uros.timesheet.attendance.service.LeaveBalanceService;
+import com.uros.timesheet.attendance.util.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class LeaveBalanceServiceImpl implements LeaveBalanceService {
+
+    private final LeaveLedgerRepository ledgerRepository;
+    private final LeaveLedger leaveLedger;
+    private final LeaveBalanceRebuildJob rebuildJob;
+    private final LeaveBalanceProperties properties;
+    private final UserRepository userRepository;
+    private final MessageUtil messageUtil;
+
+    @Override
+    public LeaveBalanceResponse getBalance(UUID userId, String type, Integer year) {
+        if (!properties.isTracked(type)) {
+            throw new IllegalArgumentException(messageUtil.get("error.leave.balance.type"));
+        }
+        int balanceYear = year != null ? year : LocalDate.now(ZoneOffset.UTC).getYear();
+        // One row once anything was booked; the user is only needed for the entitlement before that
+        LeaveBalance balance = ledgerRepository.findBalance(userId, type, balanceYear)
+                .orElseGet(() -> {
+                    User user = userRepository.findById(userId)
+                            .orElseThrow(() -> new NotFoundException("error.user.not.found"));
+                    return leaveLedger.balance(userId, user.getOrganization().getId(), type, balanceYear);
+                });
+        return new LeaveBalanceResponse(userId, type, balanceYear,
+                balance.entitled(), balance.consumed(), balance.remaining());
+    }
+
+    @Override
+    public LeaveBalanceRebuildResponse rebuildCurrentTenant(int year) {
+        String tenantId = TenantContext.getTenantId();
+        if (tenantId == null) {
+            throw new IllegalStateException(messageUtil.get("error.tenant.not.set"));
+        }
+        UUID organizationId = UUID.fromString(tenantId);
+        return new LeaveBalanceRebuildResponse(organizationId, year, rebuildJob.rebuild(organizationId, year));
+    }
+}
@@ -9,6 +9,7 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -70,8 +71,18 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
         return queryHandler.getByUser(userId);
     }
 
+    @Override
+    public List<LeaveRequestResponse> getRequestsForUser(UUID userId, LocalDate from, LocalDate to) {
+        return queryHandler.getByUser(userId, from, to);
+    }
+
     @Override
     public List<LeaveRequestResponse> getRequestsForCurrentTenant() {
         return queryHandler.getByTenant();
     }
+
+    @Override
+    public List<LeaveRequestResponse> getRequestsForCurrentTenant(LocalDate from, LocalDate to, UUID teamId) {
+        return queryHandler.getByTenant(from, to, teamId);
+    }
 }
\ No newline at end of file
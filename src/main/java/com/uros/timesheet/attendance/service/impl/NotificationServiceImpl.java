@@ -4,10 +4,14 @@ import com.uros.timesheet.attendance.domain.Notification;
 import com.uros.timesheet.attendance.domain.User;
 import com.uros.timesheet.attendance.dto.notification.NotificationCreateRequest;
 import com.uros.timesheet.attendance.dto.notification.NotificationResponse;
+import com.uros.timesheet.attendance.dto.notification.UnreadCountResponse;
+import com.uros.timesheet.attendance.event.DomainEventPublisher;
+import com.uros.timesheet.attendance.event.NotificationCreatedEvent;
 import com.uros.timesheet.attendance.i18n.MessageUtil;
 import com.uros.timesheet.attendance.mapper.NotificationMapper;
 import com.uros.timesheet.attendance.notification.NotificationChannel;
 import com.uros.timesheet.attendance.notification.NotificationChannelRegistry;
+import com.uros.timesheet.attendance.notification.UnreadNotificationCounter;
 import com.uros.timesheet.attendance.repository.NotificationRepository;
 import com.uros.timesheet.attendance.repository.UserRepository;
 import com.uros.timesheet.attendance.service.NotificationService;
@@ -35,6 +39,8 @@ public class NotificationServiceImpl implements NotificationService {
     private final MessageUtil messageUtil;
     private final NotificationChannelRegistry notificationChannelRegistry;
     private final NotificationMetricHelper notificationMetricHelper;
+    private final DomainEventPublisher eventPublisher;
+    private final UnreadNotificationCounter unreadNotificationCounter;
 
     @Override
     @Transactional
@@ -72,7 +78,11 @@ public class NotificationServiceImpl implements NotificationService {
         notification.setSentAt(sentSuccessfully ? Instant.now() : null);
         notificationRepository.save(notification);
 
-        return notificationMapper.toResponse(notification);
+        NotificationResponse response = notificationMapper.toResponse(notification);
+        // Pushed to open SSE streams after commit, see NotificationStreamRegistry
+        eventPublisher.publish(new NotificationCreatedEvent(this, recipient.getId(), response));
+        unreadNotificationCounter.add(recipient.getId(), 1);
+        return response;
     }
 
     @Override
@@ -93,4 +103,27 @@ public class NotificationServiceImpl implements NotificationService {
         Page<Notification> page = notificationRepository.findByRecipientId(recipientId, pageable);
         return page.map(notificationMapper::toResponse);
     }
-}
\ No newline at end of file
+
+    @Override
+    public UnreadCountResponse getUnreadCount(UUID recipientId) {
+        return new UnreadCountResponse(unreadNotificationCounter.get(recipientId));
+    }
+
+    @Override
+    @Transactional
+    public UnreadCountResponse markRead(UUID recipientId, List<UUID> ids, boolean all) {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        if (all == hasIds) {
+            throw new IllegalArgumentException(messageUtil.get("error.notification.read.selection"));
+        }
+        Instant now = Instant.now();
+        if (all) {
+            notificationRepository.markAllRead(recipientId, now);
+            unreadNotificationCounter.set(recipientId, 0);
+        } else {
+            int updated = notificationRepository.markReadByIds(recipientId, ids, now);
+            unreadNotificationCounter.add(recipientId, -updated);
+        }
+        return new UnreadCountResponse(unreadNotificationCounter.get(recipientId));
+    }
+}
@@ -0,0 +1,64 @@
+package com.uros.timesheet.attendance.service.impl;
+
+import com.uros.timesheet.attendance.dto.payroll.PayrollPeriodResponse;
+import com.uros.timesheet.attendance.i18n.MessageUtil;
+import com.uros.timesheet.attendance.overtime.OvertimeEngine;
+import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriod;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriodRepository;
+import com.uros.timesheet.attendance.service.PayrollPeriodService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayrollPeriodServiceImpl implements PayrollPeriodService {
+
+    private final PayrollPeriodRepository payrollPeriodRepository;
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final OvertimeEngine overtimeEngine;
+    private final MessageUtil messageUtil;
+
+    @Override
+    @Transactional
+    public PayrollPeriodResponse closePeriod(UUID organizationId, LocalDate from, LocalDate to, UUID closedById) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException(messageUtil.get("error.payroll.period.range"));
+        }
+        // Waits for running transitions of the organization; later ones see the period closed
+        payrollPeriodRepository.lockForClose(organizationId);
+        if (payrollPeriodRepository.overlapsClosed(organizationId, from, to)) {
+            throw new IllegalArgumentException(messageUtil.get("error.payroll.period.overlap"));
+        }
+
+        // Approved records still waiting for the overtime job would otherwise count as neither
+        overtimeEngine.recomputePending(organizationId, from, to);
+        attendanceRecordRepository.flush();
+
+        PayrollPeriod period = new PayrollPeriod(UUID.randomUUID(), organizationId, from, to, Instant.now(), closedById);
+        payrollPeriodRepository.insert(period);
+        int users = payrollPeriodRepository.snapshot(period.id());
+        log.info("[Payroll] Closed {}..{} of organization {} with totals of {} users", from, to, organizationId, users);
+        return toResponse(period);
+    }
+
+    @Override
+    public List<PayrollPeriodResponse> getClosedPeriods(UUID organizationId) {
+        return payrollPeriodRepository.findByOrganization(organizationId).stream()
+                .map(PayrollPeriodServiceImpl::toResponse)
+                .toList();
+    }
+
+    private static PayrollPeriodResponse toResponse(PayrollPeriod period) {
+        return new PayrollPeriodResponse(period.id(), period.organizationId(), period.periodStart(),
+                period.periodEnd(), period.closedAt(), period.closedById());
+    }
+}
@@ -1,10 +1,10 @@
 package com.uros.timesheet.attendance.service.impl;
 
-import com.uros.timesheet.attendance.domain.AttendanceRecord;
-import com.uros.timesheet.attendance.domain.LeaveRequest;
+import com.uros.timesheet.attendance.dto.export.AttendanceExportRow;
 import com.uros.timesheet.attendance.dto.export.AttendanceRecordExportDto;
 import com.uros.timesheet.attendance.dto.export.ExportRequest;
 import com.uros.timesheet.attendance.dto.export.LeaveRequestExportDto;
+import com.uros.timesheet.attendance.dto.export.LeaveRequestExportRow;
 import com.uros.timesheet.attendance.exception.ExportException;
 import com.uros.timesheet.attendance.i18n.MessageUtil;
 import com.uros.timesheet.attendance.mapper.AttendanceRecordExportMapper;
@@ -13,21 +13,33 @@ import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
 import com.uros.timesheet.attendance.repository.LeaveRequestRepository;
 import com.uros.timesheet.attendance.repository.UserRepository;
 import com.uros.timesheet.attendance.service.ExportService;
+import com.uros.timesheet.attendance.service.helper.PdfFontProvider;
+import com.uros.timesheet.attendance.service.helper.PdfTableRenderer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
-
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * PDF exports rendered as paginated tables.
+ * <p>
+ * Rows are streamed from the database straight into page content streams of a
+ * document whose buffers live in a scratch file ({@code MemoryUsageSetting.setupTempFileOnly}),
+ * so heap use stays flat regardless of page count.
+ */
 @Service("pdfExportService")
 @RequiredArgsConstructor
 @Slf4j
@@ -39,152 +51,128 @@ public class PdfExportServiceImpl implements ExportService {
     private final MessageUtil messageUtil;
     private final AttendanceRecordExportMapper attendanceMapper;
     private final LeaveRequestExportMapper leaveMapper;
+    private final PdfFontProvider pdfFontProvider;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-    private static final float MARGIN = 50;
-    private static final float LINE_HEIGHT = 15;
-
+    // A4 portrait minus margins leaves 495pt
+    private static final float[] ATTENDANCE_COLUMN_WIDTHS = {60, 45, 45, 70, 70, 205};
+    private static final float[] LEAVE_COLUMN_WIDTHS = {60, 60, 70, 70, 90, 145};
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    /**
+     * Builds the whole file in memory. Kept for small in-process consumers;
+     * HTTP downloads use {@link #exportToPdf(ExportRequest, OutputStream)}.
+     */
     @Override
+    @Transactional(readOnly = true)
     public Resource exportToPdf(ExportRequest request) throws ExportException {
-        try (PDDocument document = new PDDocument()) {
-            PDPage page = new PDPage();
-            document.addPage(page);
-
-            float yPosition = page.getMediaBox().getHeight() - MARGIN;
-            PDPageContentStream contentStream = new PDPageContentStream(document, page);
-
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(MARGIN, yPosition);
-            contentStream.showText(messageUtil.get("export.title",
-                    userRepository.findById(request.getUserId())
-                            .orElseThrow(() -> new ExportException(messageUtil.get("error.user.not.found")))
-                            .getFullName()));
-            contentStream.endText();
-            yPosition -= LINE_HEIGHT * 2;
-
-            contentStream.setFont(PDType1Font.HELVETICA, 10);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(MARGIN, yPosition);
-            contentStream.showText(messageUtil.get("export.period",
-                    request.getStartDate().format(DATE_FORMATTER),
-                    request.getEndDate().format(DATE_FORMATTER)));
-            contentStream.endText();
-            yPosition -= LINE_HEIGHT * 2;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportToPdf(request, out);
+        return new ByteArrayResource(out.toByteArray());
+    }
 
-            switch (request.getExportType()) {
-                case ATTENDANCE:
-                    yPosition = exportAttendanceRecords(document, contentStream, request, yPosition);
-                    break;
-                case LEAVE_REQUESTS:
-                    exportLeaveRequests(document, contentStream, request, yPosition);
-                    break;
-                case ALL:
-                    yPosition = exportAttendanceRecords(document, contentStream, request, yPosition);
-                    yPosition -= LINE_HEIGHT;
-                    exportLeaveRequests(document, contentStream, request, yPosition);
-                    break;
+    @Override
+    @Transactional(readOnly = true)
+    public void exportToPdf(ExportRequest request, OutputStream out) throws ExportException {
+        String fullName = userRepository.findById(request.getUserId())
+                .orElseThrow(() -> new ExportException(messageUtil.get("error.user.not.found")))
+                .getFullName();
+        String footer = messageUtil.get("export.generated.by",
+                request.getRequestedBy().getFullName(), LocalDate.now().format(DATE_FORMATTER));
+
+        try (PDDocument document = new PDDocument(MemoryUsageSetting.setupTempFileOnly())) {
+            try (PdfTableRenderer renderer = new PdfTableRenderer(document, pdfFontProvider.load(document), footer)) {
+                renderer.title(messageUtil.get("export.title", fullName));
+                renderer.line(messageUtil.get("export.period",
+                        request.getStartDate().format(DATE_FORMATTER),
+                        request.getEndDate().format(DATE_FORMATTER)));
+                renderer.gap();
+
+                switch (request.getExportType()) {
+                    case ATTENDANCE:
+                        writeAttendance(renderer, request);
+                        break;
+                    case LEAVE_REQUESTS:
+                        writeLeaveRequests(renderer, request);
+                        break;
+                    case ALL:
+                        writeAttendance(renderer, request);
+                        renderer.gap();
+                        writeLeaveRequests(renderer, request);
+                        break;
+                    default:
+                        throw new ExportException(messageUtil.get("export.error.invalid.type"));
+                }
             }
-
-            contentStream.setFont(PDType1Font.HELVETICA_OBLIQUE, 8);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(MARGIN, MARGIN);
-            contentStream.showText(messageUtil.get("export.generated.by",
-                    request.getRequestedBy().getFullName(),
-                    java.time.LocalDate.now().format(DATE_FORMATTER)));
-            contentStream.endText();
-
-            contentStream.close();
-
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
             document.save(out);
-            return new ByteArrayResource(out.toByteArray());
-
-        } catch (IOException e) {
+            out.flush();
+        } catch (IOException | UncheckedIOException e) {
             log.error("PDF export failed", e);
             throw new ExportException(messageUtil.get("export.error.pdf.generation"));
         }
     }
 
-    private float exportAttendanceRecords(PDDocument document, PDPageContentStream contentStream, ExportRequest request, float yPosition) throws IOException {
-        List<AttendanceRecord> records = attendanceRecordRepository.findByUserIdAndDateBetween(
-                request.getUserId(), request.getStartDate(), request.getEndDate());
-        List<AttendanceRecordExportDto> dtoList = attendanceMapper.toDtoList(records);
-
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(MARGIN, yPosition);
-        contentStream.showText(messageUtil.get("export.section.attendance"));
-        contentStream.endText();
-        yPosition -= LINE_HEIGHT;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 9);
-
-        for (AttendanceRecordExportDto dto : dtoList) {
-            if (yPosition < MARGIN) {
-                contentStream.close();
-                PDPage newPage = new PDPage();
-                document.addPage(newPage);
-                contentStream = new PDPageContentStream(document, newPage);
-                yPosition = newPage.getMediaBox().getHeight() - MARGIN;
-                contentStream.setFont(PDType1Font.HELVETICA, 9);
+    private void writeAttendance(PdfTableRenderer renderer, ExportRequest request) throws IOException {
+        renderer.startTable(messageUtil.get("export.section.attendance"), new String[]{
+                messageUtil.get("export.column.date"),
+                messageUtil.get("export.column.start"),
+                messageUtil.get("export.column.end"),
+                messageUtil.get("export.column.type"),
+                messageUtil.get("export.column.status"),
+                messageUtil.get("export.column.notes")
+        }, ATTENDANCE_COLUMN_WIDTHS);
+
+        int written = 0;
+        try (Stream<AttendanceExportRow> rows = attendanceRecordRepository.streamExportRows(
+                request.getUserId(), request.getStartDate(), request.getEndDate())) {
+            Iterator<AttendanceExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                AttendanceRecordExportDto dto = attendanceMapper.toDto(iterator.next());
+                renderer.row(dto.getDate(), dto.getStartTime(), dto.getEndTime(),
+                        dto.getType(), dto.getStatus(), dto.getNotes());
+                if (++written % PROGRESS_INTERVAL == 0) {
+                    request.reportProgress(PROGRESS_INTERVAL);
+                }
             }
-            String recordText = String.format("%s: %s - %s (%s) - %s",
-                    dto.getDate(),
-                    dto.getStartTime(),
-                    dto.getEndTime(),
-                    dto.getType(),
-                    dto.getStatus());
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(MARGIN, yPosition);
-            contentStream.showText(recordText);
-            contentStream.endText();
-            yPosition -= LINE_HEIGHT;
         }
-        return yPosition;
+        request.reportProgress(written % PROGRESS_INTERVAL);
+        renderer.endTable();
     }
 
-    private void exportLeaveRequests(PDDocument document, PDPageContentStream contentStream, ExportRequest request, float yPosition) throws IOException {
-        List<LeaveRequest> requests = leaveRequestRepository.findByUserIdAndStartDateBetween(
-                request.getUserId(), request.getStartDate(), request.getEndDate());
-        List<LeaveRequestExportDto> dtoList = leaveMapper.toDtoList(requests);
-
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(MARGIN, yPosition);
-        contentStream.showText(messageUtil.get("export.section.leave"));
-        contentStream.endText();
-        yPosition -= LINE_HEIGHT;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 9);
-
-        for (LeaveRequestExportDto dto : dtoList) {
-            if (yPosition < MARGIN) {
-                contentStream.close();
-                PDPage newPage = new PDPage();
-                document.addPage(newPage);
-                contentStream = new PDPageContentStream(document, newPage);
-                yPosition = newPage.getMediaBox().getHeight() - MARGIN;
-                contentStream.setFont(PDType1Font.HELVETICA, 9);
+    private void writeLeaveRequests(PdfTableRenderer renderer, ExportRequest request) throws IOException {
+        renderer.startTable(messageUtil.get("export.section.leave"), new String[]{
+                messageUtil.get("export.column.start.date"),
+                messageUtil.get("export.column.end.date"),
+                messageUtil.get("export.column.type"),
+                messageUtil.get("export.column.status"),
+                messageUtil.get("export.column.approved.by"),
+                messageUtil.get("export.column.notes")
+        }, LEAVE_COLUMN_WIDTHS);
+
+        int written = 0;
+        try (Stream<LeaveRequestExportRow> rows = leaveRequestRepository.streamExportRows(
+                request.getUserId(), request.getStartDate(), request.getEndDate())) {
+            Iterator<LeaveRequestExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                LeaveRequestExportDto dto = leaveMapper.toDto(iterator.next());
+                renderer.row(dto.getStartDate(), dto.getEndDate(), dto.getType(),
+                        dto.getStatus(), dto.getApprover(), dto.getNotes());
+                if (++written % PROGRESS_INTERVAL == 0) {
+                    request.reportProgress(PROGRESS_INTERVAL);
+                }
             }
-            String leaveText = String.format("%s - %s: %s (%s) - %s",
-                    dto.getStartDate(),
-                    dto.getEndDate(),
-                    dto.getType(),
-                    dto.getNotes(),
-                    dto.getStatus());
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(MARGIN, yPosition);
-            contentStream.showText(leaveText);
-            contentStream.endText();
-            yPosition -= LINE_HEIGHT;
         }
+        request.reportProgress(written % PROGRESS_INTERVAL);
+        renderer.endTable();
     }
 
     @Override
     public Resource exportToExcel(ExportRequest request) throws ExportException {
         throw new UnsupportedOperationException(messageUtil.get("export.error.excel.not.implemented"));
     }
-}
\ No newline at end of file
+
+    @Override
+    public void exportToExcel(ExportRequest request, OutputStream out) throws ExportException {
+        throw new UnsupportedOperationException(messageUtil.get("export.error.excel.not.implemented"));
+    }
+}
@@ -0,0 +1,426 @@
+package com.uros.timesheet.attendance.service.impl;
+
+import com.uros.timesheet.attendance.domain.Role;
+import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.dto.export.AttendanceExportRow;
+import com.uros.timesheet.attendance.dto.export.AttendanceRecordExportDto;
+import com.uros.timesheet.attendance.dto.export.ExportFormat;
+import com.uros.timesheet.attendance.dto.export.ExportRequest;
+import com.uros.timesheet.attendance.dto.export.ExportSubject;
+import com.uros.timesheet.attendance.dto.export.LeaveRequestExportDto;
+import com.uros.timesheet.attendance.dto.export.LeaveRequestExportRow;
+import com.uros.timesheet.attendance.dto.export.ScopedExportRequest;
+import com.uros.timesheet.attendance.exception.ExportException;
+import com.uros.timesheet.attendance.exception.NotFoundException;
+import com.uros.timesheet.attendance.i18n.MessageUtil;
+import com.uros.timesheet.attendance.mapper.AttendanceRecordExportMapper;
+import com.uros.timesheet.attendance.mapper.LeaveRequestExportMapper;
+import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
+import com.uros.timesheet.attendance.repository.LeaveRequestRepository;
+import com.uros.timesheet.attendance.repository.UserRepository;
+import com.uros.timesheet.attendance.service.ExportService;
+import com.uros.timesheet.attendance.service.ScopedExportService;
+import com.uros.timesheet.attendance.service.helper.ExcelStreamingHelper;
+import com.uros.timesheet.attendance.service.helper.ParallelExportExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports every user of a team or organization in one file.
+ * <p>
+ * Users are processed in parallel by {@link ParallelExportExecutor}, each in its own
+ * read-only transaction, and merged in name order on the calling thread: sheets of one
+ * streaming workbook (EXCEL), per-user PDFs merged through scratch files (PDF), or
+ * per-user files in a ZIP archive (ZIP, BUNDLE). Archive entries are generated into
+ * scratch files by the workers and copied into the response one at a time, so no entry
+ * is ever held in memory.
+ */
+@Slf4j
+@Service
+public class ScopedExportServiceImpl implements ScopedExportService {
+
+    private static final int[] COLUMN_WIDTHS = {12, 12, 12, 12, 25, 50};
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    private final UserRepository userRepository;
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final AttendanceRecordExportMapper attendanceMapper;
+    private final LeaveRequestExportMapper leaveMapper;
+    private final ExportService pdfExportService;
+    private final ExportService excelExportService;
+    private final ExcelStreamingHelper excelStreamingHelper;
+    private final ParallelExportExecutor parallelExportExecutor;
+    private final MessageUtil messageUtil;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ScopedExportServiceImpl(
+            UserRepository userRepository,
+            AttendanceRecordRepository attendanceRecordRepository,
+            LeaveRequestRepository leaveRequestRepository,
+            AttendanceRecordExportMapper attendanceMapper,
+            LeaveRequestExportMapper leaveMapper,
+            @Qualifier("pdfExportService") ExportService pdfExportService,
+            @Qualifier("excelExportService") ExportService excelExportService,
+            ExcelStreamingHelper excelStreamingHelper,
+            ParallelExportExecutor parallelExportExecutor,
+            MessageUtil messageUtil,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.userRepository = userRepository;
+        this.attendanceRecordRepository = attendanceRecordRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.attendanceMapper = attendanceMapper;
+        this.leaveMapper = leaveMapper;
+        this.pdfExportService = pdfExportService;
+        this.excelExportService = excelExportService;
+        this.excelStreamingHelper = excelStreamingHelper;
+        this.parallelExportExecutor = parallelExportExecutor;
+        this.messageUtil = messageUtil;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public List<ExportSubject> resolveSubjects(ScopedExportRequest request) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("export.error.invalid.range");
+        }
+        User requester = request.getRequestedBy();
+        UUID organizationId = requester.getOrganization().getId();
+        Set<String> roles = requester.getRoles().stream().map(Role::getName).collect(Collectors.toSet());
+        boolean orgWide = roles.contains("ADMIN") || roles.contains("HR");
+
+        List<ExportSubject> subjects;
+        if (request.getScope() == ScopedExportRequest.Scope.ORGANIZATION) {
+            if (!orgWide || !organizationId.equals(request.getScopeId())) {
+                throw new AccessDeniedException(messageUtil.get("forbidden"));
+            }
+            subjects = userRepository.findExportSubjectsByOrganizationId(organizationId);
+        } else {
+            boolean ownTeam = requester.getTeam() != null && requester.getTeam().getId().equals(request.getScopeId());
+            if (!orgWide && !(roles.contains("MANAGER") && ownTeam)) {
+                throw new AccessDeniedException(messageUtil.get("forbidden"));
+            }
+            // Scoped to the requester's organization, so foreign teams look empty
+            subjects = userRepository.findExportSubjectsByTeamId(request.getScopeId(), organizationId);
+            if (subjects.isEmpty()) {
+                throw new NotFoundException("error.team.not.found");
+            }
+        }
+        return subjects;
+    }
+
+    @Override
+    public void export(ScopedExportRequest request, List<ExportSubject> subjects, OutputStream out) throws ExportException {
+        long started = System.currentTimeMillis();
+        switch (request.getOutput()) {
+            case EXCEL -> exportWorkbook(request, subjects, out);
+            case PDF -> exportPdf(request, subjects, out);
+            case ZIP -> exportArchive(request, subjects, List.of(ExportFormat.EXCEL), false, out);
+            case BUNDLE -> exportArchive(request, subjects, List.of(ExportFormat.PDF, ExportFormat.EXCEL), true, out);
+        }
+        log.info("[ScopedExport] {} {} export of {} users took {} ms", request.getScope(), request.getOutput(),
+                subjects.size(), System.currentTimeMillis() - started);
+    }
+
+    private void exportWorkbook(ScopedExportRequest request, List<ExportSubject> subjects, OutputStream out) {
+        SXSSFWorkbook workbook = excelStreamingHelper.createWorkbook();
+        try {
+            CellStyle headerStyle = excelStreamingHelper.createHeaderStyle(workbook);
+            CellStyle dataStyle = excelStreamingHelper.createDataStyle(workbook);
+            Set<String> sheetNames = new HashSet<>();
+            // SXSSF sheets are not thread-safe: workers only fetch, sheets are written here
+            parallelExportExecutor.forEachOrdered(subjects, subject -> loadSection(request, subject),
+                    section -> writeSection(workbook, section, uniqueSheetName(section.subject(), sheetNames),
+                            headerStyle, dataStyle));
+            excelStreamingHelper.write(workbook, out);
+        } catch (IOException e) {
+            log.error("Scoped Excel export failed", e);
+            throw new ExportException(messageUtil.get("export.error.excel.generation"));
+        } finally {
+            excelStreamingHelper.dispose(workbook);
+        }
+    }
+
+    private UserSection loadSection(ScopedExportRequest request, ExportSubject subject) {
+        return readOnlyTransaction.execute(status -> {
+            List<AttendanceRecordExportDto> attendance = List.of();
+            List<LeaveRequestExportDto> leave = List.of();
+            if (includesAttendance(request)) {
+                try (Stream<AttendanceExportRow> rows = attendanceRecordRepository.streamExportRows(
+                        subject.getUserId(), request.getStartDate(), request.getEndDate())) {
+                    attendance = rows.map(attendanceMapper::toDto).toList();
+                }
+            }
+            if (includesLeave(request)) {
+                try (Stream<LeaveRequestExportRow> rows = leaveRequestRepository.streamExportRows(
+                        subject.getUserId(), request.getStartDate(), request.getEndDate())) {
+                    leave = rows.map(leaveMapper::toDto).toList();
+                }
+            }
+            return new UserSection(subject, attendance, leave);
+        });
+    }
+
+    private void writeSection(SXSSFWorkbook workbook, UserSection section, String sheetName,
+                              CellStyle headerStyle, CellStyle dataStyle) {
+        SXSSFSheet sheet = null;
+        int rowNum = 0;
+        if (!section.attendance().isEmpty() || section.leave().isEmpty()) {
+            sheet = excelStreamingHelper.createSheet(workbook, sheetName, attendanceHeaders(), COLUMN_WIDTHS, headerStyle);
+            rowNum = 1;
+            for (AttendanceRecordExportDto dto : section.attendance()) {
+                Row row = sheet.createRow(rowNum++);
+                excelStreamingHelper.setCell(row, 0, dto.getDate(), dataStyle);
+                excelStreamingHelper.setCell(row, 1, dto.getStartTime(), dataStyle);
+                excelStreamingHelper.setCell(row, 2, dto.getEndTime(), dataStyle);
+                excelStreamingHelper.setCell(row, 3, dto.getType(), dataStyle);
+                excelStreamingHelper.setCell(row, 4, dto.getStatus(), dataStyle);
+                excelStreamingHelper.setCell(row, 5, dto.getNotes(), dataStyle);
+            }
+        }
+        if (section.leave().isEmpty()) {
+            return;
+        }
+        if (sheet == null) {
+            sheet = excelStreamingHelper.createSheet(workbook, sheetName, leaveHeaders(), COLUMN_WIDTHS, headerStyle);
+            rowNum = 1;
+        } else {
+            // Leave table below the attendance table, separated by an empty row
+            rowNum++;
+            excelStreamingHelper.writeHeader(sheet, rowNum++, leaveHeaders(), headerStyle);
+        }
+        for (LeaveRequestExportDto dto : section.leave()) {
+            Row row = sheet.createRow(rowNum++);
+            excelStreamingHelper.setCell(row, 0, dto.getStartDate(), dataStyle);
+            excelStreamingHelper.setCell(row, 1, dto.getEndDate(), dataStyle);
+            excelStreamingHelper.setCell(row, 2, dto.getType(), dataStyle);
+            excelStreamingHelper.setCell(row, 3, dto.getStatus(), dataStyle);
+            excelStreamingHelper.setCell(row, 4, dto.getApprover(), dataStyle);
+            excelStreamingHelper.setCell(row, 5, dto.getNotes(), dataStyle);
+        }
+    }
+
+    private void exportPdf(ScopedExportRequest request, List<ExportSubject> subjects, OutputStream out) {
+        Path scratch = createScratchDirectory("export.error.pdf.generation");
+        try {
+            PDFMergerUtility merger = new PDFMergerUtility();
+            parallelExportExecutor.forEachOrdered(subjects,
+                    subject -> writeUserFile(scratch, subject, "pdf",
+                            file -> pdfExportService.exportToPdf(userRequest(request, subject), file)),
+                    file -> {
+                        try {
+                            merger.addSource(file.toFile());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+            merger.setDestinationStream(out);
+            // Merged pages are buffered in scratch files, not on heap
+            merger.mergeDocuments(MemoryUsageSetting.setupTempFileOnly());
+            out.flush();
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Scoped PDF export failed", e);
+            throw new ExportException(messageUtil.get("export.error.pdf.generation"));
+        } finally {
+            deleteScratchDirectory(scratch);
+        }
+    }
+
+    private void exportArchive(ScopedExportRequest request, List<ExportSubject> subjects, List<ExportFormat> formats,
+                               boolean folderPerUser, OutputStream out) {
+        String errorKey = request.getOutput() == ScopedExportRequest.Output.BUNDLE
+                ? "export.error.bundle.generation"
+                : "export.error.zip.generation";
+        Path scratch = createScratchDirectory(errorKey);
+        try {
+            ZipOutputStream zip = new ZipOutputStream(out);
+            Set<String> baseNames = new HashSet<>();
+            parallelExportExecutor.forEachOrdered(subjects,
+                    subject -> formats.stream()
+                            .map(format -> writeArchivePart(scratch, request, subject, format))
+                            .toList(),
+                    parts -> {
+                        String base = uniqueBaseName(parts.get(0).subject(), baseNames);
+                        String prefix = folderPerUser ? base + "/" : "";
+                        for (ArchivePart part : parts) {
+                            writeEntry(zip, prefix + base + "." + part.format().getExtension(), part);
+                        }
+                    });
+            // finish, not close: the response stream is owned by the container
+            zip.finish();
+            out.flush();
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Scoped ZIP export failed", e);
+            throw new ExportException(messageUtil.get(errorKey));
+        } finally {
+            deleteScratchDirectory(scratch);
+        }
+    }
+
+    private ArchivePart writeArchivePart(Path scratch, ScopedExportRequest request, ExportSubject subject,
+                                         ExportFormat format) {
+        Path file = scratch.resolve(subject.getUserId() + "." + format.getExtension());
+        CRC32 crc = new CRC32();
+        // CRC computed while writing, on the worker, so the entry can be STORED without a second pass
+        try (OutputStream out = new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), FILE_BUFFER_SIZE), crc)) {
+            if (format == ExportFormat.PDF) {
+                pdfExportService.exportToPdf(userRequest(request, subject), out);
+            } else {
+                excelExportService.exportToExcel(userRequest(request, subject), out);
+            }
+            out.flush();
+            return new ArchivePart(subject, format, file, Files.size(file), crc.getValue());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeEntry(ZipOutputStream zip, String name, ArchivePart part) {
+        ZipEntry entry = new ZipEntry(name);
+        if (part.format() == ExportFormat.EXCEL) {
+            // xlsx is already a deflated ZIP; compressing it again costs CPU for nothing
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(part.size());
+            entry.setCompressedSize(part.size());
+            entry.setCrc(part.crc());
+        }
+        try {
+            zip.putNextEntry(entry);
+            Files.copy(part.file(), zip);
+            zip.closeEntry();
+            Files.delete(part.file());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path writeUserFile(Path scratch, ExportSubject subject, String extension, FileWriter writer) {
+        Path file = scratch.resolve(subject.getUserId() + "." + extension);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return file;
+    }
+
+    private ExportRequest userRequest(ScopedExportRequest request, ExportSubject subject) {
+        ExportRequest userRequest = new ExportRequest();
+        userRequest.setUserId(subject.getUserId());
+        userRequest.setStartDate(request.getStartDate());
+        userRequest.setEndDate(request.getEndDate());
+        userRequest.setExportType(request.getExportType());
+        userRequest.setRequestedBy(request.getRequestedBy());
+        return userRequest;
+    }
+
+    private String[] attendanceHeaders() {
+        return new String[]{
+                messageUtil.get("export.column.date"),
+                messageUtil.get("export.column.start"),
+                messageUtil.get("export.column.end"),
+                messageUtil.get("export.column.type"),
+                messageUtil.get("export.column.status"),
+                messageUtil.get("export.column.notes")
+        };
+    }
+
+    private String[] leaveHeaders() {
+        return new String[]{
+                messageUtil.get("export.column.start.date"),
+                messageUtil.get("export.column.end.date"),
+                messageUtil.get("export.column.type"),
+                messageUtil.get("export.column.status"),
+                messageUtil.get("export.column.approved.by"),
+                messageUtil.get("export.column.notes")
+        };
+    }
+
+    private static boolean includesAttendance(ScopedExportRequest request) {
+        return request.getExportType() != ExportRequest.ExportType.LEAVE_REQUESTS;
+    }
+
+    private static boolean includesLeave(ScopedExportRequest request) {
+        return request.getExportType() != ExportRequest.ExportType.ATTENDANCE;
+    }
+
+    // Sheet names are limited to 31 characters and must be unique case-insensitively
+    private static String uniqueSheetName(ExportSubject subject, Set<String> used) {
+        String base = WorkbookUtil.createSafeSheetName(subject.getFullName());
+        String name = base;
+        for (int i = 2; !used.add(name.toLowerCase()); i++) {
+            String suffix = " (" + i + ")";
+            name = base.substring(0, Math.min(base.length(), 31 - suffix.length())) + suffix;
+        }
+        return name;
+    }
+
+    private static String uniqueBaseName(ExportSubject subject, Set<String> used) {
+        String base = subject.getFullName().replaceAll("[^\\p{L}\\p{N}._-]+", "_");
+        String name = base;
+        for (int i = 2; !used.add(name.toLowerCase()); i++) {
+            name = base + "_" + i;
+        }
+        return name;
+    }
+
+    private Path createScratchDirectory(String errorKey) {
+        try {
+            return Files.createTempDirectory("scoped-export-");
+        } catch (IOException e) {
+            throw new ExportException(messageUtil.get(errorKey));
+        }
+    }
+
+    private void deleteScratchDirectory(Path scratch) {
+        try {
+            FileSystemUtils.deleteRecursively(scratch);
+        } catch (IOException e) {
+            log.warn("[ScopedExport] Could not delete scratch directory {}: {}", scratch, e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface FileWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private record UserSection(ExportSubject subject, List<AttendanceRecordExportDto> attendance,
+                               List<LeaveRequestExportDto> leave) {
+    }
+
+    private record ArchivePart(ExportSubject subject, ExportFormat format, Path file, long size, long crc) {
+    }
+}
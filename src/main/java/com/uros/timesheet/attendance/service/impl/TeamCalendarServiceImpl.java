@@ -0,0 +1,172 @@
+package com.uros.timesheet.attendance.service.impl;
+
+import com.uros.timesheet.attendance.conflict.ConflictIndex;
+import com.uros.timesheet.attendance.conflict.OrganizationIntervals;
+import com.uros.timesheet.attendance.dto.team.CalendarDayState;
+import com.uros.timesheet.attendance.dto.team.TeamCalendarResponse;
+import com.uros.timesheet.attendance.dto.team.TeamCalendarRow;
+import com.uros.timesheet.attendance.dto.team.TeamConflictReport;
+import com.uros.timesheet.attendance.repository.TeamRepository;
+import com.uros.timesheet.attendance.repository.report.PlanningIntervalRepository;
+import com.uros.timesheet.attendance.repository.report.TeamCalendarFact;
+import com.uros.timesheet.attendance.repository.report.TeamCalendarRepository;
+import com.uros.timesheet.attendance.service.TeamCalendarService;
+import com.uros.timesheet.attendance.service.helper.TeamCalendarCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Builds the team calendar from one query over attendance and leave. Each member's days
+ * are folded into {@code long} bit masks (bit {@code n} is day {@code n + 1} of the month),
+ * so resolving a cell is a few bit tests; results are cached per team and month.
+ * <p>
+ * Conflict reports run over the interval trees of the {@link ConflictIndex}, or over trees
+ * built from one team range query when the range is outside its horizon.
+ */
+@Service
+@RequiredArgsConstructor
+public class TeamCalendarServiceImpl implements TeamCalendarService {
+
+    private final TeamRepository teamRepository;
+    private final TeamCalendarRepository teamCalendarRepository;
+    private final TeamCalendarCache teamCalendarCache;
+    private final ConflictIndex conflictIndex;
+    private final PlanningIntervalRepository planningIntervalRepository;
+
+    @Value("${conflict.non-absence-leave-types:remote}")
+    private Set<String> nonAbsenceLeaveTypes;
+
+    @Value("${conflict.report.max-days:366}")
+    private int maxReportDays;
+
+    @Override
+    public TeamCalendarResponse getTeamCalendar(UUID teamId, YearMonth month, UUID organizationId) {
+        if (month == null) {
+            throw new IllegalArgumentException("error.team.calendar.month.required");
+        }
+        checkTeam(teamId, organizationId);
+
+        return teamCalendarCache.get(teamId, month, () -> build(teamId, month,
+                teamCalendarRepository.findCalendarFacts(teamId, organizationId, month.atDay(1), month.atEndOfMonth())));
+    }
+
+    @Override
+    public TeamConflictReport getTeamConflicts(UUID teamId, LocalDate from, LocalDate to, UUID organizationId) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("export.error.invalid.range");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxReportDays) {
+            throw new IllegalArgumentException("report.error.range.too.long");
+        }
+        checkTeam(teamId, organizationId);
+
+        OrganizationIntervals intervals = conflictIndex.covering(organizationId, from, to).orElseGet(() -> {
+            OrganizationIntervals team = new OrganizationIntervals(from, to);
+            planningIntervalRepository.streamIntervals(organizationId, teamId, from, to, team::put);
+            return team;
+        });
+        return intervals.teamConflicts(teamId, from, to, nonAbsenceLeaveTypes);
+    }
+
+    private void checkTeam(UUID teamId, UUID organizationId) {
+        teamRepository.findById(teamId)
+                .filter(team -> team.getOrganization() != null
+                        && team.getOrganization().getId().equals(organizationId))
+                .orElseThrow(() -> new IllegalArgumentException("error.team.not.found"));
+    }
+
+    static TeamCalendarResponse build(UUID teamId, YearMonth month, List<TeamCalendarFact> facts) {
+        int length = month.lengthOfMonth();
+        List<LocalDate> days = new ArrayList<>(length);
+        long weekends = 0;
+        for (int day = 0; day < length; day++) {
+            LocalDate date = month.atDay(day + 1);
+            days.add(date);
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                weekends |= 1L << day;
+            }
+        }
+
+        Map<UUID, MemberMasks> members = new LinkedHashMap<>();
+        for (TeamCalendarFact fact : facts) {
+            if (fact.kind() == TeamCalendarFact.Kind.MEMBER) {
+                members.put(fact.userId(), new MemberMasks(fact.fullName()));
+                continue;
+            }
+            MemberMasks masks = members.get(fact.userId());
+            if (masks == null) {
+                continue;
+            }
+            long range = dayRange(fact.start(), fact.end());
+            if (fact.kind() == TeamCalendarFact.Kind.WORKED) {
+                masks.worked |= range;
+            } else {
+                masks.leave |= range;
+                masks.leaveByType.merge(fact.leaveType(), range, (a, b) -> a | b);
+            }
+        }
+
+        List<TeamCalendarRow> rows = new ArrayList<>(members.size());
+        for (Map.Entry<UUID, MemberMasks> member : members.entrySet()) {
+            MemberMasks masks = member.getValue();
+            CalendarDayState[] states = new CalendarDayState[length];
+            String[] leaveTypes = new String[length];
+            for (int day = 0; day < length; day++) {
+                long bit = 1L << day;
+                if ((masks.worked & bit) != 0) {
+                    states[day] = CalendarDayState.WORKED;
+                } else if ((weekends & bit) != 0) {
+                    states[day] = CalendarDayState.WEEKEND;
+                } else if ((masks.leave & bit) != 0) {
+                    states[day] = CalendarDayState.LEAVE;
+                    leaveTypes[day] = masks.leaveType(bit);
+                } else {
+                    states[day] = CalendarDayState.ABSENT;
+                }
+            }
+            rows.add(new TeamCalendarRow(member.getKey(), masks.fullName,
+                    List.of(states), Arrays.asList(leaveTypes)));
+        }
+        return new TeamCalendarResponse(teamId, month, days, rows);
+    }
+
+    private static long dayRange(LocalDate start, LocalDate end) {
+        int first = start.getDayOfMonth() - 1;
+        int count = end.getDayOfMonth() - first;
+        return ((1L << count) - 1) << first;
+    }
+
+    private static final class MemberMasks {
+
+        final String fullName;
+        final Map<String, Long> leaveByType = new LinkedHashMap<>(2);
+        long worked;
+        long leave;
+
+        MemberMasks(String fullName) {
+            this.fullName = fullName;
+        }
+
+        String leaveType(long bit) {
+            for (Map.Entry<String, Long> type : leaveByType.entrySet()) {
+                if ((type.getValue() & bit) != 0) {
+                    return type.getKey();
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -1,25 +1,44 @@
 package com.uros.timesheet.attendance.service.report;
 
 import com.uros.timesheet.attendance.dto.report.UserAttendanceSummaryDto;
+import com.uros.timesheet.attendance.service.helper.ExcelStreamingHelper;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class AttendanceSummaryExcelExportServiceImpl implements AttendanceSummaryExcelExportService {
 
+    private static final String[] HEADERS = {
+            "User ID", "User Full Name", "From", "To",
+            "Total Days", "Total Records", "Total Hours", "Regular Hours", "Overtime Hours"
+    };
+    // Fixed widths (in characters) instead of autoSizeColumn
+    private static final int[] COLUMN_WIDTHS = {38, 30, 12, 12, 12, 14, 12, 14, 15};
+
+    private final ExcelStreamingHelper excelStreamingHelper;
+
     @Override
     public Resource exportSummaryToExcel(List<UserAttendanceSummaryDto> summaries) {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Attendance Summary");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportSummaryToExcel(summaries, out);
+        return new ByteArrayResource(out.toByteArray());
+    }
 
+    @Override
+    public void exportSummaryToExcel(List<UserAttendanceSummaryDto> summaries, OutputStream out) {
+        SXSSFWorkbook workbook = excelStreamingHelper.createWorkbook();
+        try {
             // Header styling
             CellStyle headerStyle = workbook.createCellStyle();
             Font font = workbook.createFont();
@@ -28,17 +47,7 @@ public class AttendanceSummaryExcelExportServiceImpl implements AttendanceSummar
             headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
             headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
 
-            // Header row
-            Row headerRow = sheet.createRow(0);
-            String[] headers = {
-                    "User ID", "User Full Name", "From", "To",
-                    "Total Days", "Total Records", "Total Hours"
-            };
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
+            Sheet sheet = excelStreamingHelper.createSheet(workbook, "Attendance Summary", HEADERS, COLUMN_WIDTHS, headerStyle);
 
             // Data styling
             CellStyle dataStyle = workbook.createCellStyle();
@@ -55,25 +64,22 @@ public class AttendanceSummaryExcelExportServiceImpl implements AttendanceSummar
                 row.createCell(4).setCellValue(dto.getTotalDays());
                 row.createCell(5).setCellValue(dto.getTotalRecords());
                 row.createCell(6).setCellValue(dto.getTotalHours() != null ? dto.getTotalHours().doubleValue() : 0.0);
+                row.createCell(7).setCellValue(dto.getRegularHours() != null ? dto.getRegularHours().doubleValue() : 0.0);
+                row.createCell(8).setCellValue(dto.getOvertimeHours() != null ? dto.getOvertimeHours().doubleValue() : 0.0);
 
                 // Apply data style to each cell
-                for (int i = 0; i < headers.length; i++) {
+                for (int i = 0; i < HEADERS.length; i++) {
                     row.getCell(i).setCellStyle(dataStyle);
                 }
             }
 
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            workbook.write(out);
-            return new ByteArrayResource(out.toByteArray());
+            excelStreamingHelper.write(workbook, out);
 
         } catch (Exception e) {
             log.error("Excel export failed", e);
             throw new RuntimeException("Excel export failed: " + e.getMessage(), e);
+        } finally {
+            excelStreamingHelper.dispose(workbook);
         }
     }
-}
\ No newline at end of file
+}
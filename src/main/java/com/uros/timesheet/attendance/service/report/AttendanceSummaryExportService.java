@@ -2,8 +2,12 @@ package com.uros.timesheet.attendance.service.report;
 
 import com.uros.timesheet.attendance.dto.report.UserAttendanceSummaryDto;
 import org.springframework.core.io.Resource;
+
+import java.io.OutputStream;
 import java.util.List;
 
 public interface AttendanceSummaryExportService {
     Resource exportSummaryToCsv(List<UserAttendanceSummaryDto> summaries);
-}
\ No newline at end of file
+
+    void exportSummaryToCsv(List<UserAttendanceSummaryDto> summaries, OutputStream out);
+}
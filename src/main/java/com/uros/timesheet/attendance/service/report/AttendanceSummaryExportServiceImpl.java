@@ -1,14 +1,17 @@
 package com.uros.timesheet.attendance.service.report;
 
 import com.uros.timesheet.attendance.dto.report.UserAttendanceSummaryDto;
+import com.uros.timesheet.attendance.service.helper.DelimitedWriter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
@@ -16,30 +19,42 @@ import java.util.List;
 @Slf4j
 public class AttendanceSummaryExportServiceImpl implements AttendanceSummaryExportService {
 
+    private static final String[] HEADERS = {
+            "User ID", "User Full Name", "From", "To",
+            "Total Days", "Total Records", "Total Hours", "Regular Hours", "Overtime Hours"
+    };
+
     @Override
     public Resource exportSummaryToCsv(List<UserAttendanceSummaryDto> summaries) {
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream();
-             OutputStreamWriter osw = new OutputStreamWriter(out, StandardCharsets.UTF_8);
-             PrintWriter writer = new PrintWriter(osw)) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportSummaryToCsv(summaries, out);
+        return new ByteArrayResource(out.toByteArray());
+    }
 
-            // Header
-            writer.println("User ID,User Full Name,From,To,Total Days,Total Records,Total Hours");
+    @Override
+    public void exportSummaryToCsv(List<UserAttendanceSummaryDto> summaries, OutputStream out) {
+        try {
+            // Not closed: the target stream belongs to the caller
+            DelimitedWriter writer = DelimitedWriter.csv(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (String header : HEADERS) {
+                writer.field(header);
+            }
+            writer.endRecord();
 
-            // Rows
             for (UserAttendanceSummaryDto dto : summaries) {
-                writer.printf("%s,%s,%s,%s,%d,%d,%.2f%n",
-                        escapeCsv(dto.getUserId().toString()),
-                        escapeCsv(dto.getUserFullName()),
-                        escapeCsv(dto.getFromDate().toString()),
-                        escapeCsv(dto.getToDate().toString()),
-                        dto.getTotalDays(),
-                        dto.getTotalRecords(),
-                        dto.getTotalHours() != null ? dto.getTotalHours() : 0.0
-                );
+                BigDecimal hours = dto.getTotalHours() != null ? dto.getTotalHours() : BigDecimal.ZERO;
+                writer.field(dto.getUserId().toString());
+                writer.field(dto.getUserFullName());
+                writer.field(dto.getFromDate().toString());
+                writer.field(dto.getToDate().toString());
+                writer.field(Long.toString(dto.getTotalDays()));
+                writer.field(Long.toString(dto.getTotalRecords()));
+                writer.field(hours.setScale(2, RoundingMode.HALF_UP).toPlainString());
+                writer.field(formatHours(dto.getRegularHours()));
+                writer.field(formatHours(dto.getOvertimeHours()));
+                writer.endRecord();
             }
-
             writer.flush();
-            return new ByteArrayResource(out.toByteArray());
 
         } catch (Exception e) {
             log.error("CSV export failed", e);
@@ -47,13 +62,7 @@ public class AttendanceSummaryExportServiceImpl implements AttendanceSummaryExpo
         }
     }
 
-    private String escapeCsv(String value) {
-        if (value == null) return "";
-        boolean needEscape = value.contains(",") || value.contains("\"") || value.contains("\n");
-        if (needEscape) {
-            value = value.replace("\"", "\"\"");
-            return "\"" + value + "\"";
-        }
-        return value;
+    private static String formatHours(BigDecimal hours) {
+        return (hours != null ? hours : BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP).toPlainString();
     }
-}
\ No newline at end of file
+}
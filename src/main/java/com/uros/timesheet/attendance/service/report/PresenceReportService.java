@@ -0,0 +1,20 @@
+package com.uros.timesheet.attendance.service.report;
+
+import com.uros.timesheet.attendance.dto.report.DailyHeadcountDto;
+import com.uros.timesheet.attendance.dto.report.PresentUsersResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface PresenceReportService {
+    /**
+     * Number of users present on each day of the range, including days without anyone.
+     */
+    List<DailyHeadcountDto> getDailyHeadcounts(UUID organizationId, LocalDate from, LocalDate to);
+
+    /**
+     * Users present on all (or any) of the given days.
+     */
+    PresentUsersResponse getPresentUsers(UUID organizationId, List<LocalDate> days, PresentUsersResponse.Match match);
+}
@@ -0,0 +1,71 @@
+package com.uros.timesheet.attendance.service.report;
+
+import com.uros.timesheet.attendance.analytics.PresenceIndex;
+import com.uros.timesheet.attendance.dto.report.DailyHeadcountDto;
+import com.uros.timesheet.attendance.dto.report.PresentUsersResponse;
+import com.uros.timesheet.attendance.repository.report.PresenceReportRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Answers presence questions from the in-memory {@link PresenceIndex} and falls back to SQL
+ * for days outside its window.
+ */
+@Service
+@RequiredArgsConstructor
+public class PresenceReportServiceImpl implements PresenceReportService {
+
+    static final int MAX_PRESENCE_DAYS = 31;
+
+    private final PresenceIndex presenceIndex;
+    private final PresenceReportRepository presenceReportRepository;
+
+    @Value("${report.query.max-days:731}")
+    private int maxDays;
+
+    @Override
+    public List<DailyHeadcountDto> getDailyHeadcounts(UUID organizationId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("export.error.invalid.range");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new IllegalArgumentException("report.error.range.too.long");
+        }
+        return presenceIndex.headcounts(organizationId, from, to)
+                .orElseGet(() -> fillDays(presenceReportRepository.countPresentByDay(organizationId, from, to), from, to));
+    }
+
+    @Override
+    public PresentUsersResponse getPresentUsers(UUID organizationId, List<LocalDate> days, PresentUsersResponse.Match match) {
+        List<LocalDate> distinct = days != null ? days.stream().distinct().sorted().toList() : List.of();
+        if (distinct.isEmpty() || distinct.size() > MAX_PRESENCE_DAYS) {
+            throw new IllegalArgumentException("report.error.presence.days");
+        }
+        PresentUsersResponse.Match effective = match != null ? match : PresentUsersResponse.Match.ALL;
+        boolean all = effective == PresentUsersResponse.Match.ALL;
+        List<UUID> users = presenceIndex.presentUsers(organizationId, distinct, all)
+                .orElseGet(() -> presenceReportRepository.findPresentUsers(organizationId, distinct, all));
+        return new PresentUsersResponse(distinct, effective, users.size(), users);
+    }
+
+    private static List<DailyHeadcountDto> fillDays(List<DailyHeadcountDto> counted, LocalDate from, LocalDate to) {
+        Map<LocalDate, DailyHeadcountDto> byDate = counted.stream()
+                .collect(Collectors.toMap(DailyHeadcountDto::getDate, Function.identity()));
+        List<DailyHeadcountDto> result = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            DailyHeadcountDto found = byDate.get(day);
+            result.add(found != null ? found : new DailyHeadcountDto(day, 0));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,13 @@
+package com.uros.timesheet.attendance.service.report;
+
+import com.uros.timesheet.attendance.dto.report.ReportQueryRequest;
+import com.uros.timesheet.attendance.dto.report.ReportResult;
+
+import java.util.UUID;
+
+public interface ReportQueryService {
+    /**
+     * Runs an ad-hoc attendance report over the records of one organization.
+     */
+    ReportResult query(ReportQueryRequest request, UUID organizationId);
+}
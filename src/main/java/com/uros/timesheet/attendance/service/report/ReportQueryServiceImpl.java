@@ -0,0 +1,77 @@
+package com.uros.timesheet.attendance.service.report;
+
+import com.uros.timesheet.attendance.analytics.AttendanceAnalyticsCache;
+import com.uros.timesheet.attendance.dto.report.ReportDimension;
+import com.uros.timesheet.attendance.dto.report.ReportQueryRequest;
+import com.uros.timesheet.attendance.dto.report.ReportResult;
+import com.uros.timesheet.attendance.dto.report.ReportRow;
+import com.uros.timesheet.attendance.repository.report.CompiledReportQuery;
+import com.uros.timesheet.attendance.repository.report.ReportQueryCompiler;
+import com.uros.timesheet.attendance.repository.report.ReportQueryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Validates report queries and guards their cost: the date range and the number of cube
+ * dimensions are capped up front, and the result is fetched with one row beyond the limit
+ * so an oversized report fails instead of being silently cut. Queries the in-memory
+ * {@link AttendanceAnalyticsCache} can answer skip the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportQueryServiceImpl implements ReportQueryService {
+
+    static final int MAX_CUBE_DIMENSIONS = 4;
+
+    private final ReportQueryRepository reportQueryRepository;
+    private final AttendanceAnalyticsCache analyticsCache;
+
+    @Value("${report.query.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${report.query.max-days:731}")
+    private int maxDays;
+
+    @Value("${report.query.timeout:30s}")
+    private Duration timeout;
+
+    @Override
+    public ReportResult query(ReportQueryRequest request, UUID organizationId) {
+        validate(request);
+        CompiledReportQuery compiled = ReportQueryCompiler.compile(request, organizationId);
+
+        List<ReportRow> rows = analyticsCache.query(request, organizationId)
+                .orElseGet(() -> reportQueryRepository.run(compiled, maxRows + 1, timeout));
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException("report.error.too.many.rows");
+        }
+        return new ReportResult(compiled.dimensions(), compiled.measures(), rows);
+    }
+
+    private void validate(ReportQueryRequest request) {
+        if (request.getMeasures() == null || request.getMeasures().isEmpty()
+                || new HashSet<>(request.getMeasures()).size() != request.getMeasures().size()) {
+            throw new IllegalArgumentException("report.error.measures");
+        }
+        List<ReportDimension> dimensions = request.getDimensions() != null ? request.getDimensions() : List.of();
+        if (new HashSet<>(dimensions).size() != dimensions.size()) {
+            throw new IllegalArgumentException("report.error.dimensions");
+        }
+        if (request.getTotals() == ReportQueryRequest.Totals.CUBE && dimensions.size() > MAX_CUBE_DIMENSIONS) {
+            throw new IllegalArgumentException("report.error.cube.too.many.dimensions");
+        }
+        if (request.getFrom() == null || request.getTo() == null || request.getTo().isBefore(request.getFrom())) {
+            throw new IllegalArgumentException("export.error.invalid.range");
+        }
+        if (ChronoUnit.DAYS.between(request.getFrom(), request.getTo()) >= maxDays) {
+            throw new IllegalArgumentException("report.error.range.too.long");
+        }
+    }
+}
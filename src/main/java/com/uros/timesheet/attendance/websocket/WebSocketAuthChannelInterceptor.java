@@ -1,18 +1,28 @@
 package com.uros.timesheet.attendance.websocket;
 
+import com.uros.timesheet.attendance.presence.PresenceTracker;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
 /**
  * Channel interceptor to enforce authentication for all WebSocket (STOMP) messages.
- * Rejects any message if the user is not authenticated.
+ * Rejects any message if the user is not authenticated, and any SUBSCRIBE to
+ * /topic/presence/{organizationId} unless the user is an ADMIN/MANAGER of that organization.
  */
 public class WebSocketAuthChannelInterceptor implements ChannelInterceptor {
 
+    private static final Set<String> PRESENCE_ROLES = Set.of("ADMIN", "MANAGER");
+
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
@@ -21,6 +31,46 @@ public class WebSocketAuthChannelInterceptor implements ChannelInterceptor {
             // You may replace with a custom exception type if needed
             throw new SecurityException("WebSocket authentication is required.");
         }
+        if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            checkSubscription(accessor.getDestination(), resolveUser(accessor, authentication));
+        }
         return message;
     }
-}
\ No newline at end of file
+
+    private void checkSubscription(String destination, CustomUserDetails user) {
+        if (destination == null) {
+            return;
+        }
+        // The simple broker matches subscriptions as Ant patterns, so "/topic/**" would receive every presence topic
+        if (destination.indexOf('*') >= 0 || destination.indexOf('?') >= 0 || destination.indexOf('{') >= 0) {
+            throw new SecurityException("Wildcard subscriptions are not allowed.");
+        }
+        if (destination.startsWith(PresenceTracker.TOPIC_PREFIX)) {
+            UUID organizationId = parseUuid(destination.substring(PresenceTracker.TOPIC_PREFIX.length()));
+            boolean allowed = user != null
+                    && organizationId != null
+                    && organizationId.equals(user.getOrganizationId())
+                    && user.getRoleNames().stream().anyMatch(PRESENCE_ROLES::contains);
+            if (!allowed) {
+                throw new SecurityException("Not allowed to subscribe to " + destination);
+            }
+        }
+    }
+
+    private CustomUserDetails resolveUser(StompHeaderAccessor accessor, Authentication authentication) {
+        // Bound by JwtHandshakeInterceptor during the handshake
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes != null && attributes.get("user") instanceof CustomUserDetails user) {
+            return user;
+        }
+        return authentication.getPrincipal() instanceof CustomUserDetails user ? user : null;
+    }
+
+    private UUID parseUuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+-- Closed payroll periods: attendance dated inside one no longer changes status
+CREATE TABLE public.payroll_periods (
+    id uuid NOT NULL,
+    organization_id uuid NOT NULL,
+    period_start date NOT NULL,
+    period_end date NOT NULL,
+    closed_at timestamp(6) with time zone NOT NULL,
+    closed_by_id uuid,
+    CONSTRAINT payroll_periods_pkey PRIMARY KEY (id),
+    CONSTRAINT ck_payroll_periods_range CHECK (period_end >= period_start),
+    -- btree_gist is installed by V6
+    CONSTRAINT payroll_periods_no_overlap
+        EXCLUDE USING gist (organization_id WITH =, daterange(period_start, period_end, '[]') WITH &&)
+);
+
+ALTER TABLE public.payroll_periods OWNER TO appuser;
+
+ALTER TABLE ONLY public.payroll_periods
+    ADD CONSTRAINT fk_payroll_periods_organization FOREIGN KEY (organization_id) REFERENCES public.organizations(id);
+
+-- Per-user totals of approved attendance, computed once when the period closes
+CREATE TABLE public.payroll_period_totals (
+    period_id uuid NOT NULL,
+    user_id uuid NOT NULL,
+    team_id uuid,
+    user_full_name character varying(255) NOT NULL,
+    total_days integer NOT NULL,
+    total_records integer NOT NULL,
+    worked_minutes bigint NOT NULL,
+    regular_minutes bigint NOT NULL,
+    overtime_minutes bigint NOT NULL,
+    CONSTRAINT payroll_period_totals_pkey PRIMARY KEY (period_id, user_id)
+);
+
+ALTER TABLE public.payroll_period_totals OWNER TO appuser;
+
+ALTER TABLE ONLY public.payroll_period_totals
+    ADD CONSTRAINT fk_payroll_period_totals_period FOREIGN KEY (period_id) REFERENCES public.payroll_periods(id);
+
+CREATE INDEX idx_payroll_period_totals_user ON public.payroll_period_totals (user_id);
+
+-- Closed periods and their totals are written once and never changed
+CREATE FUNCTION public.payroll_snapshot_immutable() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    RAISE EXCEPTION '% is immutable', TG_TABLE_NAME;
+END;
+$$;
+
+CREATE TRIGGER trg_payroll_periods_immutable
+    BEFORE UPDATE OR DELETE ON public.payroll_periods
+    FOR EACH ROW EXECUTE FUNCTION public.payroll_snapshot_immutable();
+
+CREATE TRIGGER trg_payroll_period_totals_immutable
+    BEFORE UPDATE OR DELETE ON public.payroll_period_totals
+    FOR EACH ROW EXECUTE FUNCTION public.payroll_snapshot_immutable();
@@ -0,0 +1,4 @@
+-- Serves SSE replay from the database as a (created_at, id) keyset per recipient;
+-- created_at alone is not unique, so the id breaks ties between notifications of the same instant
+CREATE INDEX idx_notifications_recipient_created_id
+    ON public.notifications (recipient_id, created_at, id);
@@ -0,0 +1,7 @@
+-- Read/unread state for notifications
+ALTER TABLE public.notifications ADD COLUMN read_at timestamp(6) with time zone;
+
+-- Serves unread counts and bulk mark-read without touching read rows
+CREATE INDEX idx_notifications_recipient_unread
+    ON public.notifications (recipient_id)
+    WHERE read_at IS NULL;
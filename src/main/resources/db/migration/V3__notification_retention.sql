@@ -0,0 +1,19 @@
+-- Keyset scans of expired notifications per type
+CREATE INDEX idx_notifications_type_created
+    ON public.notifications (type, created_at, id);
+
+-- Compacted notifications: searchable columns plus a gzip-compressed JSON payload
+CREATE TABLE public.notifications_archive (
+    id uuid NOT NULL,
+    recipient_id uuid NOT NULL,
+    type character varying(255) NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    archived_at timestamp(6) with time zone NOT NULL,
+    payload bytea NOT NULL,
+    CONSTRAINT notifications_archive_pkey PRIMARY KEY (id)
+);
+
+ALTER TABLE public.notifications_archive OWNER TO appuser;
+
+CREATE INDEX idx_notifications_archive_recipient
+    ON public.notifications_archive (recipient_id, created_at);
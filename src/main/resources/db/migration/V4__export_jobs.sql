@@ -0,0 +1,33 @@
+-- Asynchronous export jobs
+CREATE TABLE public.export_jobs (
+    id uuid NOT NULL,
+    requested_by_id uuid NOT NULL,
+    user_id uuid NOT NULL,
+    format character varying(32) NOT NULL,
+    export_type character varying(32) NOT NULL,
+    start_date date NOT NULL,
+    end_date date NOT NULL,
+    status character varying(32) NOT NULL,
+    progress integer NOT NULL DEFAULT 0,
+    dedup_key character varying(128) NOT NULL,
+    file_path character varying(1024),
+    file_size bigint,
+    error_message character varying(2048),
+    created_at timestamp(6) with time zone NOT NULL,
+    started_at timestamp(6) with time zone,
+    completed_at timestamp(6) with time zone,
+    expires_at timestamp(6) with time zone,
+    CONSTRAINT export_jobs_pkey PRIMARY KEY (id)
+);
+
+ALTER TABLE public.export_jobs OWNER TO appuser;
+
+ALTER TABLE ONLY public.export_jobs
+    ADD CONSTRAINT fk_export_jobs_requested_by FOREIGN KEY (requested_by_id) REFERENCES public.users(id);
+
+-- At most one in-flight job per identical request
+CREATE UNIQUE INDEX uq_export_jobs_inflight_dedup
+    ON public.export_jobs (dedup_key)
+    WHERE status IN ('QUEUED', 'RUNNING');
+
+CREATE INDEX idx_export_jobs_status_expires ON public.export_jobs (status, expires_at);
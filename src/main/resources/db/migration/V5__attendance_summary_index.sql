@@ -0,0 +1,4 @@
+-- Per-user summaries aggregate approved, live records in a date range; covering columns allow index-only scans
+CREATE INDEX idx_attendance_records_approved_user_date
+    ON public.attendance_records (user_id, date) INCLUDE (start_time, end_time)
+    WHERE status = 'APPROVED' AND deleted_at IS NULL;
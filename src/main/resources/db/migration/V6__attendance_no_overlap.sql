@@ -0,0 +1,33 @@
+-- Equality on uuid inside a GiST index
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Working period of a record; an end at or before the start runs past midnight, as on the presence board
+ALTER TABLE public.attendance_records
+    ADD COLUMN time_range tsrange GENERATED ALWAYS AS (
+        tsrange(
+            date + start_time,
+            CASE WHEN end_time > start_time THEN date + end_time ELSE date + 1 + end_time END,
+            '[)')
+    ) STORED;
+
+-- Existing overlaps would fail the constraint: keep the earliest created record and soft-delete
+-- every live record overlapping an earlier one (restorable once the overlap is resolved).
+-- Marked like AttendanceRecord.markDeleted(), so restore() brings them back as DRAFT
+UPDATE public.attendance_records later
+SET deleted_at = now(),
+    status = 'DELETED',
+    updated_at = now()
+FROM public.attendance_records earlier
+WHERE later.user_id = earlier.user_id
+  AND (earlier.created_at, earlier.id) < (later.created_at, later.id)
+  AND later.time_range && earlier.time_range
+  AND later.deleted_at IS NULL
+  AND earlier.deleted_at IS NULL
+  AND later.status NOT IN ('REJECTED', 'DELETED')
+  AND earlier.status NOT IN ('REJECTED', 'DELETED');
+
+-- Live records of one user may not overlap; rejected ones can be logged again
+ALTER TABLE public.attendance_records
+    ADD CONSTRAINT attendance_records_no_overlap
+    EXCLUDE USING gist (user_id WITH =, time_range WITH &&)
+    WHERE (deleted_at IS NULL AND status NOT IN ('REJECTED', 'DELETED'));
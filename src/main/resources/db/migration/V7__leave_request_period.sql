@@ -0,0 +1,18 @@
+-- Dates entered the wrong way round describe the same period
+UPDATE public.leave_requests
+SET start_date = end_date,
+    end_date = start_date
+WHERE end_date < start_date;
+
+-- Inclusive leave period, queried with && so a leave straddling a range boundary is found
+ALTER TABLE public.leave_requests
+    ADD COLUMN period daterange GENERATED ALWAYS AS (daterange(start_date, end_date, '[]')) STORED;
+
+-- btree_gist (V6) lets the uuid key share the GiST index with the period
+CREATE INDEX idx_leave_requests_user_period
+    ON public.leave_requests USING gist (user_id, period)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_leave_requests_organization_period
+    ON public.leave_requests USING gist (organization_id, period)
+    WHERE deleted_at IS NULL;
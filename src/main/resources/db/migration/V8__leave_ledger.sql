@@ -0,0 +1,60 @@
+-- Days per year an organization grants for a leave type; types without a row use leave.balance.entitlements
+CREATE TABLE public.leave_entitlements (
+    organization_id uuid NOT NULL,
+    leave_type character varying(255) NOT NULL,
+    days_per_year integer NOT NULL,
+    updated_at timestamp(6) with time zone NOT NULL DEFAULT now(),
+    CONSTRAINT leave_entitlements_pkey PRIMARY KEY (organization_id, leave_type)
+);
+
+ALTER TABLE public.leave_entitlements OWNER TO appuser;
+
+ALTER TABLE ONLY public.leave_entitlements
+    ADD CONSTRAINT fk_leave_entitlements_organization FOREIGN KEY (organization_id) REFERENCES public.organizations(id);
+
+-- Append-only leave ledger; days is the signed effect on the remaining balance
+-- (ACCRUAL +entitlement, CONSUMPTION -days, REVERSAL +days)
+CREATE TABLE public.leave_ledger_entries (
+    id uuid NOT NULL,
+    user_id uuid NOT NULL,
+    organization_id uuid NOT NULL,
+    leave_request_id uuid,
+    leave_type character varying(255) NOT NULL,
+    year integer NOT NULL,
+    kind character varying(16) NOT NULL,
+    days integer NOT NULL,
+    performed_by_id uuid,
+    created_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT leave_ledger_entries_pkey PRIMARY KEY (id)
+);
+
+ALTER TABLE public.leave_ledger_entries OWNER TO appuser;
+
+ALTER TABLE ONLY public.leave_ledger_entries
+    ADD CONSTRAINT fk_leave_ledger_entries_user FOREIGN KEY (user_id) REFERENCES public.users(id);
+
+CREATE INDEX idx_leave_ledger_entries_user_type_year
+    ON public.leave_ledger_entries (user_id, leave_type, year);
+
+CREATE INDEX idx_leave_ledger_entries_leave_request
+    ON public.leave_ledger_entries (leave_request_id)
+    WHERE leave_request_id IS NOT NULL;
+
+CREATE INDEX idx_leave_ledger_entries_organization_year
+    ON public.leave_ledger_entries (organization_id, year);
+
+-- Running balance per (user, leave type, year), maintained with every ledger entry
+CREATE TABLE public.leave_balances (
+    user_id uuid NOT NULL,
+    leave_type character varying(255) NOT NULL,
+    year integer NOT NULL,
+    organization_id uuid NOT NULL,
+    entitled integer NOT NULL,
+    consumed integer NOT NULL,
+    updated_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT leave_balances_pkey PRIMARY KEY (user_id, leave_type, year)
+);
+
+ALTER TABLE public.leave_balances OWNER TO appuser;
+
+CREATE INDEX idx_leave_balances_organization_year ON public.leave_balances (organization_id, year);
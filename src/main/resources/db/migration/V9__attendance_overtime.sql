@@ -0,0 +1,44 @@
+-- Minutes per record: worked set on create, regular and overtime split by the overtime rules on approval
+ALTER TABLE public.attendance_records
+    ADD COLUMN worked_minutes integer,
+    ADD COLUMN regular_minutes integer,
+    ADD COLUMN overtime_minutes integer;
+
+-- Elapsed time in the organization's timezone: past midnight when the end is not after the start,
+-- DST transitions included. Unknown timezones count as UTC, as on the presence board.
+UPDATE public.attendance_records ar
+SET worked_minutes = GREATEST(0, CAST(TRUNC(EXTRACT(EPOCH FROM (
+        ((ar.date + ar.end_time + CASE WHEN ar.end_time > ar.start_time THEN interval '0' ELSE interval '1 day' END)
+            AT TIME ZONE z.zone)
+        - ((ar.date + ar.start_time) AT TIME ZONE z.zone))) / 60) AS integer))
+FROM (SELECT o.id, COALESCE(tz.name, 'UTC') AS zone
+      FROM public.organizations o
+      LEFT JOIN pg_timezone_names tz ON tz.name = o.timezone) z
+WHERE z.id = ar.organization_id;
+
+-- Summaries now read the stored minutes instead of the times
+DROP INDEX IF EXISTS public.idx_attendance_records_approved_user_date;
+
+CREATE INDEX idx_attendance_records_approved_user_date
+    ON public.attendance_records (user_id, date) INCLUDE (worked_minutes, regular_minutes, overtime_minutes)
+    WHERE status = 'APPROVED' AND deleted_at IS NULL;
+
+-- Approved records still waiting for their overtime split (existing rows, holiday changes)
+CREATE INDEX idx_attendance_records_overtime_pending
+    ON public.attendance_records (user_id, date)
+    WHERE status = 'APPROVED' AND deleted_at IS NULL AND regular_minutes IS NULL;
+
+-- Public holidays per organization; work on them is overtime
+CREATE TABLE public.organization_holidays (
+    id uuid NOT NULL,
+    organization_id uuid NOT NULL,
+    date date NOT NULL,
+    name character varying(255) NOT NULL,
+    CONSTRAINT organization_holidays_pkey PRIMARY KEY (id),
+    CONSTRAINT uq_organization_holidays_date UNIQUE (organization_id, date)
+);
+
+ALTER TABLE public.organization_holidays OWNER TO appuser;
+
+ALTER TABLE ONLY public.organization_holidays
+    ADD CONSTRAINT fk_organization_holidays_organization FOREIGN KEY (organization_id) REFERENCES public.organizations(id);
@@ -0,0 +1,90 @@
+package com.uros.timesheet.attendance.analytics;
+
+import com.uros.timesheet.attendance.dto.report.ReportMeasure;
+import com.uros.timesheet.attendance.dto.report.ReportRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.uros.timesheet.attendance.dto.report.ReportDimension.*;
+import static org.assertj.core.api.Assertions.*;
+
+class AttendanceColumnStoreTest {
+
+    private static final LocalDate WINDOW = LocalDate.of(2024, 1, 1);
+    private static final List<ReportMeasure> MEASURES = List.of(
+            ReportMeasure.HOURS, ReportMeasure.RECORDS, ReportMeasure.DISTINCT_DAYS, ReportMeasure.APPROVAL_RATE);
+
+    private final AttendanceColumnStore store = new AttendanceColumnStore(UUID.randomUUID(), WINDOW, 4);
+
+    @Test
+    void aggregate_byUserAndMonth_matchesSqlShape() {
+        UUID first = new UUID(1, 0);
+        UUID second = new UUID(-1, 0);
+        store.upsert(UUID.randomUUID(), first, LocalDate.of(2024, 1, 10), 480, "work", "APPROVED");
+        store.upsert(UUID.randomUUID(), first, LocalDate.of(2024, 1, 10), 90, "work", "PENDING");
+        store.upsert(UUID.randomUUID(), first, LocalDate.of(2024, 2, 1), 450, "remote", "APPROVED");
+        store.upsert(UUID.randomUUID(), second, LocalDate.of(2024, 1, 31), 60, "work", "REJECTED");
+
+        List<ReportRow> rows = store.aggregate(List.of(USER, MONTH), MEASURES,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29), null, Set.of(), Set.of());
+
+        assertThat(rows).extracting(ReportRow::getDimensions).containsExactly(
+                List.of(first.toString(), "2024-01-01"),
+                List.of(first.toString(), "2024-02-01"),
+                // Unsigned uuid order, as in PostgreSQL
+                List.of(second.toString(), "2024-01-01"));
+        assertThat(rows.get(0).getMeasures()).containsExactly(
+                new BigDecimal("9.50"), BigDecimal.valueOf(2), BigDecimal.ONE, new BigDecimal("0.5000"));
+        assertThat(rows.get(2).getMeasures().get(3)).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void upsertAndRemove_keepRecordIndexConsistent() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            store.upsert(id, UUID.randomUUID(), WINDOW.plusDays(i % 30), 60, "work", "PENDING");
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertThat(store.remove(ids.get(i))).isTrue();
+        }
+        // Re-applying a surviving record replaces it in place
+        store.upsert(ids.get(1), UUID.randomUUID(), WINDOW, 120, "work", "APPROVED");
+        // Moving a record before the window drops it
+        store.upsert(ids.get(3), UUID.randomUUID(), WINDOW.minusDays(1), 60, "work", "PENDING");
+
+        assertThat(store.size()).isEqualTo(499);
+        assertThat(store.remove(ids.get(0))).isFalse();
+        assertThat(store.remove(ids.get(3))).isFalse();
+        assertThat(total(Set.of("APPROVED"))).containsExactly(new BigDecimal("2.00"), BigDecimal.ONE);
+    }
+
+    @Test
+    void largeStore_parallelScanMatchesTotals() {
+        int rows = AttendanceColumnStore.PARALLEL_THRESHOLD * 2;
+        List<UUID> users = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        for (int i = 0; i < rows; i++) {
+            store.upsert(UUID.randomUUID(), users.get(i % 3), WINDOW.plusDays(i % 90), 30, "work",
+                    i % 4 == 0 ? "APPROVED" : "PENDING");
+        }
+
+        assertThat(total(Set.of())).containsExactly(
+                BigDecimal.valueOf(rows * 30L).divide(BigDecimal.valueOf(60)).setScale(2),
+                BigDecimal.valueOf(rows));
+        assertThat(total(Set.of("APPROVED")).get(1)).isEqualTo(BigDecimal.valueOf(rows / 4));
+    }
+
+    private List<BigDecimal> total(Set<String> statuses) {
+        List<ReportRow> rows = store.aggregate(List.of(), List.of(ReportMeasure.HOURS, ReportMeasure.RECORDS),
+                WINDOW, WINDOW.plusDays(364), null, statuses, Set.of());
+        assertThat(rows).hasSize(1);
+        return rows.get(0).getMeasures();
+    }
+}
@@ -0,0 +1,70 @@
+package com.uros.timesheet.attendance.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PresenceBitmapTest {
+
+    @Test
+    void addAndRemove_acrossArrayBitmapConversion_keepsValues() {
+        PresenceBitmap bitmap = new PresenceBitmap();
+        for (int i = 0; i < 10_000; i += 2) {
+            assertThat(bitmap.add(i)).isTrue();
+        }
+        assertThat(bitmap.add(4)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(5000);
+        assertThat(bitmap.contains(9998)).isTrue();
+        assertThat(bitmap.contains(9999)).isFalse();
+
+        for (int i = 0; i < 10_000; i += 4) {
+            assertThat(bitmap.remove(i)).isTrue();
+        }
+        assertThat(bitmap.remove(0)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(2500);
+        assertThat(bitmap.toArray()).startsWith(2, 6, 10).endsWith(9998);
+    }
+
+    @Test
+    void andOr_matchBitSet_acrossContainers() {
+        Random random = new Random(42);
+        PresenceBitmap left = new PresenceBitmap();
+        PresenceBitmap right = new PresenceBitmap();
+        BitSet leftBits = new BitSet();
+        BitSet rightBits = new BitSet();
+        // Dense in the first container, sparse in the later ones
+        for (int i = 0; i < 30_000; i++) {
+            int a = i < 20_000 ? random.nextInt(65_536) : random.nextInt(300_000);
+            int b = i < 20_000 ? random.nextInt(65_536) : random.nextInt(300_000);
+            left.add(a);
+            leftBits.set(a);
+            right.add(b);
+            rightBits.set(b);
+        }
+
+        BitSet and = (BitSet) leftBits.clone();
+        and.and(rightBits);
+        BitSet or = (BitSet) leftBits.clone();
+        or.or(rightBits);
+
+        assertThat(left.and(right).toArray()).isEqualTo(and.stream().toArray());
+        assertThat(left.andCardinality(right)).isEqualTo(and.cardinality());
+        assertThat(left.or(right).toArray()).isEqualTo(or.stream().toArray());
+        assertThat(left.or(right).cardinality()).isEqualTo(or.cardinality());
+        assertThat(left.cardinality()).isEqualTo(leftBits.cardinality());
+    }
+
+    @Test
+    void emptyContainers_areDropped() {
+        PresenceBitmap bitmap = new PresenceBitmap();
+        bitmap.add(70_000);
+        bitmap.remove(70_000);
+
+        assertThat(bitmap.isEmpty()).isTrue();
+        assertThat(bitmap.and(bitmap.copy()).isEmpty()).isTrue();
+        assertThatThrownBy(() -> bitmap.add(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
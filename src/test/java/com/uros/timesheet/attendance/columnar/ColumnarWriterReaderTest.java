@@ -0,0 +1,118 @@
+package com.uros.timesheet.attendance.columnar;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ColumnarWriterReaderTest {
+
+    private static final List<Column> SCHEMA = List.of(
+            Column.required("id", ColumnType.UUID),
+            Column.required("date", ColumnType.DATE),
+            Column.required("start_time", ColumnType.TIME),
+            Column.required("status", ColumnType.DICTIONARY),
+            Column.optional("notes", ColumnType.STRING),
+            Column.optional("approved_at", ColumnType.TIMESTAMP));
+
+    private record Row(UUID id, LocalDate date, LocalTime start, String status, String notes, Instant approvedAt) {
+    }
+
+    @Test
+    void roundTrip_acrossBlocks_preservesValuesAndNulls() throws Exception {
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(new Row(
+                    UUID.randomUUID(),
+                    LocalDate.of(2024, 6, 30).minusDays(i * 3L),
+                    LocalTime.of(8, 0).plusMinutes(i * 7L).plusNanos(123_000),
+                    i % 3 == 0 ? "APPROVED" : "PENDING",
+                    i % 2 == 0 ? null : "note ć " + i,
+                    i % 4 == 0 ? null : Instant.parse("2024-06-01T10:15:30.123456Z").plusSeconds(i * 3600L)));
+        }
+
+        byte[] file = write(rows, 4);
+
+        List<Row> read = new ArrayList<>();
+        try (ColumnarReader reader = new ColumnarReader(new ByteArrayInputStream(file))) {
+            assertThat(reader.getColumns()).isEqualTo(SCHEMA);
+            int blocks = 0;
+            for (ColumnarBlock block = reader.nextBlock(); block != null; block = reader.nextBlock()) {
+                blocks++;
+                for (int row = 0; row < block.getRowCount(); row++) {
+                    read.add(new Row(block.getUuid(0, row), block.getDate(1, row), block.getTime(2, row),
+                            block.getString(3, row), block.getString(4, row), block.getTimestamp(5, row)));
+                }
+            }
+            assertThat(blocks).isEqualTo(3);
+            assertThat(reader.getTotalRows()).isEqualTo(10);
+        }
+        assertThat(read).isEqualTo(rows);
+    }
+
+    @Test
+    void repetitiveData_isMuchSmallerThanText() throws Exception {
+        List<Row> rows = new ArrayList<>();
+        UUID id = UUID.randomUUID();
+        for (int i = 0; i < 5000; i++) {
+            rows.add(new Row(id, LocalDate.of(2024, 1, 1).plusDays(i / 10), LocalTime.of(9, 0),
+                    "APPROVED", null, null));
+        }
+        int textSize = rows.stream().mapToInt(row -> row.toString().length()).sum();
+
+        byte[] file = write(rows, ColumnarWriter.DEFAULT_BLOCK_ROWS);
+
+        assertThat(file.length).isLessThan(textSize / 20);
+    }
+
+    @Test
+    void truncatedFile_isRejected() throws Exception {
+        byte[] file = write(List.of(new Row(UUID.randomUUID(), LocalDate.of(2024, 6, 1), LocalTime.NOON,
+                "PENDING", null, null)), 4);
+        byte[] truncated = Arrays.copyOf(file, file.length - 3);
+
+        try (ColumnarReader reader = new ColumnarReader(new ByteArrayInputStream(truncated))) {
+            assertThatThrownBy(() -> {
+                while (reader.nextBlock() != null) {
+                    // drain
+                }
+            }).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void requiredColumnLeftEmpty_isRejected() throws Exception {
+        try (ColumnarWriter writer = new ColumnarWriter(new ByteArrayOutputStream(), SCHEMA)) {
+            writer.setUuid(0, UUID.randomUUID());
+
+            assertThatThrownBy(writer::endRow).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private byte[] write(List<Row> rows, int blockRows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ColumnarWriter writer = new ColumnarWriter(out, SCHEMA, blockRows)) {
+            for (Row row : rows) {
+                writer.setUuid(0, row.id());
+                writer.setDate(1, row.date());
+                writer.setTime(2, row.start());
+                writer.setString(3, row.status());
+                writer.setString(4, row.notes());
+                writer.setTimestamp(5, row.approvedAt());
+                writer.endRow();
+            }
+            writer.finish();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,89 @@
+package com.uros.timesheet.attendance.conflict;
+
+import com.uros.timesheet.attendance.dto.team.TeamConflictReport;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    private static final LocalDate BASE = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void forEachOverlap_matchesLinearScan_afterInsertsAndRemoves() {
+        Random random = new Random(7);
+        IntervalTree tree = new IntervalTree();
+        List<PlanningInterval> all = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int start = random.nextInt(365);
+            PlanningInterval interval = leave(UUID.randomUUID(), null, start, start + random.nextInt(20), "APPROVED");
+            tree.insert(interval);
+            all.add(interval);
+        }
+        for (int i = 0; i < 700; i++) {
+            assertThat(tree.remove(all.remove(random.nextInt(all.size())))).isTrue();
+        }
+        assertThat(tree.size()).isEqualTo(all.size());
+
+        for (int query = 0; query < 200; query++) {
+            LocalDate from = BASE.plusDays(random.nextInt(380));
+            LocalDate to = from.plusDays(random.nextInt(10));
+            List<PlanningInterval> found = new ArrayList<>();
+            tree.forEachOverlap(from.toEpochDay(), to.toEpochDay(), found::add);
+
+            List<PlanningInterval> expected = all.stream().filter(interval -> interval.overlaps(from, to)).toList();
+            assertThat(found).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(tree.anyOverlap(from.toEpochDay(), to.toEpochDay(), interval -> true))
+                    .isEqualTo(!expected.isEmpty());
+        }
+    }
+
+    @Test
+    void teamConflicts_reportsEachOverlapOnceAndWorkOnLeave() {
+        UUID teamId = UUID.randomUUID();
+        UUID ana = UUID.randomUUID();
+        UUID marko = UUID.randomUUID();
+        PlanningInterval anaLeave = leave(ana, teamId, 10, 20, "APPROVED");
+        PlanningInterval markoLeave = leave(marko, teamId, 15, 25, "SUBMITTED");
+        PlanningInterval markoRemote = new PlanningInterval(UUID.randomUUID(), marko, teamId,
+                PlanningInterval.Kind.LEAVE, "remote", "APPROVED", day(12), day(13));
+        PlanningInterval anaWork = new PlanningInterval(UUID.randomUUID(), ana, teamId,
+                PlanningInterval.Kind.WORK, "work", "DRAFT", day(12), day(12));
+
+        OrganizationIntervals intervals = new OrganizationIntervals(BASE, BASE.plusDays(365));
+        List.of(anaLeave, markoLeave, markoRemote, anaWork).forEach(intervals::put);
+
+        TeamConflictReport report = intervals.teamConflicts(teamId, BASE, BASE.plusDays(60), Set.of("remote"));
+
+        assertThat(report.getLeaveOverlaps()).singleElement().satisfies(overlap -> {
+            assertThat(Set.of(overlap.getUserId(), overlap.getOtherUserId())).containsExactlyInAnyOrder(ana, marko);
+            assertThat(overlap.getFrom()).isEqualTo(day(15));
+            assertThat(overlap.getTo()).isEqualTo(day(20));
+        });
+        assertThat(report.getAttendanceOnLeave()).singleElement().satisfies(conflict -> {
+            assertThat(conflict.getAttendanceRecordId()).isEqualTo(anaWork.id());
+            assertThat(conflict.getLeaveRequestId()).isEqualTo(anaLeave.id());
+        });
+
+        intervals.remove(anaLeave.id());
+        TeamConflictReport afterRemoval = intervals.teamConflicts(teamId, BASE, BASE.plusDays(60), Set.of("remote"));
+        assertThat(afterRemoval.getLeaveOverlaps()).isEmpty();
+        assertThat(afterRemoval.getAttendanceOnLeave()).isEmpty();
+    }
+
+    private static PlanningInterval leave(UUID userId, UUID teamId, int startDay, int endDay, String status) {
+        return new PlanningInterval(UUID.randomUUID(), userId, teamId, PlanningInterval.Kind.LEAVE,
+                "annual", status, day(startDay), day(endDay));
+    }
+
+    private static LocalDate day(int offset) {
+        return BASE.plusDays(offset);
+    }
+}
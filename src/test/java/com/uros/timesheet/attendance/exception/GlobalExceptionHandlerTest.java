@@ -0,0 +1,70 @@
+package com.uros.timesheet.attendance.exception;
+
+import com.uros.timesheet.attendance.i18n.MessageUtil;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class GlobalExceptionHandlerTest {
+
+    private GlobalExceptionHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        MessageUtil messages = mock(MessageUtil.class);
+        when(messages.get(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        handler = new GlobalExceptionHandler(messages);
+    }
+
+    private static DataIntegrityViolationException violation(String message, String sqlState) {
+        // Same nesting as Hibernate: DataIntegrityViolationException -> ConstraintViolationException -> SQLException
+        SQLException sql = new SQLException(message, sqlState);
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sql, null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> body(ResponseEntity<?> response) {
+        return (Map<String, Object>) response.getBody();
+    }
+
+    @Test
+    void attendanceOverlapExclusion_mapsTo409WithOverlapMessage() {
+        ResponseEntity<?> response = handler.handleDataIntegrityViolation(violation(
+                "ERROR: conflicting key value violates exclusion constraint \""
+                        + GlobalExceptionHandler.ATTENDANCE_OVERLAP_CONSTRAINT + "\"", "23P01"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(body(response)).containsEntry("message", "error.attendance.overlap");
+    }
+
+    @Test
+    void uniqueViolation_mapsTo409WithGenericConflict() {
+        ResponseEntity<?> response = handler.handleDataIntegrityViolation(violation(
+                "ERROR: duplicate key value violates unique constraint \"users_username_key\"", "23505"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(body(response)).containsEntry("message", "error.data.conflict");
+    }
+
+    @Test
+    void otherIntegrityViolation_fallsThroughTo500() {
+        ResponseEntity<?> notNull = handler.handleDataIntegrityViolation(violation(
+                "ERROR: null value in column \"user_id\" violates not-null constraint", "23502"));
+        ResponseEntity<?> noSqlCause = handler.handleDataIntegrityViolation(
+                new DataIntegrityViolationException("constraint failed"));
+
+        assertThat(notNull.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(noSqlCause.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
@@ -0,0 +1,115 @@
+package com.uros.timesheet.attendance.graphql;
+
+import com.uros.timesheet.attendance.domain.Organization;
+import com.uros.timesheet.attendance.domain.Role;
+import com.uros.timesheet.attendance.domain.Team;
+import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.dto.attendance.AttendanceStatusChange;
+import com.uros.timesheet.attendance.dto.user.UserScope;
+import com.uros.timesheet.attendance.event.AttendanceRecordStatusChangedEvent;
+import com.uros.timesheet.attendance.repository.UserRepository;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StatusChangeSubscriptionControllerTest {
+
+    private final UUID orgId = UUID.randomUUID();
+    private final UUID teamId = UUID.randomUUID();
+
+    private UserRepository userRepository;
+    private StatusChangeSubscriptionPublisher publisher;
+    private StatusChangeSubscriptionController controller;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        publisher = new StatusChangeSubscriptionPublisher(userRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(publisher, "subscriberBuffer", 16);
+        controller = new StatusChangeSubscriptionController(publisher);
+    }
+
+    private CustomUserDetails principal(UUID organizationId, UUID principalTeamId, String roleName) {
+        Organization org = Organization.builder().id(organizationId).name("Org").status("ACTIVE").build();
+        Team team = principalTeamId != null ? Team.builder().id(principalTeamId).name("Team").build() : null;
+        Role role = Role.builder().id(UUID.randomUUID()).name(roleName).permissions(Set.of()).build();
+        return new CustomUserDetails(User.builder()
+                .id(UUID.randomUUID())
+                .username("user")
+                .status("ACTIVE")
+                .organization(org)
+                .team(team)
+                .roles(Set.of(role))
+                .build());
+    }
+
+    @Test
+    void isVisible_employeeSeesOnlyOwnChanges() {
+        CustomUserDetails employee = principal(orgId, teamId, "EMPLOYEE");
+
+        assertThat(controller.isVisible(employee, orgId, teamId, employee.getId())).isTrue();
+        assertThat(controller.isVisible(employee, orgId, teamId, UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void isVisible_managerSeesOwnTeamOnly() {
+        CustomUserDetails manager = principal(orgId, teamId, "MANAGER");
+
+        assertThat(controller.isVisible(manager, orgId, teamId, UUID.randomUUID())).isTrue();
+        assertThat(controller.isVisible(manager, orgId, UUID.randomUUID(), UUID.randomUUID())).isFalse();
+        assertThat(controller.isVisible(manager, orgId, null, UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void isVisible_adminAndHrSeeWholeOrganizationButNoOtherTenant() {
+        CustomUserDetails admin = principal(orgId, null, "ADMIN");
+        CustomUserDetails hr = principal(orgId, teamId, "HR");
+
+        assertThat(controller.isVisible(admin, orgId, UUID.randomUUID(), UUID.randomUUID())).isTrue();
+        assertThat(controller.isVisible(hr, orgId, null, UUID.randomUUID())).isTrue();
+        assertThat(controller.isVisible(admin, UUID.randomUUID(), teamId, UUID.randomUUID())).isFalse();
+        assertThat(controller.isVisible(admin, UUID.randomUUID(), null, admin.getId())).isFalse();
+    }
+
+    @Test
+    void attendanceStatusChanged_deliversOnlyChangesOfTheManagersTeam() {
+        CustomUserDetails manager = principal(orgId, teamId, "MANAGER");
+        List<AttendanceStatusChange> received = new ArrayList<>();
+        Disposable subscription = controller.attendanceStatusChanged(manager).subscribe(received::add);
+
+        UUID otherOrgUser = UUID.randomUUID();
+        UUID otherTeamUser = UUID.randomUUID();
+        UUID teamMember = UUID.randomUUID();
+        when(userRepository.findScopeById(otherOrgUser))
+                .thenReturn(Optional.of(new UserScope(otherOrgUser, UUID.randomUUID(), teamId)));
+        when(userRepository.findScopeById(otherTeamUser))
+                .thenReturn(Optional.of(new UserScope(otherTeamUser, orgId, UUID.randomUUID())));
+        when(userRepository.findScopeById(teamMember))
+                .thenReturn(Optional.of(new UserScope(teamMember, orgId, teamId)));
+
+        publisher.onAttendanceStatusChanged(event(otherOrgUser));
+        publisher.onAttendanceStatusChanged(event(otherTeamUser));
+        publisher.onAttendanceStatusChanged(event(teamMember));
+        subscription.dispose();
+
+        assertThat(received).extracting(AttendanceStatusChange::getUserId).containsExactly(teamMember);
+    }
+
+    private AttendanceRecordStatusChangedEvent event(UUID userId) {
+        return new AttendanceRecordStatusChangedEvent(this, UUID.randomUUID(), userId,
+                "SUBMITTED", "APPROVED", UUID.randomUUID(), null, Instant.now());
+    }
+}
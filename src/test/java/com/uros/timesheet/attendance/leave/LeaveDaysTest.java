@@ -0,0 +1,37 @@
+package com.uros.timesheet.attendance.leave;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LeaveDaysTest {
+
+    @Test
+    void workingDays_matchesDayByDayCount() {
+        LocalDate base = LocalDate.of(2024, 1, 1);
+        for (int start = 0; start < 14; start++) {
+            for (int length = 0; length < 40; length++) {
+                LocalDate from = base.plusDays(start);
+                LocalDate to = from.plusDays(length);
+                long expected = from.datesUntil(to.plusDays(1))
+                        .filter(day -> day.getDayOfWeek().getValue() <= DayOfWeek.FRIDAY.getValue())
+                        .count();
+                assertThat(LeaveDays.workingDays(from, to)).as("%s..%s", from, to).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void byYear_splitsAtNewYearAndSkipsWeekendOnlyYears() {
+        // Mon 30 Dec 2024 .. Fri 3 Jan 2025
+        assertThat(LeaveDays.byYear(LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 3)))
+                .containsExactly(Map.entry(2024, 2), Map.entry(2025, 3));
+        // Sat 31 Dec 2022 .. Mon 2 Jan 2023
+        assertThat(LeaveDays.byYear(LocalDate.of(2022, 12, 31), LocalDate.of(2023, 1, 2)))
+                .containsExactly(Map.entry(2023, 1));
+    }
+}
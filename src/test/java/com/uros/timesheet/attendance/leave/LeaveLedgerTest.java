@@ -0,0 +1,93 @@
+package com.uros.timesheet.attendance.leave;
+
+import com.uros.timesheet.attendance.domain.LeaveRequest;
+import com.uros.timesheet.attendance.domain.Organization;
+import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.repository.leave.LeaveLedgerEntry;
+import com.uros.timesheet.attendance.repository.leave.LeaveLedgerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {LeaveLedger.class, LeaveEntitlements.class, LeaveBalanceProperties.class, SimpleMeterRegistry.class})
+class LeaveLedgerTest {
+
+    @Autowired
+    private LeaveLedger leaveLedger;
+
+    @MockBean
+    private LeaveLedgerRepository ledgerRepository;
+
+    @Test
+    void record_approvedLeave_accruesAndConsumesWorkingDays() {
+        // Mon 3 .. Sun 9 June 2024: five working days
+        LeaveRequest leave = leave("APPROVED", LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 9));
+        UUID userId = leave.getUser().getId();
+        UUID organizationId = leave.getOrganization().getId();
+        when(ledgerRepository.findConsumedByLeave(leave.getId())).thenReturn(Map.of());
+        when(ledgerRepository.createBalance(userId, organizationId, "annual", 2024, 20)).thenReturn(true);
+
+        assertThat(leaveLedger.record(leave, userId)).isEqualTo(1);
+
+        ArgumentCaptor<LeaveLedgerEntry> entries = ArgumentCaptor.forClass(LeaveLedgerEntry.class);
+        verify(ledgerRepository, times(2)).append(entries.capture());
+        assertThat(entries.getAllValues())
+                .extracting(LeaveLedgerEntry::kind, LeaveLedgerEntry::days)
+                .containsExactly(tuple(LeaveLedgerEntry.Kind.ACCRUAL, 20), tuple(LeaveLedgerEntry.Kind.CONSUMPTION, -5));
+        verify(ledgerRepository).addConsumed(userId, "annual", 2024, 5);
+    }
+
+    @Test
+    void record_alreadyBooked_writesNothing() {
+        LeaveRequest leave = leave("APPROVED", LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 9));
+        when(ledgerRepository.findConsumedByLeave(leave.getId())).thenReturn(Map.of(2024, 5));
+
+        assertThat(leaveLedger.record(leave, null)).isZero();
+
+        verify(ledgerRepository, never()).append(any());
+        verify(ledgerRepository, never()).addConsumed(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void record_deletedLeave_reversesBookedDays() {
+        LeaveRequest leave = leave("APPROVED", LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 9));
+        leave.markDeleted();
+        UUID userId = leave.getUser().getId();
+        when(ledgerRepository.findConsumedByLeave(leave.getId())).thenReturn(Map.of(2024, 5));
+
+        assertThat(leaveLedger.record(leave, userId)).isEqualTo(1);
+
+        ArgumentCaptor<LeaveLedgerEntry> entry = ArgumentCaptor.forClass(LeaveLedgerEntry.class);
+        verify(ledgerRepository).append(entry.capture());
+        assertThat(entry.getValue().kind()).isEqualTo(LeaveLedgerEntry.Kind.REVERSAL);
+        assertThat(entry.getValue().days()).isEqualTo(5);
+        verify(ledgerRepository).addConsumed(userId, "annual", 2024, -5);
+    }
+
+    private static LeaveRequest leave(String status, LocalDate start, LocalDate end) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        Organization organization = new Organization();
+        organization.setId(UUID.randomUUID());
+        return LeaveRequest.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .organization(organization)
+                .type("annual")
+                .status(status)
+                .startDate(start)
+                .endDate(end)
+                .build();
+    }
+}
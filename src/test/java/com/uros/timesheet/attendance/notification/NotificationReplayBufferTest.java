@@ -0,0 +1,63 @@
+package com.uros.timesheet.attendance.notification;
+
+import com.uros.timesheet.attendance.dto.notification.NotificationResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class NotificationReplayBufferTest {
+
+    private NotificationResponse notification() {
+        return NotificationResponse.builder().id(UUID.randomUUID()).build();
+    }
+
+    @Test
+    void since_returnsNotificationsAfterLastEventId() {
+        NotificationReplayBuffer buffer = new NotificationReplayBuffer(5);
+        NotificationResponse n1 = notification();
+        NotificationResponse n2 = notification();
+        NotificationResponse n3 = notification();
+        buffer.append(n1);
+        buffer.append(n2);
+        buffer.append(n3);
+
+        Optional<List<NotificationResponse>> missed = buffer.since(n1.getId());
+
+        assertThat(missed).isPresent();
+        assertThat(missed.get()).containsExactly(n2, n3);
+    }
+
+    @Test
+    void since_lastEventIsNewest_returnsEmptyList() {
+        NotificationReplayBuffer buffer = new NotificationReplayBuffer(5);
+        NotificationResponse n1 = notification();
+        buffer.append(n1);
+
+        assertThat(buffer.since(n1.getId())).contains(List.of());
+    }
+
+    @Test
+    void since_evictedEvent_returnsEmptyOptional() {
+        NotificationReplayBuffer buffer = new NotificationReplayBuffer(2);
+        NotificationResponse n1 = notification();
+        NotificationResponse n2 = notification();
+        NotificationResponse n3 = notification();
+        buffer.append(n1);
+        buffer.append(n2);
+        buffer.append(n3);
+
+        assertThat(buffer.size()).isEqualTo(2);
+        assertThat(buffer.since(n1.getId())).isEmpty();
+        assertThat(buffer.since(n2.getId()).orElseThrow()).containsExactly(n3);
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveCapacity() {
+        assertThatThrownBy(() -> new NotificationReplayBuffer(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
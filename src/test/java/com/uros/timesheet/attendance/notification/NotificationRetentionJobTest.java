@@ -0,0 +1,226 @@
+package com.uros.timesheet.attendance.notification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uros.timesheet.attendance.enums.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationRetentionJobTest {
+
+    private final UUID recipientId = UUID.randomUUID();
+    private final Instant cutoff = Instant.parse("2024-01-01T00:00:00Z");
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private UnreadNotificationCounter unreadNotificationCounter;
+    private NotificationRetentionProperties properties;
+    private NotificationRetentionJob job;
+
+    // Expanded arguments of every SELECT_EXPIRED call: type, cutoff, afterCreatedAt, afterId, limit
+    private final List<Object[]> selects = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+        unreadNotificationCounter = mock(UnreadNotificationCounter.class);
+        properties = new NotificationRetentionProperties();
+        properties.setPause(Duration.ZERO);
+        job = new NotificationRetentionJob(jdbcTemplate, transactionTemplate, new ObjectMapper(),
+                new SimpleMeterRegistry(), properties, unreadNotificationCounter);
+        job.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        job.shutdown();
+    }
+
+    /**
+     * Answers each SELECT_EXPIRED call with the next batch size, mapping that many rows through the job's RowMapper.
+     */
+    @SuppressWarnings("unchecked")
+    private void stubBatches(int... sizes) {
+        int[] call = {0};
+        long[] sequence = {0};
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(inv -> {
+            Object[] args = inv.getArguments();
+            selects.add(Arrays.copyOfRange(args, 2, args.length));
+            int size = call[0] < sizes.length ? sizes[call[0]] : 0;
+            call[0]++;
+            RowMapper<Object> mapper = inv.getArgument(1);
+            List<Object> rows = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                rows.add(mapper.mapRow(resultSet(sequence[0]++), i));
+            }
+            return rows;
+        });
+    }
+
+    private ResultSet resultSet(long sequence) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject("id", UUID.class)).thenReturn(new UUID(1, sequence));
+        when(rs.getObject("recipient_id", UUID.class)).thenReturn(recipientId);
+        when(rs.getString("title")).thenReturn("Title " + sequence);
+        when(rs.getString("message")).thenReturn("Message " + sequence);
+        when(rs.getString("status")).thenReturn("SENT");
+        when(rs.getTimestamp("created_at")).thenReturn(new Timestamp(1_000_000L + sequence));
+        return rs;
+    }
+
+    @Test
+    void purge_emptyBatch_removesNothing() {
+        stubBatches(0);
+
+        assertThat(job.purge(NotificationType.EMAIL, cutoff)).isZero();
+
+        assertThat(selects).hasSize(1);
+        verify(jdbcTemplate, never()).update(any(PreparedStatementCreator.class));
+        verifyNoInteractions(unreadNotificationCounter);
+    }
+
+    @Test
+    void purge_batchShorterThanLimit_stopsAfterOneBatch() {
+        properties.setBatchSize(3);
+        stubBatches(2);
+
+        assertThat(job.purge(NotificationType.EMAIL, cutoff)).isEqualTo(2);
+
+        assertThat(selects).hasSize(1);
+        verify(jdbcTemplate, times(1)).update(any(PreparedStatementCreator.class));
+        verify(unreadNotificationCounter).invalidate(Set.of(recipientId));
+    }
+
+    @Test
+    void purge_fullBatches_continueFromLastKeyUntilMaxBatches() {
+        properties.setBatchSize(2);
+        properties.setMaxBatchesPerRun(3);
+        stubBatches(2, 2, 2, 2);
+
+        assertThat(job.purge(NotificationType.EMAIL, cutoff)).isEqualTo(6);
+
+        assertThat(selects).hasSize(3);
+        // Second batch starts after the last (created_at, id) of the first one
+        assertThat(selects.get(1)[2]).isEqualTo(new Timestamp(1_000_001L));
+        assertThat(selects.get(1)[3]).isEqualTo(new UUID(1, 1));
+    }
+
+    @Test
+    void purgeExpired_usesPerTypeTtlOverride() {
+        Map<NotificationType, Duration> ttl = new EnumMap<>(NotificationType.class);
+        ttl.put(NotificationType.EMAIL, Duration.ofDays(30));
+        properties.setTtl(ttl);
+        stubBatches();
+
+        Instant before = Instant.now();
+        job.purgeExpired();
+        Instant after = Instant.now();
+
+        assertThat(properties.ttlFor(NotificationType.EMAIL)).isEqualTo(Duration.ofDays(30));
+        assertThat(properties.ttlFor(NotificationType.DUMMY)).isEqualTo(properties.getDefaultTtl());
+        for (Object[] select : selects) {
+            Duration ttlUsed = properties.ttlFor(NotificationType.valueOf((String) select[0]));
+            Instant usedCutoff = ((Timestamp) select[1]).toInstant();
+            assertThat(usedCutoff).isBetween(before.minus(ttlUsed), after.minus(ttlUsed));
+        }
+        assertThat(selects).extracting(select -> select[0]).contains("EMAIL", "DUMMY");
+    }
+
+    @Test
+    void run_doesNotHoldSchedulerThread_heartbeatKeepsFiring() throws Exception {
+        CountDownLatch purging = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> {
+            purging.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+        NotificationStreamRegistry streamRegistry = mock(NotificationStreamRegistry.class);
+        // Single thread, like the default scheduler pool
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.initialize();
+        try {
+            scheduler.execute(job::run);
+            assertThat(purging.await(5, TimeUnit.SECONDS)).isTrue();
+            scheduler.scheduleWithFixedDelay(streamRegistry::heartbeat, Duration.ofMillis(20));
+
+            verify(streamRegistry, timeout(2000).atLeast(3)).heartbeat();
+            assertThat(release.getCount()).isEqualTo(1);
+
+            // A trigger during the run is skipped rather than queued behind it
+            job.run();
+            release.countDown();
+            verify(transactionTemplate, timeout(2000).times(NotificationType.values().length)).execute(any());
+        } finally {
+            release.countDown();
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void purge_archive_writesGzipJsonPayload() throws Exception {
+        properties.setArchive(true);
+        stubBatches(1);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        doAnswer(inv -> {
+            Collection<Object> rows = inv.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = inv.getArgument(3);
+            for (Object row : rows) {
+                setter.setValues(ps, row);
+            }
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+
+        assertThat(job.purge(NotificationType.EMAIL, cutoff)).isEqualTo(1);
+
+        ArgumentCaptor<byte[]> payload = ArgumentCaptor.forClass(byte[].class);
+        verify(ps).setBytes(eq(6), payload.capture());
+        verify(ps).setString(3, "EMAIL");
+        JsonNode json;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(payload.getValue()))) {
+            json = new ObjectMapper().readTree(in);
+        }
+        assertThat(json.get("title").asText()).isEqualTo("Title 0");
+        assertThat(json.get("message").asText()).isEqualTo("Message 0");
+        assertThat(json.get("readAt").isNull()).isTrue();
+        verify(jdbcTemplate).update(any(PreparedStatementCreator.class));
+    }
+}
@@ -0,0 +1,140 @@
+package com.uros.timesheet.attendance.notification;
+
+import com.uros.timesheet.attendance.domain.Notification;
+import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.dto.notification.NotificationResponse;
+import com.uros.timesheet.attendance.mapper.NotificationMapper;
+import com.uros.timesheet.attendance.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NotificationStreamRegistryTest {
+
+    private NotificationRepository notificationRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationStreamRegistry registry;
+    private NotificationMapper notificationMapper;
+    private final UUID userId = UUID.randomUUID();
+
+    // Event ids sent to streams opened by the registry, in send order
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        notificationMapper = mock(NotificationMapper.class);
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new NotificationStreamRegistry(notificationRepository, notificationMapper, meterRegistry) {
+            @Override
+            SseEmitter createEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+        ReflectionTestUtils.setField(registry, "bufferSize", 5);
+        ReflectionTestUtils.setField(registry, "timeoutMs", 60000L);
+        ReflectionTestUtils.setField(registry, "maxReplay", 10);
+        registry.registerMetrics();
+    }
+
+    private double bufferCount() {
+        return meterRegistry.get("notifications.sse.buffers").gauge().value();
+    }
+
+    @Test
+    void evictIdleBuffers_dropsIdleBufferWithoutStreams() {
+        ReflectionTestUtils.setField(registry, "bufferIdleMs", 0L);
+        registry.publish(userId, NotificationResponse.builder().id(UUID.randomUUID()).build());
+        assertThat(bufferCount()).isEqualTo(1.0);
+
+        registry.evictIdleBuffers();
+
+        assertThat(bufferCount()).isZero();
+    }
+
+    @Test
+    void evictIdleBuffers_keepsBufferOfUserWithOpenStream() {
+        ReflectionTestUtils.setField(registry, "bufferIdleMs", 0L);
+        registry.subscribe(userId, null);
+        registry.publish(userId, NotificationResponse.builder().id(UUID.randomUUID()).build());
+
+        registry.evictIdleBuffers();
+
+        assertThat(bufferCount()).isEqualTo(1.0);
+    }
+
+    @Test
+    void subscribe_lastEventNotBuffered_replaysFromDatabaseByCreatedAtAndId() {
+        UUID lastId = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2024-03-12T09:00:00Z");
+        User recipient = new User();
+        recipient.setId(userId);
+        Notification last = Notification.builder().id(lastId).recipient(recipient).createdAt(createdAt).build();
+        when(notificationRepository.findById(lastId)).thenReturn(Optional.of(last));
+        when(notificationRepository.findByRecipientIdCreatedAfter(userId, createdAt, lastId, PageRequest.of(0, 10)))
+                .thenReturn(List.of());
+
+        registry.subscribe(userId, lastId.toString());
+
+        verify(notificationRepository).findByRecipientIdCreatedAfter(userId, createdAt, lastId, PageRequest.of(0, 10));
+    }
+
+    @Test
+    void subscribe_notificationCommittedDuringReplay_isSentOnceAfterIt() {
+        UUID lastId = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2024-03-12T09:00:00Z");
+        User recipient = new User();
+        recipient.setId(userId);
+        Notification last = Notification.builder().id(lastId).recipient(recipient).createdAt(createdAt).build();
+        Notification missed = Notification.builder().id(UUID.randomUUID()).recipient(recipient).build();
+        Notification racing = Notification.builder().id(UUID.randomUUID()).recipient(recipient).build();
+        NotificationResponse later = NotificationResponse.builder().id(UUID.randomUUID()).build();
+        when(notificationRepository.findById(lastId)).thenReturn(Optional.of(last));
+        when(notificationMapper.toResponse(any(Notification.class))).thenAnswer(inv ->
+                NotificationResponse.builder().id(inv.<Notification>getArgument(0).getId()).build());
+        // Both commit after the stream is registered: racing before the replay query reads, later after it
+        when(notificationRepository.findByRecipientIdCreatedAfter(userId, createdAt, lastId, PageRequest.of(0, 10)))
+                .thenAnswer(inv -> {
+                    registry.publish(userId, notificationMapper.toResponse(racing));
+                    List<Notification> page = List.of(missed, racing);
+                    registry.publish(userId, later);
+                    return page;
+                });
+
+        registry.subscribe(userId, lastId.toString());
+        NotificationResponse live = NotificationResponse.builder().id(UUID.randomUUID()).build();
+        registry.publish(userId, live);
+
+        assertThat(sent).containsExactly(missed.getId().toString(), racing.getId().toString(),
+                later.getId().toString(), live.getId().toString());
+    }
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\S+)$", Pattern.MULTILINE);
+
+    private class RecordingEmitter extends SseEmitter {
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (DataWithMediaType part : builder.build()) {
+                Matcher matcher = EVENT_ID.matcher(String.valueOf(part.getData()));
+                if (matcher.find()) {
+                    sent.add(matcher.group(1));
+                }
+            }
+        }
+    }
+}
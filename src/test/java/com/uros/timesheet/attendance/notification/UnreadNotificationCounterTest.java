@@ -0,0 +1,82 @@
+package com.uros.timesheet.attendance.notification;
+
+import com.uros.timesheet.attendance.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UnreadNotificationCounterTest {
+
+    private NotificationRepository notificationRepository;
+    private SimpMessagingTemplate messagingTemplate;
+    private UnreadNotificationCounter counter;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        counter = new UnreadNotificationCounter(notificationRepository, messagingTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_loadsOnceThenServesFromMemory() {
+        when(notificationRepository.countUnreadByRecipientId(userId)).thenReturn(4L);
+
+        assertThat(counter.get(userId)).isEqualTo(4L);
+        counter.add(userId, 1);
+        counter.add(userId, -3);
+
+        assertThat(counter.get(userId)).isEqualTo(2L);
+        verify(notificationRepository, times(1)).countUnreadByRecipientId(userId);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/queue/notifications/" + userId + "/unread-count"), any(Object.class));
+    }
+
+    @Test
+    void add_beforeLoad_isIgnored() {
+        counter.add(userId, 1);
+
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    void reconcile_correctsDriftFromDatabase() {
+        when(notificationRepository.countUnreadByRecipientId(userId)).thenReturn(1L);
+        counter.get(userId);
+        counter.add(userId, 5);
+        when(notificationRepository.countUnreadByRecipientIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{userId, 2L}));
+
+        counter.reconcile();
+
+        assertThat(counter.get(userId)).isEqualTo(2L);
+    }
+
+    @Test
+    void evictIdle_dropsReconciledCountersButKeepsDirtyOnes() {
+        ReflectionTestUtils.setField(counter, "idleMs", 0L);
+        UUID dirtyUser = UUID.randomUUID();
+        when(notificationRepository.countUnreadByRecipientId(any(UUID.class))).thenReturn(3L);
+        counter.get(userId);
+        when(notificationRepository.countUnreadByRecipientIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{userId, 3L}));
+        counter.reconcile();
+        counter.get(dirtyUser);
+
+        counter.evictIdle();
+        counter.get(userId);
+        counter.get(dirtyUser);
+
+        verify(notificationRepository, times(2)).countUnreadByRecipientId(userId);
+        verify(notificationRepository, times(1)).countUnreadByRecipientId(dirtyUser);
+    }
+}
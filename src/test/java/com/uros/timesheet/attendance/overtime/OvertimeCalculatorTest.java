@@ -0,0 +1,89 @@
+package com.uros.timesheet.attendance.overtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OvertimeCalculatorTest {
+
+    // 2024-06-03 is a Monday
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+    private static final ZoneRules BELGRADE = ZoneId.of("Europe/Belgrade").getRules();
+
+    @Test
+    void split_appliesDailyThresholdAcrossShiftsOfTheDay() {
+        OvertimeCalculator.Shift morning = work(MONDAY, 300);
+        OvertimeCalculator.Shift evening = work(MONDAY, 300);
+
+        Map<UUID, OvertimeCalculator.Split> splits = OvertimeCalculator.split(
+                List.of(morning, evening), Set.of(), new OvertimeProperties());
+
+        assertThat(splits.get(morning.id())).isEqualTo(new OvertimeCalculator.Split(300, 0));
+        assertThat(splits.get(evening.id())).isEqualTo(new OvertimeCalculator.Split(180, 120));
+    }
+
+    @Test
+    void split_weeklyThresholdWeekendHolidayAndNonWorkingTypes() {
+        OvertimeProperties properties = new OvertimeProperties();
+        properties.setDailyThreshold(Duration.ofHours(12));
+        List<OvertimeCalculator.Shift> shifts = new ArrayList<>();
+        for (int day = 0; day < 4; day++) {
+            shifts.add(work(MONDAY.plusDays(day), 600));
+        }
+        OvertimeCalculator.Shift sick = new OvertimeCalculator.Shift(UUID.randomUUID(), MONDAY.plusDays(4), "sick", 480);
+        OvertimeCalculator.Shift friday = work(MONDAY.plusDays(4), 120);
+        OvertimeCalculator.Shift saturday = work(MONDAY.plusDays(5), 240);
+        shifts.addAll(List.of(sick, friday, saturday));
+        // Thursday is a holiday
+        Set<LocalDate> holidays = Set.of(MONDAY.plusDays(3));
+
+        Map<UUID, OvertimeCalculator.Split> splits = OvertimeCalculator.split(shifts, holidays, properties);
+
+        assertThat(splits.get(shifts.get(0).id())).isEqualTo(new OvertimeCalculator.Split(600, 0));
+        assertThat(splits.get(shifts.get(3).id())).isEqualTo(new OvertimeCalculator.Split(0, 600));
+        assertThat(splits.get(sick.id())).isEqualTo(new OvertimeCalculator.Split(480, 0));
+        // Monday to Wednesday used 30 of the 40 weekly hours
+        assertThat(splits.get(friday.id())).isEqualTo(new OvertimeCalculator.Split(120, 0));
+        assertThat(splits.get(saturday.id())).isEqualTo(new OvertimeCalculator.Split(0, 240));
+    }
+
+    @Test
+    void split_frozenShiftKeepsItsSplitAndUsesUpTheThresholds() {
+        OvertimeCalculator.Shift frozen = new OvertimeCalculator.Shift(UUID.randomUUID(), MONDAY, "work", 400,
+                new OvertimeCalculator.Split(400, 0));
+        OvertimeCalculator.Shift open = work(MONDAY, 200);
+
+        Map<UUID, OvertimeCalculator.Split> splits = OvertimeCalculator.split(
+                List.of(frozen, open), Set.of(), new OvertimeProperties());
+
+        assertThat(splits.get(frozen.id())).isEqualTo(new OvertimeCalculator.Split(400, 0));
+        assertThat(splits.get(open.id())).isEqualTo(new OvertimeCalculator.Split(80, 120));
+    }
+
+    @Test
+    void workedMinutes_overnightAndDstTransitions() {
+        LocalTime night = LocalTime.of(22, 0);
+        LocalTime morning = LocalTime.of(6, 0);
+
+        assertThat(WorkingTime.workedMinutes(MONDAY, night, morning, BELGRADE)).isEqualTo(480);
+        // Clocks go forward on 2024-03-31 and back on 2024-10-27
+        assertThat(WorkingTime.workedMinutes(LocalDate.of(2024, 3, 30), night, morning, BELGRADE)).isEqualTo(420);
+        assertThat(WorkingTime.workedMinutes(LocalDate.of(2024, 10, 26), night, morning, BELGRADE)).isEqualTo(540);
+        assertThat(WorkingTime.workedMinutes(MONDAY, LocalTime.of(9, 0), LocalTime.of(17, 30), BELGRADE)).isEqualTo(510);
+    }
+
+    private static OvertimeCalculator.Shift work(LocalDate date, int minutes) {
+        return new OvertimeCalculator.Shift(UUID.randomUUID(), date, "work", minutes);
+    }
+}
@@ -0,0 +1,71 @@
+package com.uros.timesheet.attendance.overtime;
+
+import com.uros.timesheet.attendance.domain.AttendanceRecord;
+import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
+import com.uros.timesheet.attendance.repository.OrganizationHolidayRepository;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriod;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriodRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OvertimeEngineTest {
+
+    // 2024-06-03 is a Monday
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+
+    private final UUID orgId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void recomputeWeek_acrossPeriodBoundary_keepsClosedDaysAndCountsThemTowardsTheWeek() {
+        AttendanceRecordRepository attendanceRecordRepository = mock(AttendanceRecordRepository.class);
+        OrganizationHolidayRepository holidayRepository = mock(OrganizationHolidayRepository.class);
+        PayrollPeriodRepository payrollPeriodRepository = mock(PayrollPeriodRepository.class);
+        OvertimeProperties properties = new OvertimeProperties();
+        properties.setWeeklyThreshold(Duration.ofHours(24));
+        OvertimeEngine engine = new OvertimeEngine(attendanceRecordRepository, holidayRepository,
+                payrollPeriodRepository, properties);
+
+        // Monday and Tuesday are in a period closed on Tuesday; Monday was frozen with a split
+        // the current rules would not produce, which must survive
+        AttendanceRecord monday = record(MONDAY, 600, 600, 0);
+        AttendanceRecord tuesday = record(MONDAY.plusDays(1), 600, 480, 120);
+        AttendanceRecord wednesday = record(MONDAY.plusDays(2), 600, null, null);
+        LocalDate sunday = MONDAY.plusDays(6);
+        when(attendanceRecordRepository.findApprovedForOvertime(userId, MONDAY, sunday))
+                .thenReturn(List.of(monday, tuesday, wednesday));
+        when(holidayRepository.findBetween(orgId, MONDAY, sunday)).thenReturn(List.of());
+        when(payrollPeriodRepository.findClosedOverlapping(orgId, MONDAY, sunday)).thenReturn(List.of(
+                new PayrollPeriod(UUID.randomUUID(), orgId, MONDAY.minusDays(14), MONDAY.plusDays(1), Instant.now(), null)));
+
+        engine.recomputeWeek(userId, orgId, MONDAY.plusDays(2));
+
+        assertThat(monday.getRegularMinutes()).isEqualTo(600);
+        assertThat(monday.getOvertimeMinutes()).isZero();
+        assertThat(tuesday.getRegularMinutes()).isEqualTo(480);
+        assertThat(tuesday.getOvertimeMinutes()).isEqualTo(120);
+        // 1440 weekly minutes minus the 1080 regular minutes frozen on Monday and Tuesday
+        assertThat(wednesday.getRegularMinutes()).isEqualTo(360);
+        assertThat(wednesday.getOvertimeMinutes()).isEqualTo(240);
+    }
+
+    private static AttendanceRecord record(LocalDate date, int worked, Integer regular, Integer overtime) {
+        return AttendanceRecord.builder()
+                .id(UUID.randomUUID())
+                .date(date)
+                .type("work")
+                .status("APPROVED")
+                .workedMinutes(worked)
+                .regularMinutes(regular)
+                .overtimeMinutes(overtime)
+                .build();
+    }
+}
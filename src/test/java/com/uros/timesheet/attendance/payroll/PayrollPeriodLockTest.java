@@ -0,0 +1,40 @@
+package com.uros.timesheet.attendance.payroll;
+
+import com.uros.timesheet.attendance.exception.PayrollPeriodClosedException;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriodRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PayrollPeriodLockTest {
+
+    private final PayrollPeriodRepository payrollPeriodRepository = mock(PayrollPeriodRepository.class);
+    private final PayrollPeriodLock lock = new PayrollPeriodLock(payrollPeriodRepository);
+    private final UUID orgId = UUID.randomUUID();
+    private final LocalDate date = LocalDate.of(2024, 6, 12);
+
+    @Test
+    void checkOpen_closedDate_throwsAfterTakingTheTransitionLock() {
+        when(payrollPeriodRepository.isClosed(orgId, date)).thenReturn(true);
+
+        assertThatThrownBy(() -> lock.checkOpen(orgId, date))
+                .isInstanceOf(PayrollPeriodClosedException.class)
+                .hasMessage("error.payroll.period.closed");
+        InOrder order = inOrder(payrollPeriodRepository);
+        order.verify(payrollPeriodRepository).lockForTransition(orgId);
+        order.verify(payrollPeriodRepository).isClosed(orgId, date);
+    }
+
+    @Test
+    void checkOpen_openDate_passes() {
+        when(payrollPeriodRepository.isClosed(orgId, date)).thenReturn(false);
+
+        assertThatCode(() -> lock.checkOpen(orgId, date)).doesNotThrowAnyException();
+        verify(payrollPeriodRepository).lockForTransition(orgId);
+    }
+}
@@ -0,0 +1,78 @@
+package com.uros.timesheet.attendance.presence;
+
+import com.uros.timesheet.attendance.dto.presence.PresenceDelta;
+import com.uros.timesheet.attendance.dto.presence.PresenceRow;
+import com.uros.timesheet.attendance.dto.presence.PresenceSnapshotResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PresenceBoardTest {
+
+    // 2024-03-12 10:00 in Europe/Belgrade (UTC+1)
+    private final Clock clock = Clock.fixed(Instant.parse("2024-03-12T09:00:00Z"), ZoneOffset.UTC);
+    private final UUID orgId = UUID.randomUUID();
+
+    private PresenceRow row(UUID recordId, UUID userId, LocalDate date, String start, String end, String status) {
+        return new PresenceRow(recordId, userId, "User " + userId, null, orgId, "Europe/Belgrade",
+                date, LocalTime.parse(start), LocalTime.parse(end), "work", status);
+    }
+
+    @Test
+    void snapshot_marksUsersInsideOpenInterval() {
+        PresenceBoard board = new PresenceBoard(clock);
+        UUID working = UUID.randomUUID();
+        UUID later = UUID.randomUUID();
+        LocalDate today = LocalDate.of(2024, 3, 12);
+        board.load(List.of(
+                row(UUID.randomUUID(), working, today, "08:00", "16:00", "SUBMITTED"),
+                row(UUID.randomUUID(), later, today, "14:00", "22:00", "DRAFT")));
+
+        PresenceSnapshotResponse snapshot = board.snapshot(orgId);
+
+        assertThat(snapshot.getDate()).isEqualTo(today);
+        assertThat(snapshot.getWorkingNow()).isEqualTo(1);
+        assertThat(snapshot.getUsers()).hasSize(2);
+    }
+
+    @Test
+    void snapshot_countsOvernightShiftFromYesterday() {
+        PresenceBoard board = new PresenceBoard(clock);
+        board.load(List.of(row(UUID.randomUUID(), UUID.randomUUID(), LocalDate.of(2024, 3, 11), "22:00", "11:00", "APPROVED")));
+
+        assertThat(board.snapshot(orgId).getWorkingNow()).isEqualTo(1);
+    }
+
+    @Test
+    void apply_rejectedRecordRemovesUser() {
+        PresenceBoard board = new PresenceBoard(clock);
+        UUID recordId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        LocalDate today = LocalDate.of(2024, 3, 12);
+
+        PresenceDelta upsert = board.apply(row(recordId, userId, today, "08:00", "16:00", "SUBMITTED"));
+        PresenceDelta remove = board.apply(row(recordId, userId, today, "08:00", "16:00", "REJECTED"));
+
+        assertThat(upsert.getType()).isEqualTo("UPSERT");
+        assertThat(upsert.getUser().isWorking()).isTrue();
+        assertThat(remove.getType()).isEqualTo("REMOVE");
+        assertThat(board.snapshot(orgId).getUsers()).isEmpty();
+    }
+
+    @Test
+    void apply_recordOutsideWindowIsIgnored() {
+        PresenceBoard board = new PresenceBoard(clock);
+
+        PresenceDelta delta = board.apply(row(UUID.randomUUID(), UUID.randomUUID(), LocalDate.of(2024, 4, 1), "08:00", "16:00", "DRAFT"));
+
+        assertThat(delta).isNull();
+    }
+}
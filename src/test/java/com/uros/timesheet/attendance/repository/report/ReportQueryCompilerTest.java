@@ -0,0 +1,69 @@
+package com.uros.timesheet.attendance.repository.report;
+
+import com.uros.timesheet.attendance.dto.report.ReportDimension;
+import com.uros.timesheet.attendance.dto.report.ReportMeasure;
+import com.uros.timesheet.attendance.dto.report.ReportQueryRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static com.uros.timesheet.attendance.dto.report.ReportDimension.*;
+import static org.assertj.core.api.Assertions.*;
+
+class ReportQueryCompilerTest {
+
+    @Test
+    void rollup_addsLeadingSubsetsAndGrandTotal() {
+        CompiledReportQuery query = ReportQueryCompiler.compile(
+                request(List.of(TEAM, WEEK, TYPE), ReportQueryRequest.Totals.ROLLUP), UUID.randomUUID());
+
+        assertThat(query.groupingSets()).containsExactly(
+                List.of(TEAM, WEEK, TYPE), List.of(TEAM, WEEK), List.of(TEAM), List.of());
+        assertThat(query.sql())
+                .contains("JOIN users u ON u.id = ar.user_id")
+                .contains("GROUPING(u.team_id, CAST(date_trunc('week', ar.date) AS date), ar.type)")
+                .contains("GROUP BY GROUPING SETS ((u.team_id, CAST(date_trunc('week', ar.date) AS date), ar.type), "
+                        + "(u.team_id, CAST(date_trunc('week', ar.date) AS date)), (u.team_id), ())");
+    }
+
+    @Test
+    void cube_coversEverySubsetLargestFirst() {
+        List<List<ReportDimension>> sets = ReportQueryCompiler.groupingSets(
+                List.of(ORGANIZATION, MONTH, STATUS), ReportQueryRequest.Totals.CUBE);
+
+        assertThat(sets).hasSize(8);
+        assertThat(sets).first().isEqualTo(List.of(ORGANIZATION, MONTH, STATUS));
+        assertThat(sets.subList(1, 4)).containsExactly(
+                List.of(ORGANIZATION, MONTH), List.of(ORGANIZATION, STATUS), List.of(MONTH, STATUS));
+        assertThat(sets).last().isEqualTo(List.of());
+    }
+
+    @Test
+    void filters_areBoundNotInlined() {
+        ReportQueryRequest request = request(List.of(USER), null);
+        request.setStatuses(List.of("APPROVED'; DROP TABLE users; --"));
+        request.setUserId(UUID.randomUUID());
+
+        CompiledReportQuery query = ReportQueryCompiler.compile(request, UUID.randomUUID());
+
+        assertThat(query.sql())
+                .doesNotContain("DROP TABLE")
+                .doesNotContain("JOIN users")
+                .contains("ar.status IN (:statuses)")
+                .contains("ar.user_id = :userId");
+        assertThat(query.parameters()).containsKeys("organizationId", "fromDate", "toDate", "statuses", "userId");
+        assertThat(query.groupingSets()).containsExactly(List.of(USER));
+    }
+
+    private ReportQueryRequest request(List<ReportDimension> dimensions, ReportQueryRequest.Totals totals) {
+        ReportQueryRequest request = new ReportQueryRequest();
+        request.setDimensions(dimensions);
+        request.setMeasures(List.of(ReportMeasure.HOURS, ReportMeasure.APPROVAL_RATE));
+        request.setFrom(LocalDate.of(2024, 1, 1));
+        request.setTo(LocalDate.of(2024, 3, 31));
+        request.setTotals(totals);
+        return request;
+    }
+}
@@ -0,0 +1,57 @@
+package com.uros.timesheet.attendance.service.handler;
+
+import com.uros.timesheet.attendance.domain.AttendanceRecord;
+import com.uros.timesheet.attendance.domain.Organization;
+import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.event.DomainEventPublisher;
+import com.uros.timesheet.attendance.exception.PayrollPeriodClosedException;
+import com.uros.timesheet.attendance.i18n.MessageUtil;
+import com.uros.timesheet.attendance.mapper.AttendanceRecordMapper;
+import com.uros.timesheet.attendance.payroll.PayrollPeriodLock;
+import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriodRepository;
+import com.uros.timesheet.attendance.workflow.WorkflowEngineService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AttendanceRecordSubmitHandlerTest {
+
+    @Test
+    void handle_recordInClosedPayrollPeriod_isRejectedUnchanged() {
+        AttendanceRecordRepository attendanceRecordRepository = mock(AttendanceRecordRepository.class);
+        PayrollPeriodRepository payrollPeriodRepository = mock(PayrollPeriodRepository.class);
+        DomainEventPublisher eventPublisher = mock(DomainEventPublisher.class);
+        AttendanceRecordSubmitHandler handler = new AttendanceRecordSubmitHandler(attendanceRecordRepository,
+                mock(AttendanceRecordMapper.class), mock(WorkflowEngineService.class), mock(MessageUtil.class),
+                eventPublisher, new SimpleMeterRegistry(), new PayrollPeriodLock(payrollPeriodRepository));
+
+        UUID orgId = UUID.randomUUID();
+        LocalDate date = LocalDate.of(2024, 6, 12);
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        AttendanceRecord record = AttendanceRecord.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .organization(Organization.builder().id(orgId).build())
+                .date(date)
+                .status("DRAFT")
+                .build();
+        when(attendanceRecordRepository.findById(record.getId())).thenReturn(Optional.of(record));
+        when(payrollPeriodRepository.isClosed(orgId, date)).thenReturn(true);
+
+        assertThatThrownBy(() -> handler.handle(record.getId(), user.getId()))
+                .isInstanceOf(PayrollPeriodClosedException.class);
+
+        assertThat(record.getStatus()).isEqualTo("DRAFT");
+        verify(attendanceRecordRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,53 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DelimitedWriterTest {
+
+    @Test
+    void csv_quotesOnlyWhenNeeded() throws Exception {
+        StringWriter out = new StringWriter();
+        DelimitedWriter writer = DelimitedWriter.csv(out);
+
+        writer.field("plain");
+        writer.field("a,b");
+        writer.field("say \"hi\"");
+        writer.field(null);
+        writer.field("line\nbreak");
+        writer.endRecord();
+        writer.flush();
+
+        assertThat(out.toString()).isEqualTo("plain,\"a,b\",\"say \"\"hi\"\"\",,\"line\nbreak\"\n");
+    }
+
+    @Test
+    void tsv_replacesTabsAndLineBreaks() throws Exception {
+        StringWriter out = new StringWriter();
+        DelimitedWriter writer = DelimitedWriter.tsv(out);
+
+        writer.field("a\tb");
+        writer.field("c\r\nd");
+        writer.endRecord();
+        writer.flush();
+
+        assertThat(out.toString()).isEqualTo("a b\tc  d\n");
+    }
+
+    @Test
+    void valuesLongerThanBuffer_areWrittenCompletely() throws Exception {
+        StringWriter out = new StringWriter();
+        DelimitedWriter writer = new DelimitedWriter(out, ',', true, 8);
+        String longValue = "x".repeat(50);
+
+        writer.field(longValue);
+        writer.field("quoted,value");
+        writer.endRecord();
+        writer.flush();
+
+        assertThat(out.toString()).isEqualTo(longValue + ",\"quoted,value\"\n");
+    }
+}
@@ -0,0 +1,70 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import com.uros.timesheet.attendance.dto.export.ExportFormat;
+import com.uros.timesheet.attendance.exception.ExportRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ExportBulkheadTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExportBulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bulkhead = new ExportBulkhead(meterRegistry);
+        ReflectionTestUtils.setField(bulkhead, "pdfMaxConcurrent", 1);
+        ReflectionTestUtils.setField(bulkhead, "excelMaxConcurrent", 1);
+        ReflectionTestUtils.setField(bulkhead, "maxWaiting", 1);
+        ReflectionTestUtils.setField(bulkhead, "maxWait", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(bulkhead, "defaultRetryAfter", Duration.ofSeconds(15));
+        bulkhead.init();
+    }
+
+    @Test
+    void acquire_whenFormatIsBusy_rejectsWithRetryAfter() {
+        ExportBulkhead.Permit permit = bulkhead.acquire(ExportFormat.PDF);
+
+        assertThatThrownBy(() -> bulkhead.acquire(ExportFormat.PDF))
+                .isInstanceOfSatisfying(ExportRejectedException.class,
+                        ex -> assertThat(ex.getRetryAfterSeconds()).isEqualTo(15));
+        assertThat(meterRegistry.counter("export.bulkhead.rejected", "format", "PDF", "reason", "timeout").count())
+                .isEqualTo(1);
+
+        permit.close();
+        permit.close();
+        bulkhead.acquire(ExportFormat.PDF).close();
+    }
+
+    @Test
+    void tryAcquire_whenFormatIsBusy_returnsNullWithoutWaiting() {
+        ExportBulkhead.Permit permit = bulkhead.acquire(ExportFormat.PDF);
+
+        assertThat(bulkhead.tryAcquire(ExportFormat.PDF)).isNull();
+        assertThat(meterRegistry.counter("export.bulkhead.rejected", "format", "PDF", "reason", "no_slot").count())
+                .isEqualTo(1);
+
+        permit.close();
+        ExportBulkhead.Permit retried = bulkhead.tryAcquire(ExportFormat.PDF);
+        assertThat(retried).isNotNull();
+        retried.close();
+    }
+
+    @Test
+    void formats_haveSeparateLimits() {
+        try (ExportBulkhead.Permit pdf = bulkhead.acquire(ExportFormat.PDF);
+             ExportBulkhead.Permit excel = bulkhead.acquire(ExportFormat.EXCEL)) {
+            assertThat(meterRegistry.get("export.bulkhead.active").tag("format", "EXCEL").gauge().value())
+                    .isEqualTo(1);
+        }
+        assertThat(meterRegistry.get("export.bulkhead.active").tag("format", "PDF").gauge().value())
+                .isZero();
+    }
+}
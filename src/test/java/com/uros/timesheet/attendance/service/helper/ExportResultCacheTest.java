@@ -0,0 +1,206 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import com.uros.timesheet.attendance.dto.export.ExportFormat;
+import com.uros.timesheet.attendance.dto.export.ExportRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExportResultCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private ExportResultCache cache;
+    private ExportBulkhead bulkhead;
+    private final AtomicInteger generated = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        bulkhead = mock(ExportBulkhead.class);
+        cache = new ExportResultCache(new SimpleMeterRegistry(), bulkhead);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "cacheDir", dir.toString());
+        ReflectionTestUtils.setField(cache, "maxBytes", DataSize.ofBytes(250));
+        ReflectionTestUtils.setField(cache, "maxEntryBytes", DataSize.ofBytes(200));
+        ReflectionTestUtils.setField(cache, "coalesceTimeout", Duration.ofSeconds(5));
+        cache.init();
+    }
+
+    @Test
+    void secondRequest_isServedFromCache() throws Exception {
+        ExportRequest request = request(UUID.randomUUID());
+
+        assertThat(serve(request, "content")).isEqualTo("content");
+        assertThat(serve(request, "changed")).isEqualTo("content");
+        assertThat(generated).hasValue(1);
+    }
+
+    @Test
+    void invalidate_dropsEntriesAndChangesKey() throws Exception {
+        UUID userId = UUID.randomUUID();
+        ExportRequest request = request(userId);
+        serve(request, "old");
+
+        cache.invalidate(userId);
+
+        assertThat(cache.getEntryCount()).isZero();
+        assertThat(serve(request, "new")).isEqualTo("new");
+        assertThat(generated).hasValue(2);
+    }
+
+    @Test
+    void exceedingMaxBytes_evictsLeastRecentlyUsed() throws Exception {
+        ExportRequest first = request(UUID.randomUUID());
+        ExportRequest second = request(UUID.randomUUID());
+        ExportRequest third = request(UUID.randomUUID());
+        String payload = "x".repeat(100);
+
+        serve(first, payload);
+        serve(second, payload);
+        serve(first, payload);
+        serve(third, payload);
+
+        assertThat(cache.getEntryCount()).isEqualTo(2);
+        assertThat(cache.getTotalBytes()).isEqualTo(200);
+        serve(first, payload);
+        assertThat(generated).hasValue(3);
+        serve(second, payload);
+        assertThat(generated).hasValue(4);
+    }
+
+    @Test
+    void concurrentIdenticalRequests_shareOneGeneration() throws Exception {
+        ExportRequest request = request(UUID.randomUUID());
+        StreamingResponseBody generator = target -> {
+            generated.incrementAndGet();
+            target.write("shared".getBytes(StandardCharsets.UTF_8));
+        };
+        StreamingResponseBody leader = cache.cached(cache.keyFor(request, ExportFormat.EXCEL), generator);
+        StreamingResponseBody follower = cache.cached(cache.keyFor(request, ExportFormat.EXCEL), generator);
+
+        ByteArrayOutputStream followerOut = new ByteArrayOutputStream();
+        CompletableFuture<Void> following = CompletableFuture.runAsync(() -> {
+            try {
+                follower.writeTo(followerOut);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        ByteArrayOutputStream leaderOut = new ByteArrayOutputStream();
+        leader.writeTo(leaderOut);
+        following.get(5, TimeUnit.SECONDS);
+
+        assertThat(leaderOut.toString(StandardCharsets.UTF_8)).isEqualTo("shared");
+        assertThat(followerOut.toString(StandardCharsets.UTF_8)).isEqualTo("shared");
+        assertThat(generated).hasValue(1);
+    }
+
+    @Test
+    void leaderFails_followerWithoutFreeSlot_abortsWithoutQueueing() throws Exception {
+        ExportRequest request = request(UUID.randomUUID());
+        StreamingResponseBody leader = cache.cached(cache.keyFor(request, ExportFormat.EXCEL), out -> {
+            generated.incrementAndGet();
+            throw new IllegalStateException("boom");
+        });
+        StreamingResponseBody follower = cache.cached(cache.keyFor(request, ExportFormat.EXCEL), out -> {
+            generated.incrementAndGet();
+            out.write("own".getBytes(StandardCharsets.UTF_8));
+        });
+        when(bulkhead.tryAcquire(ExportFormat.EXCEL)).thenReturn(null);
+
+        CompletableFuture<Void> leading = CompletableFuture.runAsync(() -> {
+            try {
+                leader.writeTo(new ByteArrayOutputStream());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        ByteArrayOutputStream followerOut = new ByteArrayOutputStream();
+
+        assertThatThrownBy(() -> follower.writeTo(followerOut))
+                .isInstanceOf(ExportResultCache.ExportSlotUnavailableException.class);
+        assertThatThrownBy(() -> leading.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(followerOut.size()).isZero();
+        assertThat(generated).hasValue(1);
+        // Admission is decided on the request thread only; the async fallback never queues
+        verify(bulkhead, times(1)).acquire(ExportFormat.EXCEL);
+        verify(bulkhead).tryAcquire(ExportFormat.EXCEL);
+    }
+
+    @Test
+    void leaderFails_followerWithFreeSlot_generatesItself() throws Exception {
+        ExportRequest request = request(UUID.randomUUID());
+        ExportBulkhead.Permit permit = mock(ExportBulkhead.Permit.class);
+        when(bulkhead.tryAcquire(ExportFormat.EXCEL)).thenReturn(permit);
+        StreamingResponseBody leader = cache.cached(cache.keyFor(request, ExportFormat.EXCEL), out -> {
+            throw new IllegalStateException("boom");
+        });
+        StreamingResponseBody follower = cache.cached(cache.keyFor(request, ExportFormat.EXCEL), out -> {
+            generated.incrementAndGet();
+            out.write("own".getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertThatThrownBy(() -> leader.writeTo(new ByteArrayOutputStream())).isInstanceOf(IllegalStateException.class);
+        ByteArrayOutputStream followerOut = new ByteArrayOutputStream();
+        follower.writeTo(followerOut);
+
+        assertThat(followerOut.toString(StandardCharsets.UTF_8)).isEqualTo("own");
+        assertThat(generated).hasValue(1);
+        verify(permit).close();
+        assertThat(cache.getEntryCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failedGeneration_isNotCached() throws Exception {
+        ExportRequest request = request(UUID.randomUUID());
+        StreamingResponseBody failing = out -> {
+            out.write("partial".getBytes(StandardCharsets.UTF_8));
+            throw new IllegalStateException("boom");
+        };
+
+        assertThatThrownBy(() -> cache.cached(cache.keyFor(request, ExportFormat.EXCEL), failing)
+                .writeTo(new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.getEntryCount()).isZero();
+        assertThat(dir).isEmptyDirectory();
+    }
+
+    private String serve(ExportRequest request, String content) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.cached(cache.keyFor(request, ExportFormat.EXCEL), target -> {
+            generated.incrementAndGet();
+            target.write(content.getBytes(StandardCharsets.UTF_8));
+        }).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private ExportRequest request(UUID userId) {
+        ExportRequest request = new ExportRequest();
+        request.setUserId(userId);
+        request.setStartDate(LocalDate.of(2024, 6, 1));
+        request.setEndDate(LocalDate.of(2024, 6, 30));
+        request.setExportType(ExportRequest.ExportType.ATTENDANCE);
+        return request;
+    }
+}
@@ -0,0 +1,69 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ParallelExportExecutorTest {
+
+    private ParallelExportExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ParallelExportExecutor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(executor, "connectionBudget", 3);
+        ReflectionTestUtils.setField(executor, "poolSize", 10);
+        executor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void forEachOrdered_keepsInputOrderAndRespectsBudget() {
+        List<Integer> items = IntStream.range(0, 50).boxed().toList();
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        List<Integer> results = new ArrayList<>();
+
+        executor.forEachOrdered(items, item -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(1, 5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            concurrent.decrementAndGet();
+            return item * 2;
+        }, results::add);
+
+        assertThat(results).isEqualTo(items.stream().map(i -> i * 2).toList());
+        assertThat(maxConcurrent.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void forEachOrdered_workerFailure_isRethrown() {
+        List<Integer> items = IntStream.range(0, 10).boxed().toList();
+
+        assertThatThrownBy(() -> executor.forEachOrdered(items, item -> {
+            if (item == 4) {
+                throw new IllegalStateException("boom");
+            }
+            return item;
+        }, item -> { }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+}
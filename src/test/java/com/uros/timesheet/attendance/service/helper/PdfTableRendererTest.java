@@ -0,0 +1,51 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PdfTableRendererTest {
+
+    private static final PdfFontProvider.PdfFonts FALLBACK_FONTS =
+            new PdfFontProvider.PdfFonts(PDType1Font.HELVETICA, PDType1Font.HELVETICA_BOLD, false);
+
+    @Test
+    void rows_spanningPages_repeatHeaderOnEveryPage() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int pages;
+        try (PDDocument document = new PDDocument(MemoryUsageSetting.setupTempFileOnly())) {
+            try (PdfTableRenderer renderer = new PdfTableRenderer(document, FALLBACK_FONTS, "Footer")) {
+                renderer.title("Report");
+                renderer.startTable("Section", new String[]{"HeaderA", "HeaderB"}, new float[]{100, 100});
+                for (int i = 0; i < 200; i++) {
+                    renderer.row("row" + i, "value");
+                }
+                renderer.endTable();
+                pages = renderer.getPageCount();
+            }
+            document.save(out);
+        }
+
+        try (PDDocument saved = PDDocument.load(out.toByteArray())) {
+            assertThat(pages).isGreaterThan(1);
+            assertThat(saved.getNumberOfPages()).isEqualTo(pages);
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int page = 1; page <= pages; page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                assertThat(stripper.getText(saved)).contains("HeaderA").contains("Footer");
+            }
+        }
+    }
+
+    @Test
+    void printable_fallbackFonts_transliterateSerbianLatin() {
+        assertThat(FALLBACK_FONTS.printable("Đorđe Čučković\nŠabac")).isEqualTo("Djordje Cuckovic Sabac");
+    }
+}
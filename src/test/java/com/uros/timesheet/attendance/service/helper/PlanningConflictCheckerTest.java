@@ -0,0 +1,133 @@
+package com.uros.timesheet.attendance.service.helper;
+
+import com.uros.timesheet.attendance.conflict.ConflictIndex;
+import com.uros.timesheet.attendance.conflict.OrganizationIntervals;
+import com.uros.timesheet.attendance.conflict.PlanningInterval;
+import com.uros.timesheet.attendance.domain.LeaveRequest;
+import com.uros.timesheet.attendance.domain.Organization;
+import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.i18n.MessageUtil;
+import com.uros.timesheet.attendance.repository.report.PlanningIntervalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PlanningConflictCheckerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 12);
+
+    private final UUID orgId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    private ConflictIndex conflictIndex;
+    private PlanningIntervalRepository planningIntervalRepository;
+    private OrganizationIntervals intervals;
+    private PlanningConflictChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        conflictIndex = mock(ConflictIndex.class);
+        planningIntervalRepository = mock(PlanningIntervalRepository.class);
+        MessageUtil messageUtil = mock(MessageUtil.class);
+        when(messageUtil.get(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        checker = new PlanningConflictChecker(conflictIndex, planningIntervalRepository, messageUtil);
+        ReflectionTestUtils.setField(checker, "enforce", true);
+        ReflectionTestUtils.setField(checker, "nonAbsenceLeaveTypes", Set.of("remote"));
+
+        intervals = new OrganizationIntervals(DAY.minusMonths(1), DAY.plusMonths(1));
+        when(conflictIndex.covering(eq(orgId), any(), any())).thenAnswer(invocation ->
+                intervals.covers(invocation.getArgument(1), invocation.getArgument(2))
+                        ? Optional.of(intervals) : Optional.empty());
+    }
+
+    private PlanningInterval leave(UUID id, String type, String status, LocalDate start, LocalDate end) {
+        return new PlanningInterval(id, userId, null, PlanningInterval.Kind.LEAVE, type, status, start, end);
+    }
+
+    private LeaveRequest leaveRequest(UUID id, String type, LocalDate start, LocalDate end) {
+        User user = new User();
+        user.setId(userId);
+        return LeaveRequest.builder()
+                .id(id)
+                .user(user)
+                .organization(Organization.builder().id(orgId).build())
+                .type(type)
+                .startDate(start)
+                .endDate(end)
+                .build();
+    }
+
+    @Test
+    void checkAttendance_workOnApprovedLeaveDay_isRejected() {
+        intervals.put(leave(UUID.randomUUID(), "annual", "APPROVED", DAY.minusDays(1), DAY.plusDays(1)));
+
+        assertThatThrownBy(() -> checker.checkAttendance(orgId, userId, DAY, "work"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("error.attendance.on.leave");
+    }
+
+    @Test
+    void checkAttendance_remoteLeaveOrSubmittedLeave_isAllowed() {
+        intervals.put(leave(UUID.randomUUID(), "remote", "APPROVED", DAY, DAY));
+        intervals.put(leave(UUID.randomUUID(), "annual", "SUBMITTED", DAY, DAY));
+
+        assertThatCode(() -> checker.checkAttendance(orgId, userId, DAY, "work")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkLeaveSubmit_overlapWithSameLeaveId_isIgnored() {
+        UUID leaveId = UUID.randomUUID();
+        intervals.put(leave(leaveId, "annual", "SUBMITTED", DAY, DAY.plusDays(2)));
+
+        assertThatCode(() -> checker.checkLeaveSubmit(leaveRequest(leaveId, "annual", DAY, DAY.plusDays(2))))
+                .doesNotThrowAnyException();
+        assertThatThrownBy(() -> checker.checkLeaveSubmit(leaveRequest(UUID.randomUUID(), "annual", DAY.plusDays(1), DAY.plusDays(3))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("error.leaverequest.overlap");
+    }
+
+    @Test
+    void checkLeaveSubmit_remoteLeaveOverWorkedDay_isAllowed() {
+        intervals.put(new PlanningInterval(UUID.randomUUID(), userId, null, PlanningInterval.Kind.WORK,
+                "work", "APPROVED", DAY, DAY));
+
+        assertThatCode(() -> checker.checkLeaveSubmit(leaveRequest(UUID.randomUUID(), "remote", DAY, DAY)))
+                .doesNotThrowAnyException();
+        assertThatThrownBy(() -> checker.checkLeaveSubmit(leaveRequest(UUID.randomUUID(), "annual", DAY, DAY)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("error.leaverequest.overlaps.attendance");
+    }
+
+    @Test
+    void enforceDisabled_skipsAllChecks() {
+        ReflectionTestUtils.setField(checker, "enforce", false);
+        intervals.put(leave(UUID.randomUUID(), "annual", "APPROVED", DAY, DAY));
+
+        assertThatCode(() -> checker.checkAttendance(orgId, userId, DAY, "work")).doesNotThrowAnyException();
+        assertThatCode(() -> checker.checkLeaveSubmit(leaveRequest(UUID.randomUUID(), "annual", DAY, DAY)))
+                .doesNotThrowAnyException();
+        verifyNoInteractions(conflictIndex, planningIntervalRepository);
+    }
+
+    @Test
+    void checkAttendance_outsideIndexHorizon_fallsBackToRepository() {
+        LocalDate farAhead = DAY.plusYears(1);
+        when(planningIntervalRepository.findUserIntervals(userId, farAhead, farAhead))
+                .thenReturn(List.of(leave(UUID.randomUUID(), "sick", "APPROVED", farAhead, farAhead)));
+
+        assertThatThrownBy(() -> checker.checkAttendance(orgId, userId, farAhead, "work"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("error.attendance.on.leave");
+        verify(planningIntervalRepository).findUserIntervals(userId, farAhead, farAhead);
+    }
+}
@@ -0,0 +1,156 @@
+package com.uros.timesheet.attendance.service.impl;
+
+import com.uros.timesheet.attendance.domain.ExportJob;
+import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.dto.export.ExportFormat;
+import com.uros.timesheet.attendance.dto.export.ExportJobRequest;
+import com.uros.timesheet.attendance.dto.export.ExportJobResponse;
+import com.uros.timesheet.attendance.dto.export.ExportRequest;
+import com.uros.timesheet.attendance.exception.ExportJobStateException;
+import com.uros.timesheet.attendance.exception.NotFoundException;
+import com.uros.timesheet.attendance.i18n.MessageUtil;
+import com.uros.timesheet.attendance.mapper.ExportJobMapper;
+import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
+import com.uros.timesheet.attendance.repository.ExportJobRepository;
+import com.uros.timesheet.attendance.repository.LeaveRequestRepository;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
+import com.uros.timesheet.attendance.service.ExportService;
+import com.uros.timesheet.attendance.service.helper.ExportBulkhead;
+import com.uros.timesheet.attendance.service.helper.ExportFileStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {ExportJobServiceImpl.class, SimpleMeterRegistry.class})
+class ExportJobServiceImplTest {
+
+    @MockBean private ExportJobRepository exportJobRepository;
+    @MockBean private AttendanceRecordRepository attendanceRecordRepository;
+    @MockBean private LeaveRequestRepository leaveRequestRepository;
+    @MockBean(name = "pdfExportService") private ExportService pdfExportService;
+    @MockBean(name = "excelExportService") private ExportService excelExportService;
+    @MockBean private ExportFileStore fileStore;
+    @MockBean private ExportBulkhead bulkhead;
+    @MockBean private ExportJobMapper exportJobMapper;
+    @MockBean private MessageUtil messageUtil;
+    @MockBean private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ExportJobServiceImpl exportJobService;
+
+    private User requester;
+    private ExportJobRequest request;
+    private ExportJob job;
+
+    @BeforeEach
+    void setUp() {
+        requester = new User();
+        requester.setId(UUID.randomUUID());
+
+        request = new ExportJobRequest();
+        request.setUserId(UUID.randomUUID());
+        request.setStartDate(LocalDate.of(2024, 6, 1));
+        request.setEndDate(LocalDate.of(2024, 6, 30));
+        request.setExportType(ExportRequest.ExportType.ATTENDANCE);
+        request.setFormat(ExportFormat.EXCEL);
+
+        job = ExportJob.builder()
+                .id(UUID.randomUUID())
+                .requestedById(requester.getId())
+                .userId(request.getUserId())
+                .format("EXCEL")
+                .exportType("ATTENDANCE")
+                .status("RUNNING")
+                .createdAt(Instant.now())
+                .build();
+        when(exportJobMapper.toResponse(any(ExportJob.class))).thenAnswer(inv -> {
+            ExportJob source = inv.getArgument(0);
+            ExportJobResponse response = new ExportJobResponse();
+            response.setId(source.getId());
+            response.setStatus(source.getStatus());
+            return response;
+        });
+    }
+
+    @Test
+    void submit_identicalInFlightRequest_returnsExistingJob() {
+        when(exportJobRepository.findInFlightByDedupKey(anyString())).thenReturn(Optional.of(job));
+
+        ExportJobResponse result = exportJobService.submit(request, requester);
+
+        assertThat(result.getId()).isEqualTo(job.getId());
+        verify(exportJobRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void submit_sameRequestInAnotherLocale_usesDifferentDedupKey() {
+        when(exportJobRepository.findInFlightByDedupKey(anyString())).thenReturn(Optional.of(job));
+        try {
+            LocaleContextHolder.setLocale(Locale.ENGLISH);
+            exportJobService.submit(request, requester);
+            LocaleContextHolder.setLocale(Locale.forLanguageTag("sr"));
+            exportJobService.submit(request, requester);
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(exportJobRepository, times(2)).findInFlightByDedupKey(keys.capture());
+        List<String> captured = keys.getAllValues();
+        assertThat(captured.get(0)).isNotEqualTo(captured.get(1));
+    }
+
+    @Test
+    void submit_endBeforeStart_throws() {
+        request.setEndDate(request.getStartDate().minusDays(1));
+
+        assertThatThrownBy(() -> exportJobService.submit(request, requester))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(exportJobRepository);
+    }
+
+    @Test
+    void getJob_otherUsersJob_notFound() {
+        when(exportJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        CustomUserDetails stranger = principal(UUID.randomUUID(), "EMPLOYEE");
+
+        assertThatThrownBy(() -> exportJobService.getJob(job.getId(), stranger))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void cancel_finishedJob_throwsConflict() {
+        job.setStatus("COMPLETED");
+        when(exportJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        // The conditional update matches no in-flight row
+        when(transactionTemplate.execute(any())).thenReturn(0);
+
+        assertThatThrownBy(() -> exportJobService.cancel(job.getId(), principal(requester.getId(), "HR")))
+                .isInstanceOf(ExportJobStateException.class);
+    }
+
+    private CustomUserDetails principal(UUID id, String role) {
+        CustomUserDetails principal = mock(CustomUserDetails.class);
+        when(principal.getId()).thenReturn(id);
+        when(principal.getRoleNames()).thenReturn(Set.of(role));
+        return principal;
+    }
+}
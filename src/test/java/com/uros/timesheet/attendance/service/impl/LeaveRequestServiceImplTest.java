@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -154,4 +155,19 @@ class LeaveRequestServiceImplTest {
         assertThat(result).containsExactly(resp);
         verify(queryHandler).getByTenant();
     }
+
+    @Test
+    void getRequestsForCurrentTenant_withRange_delegatesToQueryHandler() {
+        LocalDate from = LocalDate.of(2024, 6, 1);
+        LocalDate to = LocalDate.of(2024, 6, 30);
+        UUID teamId = UUID.randomUUID();
+        LeaveRequestResponse resp = new LeaveRequestResponse();
+
+        when(queryHandler.getByTenant(from, to, teamId)).thenReturn(List.of(resp));
+
+        List<LeaveRequestResponse> result = service.getRequestsForCurrentTenant(from, to, teamId);
+
+        assertThat(result).containsExactly(resp);
+        verify(queryHandler).getByTenant(from, to, teamId);
+    }
 }
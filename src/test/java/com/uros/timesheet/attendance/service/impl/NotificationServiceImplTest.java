@@ -4,11 +4,15 @@ import com.uros.timesheet.attendance.domain.Notification;
 import com.uros.timesheet.attendance.domain.User;
 import com.uros.timesheet.attendance.dto.notification.NotificationCreateRequest;
 import com.uros.timesheet.attendance.dto.notification.NotificationResponse;
+import com.uros.timesheet.attendance.dto.notification.UnreadCountResponse;
 import com.uros.timesheet.attendance.enums.NotificationType;
+import com.uros.timesheet.attendance.event.DomainEventPublisher;
+import com.uros.timesheet.attendance.event.NotificationCreatedEvent;
 import com.uros.timesheet.attendance.i18n.MessageUtil;
 import com.uros.timesheet.attendance.mapper.NotificationMapper;
 import com.uros.timesheet.attendance.notification.NotificationChannel;
 import com.uros.timesheet.attendance.notification.NotificationChannelRegistry;
+import com.uros.timesheet.attendance.notification.UnreadNotificationCounter;
 import com.uros.timesheet.attendance.repository.NotificationRepository;
 import com.uros.timesheet.attendance.repository.UserRepository;
 import com.uros.timesheet.attendance.service.helper.NotificationMetricHelper;
@@ -39,6 +43,8 @@ class NotificationServiceImplTest {
     @MockBean private MessageUtil messageUtil;
     @MockBean private NotificationChannelRegistry notificationChannelRegistry;
     @MockBean private NotificationMetricHelper notificationMetricHelper;
+    @MockBean private DomainEventPublisher eventPublisher;
+    @MockBean private UnreadNotificationCounter unreadNotificationCounter;
 
     @Autowired
     private NotificationServiceImpl notificationService;
@@ -113,6 +119,11 @@ class NotificationServiceImplTest {
         verify(notificationMetricHelper).incrementTotal("EMAIL");
         verify(notificationMetricHelper).incrementStatus("EMAIL", true);
         verify(notificationMetricHelper).recordLatency(eq("EMAIL"), eq(true), any());
+        ArgumentCaptor<NotificationCreatedEvent> event = ArgumentCaptor.forClass(NotificationCreatedEvent.class);
+        verify(eventPublisher).publish(event.capture());
+        assertThat(event.getValue().getRecipientId()).isEqualTo(recipient.getId());
+        assertThat(event.getValue().getNotification()).isEqualTo(response);
+        verify(unreadNotificationCounter).add(recipient.getId(), 1);
     }
 
     @Test
@@ -287,4 +298,39 @@ class NotificationServiceImplTest {
         List<NotificationResponse> list = notificationService.getForRecipient(recipientId);
         assertThat(list).containsExactly(r1, r2);
     }
+
+    @Test
+    void markRead_withIds_decrementsCounterByUpdatedRows() {
+        UUID recipientId = recipient.getId();
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(notificationRepository.markReadByIds(eq(recipientId), eq(ids), any(Instant.class))).thenReturn(2);
+        when(unreadNotificationCounter.get(recipientId)).thenReturn(3L);
+
+        UnreadCountResponse result = notificationService.markRead(recipientId, ids, false);
+
+        assertThat(result.getUnreadCount()).isEqualTo(3L);
+        verify(unreadNotificationCounter).add(recipientId, -2);
+        verify(notificationRepository, never()).markAllRead(any(), any());
+    }
+
+    @Test
+    void markRead_allFlag_marksAllAndResetsCounter() {
+        UUID recipientId = recipient.getId();
+
+        UnreadCountResponse result = notificationService.markRead(recipientId, null, true);
+
+        assertThat(result.getUnreadCount()).isZero();
+        verify(notificationRepository).markAllRead(eq(recipientId), any(Instant.class));
+        verify(unreadNotificationCounter).set(recipientId, 0);
+    }
+
+    @Test
+    void markRead_withoutIdsOrAllFlag_throwsAndMarksNothing() {
+        UUID recipientId = recipient.getId();
+
+        assertThatThrownBy(() -> notificationService.markRead(recipientId, List.of(), false))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(notificationRepository, never()).markAllRead(any(), any());
+        verify(notificationRepository, never()).markReadByIds(any(), any(), any());
+    }
 }
@@ -0,0 +1,95 @@
+package com.uros.timesheet.attendance.service.impl;
+
+import com.uros.timesheet.attendance.dto.payroll.PayrollPeriodResponse;
+import com.uros.timesheet.attendance.i18n.MessageUtil;
+import com.uros.timesheet.attendance.overtime.OvertimeEngine;
+import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriod;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriodRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = PayrollPeriodServiceImpl.class)
+class PayrollPeriodServiceImplTest {
+
+    @MockBean private PayrollPeriodRepository payrollPeriodRepository;
+    @MockBean private AttendanceRecordRepository attendanceRecordRepository;
+    @MockBean private OvertimeEngine overtimeEngine;
+    @MockBean private MessageUtil messageUtil;
+
+    @Autowired
+    private PayrollPeriodServiceImpl payrollPeriodService;
+
+    private final UUID orgId = UUID.randomUUID();
+    private final UUID closedById = UUID.randomUUID();
+    private final LocalDate from = LocalDate.of(2024, 6, 1);
+    private final LocalDate to = LocalDate.of(2024, 6, 30);
+
+    @BeforeEach
+    void setUp() {
+        when(messageUtil.get(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void closePeriod_endBeforeStart_throwsWithoutLocking() {
+        assertThatThrownBy(() -> payrollPeriodService.closePeriod(orgId, to, from, closedById))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("error.payroll.period.range");
+        verifyNoInteractions(payrollPeriodRepository, overtimeEngine);
+    }
+
+    @Test
+    void closePeriod_missingDate_throws() {
+        assertThatThrownBy(() -> payrollPeriodService.closePeriod(orgId, from, null, closedById))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("error.payroll.period.range");
+    }
+
+    @Test
+    void closePeriod_overlapsClosedPeriod_throwsWithoutSnapshot() {
+        when(payrollPeriodRepository.overlapsClosed(orgId, from, to)).thenReturn(true);
+
+        assertThatThrownBy(() -> payrollPeriodService.closePeriod(orgId, from, to, closedById))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("error.payroll.period.overlap");
+        verify(payrollPeriodRepository).lockForClose(orgId);
+        verify(payrollPeriodRepository, never()).insert(any());
+        verify(payrollPeriodRepository, never()).snapshot(any());
+        verifyNoInteractions(overtimeEngine);
+    }
+
+    @Test
+    void closePeriod_recomputesPendingOvertimeBeforeInsertingAndSnapshotting() {
+        when(payrollPeriodRepository.overlapsClosed(orgId, from, to)).thenReturn(false);
+        when(payrollPeriodRepository.snapshot(any())).thenReturn(3);
+
+        PayrollPeriodResponse response = payrollPeriodService.closePeriod(orgId, from, to, closedById);
+
+        InOrder order = inOrder(payrollPeriodRepository, overtimeEngine, attendanceRecordRepository);
+        order.verify(payrollPeriodRepository).lockForClose(orgId);
+        order.verify(payrollPeriodRepository).overlapsClosed(orgId, from, to);
+        order.verify(overtimeEngine).recomputePending(orgId, from, to);
+        order.verify(attendanceRecordRepository).flush();
+        ArgumentCaptor<PayrollPeriod> period = ArgumentCaptor.forClass(PayrollPeriod.class);
+        order.verify(payrollPeriodRepository).insert(period.capture());
+        order.verify(payrollPeriodRepository).snapshot(period.getValue().id());
+
+        assertThat(period.getValue().organizationId()).isEqualTo(orgId);
+        assertThat(period.getValue().periodStart()).isEqualTo(from);
+        assertThat(period.getValue().periodEnd()).isEqualTo(to);
+        assertThat(period.getValue().closedById()).isEqualTo(closedById);
+        assertThat(response.getId()).isEqualTo(period.getValue().id());
+    }
+}
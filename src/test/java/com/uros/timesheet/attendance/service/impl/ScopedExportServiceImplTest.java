@@ -0,0 +1,124 @@
+package com.uros.timesheet.attendance.service.impl;
+
+import com.uros.timesheet.attendance.dto.export.ExportRequest;
+import com.uros.timesheet.attendance.dto.export.ExportSubject;
+import com.uros.timesheet.attendance.dto.export.ScopedExportRequest;
+import com.uros.timesheet.attendance.i18n.MessageUtil;
+import com.uros.timesheet.attendance.mapper.AttendanceRecordExportMapper;
+import com.uros.timesheet.attendance.mapper.LeaveRequestExportMapper;
+import com.uros.timesheet.attendance.repository.AttendanceRecordRepository;
+import com.uros.timesheet.attendance.repository.LeaveRequestRepository;
+import com.uros.timesheet.attendance.repository.UserRepository;
+import com.uros.timesheet.attendance.service.ExportService;
+import com.uros.timesheet.attendance.service.helper.ExcelStreamingHelper;
+import com.uros.timesheet.attendance.service.helper.ParallelExportExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ScopedExportServiceImplTest {
+
+    private ExportService pdfExportService;
+    private ExportService excelExportService;
+    private ParallelExportExecutor parallelExportExecutor;
+    private ScopedExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        pdfExportService = mock(ExportService.class);
+        excelExportService = mock(ExportService.class);
+        parallelExportExecutor = new ParallelExportExecutor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(parallelExportExecutor, "connectionBudget", 2);
+        ReflectionTestUtils.setField(parallelExportExecutor, "poolSize", 10);
+        parallelExportExecutor.init();
+        service = new ScopedExportServiceImpl(mock(UserRepository.class), mock(AttendanceRecordRepository.class),
+                mock(LeaveRequestRepository.class), mock(AttendanceRecordExportMapper.class),
+                mock(LeaveRequestExportMapper.class), pdfExportService, excelExportService,
+                mock(ExcelStreamingHelper.class), parallelExportExecutor, mock(MessageUtil.class),
+                mock(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelExportExecutor.shutdown();
+    }
+
+    @Test
+    void export_bundle_writesFolderPerUserWithStoredXlsxAndDeflatedPdf() throws Exception {
+        ExportSubject ana = new ExportSubject(UUID.randomUUID(), "Ana Petrovic");
+        ExportSubject marko = new ExportSubject(UUID.randomUUID(), "Marko Markovic");
+        doAnswer(inv -> write(inv.getArgument(1), "%PDF-1.4 " + inv.<ExportRequest>getArgument(0).getUserId() + " "
+                + "page ".repeat(500)))
+                .when(pdfExportService).exportToPdf(any(ExportRequest.class), any(OutputStream.class));
+        doAnswer(inv -> write(inv.getArgument(1), "xlsx " + inv.<ExportRequest>getArgument(0).getUserId()))
+                .when(excelExportService).exportToExcel(any(ExportRequest.class), any(OutputStream.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(request(ScopedExportRequest.Output.BUNDLE), List.of(ana, marko), out);
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                // Reading to the end makes ZipInputStream check the stored CRC against the data
+                byte[] content = zip.readAllBytes();
+                CRC32 crc = new CRC32();
+                crc.update(content);
+                assertThat(entry.getCrc()).as(entry.getName()).isEqualTo(crc.getValue());
+
+                String text = new String(content, StandardCharsets.UTF_8);
+                UUID userId = entry.getName().startsWith("Ana_Petrovic/") ? ana.getUserId() : marko.getUserId();
+                if (entry.getName().endsWith(".xlsx")) {
+                    assertThat(entry.getMethod()).as(entry.getName()).isEqualTo(ZipEntry.STORED);
+                    assertThat(entry.getSize()).isEqualTo(content.length);
+                    assertThat(text).isEqualTo("xlsx " + userId);
+                } else {
+                    assertThat(entry.getMethod()).as(entry.getName()).isEqualTo(ZipEntry.DEFLATED);
+                    assertThat(text).startsWith("%PDF-1.4 " + userId);
+                }
+            }
+        }
+
+        assertThat(names).containsExactly(
+                "Ana_Petrovic/Ana_Petrovic.pdf",
+                "Ana_Petrovic/Ana_Petrovic.xlsx",
+                "Marko_Markovic/Marko_Markovic.pdf",
+                "Marko_Markovic/Marko_Markovic.xlsx");
+    }
+
+    private static Void write(OutputStream out, String content) throws Exception {
+        out.write(content.getBytes(StandardCharsets.UTF_8));
+        return null;
+    }
+
+    private ScopedExportRequest request(ScopedExportRequest.Output output) {
+        ScopedExportRequest request = new ScopedExportRequest();
+        request.setScope(ScopedExportRequest.Scope.TEAM);
+        request.setScopeId(UUID.randomUUID());
+        request.setStartDate(LocalDate.of(2024, 6, 1));
+        request.setEndDate(LocalDate.of(2024, 6, 30));
+        request.setExportType(ExportRequest.ExportType.ATTENDANCE);
+        request.setOutput(output);
+        return request;
+    }
+}
@@ -0,0 +1,121 @@
+package com.uros.timesheet.attendance.service.impl;
+
+import com.uros.timesheet.attendance.conflict.ConflictIndex;
+import com.uros.timesheet.attendance.domain.Organization;
+import com.uros.timesheet.attendance.domain.Team;
+import com.uros.timesheet.attendance.dto.team.CalendarDayState;
+import com.uros.timesheet.attendance.dto.team.TeamCalendarResponse;
+import com.uros.timesheet.attendance.dto.team.TeamCalendarRow;
+import com.uros.timesheet.attendance.repository.TeamRepository;
+import com.uros.timesheet.attendance.repository.report.PlanningIntervalRepository;
+import com.uros.timesheet.attendance.repository.report.TeamCalendarFact;
+import com.uros.timesheet.attendance.repository.report.TeamCalendarRepository;
+import com.uros.timesheet.attendance.service.helper.TeamCalendarCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {TeamCalendarServiceImpl.class, TeamCalendarCache.class, SimpleMeterRegistry.class})
+class TeamCalendarServiceImplTest {
+
+    // June 2024 starts on a Saturday
+    private static final YearMonth JUNE = YearMonth.of(2024, 6);
+
+    @Autowired
+    private TeamCalendarServiceImpl service;
+
+    @Autowired
+    private TeamCalendarCache cache;
+
+    @MockBean
+    private TeamRepository teamRepository;
+
+    @MockBean
+    private TeamCalendarRepository teamCalendarRepository;
+
+    @MockBean
+    private ConflictIndex conflictIndex;
+
+    @MockBean
+    private PlanningIntervalRepository planningIntervalRepository;
+
+    @Test
+    void build_resolvesWorkedLeaveWeekendAndAbsent() {
+        UUID userId = UUID.randomUUID();
+        List<TeamCalendarFact> facts = List.of(
+                member(userId, "Ana"),
+                new TeamCalendarFact(TeamCalendarFact.Kind.WORKED, userId, null, null, day(3), day(3)),
+                new TeamCalendarFact(TeamCalendarFact.Kind.WORKED, userId, null, null, day(8), day(8)),
+                new TeamCalendarFact(TeamCalendarFact.Kind.LEAVE, userId, null, "annual", day(5), day(10)),
+                new TeamCalendarFact(TeamCalendarFact.Kind.LEAVE, userId, null, "sick", day(30), day(30)));
+
+        TeamCalendarResponse calendar = TeamCalendarServiceImpl.build(UUID.randomUUID(), JUNE, facts);
+
+        assertThat(calendar.getDays()).hasSize(30).startsWith(day(1)).endsWith(day(30));
+        TeamCalendarRow row = calendar.getMembers().get(0);
+        assertThat(row.getDays().subList(0, 10)).containsExactly(
+                CalendarDayState.WEEKEND, CalendarDayState.WEEKEND, CalendarDayState.WORKED,
+                CalendarDayState.ABSENT, CalendarDayState.LEAVE, CalendarDayState.LEAVE,
+                CalendarDayState.LEAVE, CalendarDayState.WORKED, CalendarDayState.WEEKEND,
+                CalendarDayState.LEAVE);
+        assertThat(row.getLeaveTypes().get(4)).isEqualTo("annual");
+        assertThat(row.getLeaveTypes().get(8)).isNull();
+        // A leave on a Sunday stays a weekend
+        assertThat(row.getDays().get(29)).isEqualTo(CalendarDayState.WEEKEND);
+    }
+
+    @Test
+    void getTeamCalendar_cachedUntilMemberChanges() {
+        UUID organizationId = UUID.randomUUID();
+        UUID teamId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(teamRepository.findById(teamId)).thenReturn(Optional.of(team(teamId, organizationId)));
+        when(teamCalendarRepository.findCalendarFacts(eq(teamId), eq(organizationId), any(), any()))
+                .thenReturn(List.of(member(userId, "Ana")));
+
+        service.getTeamCalendar(teamId, JUNE, organizationId);
+        service.getTeamCalendar(teamId, JUNE, organizationId);
+        verify(teamCalendarRepository, times(1)).findCalendarFacts(teamId, organizationId, day(1), day(30));
+
+        cache.invalidate(userId);
+        service.getTeamCalendar(teamId, JUNE, organizationId);
+        verify(teamCalendarRepository, times(2)).findCalendarFacts(teamId, organizationId, day(1), day(30));
+    }
+
+    @Test
+    void getTeamCalendar_otherOrganization_rejected() {
+        UUID teamId = UUID.randomUUID();
+        when(teamRepository.findById(teamId)).thenReturn(Optional.of(team(teamId, UUID.randomUUID())));
+
+        assertThatThrownBy(() -> service.getTeamCalendar(teamId, JUNE, UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("error.team.not.found");
+        verifyNoInteractions(teamCalendarRepository);
+    }
+
+    private static TeamCalendarFact member(UUID userId, String fullName) {
+        return new TeamCalendarFact(TeamCalendarFact.Kind.MEMBER, userId, fullName, null, null, null);
+    }
+
+    private static Team team(UUID teamId, UUID organizationId) {
+        Organization organization = new Organization();
+        organization.setId(organizationId);
+        return Team.builder().id(teamId).organization(organization).build();
+    }
+
+    private static LocalDate day(int dayOfMonth) {
+        return JUNE.atDay(dayOfMonth);
+    }
+}
@@ -0,0 +1,106 @@
+package com.uros.timesheet.attendance.service.report;
+
+import com.uros.timesheet.attendance.dto.report.UserAttendanceSummaryDto;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriod;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriodRepository;
+import com.uros.timesheet.attendance.repository.payroll.PayrollPeriodTotal;
+import com.uros.timesheet.attendance.repository.report.AttendanceReportRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = AttendanceReportServiceImpl.class)
+class AttendanceReportServiceImplTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 6, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 6, 30);
+
+    @Autowired
+    private AttendanceReportServiceImpl attendanceReportService;
+
+    @MockBean
+    private AttendanceReportRepository attendanceReportRepository;
+
+    @MockBean
+    private PayrollPeriodRepository payrollPeriodRepository;
+
+    @Test
+    void getAttendanceSummaries_userIds_queriesDistinctIdsOnce() {
+        UUID organizationId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        attendanceReportService.getAttendanceSummaries(List.of(first, second, first), null, organizationId, FROM, TO);
+
+        verify(attendanceReportRepository).getUserAttendanceSummaries(Set.of(first, second), organizationId, FROM, TO);
+        verifyNoMoreInteractions(attendanceReportRepository);
+    }
+
+    @Test
+    void getAttendanceSummaries_noSelector_coversOrganization() {
+        UUID organizationId = UUID.randomUUID();
+
+        attendanceReportService.getAttendanceSummaries(List.of(), null, organizationId, FROM, TO);
+
+        verify(attendanceReportRepository).getOrganizationAttendanceSummaries(organizationId, FROM, TO);
+    }
+
+    @Test
+    void getAttendanceSummaries_usersAndTeam_rejected() {
+        assertThatThrownBy(() -> attendanceReportService.getAttendanceSummaries(
+                List.of(UUID.randomUUID()), UUID.randomUUID(), UUID.randomUUID(), FROM, TO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("report.error.batch.selector");
+        verifyNoInteractions(attendanceReportRepository);
+    }
+
+    @Test
+    void getAttendanceSummaries_tooManyUsers_rejected() {
+        List<UUID> userIds = Stream.generate(UUID::randomUUID)
+                .limit(AttendanceReportServiceImpl.MAX_BATCH_USERS + 1)
+                .toList();
+
+        assertThatThrownBy(() -> attendanceReportService.getAttendanceSummaries(
+                userIds, null, UUID.randomUUID(), FROM, TO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("report.error.batch.too.many");
+        verify(attendanceReportRepository, never()).getUserAttendanceSummaries(any(), any(), any(), any());
+    }
+
+    @Test
+    void getAttendanceSummaries_closedPeriod_readsSnapshot() {
+        UUID organizationId = UUID.randomUUID();
+        UUID teamId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        PayrollPeriod period = new PayrollPeriod(UUID.randomUUID(), organizationId, FROM, TO, Instant.now(), null);
+        when(payrollPeriodRepository.findClosed(organizationId, FROM, TO)).thenReturn(Optional.of(period));
+        when(payrollPeriodRepository.findTotals(period.id(), null, teamId)).thenReturn(List.of(
+                new PayrollPeriodTotal(userId, "Ana", 20, 21, 10_290, 9_600, 690)));
+
+        List<UserAttendanceSummaryDto> summaries = attendanceReportService.getAttendanceSummaries(
+                null, teamId, organizationId, FROM, TO);
+
+        assertThat(summaries).singleElement().satisfies(summary -> {
+            assertThat(summary.getUserId()).isEqualTo(userId);
+            assertThat(summary.getTotalRecords()).isEqualTo(21);
+            assertThat(summary.getTotalHours()).isEqualByComparingTo(new BigDecimal("171.50"));
+            assertThat(summary.getRegularHours()).isEqualByComparingTo(new BigDecimal("160.00"));
+            assertThat(summary.getOvertimeHours()).isEqualByComparingTo(new BigDecimal("11.50"));
+        });
+        verifyNoInteractions(attendanceReportRepository);
+    }
+}
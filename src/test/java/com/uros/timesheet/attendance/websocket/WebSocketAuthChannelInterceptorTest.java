@@ -0,0 +1,98 @@
+package com.uros.timesheet.attendance.websocket;
+
+import com.uros.timesheet.attendance.domain.Organization;
+import com.uros.timesheet.attendance.domain.Role;
+import com.uros.timesheet.attendance.domain.User;
+import com.uros.timesheet.attendance.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WebSocketAuthChannelInterceptorTest {
+
+    private final WebSocketAuthChannelInterceptor interceptor = new WebSocketAuthChannelInterceptor();
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private final UUID orgId = UUID.randomUUID();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private CustomUserDetails authenticate(UUID organizationId, String roleName) {
+        Organization org = Organization.builder()
+                .id(organizationId)
+                .name("Org1")
+                .timezone("Europe/Belgrade")
+                .status("ACTIVE")
+                .build();
+        Role role = Role.builder()
+                .id(UUID.randomUUID())
+                .name(roleName)
+                .permissions(Set.of())
+                .build();
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .username("user")
+                .email("user@test.com")
+                .passwordHash("xxx")
+                .fullName("Test User")
+                .status("ACTIVE")
+                .organization(org)
+                .roles(Set.of(role))
+                .build();
+        CustomUserDetails details = new CustomUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+        return details;
+    }
+
+    private Message<byte[]> subscribe(String destination, CustomUserDetails user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("user", user);
+        accessor.setSessionAttributes(attributes);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    @Test
+    void subscribe_presenceOfOwnOrganizationAsManager_passes() {
+        CustomUserDetails manager = authenticate(orgId, "MANAGER");
+        Message<byte[]> message = subscribe("/topic/presence/" + orgId, manager);
+
+        assertThat(interceptor.preSend(message, channel)).isSameAs(message);
+    }
+
+    @Test
+    void subscribe_presenceOfOtherOrganization_isRejected() {
+        CustomUserDetails admin = authenticate(UUID.randomUUID(), "ADMIN");
+
+        assertThatThrownBy(() -> interceptor.preSend(subscribe("/topic/presence/" + orgId, admin), channel))
+                .isInstanceOf(SecurityException.class);
+    }
+
+    @Test
+    void subscribe_presenceAsEmployeeOrWildcard_isRejected() {
+        CustomUserDetails employee = authenticate(orgId, "EMPLOYEE");
+
+        assertThatThrownBy(() -> interceptor.preSend(subscribe("/topic/presence/" + orgId, employee), channel))
+                .isInstanceOf(SecurityException.class);
+        assertThatThrownBy(() -> interceptor.preSend(subscribe("/topic/**", employee), channel))
+                .isInstanceOf(SecurityException.class);
+    }
+}